@@ -0,0 +1,26 @@
+package com.api.hub.ai.cache;
+
+import com.api.hub.ai.handler.impl.EnvironmentState;
+
+/**
+ * Optional external store consulted when a conversation id is not present in the in-memory
+ * {@code EnvironmentStateCache}.
+ * <p>
+ * Implementations typically rebuild an {@link EnvironmentState} from Redis, a NoSQL database or any
+ * other durable source, which allows conversations to survive restarts or move between instances.
+ * When no bean of this type is registered, unknown ids simply result in a new conversation.
+ * </p>
+ *
+ * @see com.api.hub.ai.starter.impl.EnvironmentLoader
+ */
+public interface EnvironmentStateStore {
+
+    /**
+     * Loads the state of a conversation.
+     *
+     * @param envName the environment name the conversation belongs to
+     * @param id      the conversation id
+     * @return the restored state, or {@code null} if the store does not know the id
+     */
+    EnvironmentState load(String envName, String id);
+}
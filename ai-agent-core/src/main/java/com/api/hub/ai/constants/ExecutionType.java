@@ -0,0 +1,30 @@
+package com.api.hub.ai.constants;
+
+/**
+ * Enum describing the kind of work an agent does, used to choose the threads it runs on.
+ * <p>
+ * Declared per agent through {@link com.api.hub.ai.starter.Agent#executionType()}. Separating the two kinds
+ * of agents keeps slow I/O calls from occupying the threads compute-heavy agents need, and keeps CPU-bound
+ * agents from running on more threads than there are cores.
+ * </p>
+ *
+ * <ul>
+ *   <li>{@link #DEFAULT}: The agent runs on the calling thread or the environment executor, as before.</li>
+ *   <li>{@link #CPU}: The agent runs on a work-stealing pool sized to the available processors.</li>
+ *   <li>{@link #IO}: The agent runs on virtual threads when the JVM supports them, otherwise on a bounded I/O pool.</li>
+ * </ul>
+ *
+ * @see com.api.hub.ai.handler.impl.AgentExecutors
+ * @since 1.0
+ */
+public enum ExecutionType {
+
+    /** Calling thread, or the environment executor when a deadline or concurrency applies. */
+    DEFAULT,
+
+    /** Compute-bound work such as parsing or scoring. */
+    CPU,
+
+    /** Blocking work such as database or LLM calls. */
+    IO
+}
@@ -0,0 +1,38 @@
+package com.api.hub.ai.constants;
+
+/**
+ * Enum describing how the environment invokes agents for a task within the AI-Agent Framework.
+ * <p>
+ * Configured per environment through {@code ai.{env}.invocation.mode}.
+ * </p>
+ *
+ * <ul>
+ *   <li>{@link #SINGLE}: The single agent returned by the pool's matching logic handles the task.</li>
+ *   <li>{@link #SCATTER_GATHER}: Every matching agent handles the task concurrently and the results are merged.</li>
+ *   <li>{@link #HEDGED}: The top matching agents race for the task and the first successful result wins.</li>
+ * </ul>
+ *
+ * @since 1.0
+ */
+public enum InvocationMode {
+
+    /** One matching agent per task, the default. */
+    SINGLE,
+
+    /** Fan the task out to all matching agents and merge their results within a deadline. */
+    SCATTER_GATHER,
+
+    /** Race the top matching agents, starting backups after a latency-based delay; the first success wins. */
+    HEDGED;
+
+    /**
+     * Parses a configuration value such as {@code single} or {@code scatter-gather}.
+     *
+     * @param value the configured value
+     * @return the matching mode
+     * @throws IllegalArgumentException if the value is unknown
+     */
+    public static InvocationMode fromConfig(String value) {
+        return valueOf(value.trim().toUpperCase().replace('-', '_'));
+    }
+}
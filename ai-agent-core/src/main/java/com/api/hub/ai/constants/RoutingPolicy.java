@@ -0,0 +1,42 @@
+package com.api.hub.ai.constants;
+
+/**
+ * Enum describing how an agent pool chooses among equivalent agents, i.e. agents matching a task equally well.
+ * <p>
+ * Configured per pool through {@code ai.agentpool.{pool}.routing}.
+ * </p>
+ *
+ * <ul>
+ *   <li>{@link #FIRST}: The agent registered first is always chosen.</li>
+ *   <li>{@link #LEAST_LOADED}: The agent with the lowest load score is chosen.</li>
+ *   <li>{@link #POWER_OF_TWO}: Two agents are sampled at random and the one with the lower load score is chosen.</li>
+ * </ul>
+ *
+ * <p>The load score grows with an agent's latency EWMA, its calls in flight and its error EWMA, see
+ * {@link com.api.hub.ai.metrics.AgentLoad AgentLoad}.</p>
+ *
+ * @since 1.0
+ */
+public enum RoutingPolicy {
+
+    /** Registration order, the default. */
+    FIRST,
+
+    /** Lowest load score among all equivalent agents. */
+    LEAST_LOADED,
+
+    /** Lower load score of two randomly sampled agents, which avoids herding on a single agent. */
+    POWER_OF_TWO;
+
+    /**
+     * Parses a configuration value such as {@code first}, {@code least-loaded}, {@code power-of-two} or {@code p2c}.
+     *
+     * @param value the configured value
+     * @return the matching policy
+     * @throws IllegalArgumentException if the value is unknown
+     */
+    public static RoutingPolicy fromConfig(String value) {
+        String name = value.trim().toUpperCase().replace('-', '_');
+        return "P2C".equals(name) ? POWER_OF_TWO : valueOf(name);
+    }
+}
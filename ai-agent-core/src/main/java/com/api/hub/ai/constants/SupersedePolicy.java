@@ -0,0 +1,39 @@
+package com.api.hub.ai.constants;
+
+/**
+ * Enum describing what happens to an in-flight turn when the same conversation receives new input.
+ * <p>
+ * Configured per environment through {@code ai.{env}.turn.supersede}. Turns of one conversation always
+ * run one after another; the policy decides whether a pending or running turn is still worth finishing.
+ * </p>
+ *
+ * <ul>
+ *   <li>{@link #QUEUE}: The new input waits for the in-flight turn, which completes normally.</li>
+ *   <li>{@link #CANCEL}: The in-flight turn stops at its next agent boundary and the new input is processed instead.</li>
+ *   <li>{@link #MERGE}: Like {@link #CANCEL}, but the new turn processes the previous input followed by the new one.</li>
+ * </ul>
+ *
+ * @since 1.0
+ */
+public enum SupersedePolicy {
+
+    /** Process every input in order, the default. */
+    QUEUE,
+
+    /** Cancel the in-flight turn in favour of the newer input. */
+    CANCEL,
+
+    /** Cancel the in-flight turn and process its input together with the newer input. */
+    MERGE;
+
+    /**
+     * Parses a configuration value such as {@code queue} or {@code cancel}.
+     *
+     * @param value the configured value
+     * @return the matching policy
+     * @throws IllegalArgumentException if the value is unknown
+     */
+    public static SupersedePolicy fromConfig(String value) {
+        return valueOf(value.trim().toUpperCase());
+    }
+}
@@ -0,0 +1,213 @@
+package com.api.hub.ai.embed;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.PropertiesPropertySource;
+
+import com.api.hub.ai.cache.CacheConfiguration;
+import com.api.hub.ai.cache.impl.CacheRefresher;
+import com.api.hub.ai.cache.impl.SimpleCacheHandler;
+import com.api.hub.ai.handler.impl.AdmissionController;
+import com.api.hub.ai.handler.impl.AgentExecutors;
+import com.api.hub.ai.handler.impl.AgentPool;
+import com.api.hub.ai.handler.impl.ConcatenateMergeStrategy;
+import com.api.hub.ai.handler.impl.FirstSuccessMergeStrategy;
+import com.api.hub.ai.handler.impl.SimpleAgentInputOutputHandler;
+import com.api.hub.ai.metrics.MetricsReporter;
+import com.api.hub.ai.starter.AiAgent;
+import com.api.hub.ai.starter.Environment;
+import com.api.hub.ai.starter.impl.StatelessEnvironmentHandler;
+import com.api.hub.configuration.ai.AgentRegister;
+import com.api.hub.exception.ApiHubException;
+import com.api.hub.exception.InternalServerException;
+
+/**
+ * Lightweight Spring bootstrap to embed the agent runtime in an application that does not use Spring Boot.
+ * <p>
+ * The runtime is configured with the same properties as {@code application.properties} and with the agent and
+ * pool objects created by the caller. It starts only the framework's own components in an
+ * {@link AnnotationConfigApplicationContext}, without Spring Boot auto-configuration, classpath scanning or
+ * web server, and exposes the {@link Environment} to process messages with.
+ * </p>
+ *
+ * <p>
+ * This is not a Spring-free runtime: the framework components are still Spring beans wired by that context,
+ * so {@code ai-agent-core} and its {@code spring-boot-starter} dependency must be on the classpath. The
+ * caller's own code only needs this class and does not have to declare or configure any Spring bean.
+ * </p>
+ *
+ * <p><b>Usage:</b></p>
+ * <pre>{@code
+ * Properties props = new Properties();
+ * props.load(reader);                         // ai.env.list, ai.{env}.* ...
+ *
+ * try (SpringAgentRuntime runtime = SpringAgentRuntime.builder()
+ *         .properties(props)
+ *         .agent("supportAgents", new SupportAgents())
+ *         .agentPool("support_pool", new IndexedAgentPool("support_pool"))
+ *         .build()) {
+ *     Environment environment = runtime.getEnvironment();
+ *     EnvironmentState state = environment.getEnvironment("support", conversationId);
+ *     environment.process(state, "where is my order?", handler);
+ * }
+ * }</pre>
+ *
+ * <p>The in-memory cache and the default environment handler are enabled unless the properties say otherwise
+ * ({@code env.handler.default}, {@code cache.enabled}, {@code cache.default.refresher.enabled},
+ * {@code cache.env.simplecache}).</p>
+ *
+ * @see Environment
+ * @since 1.0
+ */
+public final class SpringAgentRuntime implements AutoCloseable {
+
+    private final AnnotationConfigApplicationContext context;
+
+    private final Environment environment;
+
+    private SpringAgentRuntime(AnnotationConfigApplicationContext context) {
+        this.context = context;
+        this.environment = context.getBean(Environment.class);
+    }
+
+    /**
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return the environment handler used to create, resume and process conversations
+     */
+    public Environment getEnvironment() {
+        return environment;
+    }
+
+    /**
+     * @param name name the pool was registered with
+     * @return the agent pool, e.g. to add or remove agents at runtime
+     */
+    public AgentPool getAgentPool(String name) {
+        return context.getBean(name, AgentPool.class);
+    }
+
+    /**
+     * Stops the runtime, its schedulers and the executors of its environments.
+     */
+    @Override
+    public void close() {
+        context.close();
+    }
+
+    /**
+     * Builder of {@link SpringAgentRuntime}.
+     */
+    public static final class Builder {
+
+        private final Properties properties = new Properties();
+
+        private final Map<String, Object> components = new LinkedHashMap<>();
+
+        private Builder() {
+            properties.setProperty("env.handler.default", "true");
+            properties.setProperty("cache.enabled", "true");
+            properties.setProperty("cache.default.refresher.enabled", "true");
+            properties.setProperty("cache.env.simplecache", "true");
+        }
+
+        /**
+         * @param properties framework properties, overriding previously set values
+         * @return this builder
+         */
+        public Builder properties(Properties properties) {
+            this.properties.putAll(properties);
+            return this;
+        }
+
+        /**
+         * @param key   property name
+         * @param value property value
+         * @return this builder
+         */
+        public Builder property(String key, String value) {
+            properties.setProperty(key, value);
+            return this;
+        }
+
+        /**
+         * Adds an object declaring {@code @Agent} methods; its agents are named {@code <name>-<method>}.
+         *
+         * @param name  name of the agent object
+         * @param agent the agent object
+         * @return this builder
+         */
+        public Builder agent(String name, AiAgent agent) {
+            return component(name, agent);
+        }
+
+        /**
+         * Adds an agent pool, referenced by {@code ai.{env}.agentPool}.
+         *
+         * @param name name of the pool in the environment configuration
+         * @param pool the pool
+         * @return this builder
+         */
+        public Builder agentPool(String name, AgentPool pool) {
+            return component(name, pool);
+        }
+
+        /**
+         * Adds any other component referenced by name from the environment configuration, such as a custom
+         * {@code InputOutputHandler}, {@code MergeStrategy} or {@code EnvironmentStateStore}.
+         *
+         * @param name      name used in the configuration
+         * @param component the component
+         * @return this builder
+         */
+        public Builder component(String name, Object component) {
+            components.put(name, component);
+            return this;
+        }
+
+        /**
+         * Starts the runtime: compiles the environment templates and configures the agent pools.
+         *
+         * @return the started runtime
+         * @throws ApiHubException if the configuration is invalid
+         */
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        public SpringAgentRuntime build() throws ApiHubException {
+            AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+            try {
+                context.getEnvironment().getPropertySources().addFirst(new PropertiesPropertySource("agentRuntime", properties));
+                context.register(AgentRegister.class, CacheRefresher.class, CacheConfiguration.class, SimpleCacheHandler.class,
+                        SimpleAgentInputOutputHandler.class, FirstSuccessMergeStrategy.class, ConcatenateMergeStrategy.class,
+                        AdmissionController.class, AgentExecutors.class, MetricsReporter.class, StatelessEnvironmentHandler.class);
+                components.forEach((name, component) -> context.registerBean(name, (Class) component.getClass(), () -> component));
+                context.refresh();
+                // no ApplicationReadyEvent outside Spring Boot
+                for (AgentPool pool : context.getBeansOfType(AgentPool.class).values()) {
+                    pool.configureAgents();
+                }
+                return new SpringAgentRuntime(context);
+            } catch (ApiHubException e) {
+                context.close();
+                throw e;
+            } catch (RuntimeException e) {
+                context.close();
+                Throwable cause = e;
+                while (cause.getCause() != null && !(cause instanceof ApiHubException)) {
+                    cause = cause.getCause();
+                }
+                if (cause instanceof ApiHubException) {
+                    throw (ApiHubException) cause;
+                }
+                throw new InternalServerException("8001-ai-hub", "Unable to start agent runtime " + e.getMessage(), "");
+            }
+        }
+    }
+}
@@ -18,6 +18,7 @@ import com.api.hub.ai.handler.impl.EnvironmentState;
  *   <li>Agents can use this handler to:</li>
  *     <li>Receive user input via {@link #setInput(String)}</li>
  *     <li>Send back output or responses using {@link #setOutPut(String)}</li>
+ *     <li>Stream partial output using {@link #emit(String)}</li>
  *     <li>Access the environment state through {@link #setState(EnvironmentState)}</li>
  *     <li>Report task/goal execution result using {@link #status(boolean)}</li>
  *     <li>Query execution status using {@link #isSuccess()}</li>
@@ -43,6 +44,20 @@ public interface InputOutputHandler {
      */
     void setOutPut(String output);
 
+    /**
+     * Emits a partial output chunk to the user while the agent chain is still running.
+     * <p>
+     * Handlers that do not support streaming append the chunk to the output.
+     * </p>
+     *
+     * @param chunk A partial response to be delivered to the user as soon as possible.
+     * @see StreamingInputOutputHandler
+     */
+    default void emit(String chunk) {
+        String out = getOut();
+        setOutPut(out == null ? chunk : out + chunk);
+    }
+
     /**
      * Sets the current environment state which the agent can use during processing.
      *
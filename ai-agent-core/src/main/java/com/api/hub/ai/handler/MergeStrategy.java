@@ -0,0 +1,34 @@
+package com.api.hub.ai.handler;
+
+import java.util.List;
+
+import com.api.hub.ai.handler.impl.AgentResult;
+import com.api.hub.ai.pojo.Task;
+import com.api.hub.exception.ApiHubException;
+
+/**
+ * Strategy combining the results of agents invoked concurrently for the same task.
+ *
+ * <p>Implementations are Spring beans selected per environment with
+ * {@code ai.{env}.scatter.merge=<bean name>}. A strategy receives every result, including failed and
+ * timed out ones, in the order the agents were matched by the pool, writes the final output to the
+ * user-facing handler and decides whether the environment continues with the next task.</p>
+ *
+ * @see com.api.hub.ai.handler.impl.ScatterGatherInvoker
+ * @see com.api.hub.ai.handler.impl.FirstSuccessMergeStrategy
+ * @see com.api.hub.ai.handler.impl.ConcatenateMergeStrategy
+ * @since 1.0
+ */
+public interface MergeStrategy {
+
+    /**
+     * Merges the results of a scatter-gather invocation.
+     *
+     * @param task    the task the agents worked on
+     * @param results the per-agent results, in pool matching order
+     * @param handler the handler communicating with the user
+     * @return {@code true} if the environment should continue with the next task
+     * @throws ApiHubException if no acceptable result is available
+     */
+    boolean merge(Task task, List<AgentResult> results, InputOutputHandler handler) throws ApiHubException;
+}
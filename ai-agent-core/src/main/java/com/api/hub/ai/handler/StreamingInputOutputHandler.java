@@ -0,0 +1,41 @@
+package com.api.hub.ai.handler;
+
+import java.util.concurrent.Flow;
+
+/**
+ * Streaming variant of {@link InputOutputHandler} that publishes agent output as it is produced.
+ *
+ * <p>Agents keep using {@link #setOutPut(String)} or call {@link #emit(String)} for partial output;
+ * every chunk is published to the {@link Flow.Subscriber subscribers} registered by the caller, so the
+ * user sees the response of each agent in the chain without waiting for the whole turn to finish.
+ * The environment closes the stream with {@link #complete()} or {@link #completeExceptionally(Throwable)}
+ * once the turn ends.</p>
+ *
+ * <p><b>Usage:</b></p>
+ * <pre>{@code
+ * state.process(userMessage, new Flow.Subscriber<String>() {
+ *     public void onSubscribe(Flow.Subscription s) { s.request(Long.MAX_VALUE); }
+ *     public void onNext(String chunk) { socket.send(chunk); }
+ *     public void onError(Throwable t) { socket.close(); }
+ *     public void onComplete() { socket.flush(); }
+ * });
+ * }</pre>
+ *
+ * @see InputOutputHandler
+ * @see com.api.hub.ai.handler.impl.EnvironmentState#process(String, Flow.Subscriber)
+ * @since 1.0
+ */
+public interface StreamingInputOutputHandler extends InputOutputHandler, Flow.Publisher<String> {
+
+    /**
+     * Signals that the turn finished and no further chunks will be emitted.
+     */
+    void complete();
+
+    /**
+     * Signals that the turn failed; subscribers receive the error instead of completion.
+     *
+     * @param error the cause of the failure
+     */
+    void completeExceptionally(Throwable error);
+}
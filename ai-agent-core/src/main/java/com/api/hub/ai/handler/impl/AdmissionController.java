@@ -0,0 +1,303 @@
+package com.api.hub.ai.handler.impl;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.api.hub.ai.constants.MarkerConstants;
+import com.api.hub.ai.metrics.LatencyStats;
+import com.api.hub.ai.metrics.Metric;
+import com.api.hub.ai.metrics.MetricsRegistry;
+import com.api.hub.exception.NetworkException;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Admission controller placed in front of {@link EnvironmentState#process(String)}.
+ * <p>
+ * It bounds the number of in-flight turns with an adaptive concurrency limit and holds excess turns
+ * in a bounded wait queue. When both are full, or a queued turn waits longer than the queue timeout,
+ * the turn fails fast with error code <b>7011</b> (SERVER_OVERLOADED) instead of piling up threads.
+ * Each queued turn has its own timer, so it expires on time even when no other turn is submitted or
+ * completes meanwhile.
+ * </p>
+ *
+ * <p>
+ * The limit follows a gradient algorithm: every completed turn compares the long-term average latency
+ * with the latest sample. While latency stays flat the limit grows by roughly {@code sqrt(limit)};
+ * when latency rises the limit shrinks proportionally, and failed turns cut it multiplicatively. A turn
+ * failed when its future completes exceptionally, or when the success test given to
+ * {@link #submit(Supplier, Predicate)} rejects its result.
+ * </p>
+ *
+ * <p>
+ * Enabled with {@code ai.admission.enabled=true}. Configuration properties:
+ * </p>
+ * <ul>
+ *   <li><code>ai.admission.initialLimit</code> - starting concurrency limit (default: 20)</li>
+ *   <li><code>ai.admission.minLimit</code> - lower bound of the limit (default: 4)</li>
+ *   <li><code>ai.admission.maxLimit</code> - upper bound of the limit (default: 200)</li>
+ *   <li><code>ai.admission.queueSize</code> - maximum number of waiting turns (default: 100)</li>
+ *   <li><code>ai.admission.queueTimeout.ms</code> - maximum queue wait per turn (default: 1000 ms)</li>
+ *   <li><code>ai.admission.smoothing</code> - weight of a new limit estimate, 0 to 1 (default: 0.2)</li>
+ * </ul>
+ *
+ * @see EnvironmentState
+ */
+@Component
+@ConditionalOnProperty(name = "ai.admission.enabled", havingValue = "true")
+@Slf4j
+public class AdmissionController implements Metric, MarkerConstants {
+
+    @Value("${ai.admission.initialLimit:20}")
+    private int initialLimit = 20;
+
+    @Value("${ai.admission.minLimit:4}")
+    private int minLimit = 4;
+
+    @Value("${ai.admission.maxLimit:200}")
+    private int maxLimit = 200;
+
+    @Value("${ai.admission.queueSize:100}")
+    private int queueSize = 100;
+
+    @Value("${ai.admission.queueTimeout.ms:1000}")
+    private long queueTimeoutMs = 1000;
+
+    @Value("${ai.admission.smoothing:0.2}")
+    private double smoothing = 0.2;
+
+    private final Object lock = new Object();
+    private final Deque<Pending<?>> queue = new ArrayDeque<>();
+    private int inFlight;
+    private double limit;
+    private double longRttNanos;
+
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder queued = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+    private final LatencyStats latency = new LatencyStats();
+
+    @PostConstruct
+    public void init() {
+        limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        MetricsRegistry.register("admission", this);
+    }
+
+    /**
+     * Submits a turn for execution. The supplier is invoked once the turn is admitted; the turn counts as
+     * failed only if its future completes exceptionally.
+     *
+     * @param work starts the turn and returns its completion
+     * @return completion of the turn, or a future failed with a {@link NetworkException} when rejected
+     */
+    public <T> CompletableFuture<T> submit(Supplier<CompletableFuture<T>> work) {
+        return submit(work, null);
+    }
+
+    /**
+     * Submits a turn for execution. The supplier is invoked once the turn is admitted.
+     *
+     * @param work      starts the turn and returns its completion
+     * @param succeeded tells whether a normally completed turn succeeded, e.g. from its handler's status;
+     *                  {@code null} to count every normal completion as a success
+     * @return completion of the turn, or a future failed with a {@link NetworkException} when rejected
+     */
+    public <T> CompletableFuture<T> submit(Supplier<CompletableFuture<T>> work, Predicate<? super T> succeeded) {
+        Pending<T> pending = new Pending<>(work, succeeded);
+        List<Pending<?>> timedOut = new ArrayList<>();
+        boolean start = false;
+        boolean wait = false;
+        boolean reject = false;
+        synchronized (lock) {
+            pollExpired(timedOut);
+            if (inFlight < (int) limit) {
+                inFlight++;
+                start = true;
+            } else if (queue.size() < queueSize) {
+                queue.addLast(pending);
+                queued.increment();
+                wait = true;
+            } else {
+                reject = true;
+            }
+        }
+        failExpired(timedOut);
+
+        if (start) {
+            run(pending);
+        } else if (wait) {
+            CompletableFuture.delayedExecutor(queueTimeoutMs, TimeUnit.MILLISECONDS).execute(() -> expire(pending));
+        } else if (reject) {
+            rejected.increment();
+            log.warn(PERFORMANCE, "Turn rejected by admission control, limit - " + (int) limit + ", queued - " + queueSize);
+            pending.result.completeExceptionally(new NetworkException("7011-ai-hub",
+                    "Admission queue full, limit - " + (int) limit, "Too many requests, please retry shortly."));
+        }
+        return pending.result;
+    }
+
+    private <T> void run(Pending<T> pending) {
+        admitted.increment();
+        long start = System.nanoTime();
+        CompletableFuture<T> future;
+        try {
+            future = pending.work.get();
+        } catch (RuntimeException e) {
+            release(System.nanoTime() - start, false);
+            pending.result.completeExceptionally(e);
+            return;
+        }
+        future.whenComplete((value, error) -> {
+            boolean success = error == null;
+            if (success && pending.succeeded != null) {
+                try {
+                    success = pending.succeeded.test(value);
+                } catch (RuntimeException e) {
+                    success = false;
+                }
+            }
+            release(latency.recordSince(start), success);
+            if (error != null) {
+                pending.result.completeExceptionally(error);
+            } else {
+                pending.result.complete(value);
+            }
+        });
+    }
+
+    private void release(long rttNanos, boolean success) {
+        List<Pending<?>> toRun = new ArrayList<>();
+        List<Pending<?>> timedOut = new ArrayList<>();
+        synchronized (lock) {
+            boolean saturated = inFlight >= limit / 2;
+            inFlight--;
+            updateLimit(rttNanos, success, saturated);
+            pollExpired(timedOut);
+            while (inFlight < (int) limit && !queue.isEmpty()) {
+                inFlight++;
+                toRun.add(queue.pollFirst());
+            }
+        }
+        failExpired(timedOut);
+        toRun.forEach(this::run);
+    }
+
+    /**
+     * Gradient update, must be called while holding {@link #lock}.
+     */
+    private void updateLimit(long rttNanos, boolean success, boolean saturated) {
+        if (!success) {
+            limit = Math.max(minLimit, limit * 0.9);
+            return;
+        }
+        if (longRttNanos == 0) {
+            longRttNanos = rttNanos;
+        } else {
+            longRttNanos = longRttNanos * 0.99 + rttNanos * 0.01;
+        }
+        // latency recovered well below the long-term average, let the baseline catch up
+        if (longRttNanos / Math.max(rttNanos, 1) > 2) {
+            longRttNanos = longRttNanos * 0.95;
+        }
+        if (!saturated) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, longRttNanos / Math.max(rttNanos, 1)));
+        double newLimit = limit * gradient + Math.sqrt(limit);
+        newLimit = limit * (1 - smoothing) + newLimit * smoothing;
+        limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+
+    /**
+     * Removes queued turns that waited longer than the queue timeout, must hold {@link #lock}.
+     */
+    private void pollExpired(List<Pending<?>> timedOut) {
+        long now = System.nanoTime();
+        while (!queue.isEmpty() && now - queue.peekFirst().enqueuedAt > queueTimeoutMs * 1_000_000) {
+            timedOut.add(queue.pollFirst());
+        }
+    }
+
+    /**
+     * Fails a turn still queued when its queue timeout elapsed.
+     */
+    private void expire(Pending<?> pending) {
+        boolean removed;
+        synchronized (lock) {
+            removed = queue.remove(pending);
+        }
+        if (removed) {
+            failExpired(List.of(pending));
+        }
+    }
+
+    private void failExpired(List<Pending<?>> timedOut) {
+        for (Pending<?> pending : timedOut) {
+            expired.increment();
+            pending.result.completeExceptionally(new NetworkException("7011-ai-hub",
+                    "Turn waited more than " + queueTimeoutMs + " ms for admission", "Too many requests, please retry shortly."));
+        }
+    }
+
+    /**
+     * @return the current concurrency limit
+     */
+    public int getLimit() {
+        synchronized (lock) {
+            return (int) limit;
+        }
+    }
+
+    /**
+     * @return number of turns currently executing
+     */
+    public int getInFlight() {
+        synchronized (lock) {
+            return inFlight;
+        }
+    }
+
+    @Override
+    public Map<String, Number> snapshot() {
+        Map<String, Number> values = new LinkedHashMap<>();
+        synchronized (lock) {
+            values.put("limit", (int) limit);
+            values.put("inFlight", inFlight);
+            values.put("queued", queue.size());
+        }
+        values.put("admitted", admitted.sum());
+        values.put("queuedTotal", queued.sum());
+        values.put("rejected", rejected.sum());
+        values.put("expired", expired.sum());
+        values.put("p95Ms", latency.getPercentileNanos(95) / 1_000_000.0);
+        return values;
+    }
+
+    private static final class Pending<T> {
+
+        private final Supplier<CompletableFuture<T>> work;
+        private final Predicate<? super T> succeeded;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private final long enqueuedAt = System.nanoTime();
+
+        private Pending(Supplier<CompletableFuture<T>> work, Predicate<? super T> succeeded) {
+            this.work = work;
+            this.succeeded = succeeded;
+        }
+    }
+}
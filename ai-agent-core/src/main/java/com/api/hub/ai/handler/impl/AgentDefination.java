@@ -0,0 +1,256 @@
+package com.api.hub.ai.handler.impl;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+import com.api.hub.ai.cache.Cache;
+import com.api.hub.ai.constants.ExecutionType;
+import com.api.hub.ai.metrics.AgentLoad;
+import com.api.hub.ai.metrics.LatencyStats;
+import com.api.hub.ai.pojo.Condition;
+import com.api.hub.ai.pojo.State;
+import com.api.hub.exception.ApiHubException;
+import com.api.hub.exception.InputException;
+import com.api.hub.exception.InternalServerException;
+import com.api.hub.exception.NetworkException;
+import com.api.hub.exception.ServiceException;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * {@code AgentDefination} represents the definition and metadata of an AI agent
+ * within the AI-Agent Framework. It encapsulates all information required to dynamically
+ * invoke an agent's method.
+ *
+ * <p>This class enables flexible execution of agent logic by decoupling the agent's
+ * behavior from the main control flow. The framework can invoke any agent by calling
+ * {@link #invokeAgent(State)} with the appropriate execution state.</p>
+ *
+ * <p><b>Key Components:</b></p>
+ * <ul>
+ *   <li><b>name</b>: Unique identifier or name of the agent.</li>
+ *   <li><b>methodToInvoke</b>: The method that will be executed when this agent is invoked.</li>
+ *   <li><b>agentHandler</b>: The actual object instance that contains the method logic.</li>
+ *   <li><b>description</b>: Human-readable description of the agent's purpose.</li>
+ *   <li><b>variables</b>: A scoped cache of variables specific to this agent.</li>
+ *   <li><b>goalNames</b>: List of goal names this agent is associated with.</li>
+ *   <li><b>condition</b>: The tasks this agent accepts, used by indexed agent pools.</li>
+ *   <li><b>executionType</b>: Whether the agent is CPU-bound or I/O-bound, see {@link AgentExecutors}.</li>
+ *   <li><b>idempotent</b>: Whether the agent may be retried, or race other agents for the same task.</li>
+ *   <li><b>latency</b>: Observed latency of successful invocations.</li>
+ *   <li><b>load</b>: Calls in flight and latency and error EWMAs, used to route among equivalent agents.</li>
+ *   <li><b>invoker</b>: Direct invoker generated for {@code methodToInvoke}.</li>
+ *   <li><b>bulkhead</b>: Optional limit of concurrent invocations of this agent.</li>
+ *   <li><b>circuitBreaker</b>: Optional circuit breaker refusing calls while the agent keeps failing.</li>
+ *   <li><b>retryPolicy</b>: Optional retry policy of an idempotent agent.</li>
+ *   <li><b>resultCache</b>: Optional memo of the results of a cacheable agent.</li>
+ * </ul>
+ *
+ * <p><b>Usage:</b> The environment will create instances of this class
+ * and call {@link #invokeAgent(State)} to execute agent logic with the provided state.</p>
+ *
+ * <p>This design supports dynamic agent registration and execution, allowing the framework
+ * to be easily extended without hardcoded logic for each agent.</p>
+ *
+
+ * @since 1.0
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@NonNull
+public class AgentDefination {
+
+    /** Unique name of the agent */
+    private String name;
+
+    /** The method to be executed when this agent is invoked */
+    private Method methodToInvoke;
+
+    /** The object instance that contains the logic to execute */
+    private Object agentHandler;
+
+    /** Human-readable description of the agent */
+    private String description;
+
+    /** Variable cache local to this agent’s execution context */
+    private Cache<String, Object> variables;
+
+    /** List of goal names that this agent can act upon */
+    private List<String> goalNames;
+
+    /** Tasks this agent accepts, built from its {@code @Agent} annotation */
+    private Condition condition;
+
+    /** Kind of work the agent does, selecting the executor it is dispatched to */
+    private ExecutionType executionType = ExecutionType.DEFAULT;
+
+    /** Whether calling the agent more than once for a task is harmless, see {@link com.api.hub.ai.starter.Agent#idempotent()} */
+    private boolean idempotent;
+
+    /** Latency of successful invocations, used to derive hedging delays */
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final LatencyStats latency = new LatencyStats();
+
+    /** Live load, used by pools routing among equivalent agents */
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final AgentLoad load = new AgentLoad();
+
+    /** Direct invoker of {@link #methodToInvoke}, built on first use unless set at registration */
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private volatile AgentMethodInvoker invoker;
+
+    /** Limit of concurrent invocations, {@code null} for none */
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private Bulkhead bulkhead;
+
+    /** Breaker refusing calls while the agent's dependencies fail, {@code null} for none */
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private CircuitBreaker circuitBreaker;
+
+    /** Retries of transient failures, {@code null} unless the agent is idempotent */
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private RetryPolicy retryPolicy;
+
+    /** Memoized results replayed instead of invoking the agent, {@code null} unless the agent is cacheable */
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private ResultCache resultCache;
+
+    /**
+     * Sets the agent method and drops the invoker built for the previous one.
+     *
+     * @param methodToInvoke the method to execute when this agent is invoked
+     */
+    public void setMethodToInvoke(Method methodToInvoke) {
+        this.methodToInvoke = methodToInvoke;
+        this.invoker = null;
+    }
+
+    /**
+     * Invokes the defined agent method through its {@link AgentMethodInvoker}.
+     * <p>The method must accept a single {@link State} parameter and return a boolean
+     * indicating success or failure. The invoker calls it directly, without reflection.</p>
+     * <p>When the agent has a {@link Bulkhead}, the call first waits for one of its permits, at most until
+     * the end of the turn.</p>
+     * <p>When the agent has a {@link CircuitBreaker}, calls are refused while it is open and every outcome
+     * is recorded. When it has a {@link RetryPolicy}, transient failures are retried with jittered backoff
+     * within the shared {@link RetryBudget}.</p>
+     * <p>When the agent has a {@link ResultCache}, a result recorded for an equal task key is replayed on the
+     * state without invoking the agent at all.</p>
+     *
+     * @param state The complete execution state provided by the environment.
+     * @return {@code true} if the agent completed successfully, {@code false} otherwise.
+     * @throws ApiHubException If the agent throws one, which is propagated unchanged, if the agent fails otherwise,
+     *                         a 7012 {@code NetworkException} if its bulkhead rejected the call, a 7002
+     *                         {@code NetworkException} if the call was interrupted, or a 3003
+     *                         {@link ServiceException} if its circuit breaker is open. {@link Error}s thrown by
+     *                         the agent are rethrown as is.
+     */
+    public boolean invokeAgent(State state) throws ApiHubException {
+        ResultCache cache = resultCache;
+        return cache == null ? invokeGuarded(state) : cache.invoke(state, this::invokeGuarded);
+    }
+
+    /**
+     * Calls the agent through its circuit breaker and retry policy.
+     */
+    private boolean invokeGuarded(State state) throws ApiHubException {
+        AgentMethodInvoker agentInvoker = invoker;
+        if (agentInvoker == null) {
+            try {
+                agentInvoker = AgentMethodInvokers.of(methodToInvoke);
+            } catch (RuntimeException e) {
+                throw new InputException("1001-ai-hub", "unable to invoke agent " + e.getMessage(), "");
+            }
+            invoker = agentInvoker;
+        }
+        CircuitBreaker breaker = circuitBreaker;
+        RetryPolicy retry = retryPolicy;
+        if (breaker == null && retry == null) {
+            return invokeOnce(agentInvoker, state);
+        }
+        if (retry != null) {
+            retry.getBudget().deposit();
+        }
+        ApiHubException failure = null;
+        for (int attempt = 1;; attempt++) {
+            if (breaker != null && !breaker.tryAcquire()) {
+                if (failure != null) {
+                    throw failure;
+                }
+                throw new ServiceException("3003-ai-hub", "Circuit breaker of agent " + name + " is open",
+                        "Service is temporarily unavailable, please retry later.");
+            }
+            try {
+                boolean result = invokeOnce(agentInvoker, state);
+                if (breaker != null) {
+                    breaker.onSuccess();
+                }
+                return result;
+            } catch (ApiHubException e) {
+                if (breaker != null) {
+                    breaker.onError(e, state.getTurnContext());
+                }
+                if (retry == null || !retry.retry(e, attempt, state)) {
+                    throw e;
+                }
+                failure = e;
+            }
+        }
+    }
+
+    /**
+     * Makes one attempt of the agent call within its bulkhead.
+     */
+    private boolean invokeOnce(AgentMethodInvoker agentInvoker, State state) throws ApiHubException {
+        Bulkhead limit = bulkhead;
+        if (limit != null) {
+            limit.acquire(AgentInvoker.capToTurn(state, limit.getQueueTimeoutMs()));
+        }
+        long start = System.nanoTime();
+        boolean result;
+        load.start();
+        try {
+            result = agentInvoker.invoke(agentHandler, state);
+        } catch (ApiHubException e) {
+            if (CircuitBreaker.isCancellation(e, state.getTurnContext())) {
+                load.cancel();
+            } else {
+                load.complete(System.nanoTime() - start, CircuitBreaker.isFailure(e));
+            }
+            throw e;
+        } catch (InterruptedException e) {
+            // cancelled by the caller, e.g. a hedge loser: neither the breaker nor the load may count it
+            Thread.currentThread().interrupt();
+            load.cancel();
+            throw new NetworkException("7002-ai-hub", "Agent " + name + " was cancelled", "Request was cancelled.");
+        } catch (Exception e) {
+            load.complete(System.nanoTime() - start, true);
+            throw new InputException("1001-ai-hub", "unable to invoke agent " + e, "");
+        } catch (Error e) {
+            load.complete(System.nanoTime() - start, true);
+            throw e;
+        } catch (Throwable e) {
+            load.complete(System.nanoTime() - start, true);
+            throw new InternalServerException("8009-ai-hub", "unexpected error occurred while invoking agent " + e, "");
+        } finally {
+            if (limit != null) {
+                limit.release();
+            }
+        }
+        load.complete(latency.recordSince(start), false);
+        return result;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,245 @@
+package com.api.hub.ai.handler.impl;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.api.hub.ai.constants.ExecutionType;
+import com.api.hub.ai.constants.MarkerConstants;
+import com.api.hub.ai.metrics.Metric;
+import com.api.hub.ai.metrics.MetricsRegistry;
+import com.api.hub.ai.pojo.State;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Executors agents are dispatched to according to their {@link ExecutionType}.
+ * <p>
+ * Without it every agent runs on the cached executor of its environment, so a burst of slow I/O agents
+ * (database or LLM calls) competes for the same threads as compute-heavy agents, and CPU-bound agents run on
+ * as many threads as there are requests. This component keeps two separate pools:
+ * </p>
+ * <ul>
+ *   <li><b>CPU</b>: a work-stealing {@link ForkJoinPool} with one thread per available processor, so
+ *   compute-bound agents never oversubscribe the cores.</li>
+ *   <li><b>IO</b>: one virtual thread per agent call when the JVM supports virtual threads (Java 21 and
+ *   later), otherwise a pool of platform threads bounded by {@code maxThreads}.</li>
+ * </ul>
+ * <p>
+ * {@link ExecutionType#DEFAULT DEFAULT} agents keep running inline on the thread of their turn, see
+ * {@link AgentInvoker}. Tasks are submitted as interruptible futures on both pools, so turn deadlines and
+ * cancellation keep interrupting agents.
+ * </p>
+ *
+ * <p>
+ * Configuration properties:
+ * </p>
+ * <ul>
+ *   <li><code>ai.agent.executor.cpu.parallelism</code> - threads of the CPU pool (default: available processors)</li>
+ *   <li><code>ai.agent.executor.io.virtual</code> - use virtual threads for I/O agents when supported (default: true)</li>
+ *   <li><code>ai.agent.executor.io.maxThreads</code> - threads of the I/O pool without virtual threads (default: 200)</li>
+ * </ul>
+ *
+ * <p>The pools are reported as the {@code agent.executors} {@link Metric}.</p>
+ *
+ * @see ExecutionType
+ * @see AgentInvoker
+ * @since 1.0
+ */
+@Component
+@Slf4j
+public class AgentExecutors implements Metric, MarkerConstants {
+
+    @Value("${ai.agent.executor.cpu.parallelism:0}")
+    private int cpuParallelism;
+
+    @Value("${ai.agent.executor.io.virtual:true}")
+    private boolean ioVirtual = true;
+
+    @Value("${ai.agent.executor.io.maxThreads:200}")
+    private int ioMaxThreads = 200;
+
+    private ForkJoinPool cpuPool;
+    private ExecutorService cpuExecutor;
+    private ExecutorService ioExecutor;
+    private ThreadPoolExecutor ioPool;
+
+    @PostConstruct
+    public void init() {
+        int parallelism = cpuParallelism > 0 ? cpuParallelism : Runtime.getRuntime().availableProcessors();
+        cpuPool = new ForkJoinPool(parallelism, new CpuThreadFactory(), null, true);
+        cpuExecutor = new InterruptibleExecutor(cpuPool);
+        ioExecutor = ioVirtual ? newVirtualThreadExecutor() : null;
+        if (ioExecutor == null) {
+            ioPool = new ThreadPoolExecutor(ioMaxThreads, ioMaxThreads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                    new NamedThreadFactory("agent-io-"));
+            ioPool.allowCoreThreadTimeOut(true);
+            ioExecutor = ioPool;
+        }
+        log.info(PERFORMANCE, "Agent executors started, cpu threads - " + parallelism + ", io - "
+                + (ioPool == null ? "virtual threads" : ioMaxThreads + " threads"));
+        MetricsRegistry.register("agent.executors", this);
+    }
+
+    /**
+     * Selects the executor of the agent in the given state.
+     *
+     * @param state a prepared state, see {@link State#getAgentDefination()}
+     * @return the CPU or I/O executor, or the environment executor for {@link ExecutionType#DEFAULT DEFAULT} agents
+     */
+    public ExecutorService executorFor(State state) {
+        return executorFor(state.getAgentDefination(), state.getEnv().getExecuter());
+    }
+
+    /**
+     * Selects the executor of an agent.
+     *
+     * @param agent               the agent to run
+     * @param environmentExecutor executor of the environment, used for {@link ExecutionType#DEFAULT DEFAULT} agents
+     * @return the executor the agent runs on; an instance that was not started by the container runs every
+     *         agent on the environment executor
+     */
+    public ExecutorService executorFor(AgentDefination agent, ExecutorService environmentExecutor) {
+        ExecutionType type = agent.getExecutionType();
+        if (type == ExecutionType.CPU && cpuExecutor != null) {
+            return cpuExecutor;
+        }
+        if (type == ExecutionType.IO && ioExecutor != null) {
+            return ioExecutor;
+        }
+        return environmentExecutor;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (cpuExecutor != null) {
+            cpuExecutor.shutdownNow();
+        }
+        if (ioExecutor != null) {
+            ioExecutor.shutdownNow();
+        }
+        MetricsRegistry.remove("agent.executors");
+    }
+
+    @Override
+    public Map<String, Number> snapshot() {
+        Map<String, Number> values = new LinkedHashMap<>();
+        if (cpuPool != null) {
+            values.put("cpu.parallelism", cpuPool.getParallelism());
+            values.put("cpu.active", cpuPool.getActiveThreadCount());
+            values.put("cpu.queued", cpuPool.getQueuedSubmissionCount() + cpuPool.getQueuedTaskCount());
+            values.put("cpu.steals", cpuPool.getStealCount());
+        }
+        if (ioPool != null) {
+            values.put("io.active", ioPool.getActiveCount());
+            values.put("io.queued", ioPool.getQueue().size());
+        }
+        return values;
+    }
+
+    /**
+     * Creates a virtual-thread-per-task executor, looked up at runtime because the code targets Java 17.
+     *
+     * @return the executor, or {@code null} if the JVM has no virtual threads
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) MethodHandles.publicLookup()
+                    .findStatic(java.util.concurrent.Executors.class, "newVirtualThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class))
+                    .invoke();
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        } catch (Throwable e) {
+            log.warn(PERFORMANCE, "Virtual threads unavailable, using platform threads for I/O agents " + e);
+            return null;
+        }
+    }
+
+    /**
+     * Runs submitted tasks as {@link java.util.concurrent.FutureTask}s on a {@link ForkJoinPool}, so that
+     * {@code cancel(true)} interrupts them; the pool's own futures ignore interrupts.
+     */
+    private static final class InterruptibleExecutor extends AbstractExecutorService {
+
+        private final ForkJoinPool pool;
+
+        private InterruptibleExecutor(ForkJoinPool pool) {
+            this.pool = pool;
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            pool.execute(command);
+        }
+
+        @Override
+        public void shutdown() {
+            pool.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return pool.shutdownNow();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return pool.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return pool.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            return pool.awaitTermination(timeout, unit);
+        }
+    }
+
+    private static final class CpuThreadFactory implements ForkJoinPool.ForkJoinWorkerThreadFactory {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("agent-cpu-" + count.incrementAndGet());
+            return thread;
+        }
+    }
+
+    private static final class NamedThreadFactory implements ThreadFactory {
+
+        private final String prefix;
+        private final AtomicInteger count = new AtomicInteger();
+
+        private NamedThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.api.hub.ai.handler.impl;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import com.api.hub.ai.constants.ExecutionType;
+import com.api.hub.ai.pojo.State;
+import com.api.hub.ai.pojo.TurnContext;
+import com.api.hub.exception.ApiHubException;
+import com.api.hub.exception.InternalServerException;
+import com.api.hub.exception.NetworkException;
+
+/**
+ * Invokes a single agent while enforcing the deadline of the turn it belongs to.
+ *
+ * <p>{@link ExecutionType#DEFAULT DEFAULT} agents run inline on the calling thread, so a turn costs no thread
+ * hop per agent. The thread is {@link TurnContext#register(Thread) registered} with the turn and, when the turn
+ * has a deadline, a shared timer cancels the turn once it expires, which interrupts the agent. The turn is
+ * also checked before each agent.</p>
+ *
+ * <p>Agents declaring a {@link ExecutionType#CPU CPU} or {@link ExecutionType#IO IO} execution type run on the
+ * executor selected by {@link AgentExecutors}, and the caller waits for them at most for the remaining turn
+ * time.</p>
+ *
+ * <p>Either way, on expiry the whole turn is cancelled (interrupting every other registered invocation) and a
+ * {@link NetworkException} with code <b>7002</b> (REQUEST_TIMEOUT) is thrown.</p>
+ *
+ * @see TurnContext
+ * @see AgentDefination#invokeAgent(State)
+ * @since 1.0
+ */
+public final class AgentInvoker {
+
+    private AgentInvoker() {
+    }
+
+    /**
+     * Invokes the agent of the given state within the turn deadline.
+     *
+     * @param state    the prepared state, see {@link State#getAgentDefination()}
+     * @param executors selects the executor running {@link ExecutionType#CPU CPU} and {@link ExecutionType#IO IO} agents
+     * @return the value returned by the agent
+     * @throws ApiHubException the agent failure, or a 7002 {@link NetworkException} if the turn was
+     *                         cancelled or its deadline passed
+     */
+    public static boolean invoke(State state, AgentExecutors executors) throws ApiHubException {
+        AgentDefination agent = state.getAgentDefination();
+        TurnContext turn = state.getTurnContext();
+        if (turn != null) {
+            turn.checkpoint();
+        }
+        if (agent.getExecutionType() == ExecutionType.DEFAULT) {
+            return turn == null ? agent.invokeAgent(state) : invokeInline(agent, state, turn);
+        }
+
+        boolean deadline = turn != null && turn.hasDeadline();
+        Future<Boolean> future = executors.executorFor(state).submit(() -> agent.invokeAgent(state));
+        if (turn != null) {
+            turn.register(future);
+        }
+        try {
+            return deadline ? future.get(turn.remainingNanos(), TimeUnit.NANOSECONDS) : future.get();
+        } catch (TimeoutException e) {
+            turn.cancel("agent " + agent.getName() + " exceeded the turn deadline");
+            throw new NetworkException("7002-ai-hub", "Agent " + agent.getName() + " exceeded the turn deadline for Task - "
+                    + state.getTaskToPerform().getName(), "Request timed out, please retry.");
+        } catch (CancellationException e) {
+            if (turn != null) {
+                turn.checkpoint();
+            }
+            throw new NetworkException("7002-ai-hub", "Agent " + agent.getName() + " was cancelled", "Request was cancelled.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof ApiHubException) {
+                throw (ApiHubException) e.getCause();
+            }
+            throw new InternalServerException("8001-ai-hub", "Agent " + agent.getName() + " failed " + e.getCause(), "");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new InternalServerException("8005-ai-hub", "Interrupted while waiting for agent " + agent.getName(), "");
+        } finally {
+            if (turn != null) {
+                turn.unregister(future);
+            }
+        }
+    }
+
+    /**
+     * Runs the agent on the calling thread, interrupted when the turn is cancelled or, through the deadline
+     * timer, when it expires. The interrupt is only meant for the agent and is cleared before returning.
+     */
+    private static boolean invokeInline(AgentDefination agent, State state, TurnContext turn) throws ApiHubException {
+        Thread thread = Thread.currentThread();
+        ScheduledFuture<?> timer = turn.hasDeadline() ? DeadlineTimer.TIMER.schedule(
+                () -> turn.cancel("agent " + agent.getName() + " exceeded the turn deadline"), turn.remainingNanos(), TimeUnit.NANOSECONDS)
+                : null;
+        boolean result = false;
+        ApiHubException failure = null;
+        turn.register(thread);
+        try {
+            result = agent.invokeAgent(state);
+        } catch (ApiHubException e) {
+            failure = e;
+        } finally {
+            // no interrupt can reach the thread once it is unregistered
+            turn.unregister(thread);
+            if (timer != null) {
+                timer.cancel(false);
+            }
+        }
+        if (failure != null && !turn.isCancelled()) {
+            throw failure;
+        }
+        if (failure != null || turn.isExpired()) {
+            throw stopped(agent, state, turn);
+        }
+        if (turn.isCancelled()) {
+            Thread.interrupted();
+        }
+        return result;
+    }
+
+    /**
+     * Clears the interrupt sent to the agent of a stopped turn and builds the 7002 reported for it.
+     */
+    private static NetworkException stopped(AgentDefination agent, State state, TurnContext turn) {
+        Thread.interrupted();
+        if (turn.isExpired()) {
+            turn.cancel("agent " + agent.getName() + " exceeded the turn deadline");
+            return new NetworkException("7002-ai-hub", "Agent " + agent.getName() + " exceeded the turn deadline for Task - "
+                    + state.getTaskToPerform().getName(), "Request timed out, please retry.");
+        }
+        return new NetworkException("7002-ai-hub", "Agent " + agent.getName() + " was cancelled", "Request was cancelled.");
+    }
+
+    /**
+     * Caps a timeout so that it does not outlive the turn of the given state.
+     *
+     * @param state     a state of the current turn
+     * @param timeoutMs the requested timeout in milliseconds
+     * @return the timeout in nanoseconds, at most the remaining turn time
+     */
+    public static long capToTurn(State state, long timeoutMs) {
+        long timeout = TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        TurnContext turn = state.getTurnContext();
+        return turn == null ? timeout : Math.min(timeout, turn.remainingNanos());
+    }
+
+    /**
+     * Timer expiring the turns of agents running inline, started on first use.
+     */
+    private static final class DeadlineTimer {
+
+        private static final ScheduledThreadPoolExecutor TIMER = newTimer();
+
+        private static ScheduledThreadPoolExecutor newTimer() {
+            ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, task -> {
+                Thread thread = new Thread(task, "turn-deadline");
+                thread.setDaemon(true);
+                return thread;
+            });
+            // most agents return well before the deadline, do not keep their timers queued
+            timer.setRemoveOnCancelPolicy(true);
+            return timer;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.api.hub.ai.handler.impl;
+
+import com.api.hub.ai.pojo.State;
+
+/**
+ * Direct invoker of an {@code @Agent} method, generated once by {@link AgentMethodInvokers#of(java.lang.reflect.Method)}
+ * when the agent is registered.
+ *
+ * <p>Exceptions thrown by the agent method propagate unchanged.</p>
+ *
+ * @see AgentDefination#invokeAgent(State)
+ * @since 1.0
+ */
+@FunctionalInterface
+public interface AgentMethodInvoker {
+
+    /**
+     * Invokes the agent method.
+     *
+     * @param handler the object declaring the agent method
+     * @param state   the state to pass to the agent
+     * @return the result of the agent method
+     * @throws Throwable anything thrown by the agent method
+     */
+    boolean invoke(Object handler, State state) throws Throwable;
+}
@@ -0,0 +1,111 @@
+package com.api.hub.ai.handler.impl;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import org.springframework.core.NativeDetector;
+
+import com.api.hub.ai.constants.MarkerConstants;
+import com.api.hub.ai.pojo.State;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Builds the {@link AgentMethodInvoker} of {@code @Agent} methods.
+ *
+ * <p>The invoker is a class spun by {@link LambdaMetafactory} whose {@code invoke} calls the agent method with a
+ * plain {@code invokevirtual}: no access check, argument array, boxing of the result or exception wrapping
+ * happens per call, and the JIT can inline the agent method into the caller. When the agent class is not
+ * visible to the framework's lookup, for example because it was loaded by another class loader, the invoker
+ * falls back to a {@link MethodHandle} adapted to the exact {@code (Object, State)boolean} type, which is
+ * still free of the reflective overhead. In a GraalVM native image, where classes cannot be defined at
+ * runtime, the method is invoked reflectively using the hints registered by
+ * {@link com.api.hub.configuration.ai.AgentRuntimeHints}.</p>
+ *
+ * @see AgentDefination#invokeAgent(State)
+ * @since 1.0
+ */
+@Slf4j
+public final class AgentMethodInvokers implements MarkerConstants {
+
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(AgentMethodInvoker.class);
+
+    private static final MethodType ERASED_TYPE = MethodType.methodType(boolean.class, Object.class, State.class);
+
+    private AgentMethodInvokers() {
+    }
+
+    /**
+     * Validates that the method has the {@code (State) -> boolean} signature of an agent and builds its invoker.
+     *
+     * @param method the {@code @Agent} method
+     * @return the invoker of the method
+     * @throws IllegalArgumentException if the method is static, does not have the agent signature or is not accessible
+     */
+    public static AgentMethodInvoker of(Method method) {
+        validate(method);
+        if (NativeDetector.inNativeImage()) {
+            // classes cannot be defined at runtime in a native image; the method is registered for reflection
+            return reflective(method);
+        }
+        MethodHandle target;
+        MethodHandles.Lookup lookup;
+        try {
+            lookup = MethodHandles.privateLookupIn(method.getDeclaringClass(), MethodHandles.lookup());
+            target = lookup.unreflect(method);
+        } catch (IllegalAccessException e) {
+            return bound(unreflectAccessible(method));
+        }
+        try {
+            CallSite site = LambdaMetafactory.metafactory(lookup, "invoke", INVOKER_TYPE, ERASED_TYPE, target,
+                    target.type().changeReturnType(boolean.class));
+            return (AgentMethodInvoker) site.getTarget().invokeExact();
+        } catch (Throwable e) {
+            log.debug(PERFORMANCE, "Using method handle invoker for agent method " + method.getName() + " " + e);
+            return bound(target);
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException if the method is not an instance method with signature {@code boolean (State)}
+     */
+    static void validate(Method method) {
+        Class<?>[] parameters = method.getParameterTypes();
+        if (Modifier.isStatic(method.getModifiers()) || parameters.length != 1 || parameters[0] != State.class
+                || (method.getReturnType() != boolean.class && method.getReturnType() != Boolean.class)) {
+            throw new IllegalArgumentException("Agent method " + method.getDeclaringClass().getName() + "#"
+                    + method.getName() + " must be an instance method with signature boolean (State)");
+        }
+    }
+
+    private static MethodHandle unreflectAccessible(Method method) {
+        try {
+            method.setAccessible(true);
+            return MethodHandles.lookup().unreflect(method);
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw new IllegalArgumentException("Agent method " + method.getName() + " is not accessible " + e.getMessage(), e);
+        }
+    }
+
+    private static AgentMethodInvoker reflective(Method method) {
+        method.setAccessible(true);
+        return (handler, state) -> {
+            try {
+                return (boolean) method.invoke(handler, state);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        };
+    }
+
+    private static AgentMethodInvoker bound(MethodHandle target) {
+        MethodHandle exact = target.asType(ERASED_TYPE);
+        return (handler, state) -> (boolean) exact.invokeExact(handler, state);
+    }
+}
@@ -0,0 +1,455 @@
+package com.api.hub.ai.handler.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+
+import com.api.hub.ai.constants.RoutingPolicy;
+import com.api.hub.ai.pojo.Task;
+import com.api.hub.configuration.ai.AgentRegister;
+import com.api.hub.exception.ApiHubException;
+import com.api.hub.exception.InputException;
+
+/**
+ * Abstract class representing a pool of AI agents registered under a specific category or type.
+ * <p>
+ * This class is part of the AI-Agent Framework, responsible for managing the registration, mapping,
+ * and invocation readiness of AI agents. It initializes agent definitions at application startup
+ * and maps them to specific goals they are capable of handling.
+ * </p>
+ *
+ * <p>
+ * Subclasses must implement the {@link #getMatchingAgent(Task)} method to provide logic for
+ * selecting the most appropriate agent for a given task.
+ * </p>
+ *
+ * <p>
+ * The agents of a pool form an immutable {@link AgentPoolSnapshot} that is rebuilt and published atomically
+ * whenever agents are added or removed at runtime ({@link #addAgent(AgentDefination)},
+ * {@link #removeAgent(String)}). Matching never locks, and a turn that captured a snapshot keeps a
+ * consistent view of the agents until it completes.
+ * </p>
+ *
+ * <p>
+ * When several agents match a task equally well, {@link #selectAgent(List)} chooses among them according to the
+ * pool's {@link RoutingPolicy}: always the first one, or the one with the lowest live load score, so that traffic
+ * moves away from an implementation as soon as it slows down or fails. Subclasses get the policy by returning
+ * their candidates from {@link #getEquivalentAgents(AgentPoolSnapshot, Task)}; a policy configured on a pool
+ * that does not apply it is reported at startup.
+ * </p>
+ *
+ * <p><b>Usage:</b> Extend this class and define custom agent-matching logic based on your use case.</p>
+ *
+
+ */
+public abstract class AgentPool {
+
+    /**
+     * Name identifying this pool of agents. Must be unique and not null.
+     */
+    protected String name;
+
+    /**
+     * List of supported goal names this agent pool is designed to handle. Agents declaring {@code "*"} are
+     * mapped to these goals; when the list is empty, to every goal named by the other agents of the pool.
+     * Call {@link #refresh()} after changing it.
+     */
+    protected List<String> goals = new ArrayList<>();
+
+    /**
+     * Map of agent names to their corresponding {@link AgentDefination} objects, in registration order.
+     * <p>Read-only view of the current {@link AgentPoolSnapshot}, replaced whenever the agents change.</p>
+     */
+    protected volatile Map<String, AgentDefination> agentsMap = Collections.emptyMap();
+
+    /**
+     * Map of goal names to list of agent names that are capable of handling them.
+     * <p>Read-only view of the current {@link AgentPoolSnapshot}, replaced whenever the agents change.</p>
+     */
+    protected volatile Map<String, List<String>> agentGoalMap = Collections.emptyMap();
+
+    /** Current routing table, replaced atomically on every change. */
+    private final AtomicReference<AgentPoolSnapshot> snapshot =
+            new AtomicReference<>(new AgentPoolSnapshot(0, Collections.emptyMap(), null));
+
+    /** Serializes writers; readers never lock. */
+    private final Object writeLock = new Object();
+
+    /** Limit of concurrent tasks routed through this pool, {@code null} for none. */
+    private volatile Bulkhead bulkhead;
+
+    /** How agents matching a task equally well are chosen. */
+    private volatile RoutingPolicy routingPolicy = RoutingPolicy.FIRST;
+
+    /**
+     * Registers a new agent into the pool, replacing any agent with the same name.
+     *
+     * @param agent The agent definition to be registered.
+     * @throws ApiHubException if the pool cannot build its routing structures for the new agent set.
+     */
+    public void registerAgent(AgentDefination agent) throws ApiHubException {
+        addAgent(agent);
+    }
+
+    /**
+     * Adds an agent at runtime and publishes a new routing snapshot. Turns already running keep
+     * routing against the snapshot they started with.
+     *
+     * @param agent The agent definition to add.
+     * @throws ApiHubException if the pool cannot build its routing structures for the new agent set.
+     */
+    public void addAgent(AgentDefination agent) throws ApiHubException {
+        synchronized (writeLock) {
+            Map<String, AgentDefination> agents = new LinkedHashMap<>(snapshot.get().getAgents());
+            agents.put(agent.getName(), agent);
+            publish(agents);
+        }
+    }
+
+    /**
+     * Adds several agents at runtime and publishes a single routing snapshot for all of them.
+     *
+     * @param agents The agent definitions to add.
+     * @throws ApiHubException if the pool cannot build its routing structures for the new agent set.
+     */
+    public void addAgents(Collection<AgentDefination> agents) throws ApiHubException {
+        synchronized (writeLock) {
+            Map<String, AgentDefination> next = new LinkedHashMap<>(snapshot.get().getAgents());
+            for (AgentDefination def : agents) {
+                next.put(def.getName(), def);
+            }
+            publish(next);
+        }
+    }
+
+    /**
+     * Removes an agent at runtime and publishes a new routing snapshot.
+     *
+     * @param agentName Name of the agent to remove.
+     * @return {@code true} if the agent was registered.
+     * @throws ApiHubException if the pool cannot build its routing structures for the new agent set.
+     */
+    public boolean removeAgent(String agentName) throws ApiHubException {
+        synchronized (writeLock) {
+            Map<String, AgentDefination> agents = new LinkedHashMap<>(snapshot.get().getAgents());
+            if (agents.remove(agentName) == null) {
+                return false;
+            }
+            publish(agents);
+            return true;
+        }
+    }
+
+    /**
+     * Rebuilds the routing snapshot, including the goal-to-agents mapping, from the registered agents.
+     * Agents that support all goals ("*") are mapped to every goal declared in {@link #goals}, or to every goal
+     * named by the other agents when the pool declares none; for any other goal they are still found through
+     * the {@code "*"} entry, see {@link AgentPoolSnapshot#getAgentsForGoal(String)}.
+     *
+     * @throws ApiHubException if the pool cannot build its routing structures.
+     */
+    public void refresh() throws ApiHubException {
+        synchronized (writeLock) {
+            publish(snapshot.get().getAgents());
+        }
+    }
+
+    /**
+     * Returns the current routing snapshot. Capture it once per turn to route every task of the
+     * turn against the same agents.
+     *
+     * @return the current, immutable snapshot
+     */
+    public AgentPoolSnapshot getSnapshot() {
+        return snapshot.get();
+    }
+
+    /**
+     * Builds pool-specific routing structures for a new snapshot, exposed as {@link AgentPoolSnapshot#getIndex()}.
+     * Called under the write lock before the snapshot is published; the default builds none.
+     *
+     * @param agents the agents of the new snapshot, in registration order
+     * @return the index, or {@code null}
+     * @throws ApiHubException if the agents cannot be indexed, in which case the current snapshot is kept
+     */
+    protected Object buildIndex(Map<String, AgentDefination> agents) throws ApiHubException {
+        return null;
+    }
+
+    /**
+     * Builds and publishes a snapshot of the given agents, must hold {@link #writeLock}.
+     */
+    private void publish(Map<String, AgentDefination> agents) throws ApiHubException {
+        AgentPoolSnapshot next = new AgentPoolSnapshot(snapshot.get().getVersion() + 1, agents, buildIndex(agents),
+                goals == null ? Collections.emptyList() : List.copyOf(goals));
+        Map<String, List<String>> goalNames = new LinkedHashMap<>();
+        next.getAgentsByGoal().forEach((goal, defs) -> {
+            List<String> names = new ArrayList<>(defs.size());
+            defs.forEach(d -> names.add(d.getName()));
+            goalNames.put(goal, Collections.unmodifiableList(names));
+        });
+        snapshot.set(next);
+        agentsMap = next.getAgents();
+        agentGoalMap = Collections.unmodifiableMap(goalNames);
+    }
+
+    /**
+     * Initializes the agent pool after the application context is fully loaded.
+     * <p>
+     * This method loads all agents registered under this pool's name from the {@link AgentRegister}
+     * and registers them into the pool.
+     * </p>
+     *
+     * @throws ApiHubException if the name is not set or if no agents are registered under the given name.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void configureAgents() throws ApiHubException {
+        if (name == null || name.isBlank()) {
+            throw new InputException("1001-ai-hub", "name is null", "");
+        }
+
+        List<AgentDefination> defList = AgentRegister.getAgents(name);
+        if (defList == null || defList.isEmpty()) {
+            throw new InputException("1001-ai-hub", "invalid name " + name, "");
+        }
+
+        addAgents(defList);
+    }
+
+    /**
+     * Abstract method to retrieve the agent definition that matches the given task.
+     * <p>
+     * Subclasses must implement logic to determine which registered agent is best suited
+     * for handling the specified task.
+     * </p>
+     *
+     * @param task The task for which a matching agent needs to be found.
+     * @return The matching {@link AgentDefination}, or {@code null} if no match is found.
+     */
+    public abstract AgentDefination getMatchingAgent(Task task);
+
+    /**
+     * Retrieves the agent matching the given task within a captured snapshot.
+     * <p>
+     * When the pool provides {@link #getEquivalentAgents(AgentPoolSnapshot, Task) equivalent agents}, the pool's
+     * {@link RoutingPolicy} chooses among them. Otherwise the default implementation asks
+     * {@link #getMatchingAgent(Task)}, which sees the current agents, and keeps
+     * its choice if that agent is part of the captured snapshot. When it chose an agent missing from the snapshot,
+     * e.g. one added after the turn started, it chooses among the snapshot's agents for the task's goal instead,
+     * see {@link #selectAgentForGoal(AgentPoolSnapshot, String)}. When it matched no agent, none is returned.
+     * Pools that route through {@link AgentPoolSnapshot} override it to match against the snapshot directly.
+     * </p>
+     *
+     * @param snapshot The snapshot captured for the current turn.
+     * @param task The task for which a matching agent needs to be found.
+     * @return The matching {@link AgentDefination} of the snapshot, or {@code null} if no match is found.
+     */
+    public AgentDefination getMatchingAgent(AgentPoolSnapshot snapshot, Task task) {
+        List<AgentDefination> equivalents = getEquivalentAgents(snapshot, task);
+        if (equivalents != null) {
+            return selectAgent(equivalents);
+        }
+        AgentDefination agent = getMatchingAgent(task);
+        if (agent == null || snapshot.getAgents().get(agent.getName()) == agent) {
+            return agent;
+        }
+        return task.getCurrentGoal() == null ? null : selectAgentForGoal(snapshot, task.getCurrentGoal().getGoal());
+    }
+
+    /**
+     * Retrieves the agents of the snapshot that match the given task equally well, for the pool's
+     * {@link RoutingPolicy} to choose from in {@link #getMatchingAgent(AgentPoolSnapshot, Task)}.
+     * <p>
+     * The default returns {@code null}: the pool only provides the single agent chosen by
+     * {@link #getMatchingAgent(Task)}, so its routing policy has nothing to choose from and does not apply.
+     * Custom pools override it to benefit from the routing policies without reimplementing them.
+     * </p>
+     *
+     * @param snapshot The snapshot captured for the current turn.
+     * @param task The task for which matching agents are needed.
+     * @return The equivalent agents in preference order, empty if none match, or {@code null} if the pool does
+     *         not provide them.
+     */
+    protected List<AgentDefination> getEquivalentAgents(AgentPoolSnapshot snapshot, Task task) {
+        return null;
+    }
+
+    /**
+     * Tells whether this pool applies its {@link RoutingPolicy}, either because it provides
+     * {@link #getEquivalentAgents(AgentPoolSnapshot, Task) equivalent agents} or because it calls
+     * {@link #selectAgent(List)} from its own matching. A policy configured on a pool that does not apply it is
+     * reported at startup.
+     *
+     * @return {@code true} if the configured routing policy affects the choice of agents
+     */
+    public boolean appliesRoutingPolicy() {
+        for (Class<?> type = getClass(); type != AgentPool.class; type = type.getSuperclass()) {
+            try {
+                type.getDeclaredMethod("getEquivalentAgents", AgentPoolSnapshot.class, Task.class);
+                return true;
+            } catch (NoSuchMethodException e) {
+                // not overridden at this level
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Tells whether {@link #getMatchingAgent(AgentPoolSnapshot, Task)} chooses the same agent for every task of
+     * the same goal, name, creator and payload type within a snapshot, so that the decision may be memoized,
+     * see {@link RoutingMemo}.
+     * <p>
+     * The default is {@code false}, since subclasses may route on anything: the routing memo only serves pools
+     * that override it. Pools returning {@code true} must not look at other task fields nor at live load.
+     * </p>
+     *
+     * @param snapshot The snapshot captured for the current turn.
+     * @return {@code true} if routing decisions of the snapshot may be memoized
+     */
+    public boolean isRoutingMemoizable(AgentPoolSnapshot snapshot) {
+        return false;
+    }
+
+    /**
+     * Retrieves every registered agent able to handle the given task, used for scatter-gather invocation.
+     *
+     * @param task The task for which matching agents are needed.
+     * @return The matching agents, most preferred first; empty if none match.
+     * @see #getMatchingAgents(AgentPoolSnapshot, Task)
+     */
+    public List<AgentDefination> getMatchingAgents(Task task) {
+        return getMatchingAgents(getSnapshot(), task);
+    }
+
+    /**
+     * Retrieves every agent of the snapshot able to handle the given task.
+     * <p>
+     * The default implementation returns, in registration order, the agents mapped to the task's goal
+     * (including agents declaring {@code "*"}), with the agent chosen by {@link #getMatchingAgent(AgentPoolSnapshot, Task)}
+     * first; a task without a goal only gets that agent. Subclasses may override it to apply their own matching
+     * rules.
+     * </p>
+     *
+     * @param snapshot The snapshot captured for the current turn.
+     * @param task The task for which matching agents are needed.
+     * @return The matching agents, most preferred first; empty if none match.
+     */
+    public List<AgentDefination> getMatchingAgents(AgentPoolSnapshot snapshot, Task task) {
+        List<AgentDefination> matches = new ArrayList<>();
+        AgentDefination preferred = getMatchingAgent(snapshot, task);
+        if (preferred != null) {
+            matches.add(preferred);
+        }
+        if (task.getCurrentGoal() == null) {
+            return matches;
+        }
+        for (AgentDefination def : snapshot.getAgentsForGoal(task.getCurrentGoal().getGoal())) {
+            if (def != preferred) {
+                matches.add(def);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * @return the limit of concurrent tasks routed through this pool, {@code null} for none
+     */
+    public Bulkhead getBulkhead() {
+        return bulkhead;
+    }
+
+    /**
+     * Limits the number of tasks of all environments that run through this pool at the same time.
+     *
+     * @param bulkhead the limit, {@code null} to remove it
+     */
+    public void setBulkhead(Bulkhead bulkhead) {
+        this.bulkhead = bulkhead;
+    }
+
+    /**
+     * @return how agents matching a task equally well are chosen
+     */
+    public RoutingPolicy getRoutingPolicy() {
+        return routingPolicy;
+    }
+
+    /**
+     * @param routingPolicy how agents matching a task equally well are chosen
+     */
+    public void setRoutingPolicy(RoutingPolicy routingPolicy) {
+        this.routingPolicy = routingPolicy == null ? RoutingPolicy.FIRST : routingPolicy;
+    }
+
+    /**
+     * Chooses one of several agents that match a task equally well, e.g. the agents mapped to its goal.
+     * <p>
+     * With {@link RoutingPolicy#FIRST} the first agent is returned. Otherwise the choice is based on
+     * {@link com.api.hub.ai.metrics.AgentLoad#getScore() the agents' load scores}, and agents whose circuit breaker
+     * refuses calls are only chosen when no other agent is available. Once the open period of a breaker is over
+     * the agent competes again, so that its trial calls can close the breaker.
+     * </p>
+     *
+     * @param equivalents the candidate agents, in preference order
+     * @return the chosen agent, or {@code null} if there is none
+     */
+    protected AgentDefination selectAgent(List<AgentDefination> equivalents) {
+        int size = equivalents.size();
+        if (size == 0) {
+            return null;
+        }
+        RoutingPolicy policy = routingPolicy;
+        if (size == 1 || policy == RoutingPolicy.FIRST) {
+            return equivalents.get(0);
+        }
+        if (policy == RoutingPolicy.POWER_OF_TWO) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int first = random.nextInt(size);
+            int second = random.nextInt(size - 1);
+            if (second >= first) {
+                second++;
+            }
+            AgentDefination a = equivalents.get(first);
+            AgentDefination b = equivalents.get(second);
+            return score(b) < score(a) ? b : a;
+        }
+        AgentDefination best = null;
+        double bestScore = Double.MAX_VALUE;
+        for (AgentDefination def : equivalents) {
+            double score = score(def);
+            if (best == null || score < bestScore) {
+                best = def;
+                bestScore = score;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Chooses among the agents mapped to a goal, see {@link AgentPoolSnapshot#getAgentsForGoal(String)}.
+     * Pools that match by goal alone can return this from {@link #getMatchingAgent(AgentPoolSnapshot, Task)}.
+     *
+     * @param snapshot the snapshot captured for the current turn
+     * @param goal     goal name
+     * @return the chosen agent, or {@code null} if no agent handles the goal
+     */
+    protected AgentDefination selectAgentForGoal(AgentPoolSnapshot snapshot, String goal) {
+        return selectAgent(snapshot.getAgentsForGoal(goal));
+    }
+
+    private static double score(AgentDefination def) {
+        CircuitBreaker breaker = def.getCircuitBreaker();
+        if (breaker != null && !breaker.allowsCalls()) {
+            return Double.MAX_VALUE;
+        }
+        return def.getLoad().getScore();
+    }
+}
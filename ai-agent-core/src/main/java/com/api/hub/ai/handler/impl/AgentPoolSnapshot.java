@@ -0,0 +1,105 @@
+package com.api.hub.ai.handler.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import lombok.Getter;
+
+/**
+ * Immutable routing table of an {@link AgentPool} at a given point in time.
+ * <p>
+ * Every change to the agents of a pool builds a new snapshot and publishes it atomically, so matching never
+ * takes a lock and a turn that captured a snapshot keeps routing against the same set of agents even if
+ * agents are added or removed while it runs.
+ * </p>
+ *
+ * <p><b>Fields:</b></p>
+ * <ul>
+ *   <li><b>version:</b> Increases with every published change; caches of routing decisions use it for invalidation.</li>
+ *   <li><b>agents:</b> Agents by name, in registration order.</li>
+ *   <li><b>agentsByGoal:</b> Agents able to handle each goal, in registration order; agents declaring {@code "*"} are
+ *   listed under {@code "*"} and included in every goal declared by the pool, or, when the pool declares none, in
+ *   every goal named by its agents.</li>
+ *   <li><b>index:</b> Optional pool-specific structure built from the same agents, e.g. the hash index of
+ *   {@link IndexedAgentPool}.</li>
+ * </ul>
+ *
+ * @see AgentPool#getSnapshot()
+ * @since 1.0
+ */
+@Getter
+public final class AgentPoolSnapshot {
+
+    /** Key of agents accepting any goal. */
+    public static final String ANY_GOAL = "*";
+
+    private final long version;
+
+    private final Map<String, AgentDefination> agents;
+
+    private final Map<String, List<AgentDefination>> agentsByGoal;
+
+    private final Object index;
+
+    AgentPoolSnapshot(long version, Map<String, AgentDefination> agents, Object index) {
+        this(version, agents, index, Collections.emptyList());
+    }
+
+    AgentPoolSnapshot(long version, Map<String, AgentDefination> agents, Object index, Collection<String> poolGoals) {
+        this.version = version;
+        this.agents = Collections.unmodifiableMap(new LinkedHashMap<>(agents));
+        this.agentsByGoal = groupByGoal(this.agents, poolGoals);
+        this.index = index;
+    }
+
+    /**
+     * @param goal goal name
+     * @return agents able to handle the goal in registration order, empty if none
+     */
+    public List<AgentDefination> getAgentsForGoal(String goal) {
+        List<AgentDefination> agentsForGoal = agentsByGoal.get(goal);
+        if (agentsForGoal == null) {
+            agentsForGoal = agentsByGoal.getOrDefault(ANY_GOAL, Collections.emptyList());
+        }
+        return agentsForGoal;
+    }
+
+    /**
+     * @param poolGoals goals declared by the pool, which agents declaring {@code "*"} are mapped to; when empty
+     *                  they are mapped to every goal named by the other agents
+     */
+    private static Map<String, List<AgentDefination>> groupByGoal(Map<String, AgentDefination> agents,
+            Collection<String> poolGoals) {
+        Set<String> goals = new LinkedHashSet<>(poolGoals);
+        if (goals.isEmpty()) {
+            for (AgentDefination def : agents.values()) {
+                if (def.getGoalNames() != null) {
+                    goals.addAll(def.getGoalNames());
+                }
+            }
+        }
+        goals.remove(ANY_GOAL);
+
+        Map<String, List<AgentDefination>> byGoal = new LinkedHashMap<>();
+        for (AgentDefination def : agents.values()) {
+            List<String> goalNames = def.getGoalNames();
+            if (goalNames == null) {
+                continue;
+            }
+            if (goalNames.contains(ANY_GOAL)) {
+                byGoal.computeIfAbsent(ANY_GOAL, g -> new ArrayList<>()).add(def);
+                goals.forEach(g -> byGoal.computeIfAbsent(g, k -> new ArrayList<>()).add(def));
+            } else {
+                goalNames.forEach(g -> byGoal.computeIfAbsent(g, k -> new ArrayList<>()).add(def));
+            }
+        }
+        byGoal.replaceAll((goal, list) -> Collections.unmodifiableList(list));
+        return Collections.unmodifiableMap(byGoal);
+    }
+}
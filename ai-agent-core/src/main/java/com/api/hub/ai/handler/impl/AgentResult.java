@@ -0,0 +1,46 @@
+package com.api.hub.ai.handler.impl;
+
+import com.api.hub.ai.pojo.State;
+
+import lombok.Data;
+
+/**
+ * Outcome of a single agent invocation performed as part of a multi-agent invocation.
+ *
+ * <p><b>Fields:</b></p>
+ * <ul>
+ *   <li><b>agent:</b> The agent that was invoked.</li>
+ *   <li><b>state:</b> The isolated state the agent ran with; its handler holds the captured output.</li>
+ *   <li><b>continueToNext:</b> Value returned by the agent, {@code null} if it did not complete.</li>
+ *   <li><b>error:</b> Failure raised by the agent, if any.</li>
+ *   <li><b>timedOut:</b> Whether the agent missed its deadline and was cancelled.</li>
+ *   <li><b>latencyNanos:</b> Time from submission until the result was collected.</li>
+ * </ul>
+ *
+ * @see ScatterGatherInvoker
+ * @see com.api.hub.ai.handler.MergeStrategy
+ */
+@Data
+public class AgentResult {
+
+    private AgentDefination agent;
+    private State state;
+    private Boolean continueToNext;
+    private Throwable error;
+    private boolean timedOut;
+    private long latencyNanos;
+
+    /**
+     * @return {@code true} if the agent completed without error within its deadline
+     */
+    public boolean isSuccess() {
+        return continueToNext != null && error == null && !timedOut;
+    }
+
+    /**
+     * @return output captured from the agent, or {@code null}
+     */
+    public String getOutput() {
+        return state == null || state.getHandler() == null ? null : state.getHandler().getOut();
+    }
+}
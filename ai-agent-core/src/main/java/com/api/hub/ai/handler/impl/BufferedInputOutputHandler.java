@@ -0,0 +1,71 @@
+package com.api.hub.ai.handler.impl;
+
+import com.api.hub.ai.handler.InputOutputHandler;
+
+/**
+ * {@link InputOutputHandler} that captures agent output instead of sending it to the user.
+ *
+ * <p>Used when several agents work on the same task at once (scatter-gather, hedging): every agent
+ * writes into its own buffer, and only the selected or merged result is forwarded to the real handler.
+ * Input and environment state are read from the delegate.</p>
+ *
+ * @see ScatterGatherInvoker
+ * @since 1.0
+ */
+public class BufferedInputOutputHandler implements InputOutputHandler {
+
+    /** The handler communicating with the user */
+    private final InputOutputHandler delegate;
+
+    /** Output captured from the agent */
+    private String outPutmsg;
+
+    /** Status reported by the agent */
+    private boolean isSuccess;
+
+    public BufferedInputOutputHandler(InputOutputHandler delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void setInput(String input) {
+        // input belongs to the delegate, agents only read it
+    }
+
+    @Override
+    public synchronized void setOutPut(String output) {
+        this.outPutmsg = output;
+    }
+
+    @Override
+    public synchronized void emit(String chunk) {
+        this.outPutmsg = outPutmsg == null ? chunk : outPutmsg + chunk;
+    }
+
+    @Override
+    public void setState(EnvironmentState state) {
+        // state belongs to the delegate
+    }
+
+    @Override
+    public synchronized String getOut() {
+        return outPutmsg;
+    }
+
+    @Override
+    public void status(boolean isSuccess) {
+        this.isSuccess = isSuccess;
+    }
+
+    @Override
+    public boolean isSuccess() {
+        return isSuccess;
+    }
+
+    /**
+     * @return the handler the captured output is eventually forwarded to
+     */
+    public InputOutputHandler getDelegate() {
+        return delegate;
+    }
+}
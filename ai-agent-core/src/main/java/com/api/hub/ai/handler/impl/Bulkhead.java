@@ -0,0 +1,143 @@
+package com.api.hub.ai.handler.impl;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.api.hub.ai.metrics.LatencyStats;
+import com.api.hub.ai.metrics.Metric;
+import com.api.hub.exception.ApiHubException;
+import com.api.hub.exception.InternalServerException;
+import com.api.hub.exception.NetworkException;
+
+import lombok.Getter;
+
+/**
+ * Concurrency limit of a single agent or agent pool.
+ *
+ * <p>At most {@code maxConcurrent} calls run at the same time. Up to {@code maxQueued} further calls wait, in
+ * arrival order, for at most {@code queueTimeoutMs} (and never past the turn deadline). Calls beyond the
+ * queue, and queued calls that time out, fail fast with a {@link NetworkException} with code <b>7012</b>
+ * (BULKHEAD_REJECTED). One slow downstream behind an agent can therefore hold only that agent's permits,
+ * instead of every executor thread of every environment.</p>
+ *
+ * <p>Each bulkhead is a {@link Metric} reporting its saturation (running calls over the limit), queue
+ * length, admitted, rejected and timed-out calls, and the queue wait.</p>
+ *
+ * <p><b>Usage:</b></p>
+ * <pre>{@code
+ * bulkhead.acquire(maxWaitNanos);
+ * try {
+ *     // call the agent
+ * } finally {
+ *     bulkhead.release();
+ * }
+ * }</pre>
+ *
+ * @see AgentDefination#getBulkhead()
+ * @see AgentPool#getBulkhead()
+ * @since 1.0
+ */
+@Getter
+public final class Bulkhead implements Metric {
+
+    /** Agent or pool name, used in error messages. */
+    private final String name;
+
+    /** Maximum number of calls running at the same time. */
+    private final int maxConcurrent;
+
+    /** Maximum number of calls waiting for a permit. */
+    private final int maxQueued;
+
+    /** Maximum time a call waits for a permit, in milliseconds. */
+    private final long queueTimeoutMs;
+
+    private final Semaphore permits;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final LatencyStats queueWait = new LatencyStats();
+
+    public Bulkhead(String name, int maxConcurrent, int maxQueued, long queueTimeoutMs) {
+        if (maxConcurrent <= 0 || maxQueued < 0 || queueTimeoutMs < 0) {
+            throw new IllegalArgumentException("Invalid bulkhead " + name + ", maxConcurrent - " + maxConcurrent
+                    + ", maxQueued - " + maxQueued + ", queueTimeout - " + queueTimeoutMs);
+        }
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueued = maxQueued;
+        this.queueTimeoutMs = queueTimeoutMs;
+        this.permits = new Semaphore(maxConcurrent, true);
+    }
+
+    /**
+     * Takes a permit, waiting in the queue when all permits are in use. Every successful call must be
+     * followed by {@link #release()}.
+     *
+     * @param maxWaitNanos upper bound of the queue wait, e.g. the time left in the turn
+     * @throws ApiHubException a 7012 {@link NetworkException} if the queue is full or the wait timed out, or a
+     *                         8005 {@link InternalServerException} if the thread was interrupted while waiting
+     */
+    public void acquire(long maxWaitNanos) throws ApiHubException {
+        if (permits.tryAcquire()) {
+            admitted.increment();
+            return;
+        }
+        if (queued.incrementAndGet() > maxQueued) {
+            queued.decrementAndGet();
+            rejected.increment();
+            throw new NetworkException("7012-ai-hub", "Bulkhead " + name + " is full, running - " + maxConcurrent
+                    + ", queued - " + maxQueued, "Service is busy, please retry shortly.");
+        }
+        long start = System.nanoTime();
+        try {
+            long wait = Math.min(TimeUnit.MILLISECONDS.toNanos(queueTimeoutMs), maxWaitNanos);
+            if (!permits.tryAcquire(wait, TimeUnit.NANOSECONDS)) {
+                timedOut.increment();
+                throw new NetworkException("7012-ai-hub", "Bulkhead " + name + " had no free slot within "
+                        + TimeUnit.NANOSECONDS.toMillis(wait) + " ms", "Service is busy, please retry shortly.");
+            }
+            admitted.increment();
+            queueWait.recordSince(start);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InternalServerException("8005-ai-hub", "Interrupted while waiting for bulkhead " + name, "");
+        } finally {
+            queued.decrementAndGet();
+        }
+    }
+
+    /**
+     * Returns the permit taken by {@link #acquire(long)}.
+     */
+    public void release() {
+        permits.release();
+    }
+
+    /**
+     * @return number of calls currently running
+     */
+    public int getActive() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    @Override
+    public Map<String, Number> snapshot() {
+        Map<String, Number> values = new LinkedHashMap<>();
+        int active = getActive();
+        values.put("maxConcurrent", maxConcurrent);
+        values.put("active", active);
+        values.put("saturation", (double) active / maxConcurrent);
+        values.put("queued", queued.get());
+        values.put("admitted", admitted.sum());
+        values.put("rejected", rejected.sum());
+        values.put("timedOut", timedOut.sum());
+        values.put("queueWaitP99Ms", queueWait.getPercentileNanos(99) / 1_000_000.0);
+        return values;
+    }
+}
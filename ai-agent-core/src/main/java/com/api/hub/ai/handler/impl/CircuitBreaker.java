@@ -0,0 +1,300 @@
+package com.api.hub.ai.handler.impl;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.api.hub.ai.metrics.Metric;
+import com.api.hub.ai.pojo.TurnContext;
+import com.api.hub.exception.ApiHubException;
+
+import lombok.Getter;
+
+/**
+ * Circuit breaker of a single agent.
+ *
+ * <p>The breaker records the outcome of the last {@code windowSize} calls. Once at least {@code minCalls}
+ * are recorded and the share of failures reaches {@code failureRatePercent}, it <b>opens</b>: calls are
+ * refused at once for {@code openMs}, so a failing dependency stops taking a full-latency hit on every
+ * turn. It then turns <b>half-open</b> and lets up to {@code halfOpenCalls} trial calls through; a successful
+ * trial closes the breaker again, a failed one reopens it.</p>
+ *
+ * <p>Only dependency failures count, as classified by {@link #isFailure(ApiHubException)} from the error code
+ * ranges of {@code ErrorCodeSeries.md}. Errors caused by the input, the session or the configuration are
+ * ignored.</p>
+ *
+ * <p>Each breaker is a {@link Metric} reporting its state, failure rate, refused calls and how often it
+ * opened.</p>
+ *
+ * @see AgentDefination#invokeAgent(com.api.hub.ai.pojo.State)
+ * @see RetryPolicy
+ * @since 1.0
+ */
+public final class CircuitBreaker implements Metric {
+
+    /**
+     * States of a circuit breaker.
+     */
+    public enum Status {
+        /** Calls pass and their outcome is recorded. */
+        CLOSED,
+        /** Calls are refused until the open period ends. */
+        OPEN,
+        /** A limited number of trial calls pass. */
+        HALF_OPEN
+    }
+
+    /** Agent name, used in error messages. */
+    @Getter
+    private final String name;
+
+    /** Number of most recent calls the failure rate is computed over. */
+    @Getter
+    private final int windowSize;
+
+    /** Minimum number of recorded calls before the breaker may open. */
+    @Getter
+    private final int minCalls;
+
+    /** Failure rate, in percent, that opens the breaker. */
+    @Getter
+    private final int failureRatePercent;
+
+    /** Time the breaker stays open before trial calls are allowed, in milliseconds. */
+    @Getter
+    private final long openMs;
+
+    /** Maximum number of concurrent trial calls while half-open. */
+    @Getter
+    private final int halfOpenCalls;
+
+    @Getter
+    private volatile Status status = Status.CLOSED;
+
+    private final boolean[] outcomes;
+    private int next;
+    private int recorded;
+    private int failures;
+    private long openedAtNanos;
+    private int trials;
+    private long opened;
+    private final LongAdder refused = new LongAdder();
+
+    public CircuitBreaker(String name, int windowSize, int minCalls, int failureRatePercent, long openMs, int halfOpenCalls) {
+        if (windowSize <= 0 || minCalls <= 0 || minCalls > windowSize || failureRatePercent <= 0 || failureRatePercent > 100
+                || openMs < 0 || halfOpenCalls <= 0) {
+            throw new IllegalArgumentException("Invalid circuit breaker " + name + ", window - " + windowSize + ", minCalls - "
+                    + minCalls + ", failureRate - " + failureRatePercent + ", open - " + openMs + ", halfOpenCalls - " + halfOpenCalls);
+        }
+        this.name = name;
+        this.windowSize = windowSize;
+        this.minCalls = minCalls;
+        this.failureRatePercent = failureRatePercent;
+        this.openMs = openMs;
+        this.halfOpenCalls = halfOpenCalls;
+        this.outcomes = new boolean[windowSize];
+    }
+
+    /**
+     * Decides whether a call may proceed. Every permitted call must be reported through
+     * {@link #onSuccess()} or {@link #onError(ApiHubException)}.
+     *
+     * @return {@code false} if the breaker is open, or half-open with all trial calls in flight
+     */
+    public boolean tryAcquire() {
+        if (status == Status.CLOSED) {
+            return true;
+        }
+        synchronized (this) {
+            if (status == Status.OPEN) {
+                if (System.nanoTime() - openedAtNanos < TimeUnit.MILLISECONDS.toNanos(openMs)) {
+                    refused.increment();
+                    return false;
+                }
+                status = Status.HALF_OPEN;
+                trials = 0;
+            }
+            if (status == Status.HALF_OPEN) {
+                if (trials >= halfOpenCalls) {
+                    refused.increment();
+                    return false;
+                }
+                trials++;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Tells whether {@link #tryAcquire()} would let a call through now, without taking a trial call: the
+     * breaker is closed, its open period is over, or it is half-open with a trial call left.
+     *
+     * @return {@code false} while calls are refused
+     */
+    public boolean allowsCalls() {
+        if (status == Status.CLOSED) {
+            return true;
+        }
+        synchronized (this) {
+            if (status == Status.OPEN) {
+                return System.nanoTime() - openedAtNanos >= TimeUnit.MILLISECONDS.toNanos(openMs);
+            }
+            return status != Status.HALF_OPEN || trials < halfOpenCalls;
+        }
+    }
+
+    /**
+     * Records a successful call, closing a half-open breaker.
+     */
+    public synchronized void onSuccess() {
+        if (status == Status.HALF_OPEN) {
+            reset();
+            status = Status.CLOSED;
+        } else if (status == Status.CLOSED) {
+            record(false);
+        }
+    }
+
+    /**
+     * Records a failed call made outside of any turn, see {@link #onError(ApiHubException, TurnContext)}.
+     *
+     * @param error the failure of the call
+     */
+    public void onError(ApiHubException error) {
+        onError(error, null);
+    }
+
+    /**
+     * Records a failed call. Failures that are not caused by a dependency only release a trial call.
+     *
+     * @param error the failure of the call
+     * @param turn  the turn the call was made for, {@code null} if none
+     */
+    public synchronized void onError(ApiHubException error, TurnContext turn) {
+        if (!isFailure(error, turn)) {
+            if (status == Status.HALF_OPEN) {
+                trials--;
+            }
+            return;
+        }
+        if (status == Status.HALF_OPEN) {
+            open();
+        } else if (status == Status.CLOSED) {
+            record(true);
+            if (recorded >= minCalls && failures * 100 >= failureRatePercent * recorded) {
+                open();
+            }
+        }
+    }
+
+    /**
+     * @return the failure rate of the recorded calls, in percent
+     */
+    public synchronized double getFailureRate() {
+        return recorded == 0 ? 0 : failures * 100.0 / recorded;
+    }
+
+    /**
+     * Classifies a failure by the range of its error code:
+     * <ul>
+     *   <li>1000–1999 (input), 2000–2999 (authentication) and 6000–6999 (configuration) are caused by the request
+     *   or the setup, not by a dependency, and are ignored. 1001 is the exception: it wraps unexpected errors
+     *   thrown by the agent itself and counts as a failure.</li>
+     *   <li>7011 (server overloaded) and 7012 (bulkhead rejected) come from local load shedding and are ignored,
+     *   as is a 7002 caused by the call or its turn being cancelled, see
+     *   {@link #isCancellation(ApiHubException, TurnContext)}.</li>
+     *   <li>Every other code, i.e. service, database, model, network and internal errors, is a failure.</li>
+     * </ul>
+     *
+     * @param error a failure of the agent
+     * @return {@code true} if the failure counts against the breaker
+     */
+    public static boolean isFailure(ApiHubException error) {
+        return isFailure(error, null);
+    }
+
+    /**
+     * Classifies a failure of a call made for the given turn, see {@link #isFailure(ApiHubException)}.
+     *
+     * @param error a failure of the agent
+     * @param turn  the turn the call was made for, {@code null} if none
+     * @return {@code true} if the failure counts against the breaker
+     */
+    public static boolean isFailure(ApiHubException error, TurnContext turn) {
+        if (isCancellation(error, turn)) {
+            return false;
+        }
+        int code = error.getErrorNumber();
+        if (code == 1001) {
+            return true;
+        }
+        switch (code / 1000) {
+        case 1:
+        case 2:
+        case 6:
+            return false;
+        case 7:
+            return code != 7011 && code != 7012;
+        default:
+            return true;
+        }
+    }
+
+    /**
+     * Tells whether a failure comes from the call being cancelled rather than from the agent: a 7002 raised
+     * while the calling thread is interrupted, as when a hedge loser or a scatter-gather straggler is cancelled
+     * with {@code Future.cancel(true)}, or once the turn was cancelled, superseded or passed its deadline. Like
+     * {@link RetryPolicy#isRetryable(ApiHubException)}, the breaker does not hold the turn's own budget against
+     * the agent.
+     *
+     * @param error a failure of the agent
+     * @param turn  the turn the call was made for, {@code null} if none
+     * @return {@code true} if the call was cancelled
+     */
+    public static boolean isCancellation(ApiHubException error, TurnContext turn) {
+        return error.getErrorNumber() == 7002 && (Thread.currentThread().isInterrupted() || turn != null && turn.isCancelled());
+    }
+
+    private void record(boolean failure) {
+        if (recorded == windowSize) {
+            if (outcomes[next]) {
+                failures--;
+            }
+        } else {
+            recorded++;
+        }
+        outcomes[next] = failure;
+        if (failure) {
+            failures++;
+        }
+        next = (next + 1) % windowSize;
+    }
+
+    private void open() {
+        status = Status.OPEN;
+        openedAtNanos = System.nanoTime();
+        opened++;
+        reset();
+    }
+
+    private void reset() {
+        Arrays.fill(outcomes, false);
+        next = 0;
+        recorded = 0;
+        failures = 0;
+        trials = 0;
+    }
+
+    @Override
+    public synchronized Map<String, Number> snapshot() {
+        Map<String, Number> values = new LinkedHashMap<>();
+        values.put("state", status.ordinal());
+        values.put("failureRate", getFailureRate());
+        values.put("calls", recorded);
+        values.put("opened", opened);
+        values.put("refused", refused.sum());
+        return values;
+    }
+}
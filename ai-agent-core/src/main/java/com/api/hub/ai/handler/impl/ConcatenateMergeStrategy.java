@@ -0,0 +1,51 @@
+package com.api.hub.ai.handler.impl;
+
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import com.api.hub.ai.handler.InputOutputHandler;
+import com.api.hub.ai.handler.MergeStrategy;
+import com.api.hub.ai.pojo.Task;
+import com.api.hub.exception.ApiHubException;
+import com.api.hub.exception.InternalServerException;
+
+/**
+ * {@link MergeStrategy} that joins the outputs of every successful agent, one per line.
+ *
+ * <p>The environment continues with the next task if any successful agent asked to continue.
+ * Failed and timed out agents are skipped, so partial results are still returned.</p>
+ *
+ * @since 1.0
+ */
+@Component("ConcatenateMergeStrategy")
+public class ConcatenateMergeStrategy implements MergeStrategy {
+
+    @Override
+    public boolean merge(Task task, List<AgentResult> results, InputOutputHandler handler) throws ApiHubException {
+        StringBuilder output = new StringBuilder();
+        boolean anySuccess = false;
+        boolean continueToNext = false;
+        for (AgentResult result : results) {
+            if (!result.isSuccess()) {
+                continue;
+            }
+            anySuccess = true;
+            continueToNext |= result.getContinueToNext();
+            if (result.getOutput() != null) {
+                if (output.length() > 0) {
+                    output.append('\n');
+                }
+                output.append(result.getOutput());
+            }
+        }
+        if (!anySuccess) {
+            throw new InternalServerException("8001-ai-hub", "None of the " + results.size()
+                    + " agents completed task - " + task.getName(), "");
+        }
+        if (output.length() > 0) {
+            handler.setOutPut(output.toString());
+        }
+        return continueToNext;
+    }
+}
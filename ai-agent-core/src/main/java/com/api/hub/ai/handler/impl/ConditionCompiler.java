@@ -0,0 +1,255 @@
+package com.api.hub.ai.handler.impl;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.function.Predicate;
+
+import org.codehaus.janino.ClassBodyEvaluator;
+import org.springframework.core.NativeDetector;
+
+import com.api.hub.ai.constants.MarkerConstants;
+import com.api.hub.ai.pojo.Condition;
+import com.api.hub.ai.pojo.Task;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Compiles the description and payload-method tests of a {@link Condition} into bytecode with Janino.
+ *
+ * <p>For every condition a small class implementing {@link Predicate} is generated, in which the
+ * operators are plain {@code String} calls, regular expressions are precompiled constants and payload
+ * methods are invoked directly on the declared payload type after an {@code instanceof} check. Matching
+ * a task then costs a few virtual calls instead of a reflective lookup and invocation per test. A payload
+ * method that throws makes the condition fail, exactly as in the reflective evaluator, so matching does not
+ * depend on whether the condition could be compiled.</p>
+ *
+ * <p>Direct payload calls need a single declared payload type ({@code taskObjectTypes}) that declares the
+ * public no-argument method. A fully qualified type is loaded when the condition is compiled. A simple name
+ * cannot be loaded, so it is resolved against the payload instead: the condition is compiled on the first
+ * task whose payload class has that simple name, and payloads of any other class with the same simple name
+ * are evaluated reflectively. When the type cannot be used, or compilation fails for any other reason, the
+ * reflective {@link ConditionEvaluator} is used for that condition. It is also always used in a GraalVM
+ * native image, which cannot define classes at runtime.</p>
+ *
+ * @see IndexedAgentPool
+ * @see ConditionEvaluator
+ * @since 1.0
+ */
+@Slf4j
+public final class ConditionCompiler implements MarkerConstants {
+
+    private ConditionCompiler() {
+    }
+
+    /**
+     * Returns a predicate evaluating the description and payload tests of the given condition.
+     *
+     * @param condition   the condition to compile
+     * @param classLoader loader able to see the payload type, usually the agent's class loader
+     * @return the compiled predicate, or a reflective one when the condition cannot be compiled
+     */
+    public static Predicate<Task> compile(Condition condition, ClassLoader classLoader) {
+        if (NativeDetector.inNativeImage()) {
+            return reflective(condition);
+        }
+        try {
+            String simpleName = simplePayloadType(condition);
+            if (simpleName != null) {
+                return new PayloadResolvedPredicate(condition, simpleName, classLoader);
+            }
+            return compileOrFail(condition, classLoader);
+        } catch (Exception e) {
+            log.warn(PERFORMANCE, "Falling back to reflective matching for condition " + condition + " " + e.getMessage());
+            return reflective(condition);
+        }
+    }
+
+    /**
+     * @param condition the condition to evaluate
+     * @return a predicate evaluating the condition with reflection on every call
+     */
+    public static Predicate<Task> reflective(Condition condition) {
+        return task -> ConditionEvaluator.matchesResidual(condition, task);
+    }
+
+    /**
+     * @return the declared payload type when payload methods are tested and it is a simple class name,
+     *         otherwise {@code null}
+     */
+    private static String simplePayloadType(Condition condition) {
+        List<String> types = condition.getTaskObjectType();
+        if (condition.getTaskObjectMethodValue() == null || condition.getTaskObjectMethodValue().isEmpty()
+                || types == null || types.size() != 1 || types.get(0) == null || types.get(0).indexOf('.') >= 0) {
+            return null;
+        }
+        return types.get(0);
+    }
+
+    /**
+     * Compiles the condition, failing instead of falling back.
+     *
+     * @throws Exception if the payload type or a payload method cannot be resolved, or compilation fails
+     */
+    static Predicate<Task> compileOrFail(Condition condition, ClassLoader classLoader) throws Exception {
+        List<Object[]> methodTests = condition.getTaskObjectMethodValue();
+        Class<?> type = null;
+        if (methodTests != null && !methodTests.isEmpty()) {
+            List<String> types = condition.getTaskObjectType();
+            if (types == null || types.size() != 1) {
+                throw new IllegalStateException("payload tests need exactly one declared payload type");
+            }
+            type = Class.forName(types.get(0), false, classLoader);
+        }
+        return compileOrFail(condition, type, classLoader);
+    }
+
+    /**
+     * Compiles the condition with its payload methods called on the given type.
+     *
+     * @param type the payload type, {@code null} when the condition has no payload tests
+     * @throws Exception if a payload method cannot be resolved, or compilation fails
+     */
+    @SuppressWarnings("unchecked")
+    static Predicate<Task> compileOrFail(Condition condition, Class<?> type, ClassLoader classLoader) throws Exception {
+        StringBuilder fields = new StringBuilder();
+        StringBuilder body = new StringBuilder();
+        body.append("public boolean test(Object o) {\n");
+        body.append("  ").append(Task.class.getName()).append(" task = (").append(Task.class.getName()).append(") o;\n");
+
+        List<Object[]> descriptionTests = condition.getTaskDescription();
+        if (descriptionTests != null && !descriptionTests.isEmpty()) {
+            body.append("  String d = task.getDescription();\n");
+            body.append("  if (d == null) return false;\n");
+            int pattern = 0;
+            for (Object[] test : descriptionTests) {
+                String operator = String.valueOf(test[0]);
+                String value = literal(String.valueOf(test[1]));
+                switch (operator) {
+                case "equals":
+                case "contains":
+                case "startsWith":
+                case "endsWith":
+                    body.append("  if (!d.").append(operator).append('(').append(value).append(")) return false;\n");
+                    break;
+                case "matches":
+                    fields.append("private static final java.util.regex.Pattern P").append(pattern)
+                            .append(" = java.util.regex.Pattern.compile(").append(value).append(");\n");
+                    body.append("  if (!P").append(pattern++).append(".matcher(d).matches()) return false;\n");
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown description operator " + operator);
+                }
+            }
+        }
+
+        List<Object[]> methodTests = condition.getTaskObjectMethodValue();
+        if (methodTests != null && !methodTests.isEmpty()) {
+            String typeName = type.getCanonicalName();
+            body.append("  Object p = task.getTask();\n");
+            body.append("  if (!(p instanceof ").append(typeName).append(")) return false;\n");
+            body.append("  ").append(typeName).append(" payload = (").append(typeName).append(") p;\n");
+            // a throwing payload method fails the condition, as with the reflective evaluator
+            body.append("  try {\n");
+            for (Object[] test : methodTests) {
+                Method method = type.getMethod(String.valueOf(test[0]));
+                body.append("    if (!String.valueOf(payload.").append(method.getName()).append("()).equals(")
+                        .append(literal(String.valueOf(test[1]))).append(")) return false;\n");
+            }
+            body.append("  } catch (Throwable t) {\n    return false;\n  }\n");
+        }
+        body.append("  return true;\n}\n");
+
+        ClassBodyEvaluator evaluator = new ClassBodyEvaluator();
+        evaluator.setParentClassLoader(classLoader);
+        evaluator.setImplementedInterfaces(new Class[] { Predicate.class });
+        evaluator.cook(fields.toString() + body);
+        return (Predicate<Task>) evaluator.getClazz().getDeclaredConstructor().newInstance();
+    }
+
+    /**
+     * Predicate of a condition naming its payload type by simple name, compiled against the class of the first
+     * payload with that name and reflective for payloads of other classes.
+     */
+    private static final class PayloadResolvedPredicate implements Predicate<Task> {
+
+        private final Condition condition;
+        private final String simpleName;
+        private final ClassLoader classLoader;
+        private final Predicate<Task> reflective;
+        private volatile Class<?> type;
+        private volatile Predicate<Task> compiled;
+
+        private PayloadResolvedPredicate(Condition condition, String simpleName, ClassLoader classLoader) {
+            this.condition = condition;
+            this.simpleName = simpleName;
+            this.classLoader = classLoader;
+            this.reflective = reflective(condition);
+        }
+
+        @Override
+        public boolean test(Task task) {
+            Object payload = task.getTask();
+            if (payload != null) {
+                Class<?> payloadType = payload.getClass();
+                Predicate<Task> predicate = compiled;
+                if (predicate == null && payloadType.getSimpleName().equals(simpleName)) {
+                    predicate = resolve(payloadType);
+                }
+                if (predicate != null && payloadType == type) {
+                    return predicate.test(task);
+                }
+            }
+            return reflective.test(task);
+        }
+
+        private synchronized Predicate<Task> resolve(Class<?> payloadType) {
+            if (compiled == null) {
+                Predicate<Task> predicate;
+                try {
+                    predicate = compileOrFail(condition, payloadType, classLoader);
+                } catch (Exception e) {
+                    log.warn(PERFORMANCE, "Falling back to reflective matching for condition " + condition + " on "
+                            + payloadType.getName() + " " + e.getMessage());
+                    predicate = reflective;
+                }
+                type = payloadType;
+                compiled = predicate;
+            }
+            return compiled;
+        }
+    }
+
+    /**
+     * Renders a Java string literal.
+     */
+    static String literal(String value) {
+        StringBuilder out = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+            case '"':
+                out.append("\\\"");
+                break;
+            case '\\':
+                out.append("\\\\");
+                break;
+            case '\n':
+                out.append("\\n");
+                break;
+            case '\r':
+                out.append("\\r");
+                break;
+            case '\t':
+                out.append("\\t");
+                break;
+            default:
+                if (c < 0x20 || c > 0x7e) {
+                    out.append(String.format("\\u%04x", (int) c));
+                } else {
+                    out.append(c);
+                }
+            }
+        }
+        return out.append('"').toString();
+    }
+}
@@ -0,0 +1,129 @@
+package com.api.hub.ai.handler.impl;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import com.api.hub.ai.pojo.Condition;
+import com.api.hub.ai.pojo.Task;
+
+/**
+ * Evaluates the parts of a {@link Condition} that cannot be answered by a hash lookup: the
+ * {@code taskDescription} operators and the {@code taskObjectMethodValue} payload tests.
+ *
+ * <p>Evaluation is reflective: payload methods are looked up and invoked for every task. A method that
+ * does not exist on the payload, or that throws, makes the condition fail. Regular expressions of the
+ * {@code matches} operator are compiled once and shared.</p>
+ *
+ * @see IndexedAgentPool
+ * @since 1.0
+ */
+public final class ConditionEvaluator {
+
+    /** Compiled {@code matches} expressions, keyed by expression; they come from agent annotations only. */
+    private static final Map<String, Pattern> PATTERNS = new ConcurrentHashMap<>();
+
+    private ConditionEvaluator() {
+    }
+
+    /**
+     * @param condition the condition to inspect, may be {@code null}
+     * @return {@code true} if the condition has description or payload tests
+     */
+    public static boolean hasResidual(Condition condition) {
+        return condition != null && (!isEmpty(condition.getTaskDescription()) || !isEmpty(condition.getTaskObjectMethodValue()));
+    }
+
+    /**
+     * Evaluates the description and payload tests of a condition.
+     *
+     * @param condition the condition, may be {@code null}
+     * @param task      the task to test
+     * @return {@code true} if every test passes
+     */
+    public static boolean matchesResidual(Condition condition, Task task) {
+        if (condition == null) {
+            return true;
+        }
+        if (!isEmpty(condition.getTaskDescription())) {
+            for (Object[] test : condition.getTaskDescription()) {
+                if (!matchesDescription(String.valueOf(test[0]), String.valueOf(test[1]), task.getDescription())) {
+                    return false;
+                }
+            }
+        }
+        if (!isEmpty(condition.getTaskObjectMethodValue())) {
+            for (Object[] test : condition.getTaskObjectMethodValue()) {
+                if (!matchesMethodValue(String.valueOf(test[0]), test[1], task.getTask())) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Applies a single description operator.
+     *
+     * @throws IllegalArgumentException if the operator is unknown
+     */
+    public static boolean matchesDescription(String operator, String value, String description) {
+        if (description == null) {
+            return false;
+        }
+        switch (operator) {
+        case "equals":
+            return description.equals(value);
+        case "contains":
+            return description.contains(value);
+        case "startsWith":
+            return description.startsWith(value);
+        case "endsWith":
+            return description.endsWith(value);
+        case "matches":
+            return pattern(value).matcher(description).matches();
+        default:
+            throw new IllegalArgumentException("Unknown description operator " + operator);
+        }
+    }
+
+    private static boolean matchesMethodValue(String methodName, Object expected, Object payload) {
+        if (payload == null) {
+            return false;
+        }
+        try {
+            Method method = payload.getClass().getMethod(methodName);
+            return Objects.equals(String.valueOf(method.invoke(payload)), String.valueOf(expected));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Validates the operators and regular expressions of a condition, so that a typo fails when the pool is
+     * configured.
+     *
+     * @throws IllegalArgumentException if an operator is unknown or an expression is invalid
+     */
+    static void validate(Condition condition) {
+        if (condition != null && !isEmpty(condition.getTaskDescription())) {
+            for (Object[] test : condition.getTaskDescription()) {
+                matchesDescription(String.valueOf(test[0]), "", "");
+                if ("matches".equals(String.valueOf(test[0]))) {
+                    pattern(String.valueOf(test[1]));
+                }
+            }
+        }
+    }
+
+    private static Pattern pattern(String regex) {
+        return PATTERNS.computeIfAbsent(regex, Pattern::compile);
+    }
+
+    private static boolean isEmpty(List<?> list) {
+        return list == null || list.isEmpty();
+    }
+}
@@ -0,0 +1,412 @@
+package com.api.hub.ai.handler.impl;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import org.springframework.context.ApplicationContext;
+
+import com.api.hub.ai.cache.Cache;
+import com.api.hub.ai.constants.SupersedePolicy;
+import com.api.hub.ai.handler.InputOutputHandler;
+import com.api.hub.ai.handler.StreamingInputOutputHandler;
+import com.api.hub.ai.pojo.AgentHistory;
+import com.api.hub.ai.pojo.Goal;
+import com.api.hub.ai.pojo.TurnContext;
+import com.api.hub.ai.starter.Environment;
+import com.api.hub.logging.LoggingData;
+import com.api.hub.exception.ApiHubException;
+import com.api.hub.exception.InternalServerException;
+import com.api.hub.exception.NetworkException;
+import com.api.hub.logging.LoggingDataHolder;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Represents the runtime state of an AI agent's execution environment.
+ * <p>
+ * This class holds and manages various components critical to the AI-agent framework's 
+ * goal-oriented processing, such as active goals, agent-specific and environment-level histories,
+ * shared variables, and async execution context.
+ * </p>
+ * 
+ * <p>
+ * Each instance of {@code EnvironmentState} encapsulates the full state required for a single 
+ * chat or interaction session with the user. It should be instantiated fresh for every new
+ * conversation or chat session.
+ * </p>
+ *
+ * <p><strong>Session-based Design Note:</strong></p>
+ * <ul>
+ *   <li>Each new user interaction (chat thread/session) should create a new {@code EnvironmentState} instance.</li>
+ *   <li>The {@code id} field in this class serves as the unique session or chat ID, similar to how
+ *       traditional chat systems track conversations per user.</li>
+ *   <li>This allows agents to maintain isolated memory and goal contexts per session.</li>
+ * </ul>
+ * 
+ * <p>
+ * It also handles the orchestration of input-output processing through the associated
+ * {@link InputOutputHandler}, allowing asynchronous handling of messages via the provided {@link ExecutorService}.
+ * </p>
+ * 
+ * <p>
+ * Each environment instance is self-contained, enabling scalable, concurrent, and multi-agent processing
+ * tailored to the specific goals and histories of an individual conversation or agent session.
+ * </p>
+ * 
+AI Framework
+ */
+@Data
+public class EnvironmentState {
+
+	public EnvironmentState(@NonNull String name, @NonNull List<Goal> goals,
+			@NonNull Cache<String, AgentHistory> agentLevelHistory, @NonNull Cache<String, String> envLevelHistory,
+			@NonNull Cache<String, Object> variables, @NonNull String agentpool, @NonNull Environment env, 
+			ExecutorService executer, String inOutHandlerName, ApplicationContext context) {
+		super();
+		this.name = name;
+		this.goals = goals;
+		this.agentLevelHistory = agentLevelHistory;
+		this.envLevelHistory = envLevelHistory;
+		this.variables = variables;
+		this.agentpool = agentpool;
+		this.env = env;
+		this.executer = executer;
+		this.inOutHandlerName = inOutHandlerName;
+		this.context = context;
+	}
+    /**
+     * Unique identifier for this environment state.
+     */
+    private String id = UUID.randomUUID().toString();
+
+    /**
+     * Name of the environment instance. Used for agent pool and handler resolution.
+     */
+    @NonNull
+    private String name;
+
+    /**
+     * List of all predefined goals in this environment.
+     */
+    @NonNull
+    private List<Goal> goals;
+
+    /**
+     * Queue of currently active or pending goals to be executed by agents.
+     */
+    private final Queue<Goal> goalQueue = new LinkedList<>();
+
+    /**
+     * Cached default goal used when no other goal is active.
+     */
+    private Goal defaultGoal;
+
+    /**
+     * Agent-level interaction history. Used to store memory per agent for each goal.
+     */
+    @NonNull
+    private Cache<String, AgentHistory> agentLevelHistory;
+
+    /**
+     * Environment-level goal history. Used to persist goal progression and transitions.
+     */
+    @NonNull
+    private Cache<String, String> envLevelHistory;
+
+    /**
+     * Shared key-value store to allow communication between agents via variables.
+     */
+    @NonNull
+    private Cache<String, Object> variables;
+
+    /**
+     * Name of the agent pool used to retrieve matching agent definitions for each goal.
+     */
+    @NonNull
+    private String agentpool;
+
+    /**
+     * The execution environment responsible for processing messages and managing goal transitions.
+     */
+    @NonNull
+    private Environment env;
+
+    /**
+     * Thread executor used for asynchronous processing of messages.
+     */
+    @NonNull
+    ExecutorService executer;
+
+    /**
+     * Spring application context used to load input-output handlers dynamically by name.
+     */
+    ApplicationContext context;
+
+    /**
+     * The bean name of the {@link InputOutputHandler} used to process inputs and produce outputs.
+     */
+    String inOutHandlerName;
+
+    /**
+     * Supplier of the input-output handler resolved once by the environment template. When {@code null},
+     * for example for a state rebuilt by a store, the handler is looked up by {@link #inOutHandlerName}.
+     */
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    Supplier<InputOutputHandler> inOutHandlerSupplier;
+
+    /**
+     * Optional admission controller bounding the number of in-flight turns. Turns whose handler does not
+     * report success count as failures for its limit.
+     */
+    AdmissionController admissionController;
+
+    /**
+     * Deadline of each turn in milliseconds, {@code 0} for none. See {@link TurnContext}.
+     */
+    long turnTimeoutMs;
+
+    /**
+     * What happens to the in-flight turn when new input arrives.
+     */
+    SupersedePolicy supersedePolicy = SupersedePolicy.QUEUE;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final Object turnLock = new Object();
+
+    /** Completion of the most recently submitted turn, new turns start after it. */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private CompletableFuture<InputOutputHandler> lastTurn = CompletableFuture.completedFuture(null);
+
+    /** Context and input of the most recently submitted turn. */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private TurnContext lastTurnContext;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private String lastTurnInput;
+
+    /**
+     * Retrieves the current goal from the queue without removing it.
+     * 
+     * @return the current goal at the front of the queue or {@code null} if queue is empty
+     */
+    public Goal getGoal() {
+        return goalQueue.peek();
+    }
+
+    /**
+     * Removes the current goal from the queue and closes it.
+     * 
+     * @return the removed goal or {@code null} if queue was empty
+     */
+    public Goal removeGoal() {
+        Goal goal = goalQueue.poll();
+        if (goal != null) {
+            goal.close();
+        }
+        return goal;
+    }
+
+    /**
+     * Retrieves the default goal defined in this environment.
+     * 
+     * @return the default goal if defined, otherwise {@code null}
+     */
+    public Goal getdeFaultGoal() {
+        if (defaultGoal != null) {
+            return defaultGoal;
+        }
+        for (Goal goal : goals) {
+            if (goal.isDefaultGoal()) {
+                defaultGoal = goal;
+                return goal;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Asynchronously processes a message by using the configured {@link InputOutputHandler}.
+     * The handler is initialized with this environment state and submitted to the executor.
+     * <p>
+     * When an {@link AdmissionController} is configured the turn first has to be admitted; overload
+     * completes the returned future exceptionally with a 7011 {@code NetworkException}.
+     * </p>
+     * <p>
+     * Every turn gets a {@link TurnContext} whose deadline is {@link #turnTimeoutMs} from the moment the turn
+     * starts to run, after the previous turns of the conversation and admission control; it is carried on each
+     * agent's {@code State}.
+     * </p>
+     * <p>
+     * Turns of this conversation run one after another. Depending on {@link #supersedePolicy}, new input
+     * supersedes the previous turn if it is still pending or running: that turn stops at its next agent
+     * boundary and its future fails with a 7002 {@code NetworkException}, and with
+     * {@link SupersedePolicy#MERGE} its input is prepended to the new one.
+     * </p>
+     * 
+     * @param msg the input message to be processed
+     * @return a future representing the asynchronous result of the input-output handler
+     */
+    public CompletableFuture<InputOutputHandler> process(String msg) {
+        return process(msg, null);
+    }
+
+    /**
+     * Asynchronously processes a message and streams the produced output to the given subscriber.
+     * <p>
+     * With a {@link StreamingInputOutputHandler} every output chunk reaches the subscriber as soon as an
+     * agent produces it. Other handlers deliver their final output as a single chunk once the turn ends.
+     * The subscriber is completed when the turn finishes, or receives the error when it fails, ends
+     * without success, or is rejected by admission control. The returned future completes with the
+     * handler in every case but the first and the last, see {@link InputOutputHandler#isSuccess()}.
+     * </p>
+     *
+     * @param msg        the input message to be processed
+     * @param subscriber receives output chunks, may be {@code null}
+     * @return a future representing the asynchronous result of the input-output handler
+     */
+    public CompletableFuture<InputOutputHandler> process(String msg, Flow.Subscriber<? super String> subscriber) {
+        LoggingData data = LoggingDataHolder.get();
+        AtomicBoolean attached = new AtomicBoolean();
+        CompletableFuture<InputOutputHandler> result;
+        synchronized (turnLock) {
+            String input = msg;
+            if (supersedePolicy != SupersedePolicy.QUEUE && lastTurnContext != null && !lastTurn.isDone()) {
+                lastTurnContext.supersede();
+                if (supersedePolicy == SupersedePolicy.MERGE) {
+                    input = lastTurnInput + "\n" + msg;
+                }
+            }
+            TurnContext turn = new TurnContext(turnTimeoutMs);
+            String turnInput = input;
+            Supplier<CompletableFuture<InputOutputHandler>> work = () -> processTurn(turnInput, turn, data, subscriber, attached);
+            result = lastTurn.handle((previous, error) -> null)
+                    .thenCompose(ignored -> admissionController == null ? work.get() : admissionController.submit(work, InputOutputHandler::isSuccess));
+            lastTurn = result;
+            lastTurnContext = turn;
+            lastTurnInput = turnInput;
+        }
+        if (subscriber != null) {
+            result.whenComplete((handler, error) -> {
+                if (error != null && attached.compareAndSet(false, true)) {
+                    failStream(subscriber, error);
+                }
+            });
+        }
+        return result;
+    }
+
+    private CompletableFuture<InputOutputHandler> processTurn(String msg, TurnContext turn, LoggingData data,
+            Flow.Subscriber<? super String> subscriber, AtomicBoolean attached) {
+        return CompletableFuture.supplyAsync(() -> {
+            InputOutputHandler inOutHandler;
+            try {
+                if (turn.isSuperseded()) {
+                    throw new CompletionException(superseded());
+                }
+                // the deadline counts from here, not from the submission of the message
+                turn.start();
+                LoggingDataHolder.set(data);
+                TurnContext.setCurrent(turn);
+                inOutHandler = inOutHandlerSupplier != null ? inOutHandlerSupplier.get()
+                        : (InputOutputHandler) context.getBean(inOutHandlerName);
+                inOutHandler.setState(this);
+                StreamingInputOutputHandler stream = null;
+                if (subscriber != null && inOutHandler instanceof StreamingInputOutputHandler
+                        && attached.compareAndSet(false, true)) {
+                    stream = (StreamingInputOutputHandler) inOutHandler;
+                    stream.subscribe(subscriber);
+                }
+                inOutHandler.setInput(msg);
+                try {
+                    inOutHandler.status(env.process(this, msg, inOutHandler));
+                    if (turn.isSuperseded()) {
+                        throw new CompletionException(superseded());
+                    }
+                } catch (RuntimeException e) {
+                    if (stream != null) {
+                        stream.completeExceptionally(e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+                    }
+                    throw e;
+                }
+                if (!inOutHandler.isSuccess()) {
+                    // the future still completes with the handler, the stream reports the failure
+                    ApiHubException failure = turnFailed(turn);
+                    if (stream != null) {
+                        stream.completeExceptionally(failure);
+                    } else if (subscriber != null && attached.compareAndSet(false, true)) {
+                        failStream(subscriber, failure);
+                    }
+                } else if (stream != null) {
+                    stream.complete();
+                } else if (subscriber != null && attached.compareAndSet(false, true)) {
+                    completeStream(subscriber, inOutHandler.getOut());
+                }
+            } finally {
+                TurnContext.setCurrent(null);
+                LoggingDataHolder.clear();
+            }
+
+            return inOutHandler;
+        }, executer);
+    }
+
+    /**
+     * The error reported to the subscriber of a turn that ended without success.
+     */
+    private ApiHubException turnFailed(TurnContext turn) {
+        try {
+            turn.checkpoint();
+        } catch (NetworkException e) {
+            return e;
+        }
+        return new InternalServerException("8001-ai-hub", "Turn failed in environment - " + name + " and id - " + id,
+                "Unable to process the request, please retry.");
+    }
+
+    private static NetworkException superseded() {
+        return new NetworkException("7002-ai-hub", "Turn superseded by newer input", "Request replaced by a newer message.");
+    }
+
+    private static void completeStream(Flow.Subscriber<? super String> subscriber, String output) {
+        try (SubmissionPublisher<String> publisher = new SubmissionPublisher<>()) {
+            publisher.subscribe(subscriber);
+            if (output != null) {
+                publisher.submit(output);
+            }
+        }
+    }
+
+    private static void failStream(Flow.Subscriber<? super String> subscriber, Throwable error) {
+        SubmissionPublisher<String> publisher = new SubmissionPublisher<>();
+        publisher.subscribe(subscriber);
+        publisher.closeExceptionally(error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+    }
+}
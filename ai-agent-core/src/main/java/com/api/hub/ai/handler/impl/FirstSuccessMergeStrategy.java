@@ -0,0 +1,37 @@
+package com.api.hub.ai.handler.impl;
+
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import com.api.hub.ai.handler.InputOutputHandler;
+import com.api.hub.ai.handler.MergeStrategy;
+import com.api.hub.ai.pojo.Task;
+import com.api.hub.exception.ApiHubException;
+import com.api.hub.exception.InternalServerException;
+
+/**
+ * Default {@link MergeStrategy} that takes the result of the highest-priority agent that succeeded.
+ *
+ * <p>Agents are ranked by the order in which the pool matched them, so a preferred agent wins when it
+ * answers within the deadline and the next one is used otherwise.</p>
+ *
+ * @since 1.0
+ */
+@Component("FirstSuccessMergeStrategy")
+public class FirstSuccessMergeStrategy implements MergeStrategy {
+
+    @Override
+    public boolean merge(Task task, List<AgentResult> results, InputOutputHandler handler) throws ApiHubException {
+        for (AgentResult result : results) {
+            if (result.isSuccess()) {
+                if (result.getOutput() != null) {
+                    handler.setOutPut(result.getOutput());
+                }
+                return result.getContinueToNext();
+            }
+        }
+        throw new InternalServerException("8001-ai-hub", "None of the " + results.size()
+                + " agents completed task - " + task.getName(), "");
+    }
+}
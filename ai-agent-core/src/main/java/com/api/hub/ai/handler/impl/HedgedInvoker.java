@@ -0,0 +1,211 @@
+package com.api.hub.ai.handler.impl;
+
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.api.hub.ai.metrics.LatencyStats;
+import com.api.hub.ai.metrics.Metric;
+import com.api.hub.ai.pojo.State;
+import com.api.hub.ai.pojo.TurnContext;
+import com.api.hub.exception.ApiHubException;
+import com.api.hub.exception.InternalServerException;
+import com.api.hub.exception.NetworkException;
+
+import lombok.Getter;
+
+/**
+ * Runs a task on several candidate agents and keeps the first acceptable result.
+ *
+ * <p>Two modes are supported:</p>
+ * <ul>
+ *   <li><b>Hedged</b> (default): the preferred agent starts alone. If it has not answered after the
+ *   configured percentile of its own observed latency, the next candidate is started as a backup, and so
+ *   on up to {@code maxCandidates}. A failing candidate starts the next one immediately.</li>
+ *   <li><b>Speculative</b>: all candidates (top-K) start at once.</li>
+ * </ul>
+ *
+ * <p>The first agent that completes without error wins; every other running agent is cancelled
+ * (interrupted). Each candidate runs with its own {@link BufferedInputOutputHandler}, so only the
+ * winner's output reaches the user.</p>
+ *
+ * <p>One instance exists per environment and is exposed as a {@link Metric} reporting the hedge rate
+ * (share of invocations that started a backup), the backup win count and the estimated latency saved,
+ * computed as the preferred agent's mean latency minus the winning latency whenever a backup wins.</p>
+ *
+ * @see AgentDefination#getLatency()
+ * @see ScatterGatherInvoker
+ * @since 1.0
+ */
+@Getter
+public final class HedgedInvoker implements Metric {
+
+    /** Maximum number of agents raced for one task. */
+    private final int maxCandidates;
+
+    /** Start all candidates at once instead of hedging after a delay. */
+    private final boolean speculative;
+
+    /** Percentile of the preferred agent's latency after which a backup starts. */
+    private final double delayPercentile;
+
+    /** Delay used while an agent has fewer than {@code minSamples} recorded invocations. */
+    private final long defaultDelayMs;
+
+    /** Minimum number of latency samples before the percentile delay is trusted. */
+    private final long minSamples;
+
+    /** Overall deadline of a hedged invocation. */
+    private final long timeoutMs;
+
+    private final LongAdder invocations = new LongAdder();
+    private final LongAdder hedged = new LongAdder();
+    private final LongAdder backupWins = new LongAdder();
+    private final LongAdder cancelled = new LongAdder();
+    private final LongAdder latencySavedNanos = new LongAdder();
+    private final LatencyStats latency = new LatencyStats();
+
+    public HedgedInvoker(int maxCandidates, boolean speculative, double delayPercentile, long defaultDelayMs,
+            long minSamples, long timeoutMs) {
+        this.maxCandidates = maxCandidates;
+        this.speculative = speculative;
+        this.delayPercentile = delayPercentile;
+        this.defaultDelayMs = defaultDelayMs;
+        this.minSamples = minSamples;
+        this.timeoutMs = timeoutMs;
+    }
+
+    /**
+     * Races the given states, most preferred first, and returns the winning result.
+     *
+     * @param states   one prepared state per candidate agent, in preference order
+     * @param executors selects the executor of each agent, see {@link AgentExecutors}
+     * @return the result of the first candidate that completed successfully
+     * @throws ApiHubException the first candidate failure if every candidate failed, or a
+     *                         {@link NetworkException} (7002) if none completed before the deadline
+     *                         or the turn was cancelled
+     */
+    public AgentResult invoke(List<State> states, AgentExecutors executors) throws ApiHubException {
+        List<State> candidates = states.size() > maxCandidates ? states.subList(0, maxCandidates) : states;
+        invocations.increment();
+        long start = System.nanoTime();
+        long deadline = start + AgentInvoker.capToTurn(candidates.get(0), timeoutMs);
+        TurnContext turn = candidates.get(0).getTurnContext();
+        long hedgeDelay = hedgeDelayNanos(candidates.get(0).getAgentDefination());
+
+        // candidates may run on different executors, their completion services share one queue
+        BlockingQueue<Future<Boolean>> completion = new LinkedBlockingQueue<>();
+        Map<Future<Boolean>, State> running = new IdentityHashMap<>();
+        int launched = 0;
+        long nextHedgeAt = start;
+        Throwable firstError = null;
+
+        try {
+            do {
+                if (launched < candidates.size() && (speculative || System.nanoTime() >= nextHedgeAt || running.isEmpty())) {
+                    if (launched == 1) {
+                        hedged.increment();
+                    }
+                    State state = candidates.get(launched++);
+                    Future<Boolean> future = new ExecutorCompletionService<Boolean>(executors.executorFor(state), completion).submit(() -> state.getAgentDefination().invokeAgent(state));
+                    if (turn != null) {
+                        turn.register(future);
+                    }
+                    running.put(future, state);
+                    nextHedgeAt = System.nanoTime() + hedgeDelay;
+                    continue;
+                }
+
+                long now = System.nanoTime();
+                long wait = deadline - now;
+                if (launched < candidates.size()) {
+                    wait = Math.min(wait, nextHedgeAt - now);
+                }
+                Future<Boolean> done = completion.poll(Math.max(0, wait), TimeUnit.NANOSECONDS);
+                if (done == null) {
+                    if (turn != null) {
+                        turn.checkpoint();
+                    }
+                    if (System.nanoTime() >= deadline) {
+                        throw new NetworkException("7002-ai-hub", "No agent out of " + launched + " completed task - "
+                                + candidates.get(0).getTaskToPerform().getName() + " within " + timeoutMs + " ms", "");
+                    }
+                    continue;
+                }
+
+                State state = running.remove(done);
+                if (turn != null) {
+                    turn.unregister(done);
+                }
+                try {
+                    AgentResult result = new AgentResult();
+                    result.setAgent(state.getAgentDefination());
+                    result.setState(state);
+                    result.setContinueToNext(done.get());
+                    result.setLatencyNanos(latency.recordSince(start));
+                    if (state != candidates.get(0)) {
+                        backupWins.increment();
+                        long expected = candidates.get(0).getAgentDefination().getLatency().getMeanNanos();
+                        latencySavedNanos.add(Math.max(0, expected - result.getLatencyNanos()));
+                    }
+                    return result;
+                } catch (ExecutionException e) {
+                    if (firstError == null) {
+                        firstError = e.getCause();
+                    }
+                    // a failed candidate hands over to the next one without waiting for the hedge delay
+                    nextHedgeAt = System.nanoTime();
+                }
+            } while (!running.isEmpty() || launched < candidates.size());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InternalServerException("8005-ai-hub", "Interrupted while waiting for hedged agents", "");
+        } finally {
+            for (Future<Boolean> future : running.keySet()) {
+                future.cancel(true);
+                cancelled.increment();
+                if (turn != null) {
+                    turn.unregister(future);
+                }
+            }
+        }
+
+        if (firstError instanceof ApiHubException) {
+            throw (ApiHubException) firstError;
+        }
+        throw new InternalServerException("8001-ai-hub", "All " + launched + " hedged agents failed " + firstError, "");
+    }
+
+    /**
+     * Delay after which a backup is started for the given agent.
+     */
+    private long hedgeDelayNanos(AgentDefination primary) {
+        LatencyStats stats = primary.getLatency();
+        if (stats.getCount() < minSamples) {
+            return TimeUnit.MILLISECONDS.toNanos(defaultDelayMs);
+        }
+        return stats.getPercentileNanos(delayPercentile);
+    }
+
+    @Override
+    public Map<String, Number> snapshot() {
+        Map<String, Number> values = new LinkedHashMap<>();
+        long total = invocations.sum();
+        values.put("invocations", total);
+        values.put("hedged", hedged.sum());
+        values.put("hedgeRate", total == 0 ? 0.0 : (double) hedged.sum() / total);
+        values.put("backupWins", backupWins.sum());
+        values.put("cancelled", cancelled.sum());
+        values.put("latencySavedMs", latencySavedNanos.sum() / 1_000_000.0);
+        values.put("p95Ms", latency.getPercentileNanos(95) / 1_000_000.0);
+        return values;
+    }
+}
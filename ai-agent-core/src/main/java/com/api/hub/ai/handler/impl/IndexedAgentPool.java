@@ -0,0 +1,307 @@
+package com.api.hub.ai.handler.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import com.api.hub.ai.constants.RoutingPolicy;
+import com.api.hub.ai.pojo.Condition;
+import com.api.hub.ai.pojo.Task;
+import com.api.hub.exception.ApiHubException;
+import com.api.hub.exception.ConfigurationException;
+
+/**
+ * {@link AgentPool} matching tasks through a hash index built from each agent's {@link Condition}.
+ * <p>
+ * Whenever the pool publishes a new {@link AgentPoolSnapshot}, every agent is placed in a four-level index keyed on the task's goal name,
+ * task name, creator and payload type, in that order. A criterion the agent leaves empty, or declares as
+ * {@code "*"}, is indexed under the wildcard key. Matching a task probes each level with the task's value and
+ * the wildcard, so the cost depends on the index depth and not on the number of agents in the pool. The
+ * description and payload-method tests of the remaining candidates are compiled to bytecode by
+ * {@link ConditionCompiler} when the index is built, falling back to the reflective {@link ConditionEvaluator}.
+ * </p>
+ *
+ * <p>
+ * When several agents match, the most specific one (the one with the fewest wildcard levels) is preferred,
+ * and agents of equal specificity keep their registration order. With a {@link RoutingPolicy} other than
+ * {@link RoutingPolicy#FIRST FIRST}, the agents of the highest specificity are equivalent and the pool
+ * chooses among them by live load, see {@link #selectAgent(List)}.
+ * </p>
+ *
+ * <p><b>Usage:</b></p>
+ * <pre>{@code
+ * @Bean("support_pool")
+ * public AgentPool supportPool() {
+ *     return new IndexedAgentPool("support_pool");
+ * }
+ * }</pre>
+ *
+ * @see Condition
+ * @see com.api.hub.ai.starter.Agent
+ * @since 1.0
+ */
+public class IndexedAgentPool extends AgentPool {
+
+    /** Key matching any value at an index level. */
+    static final String WILDCARD = "*";
+
+    private static final int LEVELS = 4;
+
+    private static final Comparator<Entry> PREFERENCE = Comparator.comparingInt((Entry e) -> -e.specificity)
+            .thenComparingInt(e -> e.order);
+
+    /** Whether description and payload tests are compiled to bytecode instead of evaluated reflectively. */
+    private final boolean compileConditions;
+
+    /**
+     * @param name name of the pool, agents declaring it in {@code agentPools} are registered into it
+     */
+    public IndexedAgentPool(String name) {
+        this(name, true);
+    }
+
+    /**
+     * @param name              name of the pool, agents declaring it in {@code agentPools} are registered into it
+     * @param compileConditions {@code true} to compile description and payload tests with Janino,
+     *                          {@code false} to always evaluate them reflectively
+     */
+    public IndexedAgentPool(String name, boolean compileConditions) {
+        this.name = name;
+        this.compileConditions = compileConditions;
+    }
+
+    /**
+     * Builds the index of a new snapshot; the root {@link Node} becomes {@link AgentPoolSnapshot#getIndex()}.
+     *
+     * @throws ConfigurationException if an agent's condition uses an unknown description operator
+     */
+    @Override
+    protected Object buildIndex(Map<String, AgentDefination> agents) throws ApiHubException {
+        // agents kept from the current snapshot reuse their compiled predicates
+        Map<AgentDefination, Predicate<Task>> previous = new IdentityHashMap<>();
+        Node currentRoot = (Node) getSnapshot().getIndex();
+        if (currentRoot != null) {
+            currentRoot.forEachEntry(e -> previous.put(e.agent, e.residual));
+        }
+        Node newRoot = new Node();
+        int order = 0;
+        for (AgentDefination def : agents.values()) {
+            Condition condition = def.getCondition();
+            if (condition == null) {
+                condition = new Condition();
+                condition.setTaskGoalName(def.getGoalNames());
+            }
+            try {
+                ConditionEvaluator.validate(condition);
+            } catch (IllegalArgumentException e) {
+                throw new ConfigurationException("6002-ai-hub", "Invalid condition for agent " + def.getName() + " " + e.getMessage(), "");
+            }
+            List<List<String>> keys = List.of(keysOf(condition.getTaskGoalName()), keysOf(condition.getTaskName()),
+                    keysOf(condition.getTaskCreatedBy()), keysOf(condition.getTaskObjectType()));
+            Predicate<Task> residual = previous.containsKey(def) ? previous.get(def) : residualPredicate(def, condition);
+            newRoot.residual |= residual != null;
+            insert(newRoot, keys, 0, new Entry(def, residual, order++, 0), 0);
+        }
+        return newRoot;
+    }
+
+    /**
+     * Builds the predicate checking the description and payload tests of an agent, {@code null} when it has none.
+     */
+    private Predicate<Task> residualPredicate(AgentDefination def, Condition condition) {
+        if (!ConditionEvaluator.hasResidual(condition)) {
+            return null;
+        }
+        if (!compileConditions) {
+            return ConditionCompiler.reflective(condition);
+        }
+        ClassLoader loader = def.getAgentHandler() != null ? def.getAgentHandler().getClass().getClassLoader()
+                : getClass().getClassLoader();
+        return ConditionCompiler.compile(condition, loader);
+    }
+
+    /**
+     * Routing is memoizable with {@link RoutingPolicy#FIRST} as long as no agent of the snapshot tests the
+     * description or payload of tasks: the index is keyed on goal, task name, creator and payload type only.
+     */
+    @Override
+    public boolean isRoutingMemoizable(AgentPoolSnapshot snapshot) {
+        Node root = (Node) snapshot.getIndex();
+        return getRoutingPolicy() == RoutingPolicy.FIRST && root != null && !root.residual;
+    }
+
+    /**
+     * The index applies the routing policy among the matching agents of the highest specificity.
+     */
+    @Override
+    public boolean appliesRoutingPolicy() {
+        return true;
+    }
+
+    @Override
+    public AgentDefination getMatchingAgent(Task task) {
+        return getMatchingAgent(getSnapshot(), task);
+    }
+
+    @Override
+    public AgentDefination getMatchingAgent(AgentPoolSnapshot snapshot, Task task) {
+        if (getRoutingPolicy() != RoutingPolicy.FIRST) {
+            return selectAgent(mostSpecific(snapshot, task));
+        }
+        Entry best = null;
+        for (Entry entry : candidates(snapshot, task)) {
+            if ((best == null || PREFERENCE.compare(entry, best) < 0) && entry.matches(task)) {
+                best = entry;
+            }
+        }
+        return best == null ? null : best.agent;
+    }
+
+    /**
+     * Collects the matching agents of the highest specificity, which are equivalent for routing.
+     */
+    private static List<AgentDefination> mostSpecific(AgentPoolSnapshot snapshot, Task task) {
+        List<Entry> best = new ArrayList<>();
+        for (Entry entry : candidates(snapshot, task)) {
+            if ((best.isEmpty() || entry.specificity >= best.get(0).specificity) && entry.matches(task)) {
+                if (!best.isEmpty() && entry.specificity > best.get(0).specificity) {
+                    best.clear();
+                }
+                best.add(entry);
+            }
+        }
+        best.sort(PREFERENCE);
+        List<AgentDefination> agents = new ArrayList<>(best.size());
+        for (Entry entry : best) {
+            if (!agents.contains(entry.agent)) {
+                agents.add(entry.agent);
+            }
+        }
+        return agents;
+    }
+
+    @Override
+    public List<AgentDefination> getMatchingAgents(AgentPoolSnapshot snapshot, Task task) {
+        List<Entry> matches = new ArrayList<>();
+        for (Entry entry : candidates(snapshot, task)) {
+            if (entry.matches(task)) {
+                matches.add(entry);
+            }
+        }
+        matches.sort(PREFERENCE);
+        List<AgentDefination> agents = new ArrayList<>(matches.size());
+        for (Entry entry : matches) {
+            // an agent declaring several values on one level can be reached through more than one path
+            if (!agents.contains(entry.agent)) {
+                agents.add(entry.agent);
+            }
+        }
+        return agents;
+    }
+
+    /**
+     * Collects the index entries of the snapshot whose equality criteria accept the task.
+     */
+    private static List<Entry> candidates(AgentPoolSnapshot snapshot, Task task) {
+        Node root = (Node) snapshot.getIndex();
+        if (root == null) {
+            return Collections.emptyList();
+        }
+        Object payload = task.getTask();
+        String[][] probes = {
+                { task.getCurrentGoal() == null ? null : task.getCurrentGoal().getGoal() },
+                { task.getName() },
+                { task.getCreatedBy() },
+                payload == null ? new String[] { null } : new String[] { payload.getClass().getName(), payload.getClass().getSimpleName() } };
+        List<Entry> found = new ArrayList<>();
+        collect(root, probes, 0, found);
+        return found;
+    }
+
+    private static void collect(Node node, String[][] probes, int level, List<Entry> found) {
+        if (level == LEVELS) {
+            found.addAll(node.entries);
+            return;
+        }
+        for (String key : probes[level]) {
+            if (key != null) {
+                Node child = node.children.get(key);
+                if (child != null) {
+                    collect(child, probes, level + 1, found);
+                }
+            }
+        }
+        Node any = node.children.get(WILDCARD);
+        if (any != null) {
+            collect(any, probes, level + 1, found);
+        }
+    }
+
+    private static void insert(Node node, List<List<String>> keys, int level, Entry entry, int specificity) {
+        if (level == LEVELS) {
+            node.entries.add(entry.withSpecificity(specificity));
+            return;
+        }
+        for (String key : keys.get(level)) {
+            Node child = node.children.computeIfAbsent(key, k -> new Node());
+            insert(child, keys, level + 1, entry, WILDCARD.equals(key) ? specificity : specificity + 1);
+        }
+    }
+
+    private static List<String> keysOf(List<String> values) {
+        if (values == null || values.isEmpty() || values.contains(WILDCARD)) {
+            return Collections.singletonList(WILDCARD);
+        }
+        return values;
+    }
+
+    /**
+     * One level of the index.
+     */
+    private static final class Node {
+
+        private final Map<String, Node> children = new HashMap<>();
+
+        private final List<Entry> entries = new ArrayList<>(1);
+
+        /** Set on the root when an agent tests the description or payload of tasks. */
+        private boolean residual;
+
+        private void forEachEntry(Consumer<Entry> action) {
+            entries.forEach(action);
+            children.values().forEach(child -> child.forEachEntry(action));
+        }
+    }
+
+    /**
+     * An agent placed in the index, with the data needed to rank and verify it.
+     */
+    private static final class Entry {
+
+        private final AgentDefination agent;
+        private final Predicate<Task> residual;
+        private final int order;
+        private final int specificity;
+
+        private Entry(AgentDefination agent, Predicate<Task> residual, int order, int specificity) {
+            this.agent = agent;
+            this.residual = residual;
+            this.order = order;
+            this.specificity = specificity;
+        }
+
+        private Entry withSpecificity(int specificity) {
+            return new Entry(agent, residual, order, specificity);
+        }
+
+        private boolean matches(Task task) {
+            return residual == null || residual.test(task);
+        }
+    }
+}
@@ -0,0 +1,370 @@
+package com.api.hub.ai.handler.impl;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.api.hub.ai.constants.StatusValues;
+import com.api.hub.ai.handler.InputOutputHandler;
+import com.api.hub.ai.metrics.Metric;
+import com.api.hub.ai.pojo.Action;
+import com.api.hub.ai.pojo.State;
+import com.api.hub.ai.pojo.Task;
+import com.api.hub.exception.ApiHubException;
+
+import lombok.Getter;
+
+/**
+ * Memoized results of a {@link com.api.hub.ai.starter.Agent#cacheable() cacheable} agent.
+ *
+ * <p>Many agents are deterministic functions of their task, e.g. FAQ lookups or classifiers. For such agents
+ * the first call with a given key records its effects on the {@link State}, and later calls with the same key
+ * within {@code ttlMs} replay them without invoking the agent. The recorded effects are:</p>
+ * <ul>
+ *   <li>every {@code setOutPut}, {@code emit} and {@code status} call on the input/output handler, in order;</li>
+ *   <li>the {@link State#getActionsPerformed() actions performed}, with references to the original task
+ *   replaced by the current one;</li>
+ *   <li>whether the agent closed its task;</li>
+ *   <li>the returned value.</li>
+ * </ul>
+ * <p>Other side effects, such as adding tasks or goals, changing variables or calling services, are not
+ * replayed: agents doing them must not be cacheable. Calls that throw are never cached.</p>
+ *
+ * <p>The key is built from the task fields named in {@code keyFields}:</p>
+ * <ul>
+ *   <li>{@code goal} - the name of the task's goal;</li>
+ *   <li>{@code name}, {@code description} and {@code createdBy} - the task attributes;</li>
+ *   <li>{@code task} - the payload itself;</li>
+ *   <li>{@code task.<method>} - the result of a no-argument method of the payload, e.g. {@code task.getQuestion}.</li>
+ * </ul>
+ * <p>Key values are compared with {@code equals} and must not change once the task is created. A call whose
+ * key cannot be built (the payload lacks a method) bypasses the cache.</p>
+ *
+ * <p>The cache holds at most {@code maxSize} results and evicts the least recently used one first. Two
+ * concurrent misses on the same key both invoke the agent; the later result wins.</p>
+ *
+ * <p>Each cache is a {@link Metric} reporting its size, hits, misses, expirations, evictions and hit rate.</p>
+ *
+ * @see AgentDefination#invokeAgent(State)
+ * @since 1.0
+ */
+public final class ResultCache implements Metric {
+
+    /** Key fields used when the agent declares none. */
+    public static final String[] DEFAULT_KEY = { "goal", "name", "task" };
+
+    /** One attempt of the agent call, with its circuit breaker, retries and bulkhead. */
+    @FunctionalInterface
+    public interface Call {
+        boolean invoke(State state) throws ApiHubException;
+    }
+
+    /** Agent name, used in error messages. */
+    @Getter
+    private final String name;
+
+    /** Task fields the key is built from. */
+    @Getter
+    private final String[] keyFields;
+
+    /** Time a result is replayed for, in milliseconds. */
+    @Getter
+    private final long ttlMs;
+
+    /** Maximum number of results kept. */
+    @Getter
+    private final int maxSize;
+
+    private final long ttlNanos;
+    private final Map<List<Object>, Result> results;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public ResultCache(String name, String[] keyFields, long ttlMs, int maxSize) {
+        if (ttlMs <= 0 || maxSize <= 0) {
+            throw new IllegalArgumentException("Invalid result cache " + name + ", ttl - " + ttlMs + ", maxSize - " + maxSize);
+        }
+        String[] fields = keyFields == null || keyFields.length == 0 ? DEFAULT_KEY : keyFields.clone();
+        for (String field : fields) {
+            if (!isKeyField(field)) {
+                throw new IllegalArgumentException("Invalid cache key field " + field + " of agent " + name
+                        + ", expected goal, name, description, createdBy, task or task.<method>");
+            }
+        }
+        this.name = name;
+        this.keyFields = fields;
+        this.ttlMs = ttlMs;
+        this.maxSize = maxSize;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+        this.results = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<List<Object>, Result> eldest) {
+                if (size() > ResultCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Replays the result recorded for the task of the state, or makes the call and records its effects.
+     *
+     * @param state the state the agent is invoked with
+     * @param call  the actual agent call
+     * @return the value returned by the agent
+     * @throws ApiHubException if the call fails; failures are not cached
+     */
+    public boolean invoke(State state, Call call) throws ApiHubException {
+        Task task = state.getTaskToPerform();
+        List<Object> key = keyOf(task);
+        if (key == null) {
+            return call.invoke(state);
+        }
+        Result result = get(key);
+        if (result != null) {
+            hits.increment();
+            result.replay(state);
+            return result.value;
+        }
+        misses.increment();
+        InputOutputHandler handler = state.getHandler();
+        RecordingInputOutputHandler recorder = new RecordingInputOutputHandler(handler);
+        boolean open = task != null && task.getTaskStatus().getStatus() != StatusValues.COMPLETED;
+        boolean value;
+        state.setHandler(recorder);
+        try {
+            value = call.invoke(state);
+        } finally {
+            state.setHandler(handler);
+        }
+        boolean closed = open && task.getTaskStatus().getStatus() == StatusValues.COMPLETED;
+        put(key, new Result(value, recorder.operations, task, state.getActionsPerformed(), closed, System.nanoTime() + ttlNanos));
+        return value;
+    }
+
+    /**
+     * Builds the key of a task.
+     *
+     * @return the key, or {@code null} if it cannot be built
+     */
+    List<Object> keyOf(Task task) {
+        if (task == null) {
+            return null;
+        }
+        Object[] values = new Object[keyFields.length];
+        for (int i = 0; i < keyFields.length; i++) {
+            String field = keyFields[i];
+            switch (field) {
+            case "goal":
+                values[i] = task.getCurrentGoal() == null ? null : task.getCurrentGoal().getGoal();
+                break;
+            case "name":
+                values[i] = task.getName();
+                break;
+            case "description":
+                values[i] = task.getDescription();
+                break;
+            case "createdBy":
+                values[i] = task.getCreatedBy();
+                break;
+            case "task":
+                values[i] = task.getTask();
+                break;
+            default:
+                Object payload = task.getTask();
+                if (payload == null) {
+                    return null;
+                }
+                try {
+                    Method method = payload.getClass().getMethod(field.substring("task.".length()));
+                    values[i] = method.invoke(payload);
+                } catch (ReflectiveOperationException | RuntimeException e) {
+                    return null;
+                }
+            }
+        }
+        return Arrays.asList(values);
+    }
+
+    private synchronized Result get(List<Object> key) {
+        Result result = results.get(key);
+        if (result != null && result.expiresAtNanos - System.nanoTime() <= 0) {
+            results.remove(key);
+            expired.increment();
+            return null;
+        }
+        return result;
+    }
+
+    private synchronized void put(List<Object> key, Result result) {
+        results.put(key, result);
+    }
+
+    /**
+     * Drops every recorded result.
+     */
+    public synchronized void clear() {
+        results.clear();
+    }
+
+    /**
+     * @return number of recorded results, including expired ones not yet removed
+     */
+    public synchronized int size() {
+        return results.size();
+    }
+
+    @Override
+    public Map<String, Number> snapshot() {
+        Map<String, Number> values = new LinkedHashMap<>();
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        values.put("size", size());
+        values.put("hits", hitCount);
+        values.put("misses", missCount);
+        values.put("expired", expired.sum());
+        values.put("evictions", evictions.sum());
+        values.put("hitRate", hitCount + missCount == 0 ? 0.0 : (double) hitCount / (hitCount + missCount));
+        return values;
+    }
+
+    private static boolean isKeyField(String field) {
+        switch (field) {
+        case "goal":
+        case "name":
+        case "description":
+        case "createdBy":
+        case "task":
+            return true;
+        default:
+            return field.startsWith("task.") && field.length() > "task.".length();
+        }
+    }
+
+    /**
+     * The effects of one agent call.
+     */
+    private static final class Result {
+
+        private final boolean value;
+        private final List<Object[]> operations;
+        private final Task task;
+        private final List<Action> actions;
+        private final boolean closesTask;
+        private final long expiresAtNanos;
+
+        private Result(boolean value, List<Object[]> operations, Task task, List<Action> actions, boolean closesTask,
+                long expiresAtNanos) {
+            this.value = value;
+            this.operations = operations;
+            this.task = task;
+            this.actions = actions == null ? null : copy(actions, task, task);
+            this.closesTask = closesTask;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        /**
+         * Applies the recorded effects to the state of a new call.
+         */
+        private void replay(State state) {
+            InputOutputHandler handler = state.getHandler();
+            for (Object[] operation : operations) {
+                switch ((Operation) operation[0]) {
+                case SET_OUTPUT:
+                    handler.setOutPut((String) operation[1]);
+                    break;
+                case EMIT:
+                    handler.emit((String) operation[1]);
+                    break;
+                default:
+                    handler.status((Boolean) operation[1]);
+                }
+            }
+            Task current = state.getTaskToPerform();
+            if (actions != null) {
+                state.setActionsPerformed(copy(actions, task, current));
+            }
+            if (closesTask) {
+                current.close();
+            }
+        }
+
+        private static List<Action> copy(List<Action> actions, Task from, Task to) {
+            List<Action> copies = new ArrayList<>(actions.size());
+            for (Action action : actions) {
+                Action copy = new Action();
+                copy.setDescription(action.getDescription());
+                copy.setExecuter(action.getExecuter());
+                copy.setTask(action.getTask() == from ? to : action.getTask());
+                copies.add(copy);
+            }
+            return copies;
+        }
+    }
+
+    private enum Operation {
+        SET_OUTPUT, EMIT, STATUS
+    }
+
+    /**
+     * Forwards every call to the handler of the state and records the output operations.
+     */
+    private static final class RecordingInputOutputHandler implements InputOutputHandler {
+
+        private final InputOutputHandler delegate;
+        private final List<Object[]> operations = new ArrayList<>();
+
+        private RecordingInputOutputHandler(InputOutputHandler delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void setInput(String input) {
+            delegate.setInput(input);
+        }
+
+        @Override
+        public synchronized void setOutPut(String output) {
+            operations.add(new Object[] { Operation.SET_OUTPUT, output });
+            delegate.setOutPut(output);
+        }
+
+        @Override
+        public synchronized void emit(String chunk) {
+            operations.add(new Object[] { Operation.EMIT, chunk });
+            delegate.emit(chunk);
+        }
+
+        @Override
+        public void setState(EnvironmentState state) {
+            delegate.setState(state);
+        }
+
+        @Override
+        public String getOut() {
+            return delegate.getOut();
+        }
+
+        @Override
+        public synchronized void status(boolean isSuccess) {
+            operations.add(new Object[] { Operation.STATUS, isSuccess });
+            delegate.status(isSuccess);
+        }
+
+        @Override
+        public boolean isSuccess() {
+            return delegate.isSuccess();
+        }
+    }
+}
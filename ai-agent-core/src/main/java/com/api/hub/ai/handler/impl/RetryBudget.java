@@ -0,0 +1,88 @@
+package com.api.hub.ai.handler.impl;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.api.hub.ai.metrics.Metric;
+
+import lombok.Getter;
+
+/**
+ * Process-wide budget bounding how many retries all agents may make.
+ *
+ * <p>Retries multiply the load on a dependency exactly when it is struggling. The budget keeps them to a
+ * fraction of the regular traffic: every first attempt of an agent call deposits {@code ratio} tokens, every
+ * retry withdraws one, and {@code minPerSec} tokens are added each second so that low-traffic agents can still
+ * retry. The balance never exceeds {@code maxBalance}. When the budget is empty, failures are returned to the
+ * caller without retrying.</p>
+ *
+ * <p>The budget is a {@link Metric} reporting its balance, the retries made and the retries refused.</p>
+ *
+ * @see RetryPolicy
+ * @since 1.0
+ */
+@Getter
+public final class RetryBudget implements Metric {
+
+    /** Tokens deposited per first attempt, e.g. {@code 0.1} for retries of up to 10% of the calls. */
+    private final double ratio;
+
+    /** Tokens added per second regardless of traffic. */
+    private final double minPerSec;
+
+    /** Upper bound of the balance. */
+    private final double maxBalance;
+
+    private double balance;
+    private long refilledAtNanos = System.nanoTime();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder exhausted = new LongAdder();
+
+    public RetryBudget(double ratio, double minPerSec, double maxBalance) {
+        if (ratio < 0 || minPerSec < 0 || maxBalance < 1) {
+            throw new IllegalArgumentException("Invalid retry budget, ratio - " + ratio + ", minPerSec - " + minPerSec
+                    + ", max - " + maxBalance);
+        }
+        this.ratio = ratio;
+        this.minPerSec = minPerSec;
+        this.maxBalance = maxBalance;
+        this.balance = Math.min(maxBalance, minPerSec);
+    }
+
+    /**
+     * Records a first attempt.
+     */
+    public synchronized void deposit() {
+        balance = Math.min(maxBalance, balance + ratio);
+    }
+
+    /**
+     * Takes the token of one retry.
+     *
+     * @return {@code false} if the budget is exhausted and the call must not be retried
+     */
+    public synchronized boolean tryWithdraw() {
+        long now = System.nanoTime();
+        double seconds = (now - refilledAtNanos) / (double) TimeUnit.SECONDS.toNanos(1);
+        balance = Math.min(maxBalance, balance + seconds * minPerSec);
+        refilledAtNanos = now;
+        if (balance < 1) {
+            exhausted.increment();
+            return false;
+        }
+        balance -= 1;
+        retries.increment();
+        return true;
+    }
+
+    @Override
+    public synchronized Map<String, Number> snapshot() {
+        Map<String, Number> values = new LinkedHashMap<>();
+        values.put("balance", balance);
+        values.put("retries", retries.sum());
+        values.put("exhausted", exhausted.sum());
+        return values;
+    }
+}
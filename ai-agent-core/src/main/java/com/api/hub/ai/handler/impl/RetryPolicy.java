@@ -0,0 +1,126 @@
+package com.api.hub.ai.handler.impl;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import com.api.hub.ai.pojo.State;
+import com.api.hub.ai.pojo.TurnContext;
+import com.api.hub.exception.ApiHubException;
+
+import lombok.Getter;
+
+/**
+ * Retry policy of an idempotent agent.
+ *
+ * <p>A failed call is retried when all of the following hold:</p>
+ * <ul>
+ *   <li>fewer than {@code maxAttempts} attempts were made;</li>
+ *   <li>the failure is transient, see {@link #isRetryable(ApiHubException)};</li>
+ *   <li>the backoff still fits in the turn, which must not be cancelled;</li>
+ *   <li>the shared {@link RetryBudget} has a token left.</li>
+ * </ul>
+ *
+ * <p>Before each retry the calling thread sleeps for a random time between zero and
+ * {@code min(maxBackoffMs, baseBackoffMs * 2^(attempt - 1))} ("full jitter"), so that callers failing
+ * together do not retry together.</p>
+ *
+ * <p>Only agents declared {@link com.api.hub.ai.starter.Agent#idempotent() idempotent} get a policy: a failed
+ * attempt may already have changed the {@link State}, and repeating it must be harmless.</p>
+ *
+ * @see RetryBudget
+ * @see CircuitBreaker
+ * @since 1.0
+ */
+@Getter
+public final class RetryPolicy {
+
+    /** Maximum number of attempts, including the first one. */
+    private final int maxAttempts;
+
+    /** Backoff before the first retry, doubled for each further retry. */
+    private final long baseBackoffMs;
+
+    /** Upper bound of the backoff. */
+    private final long maxBackoffMs;
+
+    /** Budget shared by all agents. */
+    private final RetryBudget budget;
+
+    public RetryPolicy(int maxAttempts, long baseBackoffMs, long maxBackoffMs, RetryBudget budget) {
+        if (maxAttempts < 1 || baseBackoffMs < 0 || maxBackoffMs < baseBackoffMs || budget == null) {
+            throw new IllegalArgumentException("Invalid retry policy, maxAttempts - " + maxAttempts + ", backoff - "
+                    + baseBackoffMs + ", maxBackoff - " + maxBackoffMs);
+        }
+        this.maxAttempts = maxAttempts;
+        this.baseBackoffMs = baseBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.budget = budget;
+    }
+
+    /**
+     * Decides whether to retry a failed attempt and, if so, waits for the backoff.
+     *
+     * @param error   failure of the attempt
+     * @param attempt number of the failed attempt, starting at 1
+     * @param state   state of the call, whose turn bounds the backoff
+     * @return {@code true} if the call should be attempted again
+     */
+    public boolean retry(ApiHubException error, int attempt, State state) {
+        if (attempt >= maxAttempts || !isRetryable(error)) {
+            return false;
+        }
+        long backoff = backoffNanos(attempt);
+        TurnContext turn = state.getTurnContext();
+        if (turn != null && (turn.isCancelled() || turn.remainingNanos() <= backoff)) {
+            return false;
+        }
+        if (!budget.tryWithdraw()) {
+            return false;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(backoff);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * @param attempt number of the failed attempt, starting at 1
+     * @return a random backoff up to the exponential bound of the attempt
+     */
+    long backoffNanos(int attempt) {
+        long bound = Math.min(maxBackoffMs, baseBackoffMs << Math.min(attempt - 1, 20));
+        return bound <= 0 ? 0 : ThreadLocalRandom.current().nextLong(TimeUnit.MILLISECONDS.toNanos(bound) + 1);
+    }
+
+    /**
+     * Classifies a failure as transient by the range of its error code:
+     * <ul>
+     *   <li>3000–3999 (service calls), except 3001 (API not found), 3003 (service unavailable, which includes
+     *   an open circuit) and 3009 (unsupported method);</li>
+     *   <li>4000–4999 (database) and 5000–5999 (model);</li>
+     *   <li>7000–7999 (network), except 7002 (turn deadline), 7011 (server overloaded) and 7012 (bulkhead
+     *   rejected), where a retry would only add load.</li>
+     * </ul>
+     * Input, authentication, configuration, internal and unknown errors are not retried.
+     *
+     * @param error a failure of the agent
+     * @return {@code true} if a retry may succeed
+     */
+    public static boolean isRetryable(ApiHubException error) {
+        int code = error.getErrorNumber();
+        switch (code / 1000) {
+        case 3:
+            return code != 3001 && code != 3003 && code != 3009;
+        case 4:
+        case 5:
+            return true;
+        case 7:
+            return code != 7002 && code != 7011 && code != 7012;
+        default:
+            return false;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.api.hub.ai.handler.impl;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import com.api.hub.ai.metrics.Metric;
+import com.api.hub.ai.pojo.Task;
+
+import lombok.Getter;
+
+/**
+ * Memo of the routing decisions of one {@link AgentPool}.
+ *
+ * <p>A turn routes every task it runs, although tasks of the same shape (goal, task name, creator and payload
+ * type) are nearly always routed to the same agent. For pools whose decision depends on nothing else, see
+ * {@link AgentPool#isRoutingMemoizable(AgentPoolSnapshot)}, the memo keeps the agent chosen for each shape and
+ * returns it without matching again.</p>
+ *
+ * <p>Decisions are keyed on the {@link AgentPoolSnapshot#getVersion() snapshot version} as well, so adding or
+ * removing agents invalidates them at once; the memo is cleared when it first sees a newer version. It holds
+ * at most {@code maxSize} decisions and is cleared when full. Lookups never lock.</p>
+ *
+ * <p>Each memo is a {@link Metric} reporting its size, hits, misses, invalidations and hit rate.</p>
+ *
+ * @see com.api.hub.ai.starter.impl.StatelessEnvironmentHandler
+ * @since 1.0
+ */
+public final class RoutingMemo implements Metric {
+
+    /** Pool name, used in metrics. */
+    @Getter
+    private final String name;
+
+    /** Maximum number of decisions kept. */
+    @Getter
+    private final int maxSize;
+
+    private final Map<Key, AgentDefination> decisions = new ConcurrentHashMap<>();
+    private volatile long version = -1;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public RoutingMemo(String name, int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Invalid routing memo " + name + ", maxSize - " + maxSize);
+        }
+        this.name = name;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Returns the agent memoized for the shape of the task, or routes the task and memoizes the decision.
+     *
+     * @param snapshot the snapshot the task is routed against
+     * @param task     the task to route
+     * @param router   the routing of the pool, called on a miss
+     * @return the agent chosen for the task, or {@code null} if none matches; misses are not memoized
+     */
+    public AgentDefination route(AgentPoolSnapshot snapshot, Task task, Function<Task, AgentDefination> router) {
+        long snapshotVersion = snapshot.getVersion();
+        if (snapshotVersion > version) {
+            synchronized (this) {
+                if (snapshotVersion > version) {
+                    if (!decisions.isEmpty()) {
+                        invalidations.increment();
+                    }
+                    decisions.clear();
+                    version = snapshotVersion;
+                }
+            }
+        }
+        Key key = new Key(snapshotVersion, task);
+        AgentDefination agent = decisions.get(key);
+        if (agent != null) {
+            hits.increment();
+            return agent;
+        }
+        misses.increment();
+        agent = router.apply(task);
+        if (agent != null && snapshotVersion == version) {
+            if (decisions.size() >= maxSize) {
+                decisions.clear();
+            }
+            decisions.put(key, agent);
+        }
+        return agent;
+    }
+
+    @Override
+    public Map<String, Number> snapshot() {
+        Map<String, Number> values = new LinkedHashMap<>();
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        values.put("size", decisions.size());
+        values.put("hits", hitCount);
+        values.put("misses", missCount);
+        values.put("invalidations", invalidations.sum());
+        values.put("hitRate", hitCount + missCount == 0 ? 0.0 : (double) hitCount / (hitCount + missCount));
+        return values;
+    }
+
+    /**
+     * The routing-relevant fields of a task.
+     */
+    private static final class Key {
+
+        private final long version;
+        private final String goal;
+        private final String name;
+        private final String createdBy;
+        private final Class<?> payloadType;
+        private final int hash;
+
+        private Key(long version, Task task) {
+            this.version = version;
+            this.goal = task.getCurrentGoal() == null ? null : task.getCurrentGoal().getGoal();
+            this.name = task.getName();
+            this.createdBy = task.getCreatedBy();
+            this.payloadType = task.getTask() == null ? null : task.getTask().getClass();
+            this.hash = Objects.hash(version, goal, name, createdBy, payloadType);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return version == other.version && payloadType == other.payloadType && Objects.equals(goal, other.goal)
+                    && Objects.equals(name, other.name) && Objects.equals(createdBy, other.createdBy);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.api.hub.ai.handler.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import com.api.hub.ai.pojo.State;
+import com.api.hub.ai.pojo.TurnContext;
+
+/**
+ * Invokes several agents for the same task concurrently and gathers their results within a deadline.
+ *
+ * <p>Each agent runs with its own {@link State}, whose handler should be a
+ * {@link BufferedInputOutputHandler} so that agents do not overwrite each other's output. Agents that
+ * miss the deadline are cancelled (interrupted) and reported as timed out; the results of the others
+ * are returned as partial results for a {@link com.api.hub.ai.handler.MergeStrategy} to combine.</p>
+ *
+ * @see AgentResult
+ * @see com.api.hub.ai.handler.MergeStrategy
+ * @since 1.0
+ */
+public final class ScatterGatherInvoker {
+
+    private ScatterGatherInvoker() {
+    }
+
+    /**
+     * Scatters the given states to their agents and gathers the results.
+     *
+     * @param states    one prepared state per agent, see {@link State#getAgentDefination()}
+     * @param executors selects the executor of each agent, see {@link AgentExecutors}
+     * @param timeoutMs per-agent timeout in milliseconds, measured from submission and capped by the turn deadline
+     * @return one result per state, in the same order
+     */
+    public static List<AgentResult> invoke(List<State> states, AgentExecutors executors, long timeoutMs) {
+        long start = System.nanoTime();
+        long deadline = start + AgentInvoker.capToTurn(states.get(0), timeoutMs);
+        TurnContext turn = states.get(0).getTurnContext();
+
+        List<Future<Boolean>> futures = new ArrayList<>(states.size());
+        for (State state : states) {
+            Future<Boolean> future = executors.executorFor(state).submit(() -> state.getAgentDefination().invokeAgent(state));
+            if (turn != null) {
+                turn.register(future);
+            }
+            futures.add(future);
+        }
+
+        List<AgentResult> results = new ArrayList<>(states.size());
+        for (int i = 0; i < states.size(); i++) {
+            Future<Boolean> future = futures.get(i);
+            AgentResult result = new AgentResult();
+            result.setAgent(states.get(i).getAgentDefination());
+            result.setState(states.get(i));
+            try {
+                result.setContinueToNext(future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                result.setTimedOut(true);
+            } catch (ExecutionException e) {
+                result.setError(e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.forEach(f -> f.cancel(true));
+                result.setError(e);
+            }
+            result.setLatencyNanos(System.nanoTime() - start);
+            results.add(result);
+            if (turn != null) {
+                turn.unregister(future);
+            }
+        }
+        return results;
+    }
+}
@@ -1,11 +1,15 @@
 package com.api.hub.ai.handler.impl;
 
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 
 import com.api.hub.ai.constants.MarkerConstants;
 import com.api.hub.ai.handler.InputOutputHandler;
+import com.api.hub.ai.handler.StreamingInputOutputHandler;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -24,6 +28,7 @@ import lombok.extern.slf4j.Slf4j;
  * <ul>
  *   <li>Stores and logs input received from the environment via {@link #setInput(String)}</li>
  *   <li>Captures and logs the output message from the agent via {@link #setOutPut(String)}</li>
+ *   <li>Publishes every output and {@link #emit(String) emitted chunk} to streaming subscribers</li>
  *   <li>Links the current {@link EnvironmentState} to the handler</li>
  *   <li>Tracks whether the agent successfully completed its operation</li>
  * </ul>
@@ -37,7 +42,7 @@ import lombok.extern.slf4j.Slf4j;
 @Component("SimpleAgentInputOutputHandler")
 @Scope(value = ConfigurableBeanFactory.SCOPE_PROTOTYPE)
 @Slf4j
-public class SimpleAgentInputOutputHandler implements InputOutputHandler, MarkerConstants {
+public class SimpleAgentInputOutputHandler implements StreamingInputOutputHandler, MarkerConstants {
 
     /** Input message received from the environment */
     String inputmsg;
@@ -51,6 +56,9 @@ public class SimpleAgentInputOutputHandler implements InputOutputHandler, Marker
     /** Success status of the last task or goal execution */
     boolean isSuccess = false;
 
+    /** Publisher delivering output chunks to streaming subscribers */
+    final SubmissionPublisher<String> publisher = new SubmissionPublisher<>();
+
     /**
      * Sets the input string received from the environment and logs it.
      *
@@ -68,9 +76,56 @@ public class SimpleAgentInputOutputHandler implements InputOutputHandler, Marker
      * @param output The response message generated by the agent.
      */
     @Override
-    public void setOutPut(String output) {
+    public synchronized void setOutPut(String output) {
         log.info(AUDIT, "response msg - " + output + " sending to user from env - " + state.getId());
         this.outPutmsg = output;
+        publish(output);
+    }
+
+    /**
+     * Appends a partial output chunk to the output and publishes it to subscribers.
+     *
+     * @param chunk The partial response generated by the agent.
+     */
+    @Override
+    public synchronized void emit(String chunk) {
+        log.info(AUDIT, "response chunk - " + chunk + " streaming to user from env - " + state.getId());
+        this.outPutmsg = outPutmsg == null ? chunk : outPutmsg + chunk;
+        publish(chunk);
+    }
+
+    /**
+     * Registers a subscriber receiving output chunks as they are produced.
+     *
+     * @param subscriber The caller-side subscriber.
+     */
+    @Override
+    public void subscribe(Flow.Subscriber<? super String> subscriber) {
+        publisher.subscribe(subscriber);
+    }
+
+    /**
+     * Completes the output stream.
+     */
+    @Override
+    public void complete() {
+        publisher.close();
+    }
+
+    /**
+     * Completes the output stream with an error.
+     *
+     * @param error The failure that ended the turn.
+     */
+    @Override
+    public void completeExceptionally(Throwable error) {
+        publisher.closeExceptionally(error);
+    }
+
+    private void publish(String chunk) {
+        if (chunk != null && publisher.hasSubscribers() && !publisher.isClosed()) {
+            publisher.submit(chunk);
+        }
     }
 
     /**
@@ -79,7 +134,7 @@ public class SimpleAgentInputOutputHandler implements InputOutputHandler, Marker
      * @return The output message.
      */
     @Override
-    public String getOut() {
+    public synchronized String getOut() {
         return outPutmsg;
     }
 
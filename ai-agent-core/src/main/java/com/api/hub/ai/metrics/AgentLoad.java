@@ -0,0 +1,128 @@
+package com.api.hub.ai.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Live load of one agent, used to route tasks among equivalent agents.
+ * <p>
+ * Tracks the calls currently in flight and two exponentially weighted moving averages, one of the call
+ * latency and one of the error rate (1 per failed call, 0 per successful one). Each completed call moves an
+ * average by {@value #SMOOTHING} of the distance to the new sample, so a degrading agent is noticed within a
+ * few calls. Updates are lock-free and never allocate.
+ * </p>
+ *
+ * <p>The {@link #getScore() load score} is
+ * {@code latencyEwma * (inFlight + 1) / (1 - errorEwma)}: lower is better. An agent that is not chosen gets no
+ * new samples, so the averages used by the score lose half of their weight every {@value #DECAY_HALF_LIFE_MS}
+ * ms without a completed call: an agent that was slow or failing is tried again after a while instead of
+ * keeping its last score forever.</p>
+ *
+ * @see com.api.hub.ai.constants.RoutingPolicy
+ * @since 1.0
+ */
+public class AgentLoad implements Metric {
+
+    /** Weight of a new sample in the moving averages. */
+    public static final double SMOOTHING = 0.3;
+
+    /** Time without a completed call after which the averages count half in the score. */
+    public static final long DECAY_HALF_LIFE_MS = 10_000;
+
+    /** Latency assumed before the first sample, so that in-flight calls still count. */
+    private static final double MIN_LATENCY_NANOS = 1_000;
+
+    private static final double DECAY_HALF_LIFE_NANOS = DECAY_HALF_LIFE_MS * 1_000_000.0;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    // NaN until the first sample, which then becomes the average
+    private final AtomicLong latencyEwma = new AtomicLong(Double.doubleToRawLongBits(Double.NaN));
+    private final AtomicLong errorEwma = new AtomicLong(Double.doubleToRawLongBits(Double.NaN));
+    private volatile long lastCompletedNanos = System.nanoTime();
+
+    /**
+     * Records the start of a call; must be followed by {@link #complete(long, boolean)} or {@link #cancel()}.
+     */
+    public void start() {
+        inFlight.incrementAndGet();
+    }
+
+    /**
+     * Records the end of a call started with {@link #start()}.
+     *
+     * @param nanos  latency of the call
+     * @param failed {@code true} if the call failed
+     */
+    public void complete(long nanos, boolean failed) {
+        inFlight.decrementAndGet();
+        update(latencyEwma, Math.max(0, nanos));
+        update(errorEwma, failed ? 1 : 0);
+        lastCompletedNanos = System.nanoTime();
+    }
+
+    /**
+     * Records the end of a call started with {@link #start()} that was cancelled by its caller, e.g. a hedge
+     * loser. Its latency and outcome say nothing about the agent, so the averages are left unchanged.
+     */
+    public void cancel() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * @return number of calls in flight
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * @return moving average of the latency in nanoseconds, {@code 0} before the first call
+     */
+    public double getLatencyEwmaNanos() {
+        return valueOf(latencyEwma);
+    }
+
+    /**
+     * @return moving average of the error rate, between 0 and 1
+     */
+    public double getErrorEwma() {
+        return valueOf(errorEwma);
+    }
+
+    /**
+     * @return the load score, lower is better, with the averages decayed by the time since the last completed call
+     */
+    public double getScore() {
+        long idle = System.nanoTime() - lastCompletedNanos;
+        double weight = idle <= 0 ? 1 : Math.pow(0.5, idle / DECAY_HALF_LIFE_NANOS);
+        double latency = MIN_LATENCY_NANOS + Math.max(0, getLatencyEwmaNanos() - MIN_LATENCY_NANOS) * weight;
+        return latency * (getInFlight() + 1) / Math.max(0.01, 1 - getErrorEwma() * weight);
+    }
+
+    private static void update(AtomicLong average, double sample) {
+        long current;
+        long next;
+        do {
+            current = average.get();
+            double value = Double.longBitsToDouble(current);
+            next = Double.doubleToRawLongBits(Double.isNaN(value) ? sample : value + SMOOTHING * (sample - value));
+        } while (!average.compareAndSet(current, next));
+    }
+
+    private static double valueOf(AtomicLong average) {
+        double value = Double.longBitsToDouble(average.get());
+        return Double.isNaN(value) ? 0 : value;
+    }
+
+    @Override
+    public Map<String, Number> snapshot() {
+        Map<String, Number> values = new LinkedHashMap<>();
+        values.put("inFlight", getInFlight());
+        values.put("latencyEwmaMs", getLatencyEwmaNanos() / 1_000_000.0);
+        values.put("errorEwma", getErrorEwma());
+        values.put("score", getScore());
+        return values;
+    }
+}
@@ -0,0 +1,78 @@
+package com.api.hub.ai.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import lombok.Getter;
+
+/**
+ * Progress and throughput of a batch run.
+ * <p>
+ * Updated while the batch runs, so a snapshot can be taken at any time to follow the replay.
+ * </p>
+ */
+@Getter
+public class BatchStats implements Metric {
+
+    /** Number of conversations in the batch. */
+    private final int conversations;
+
+    /** Conversations whose messages were all processed. */
+    private final LongAdder conversationsCompleted = new LongAdder();
+
+    /** Messages processed successfully. */
+    private final LongAdder messagesSucceeded = new LongAdder();
+
+    /** Messages whose turn failed or was rejected. */
+    private final LongAdder messagesFailed = new LongAdder();
+
+    /** Latency of individual turns. */
+    private final LatencyStats turnLatency = new LatencyStats();
+
+    private final long startNanos = System.nanoTime();
+
+    private volatile long endNanos;
+
+    public BatchStats(int conversations) {
+        this.conversations = conversations;
+    }
+
+    /**
+     * Marks the batch as finished, freezing the elapsed time.
+     */
+    public void finish() {
+        endNanos = System.nanoTime();
+    }
+
+    /**
+     * @return elapsed time of the batch in nanoseconds
+     */
+    public long getElapsedNanos() {
+        long end = endNanos;
+        return (end == 0 ? System.nanoTime() : end) - startNanos;
+    }
+
+    /**
+     * @return processed messages per second since the batch started
+     */
+    public double getMessagesPerSecond() {
+        long elapsed = getElapsedNanos();
+        long messages = messagesSucceeded.sum() + messagesFailed.sum();
+        return elapsed <= 0 ? 0.0 : messages * 1_000_000_000.0 / elapsed;
+    }
+
+    @Override
+    public Map<String, Number> snapshot() {
+        Map<String, Number> values = new LinkedHashMap<>();
+        values.put("conversations", conversations);
+        values.put("conversationsCompleted", conversationsCompleted.sum());
+        values.put("messagesSucceeded", messagesSucceeded.sum());
+        values.put("messagesFailed", messagesFailed.sum());
+        values.put("messagesPerSecond", getMessagesPerSecond());
+        values.put("elapsedMs", getElapsedNanos() / 1_000_000.0);
+        values.put("turnP50Ms", turnLatency.getPercentileNanos(50) / 1_000_000.0);
+        values.put("turnP95Ms", turnLatency.getPercentileNanos(95) / 1_000_000.0);
+        return values;
+    }
+}
@@ -0,0 +1,50 @@
+package com.api.hub.ai.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import lombok.Getter;
+
+/**
+ * Counters and latency breakdown of {@code Environment.getEnvironment} calls.
+ * <p>
+ * Distinguishes conversations resumed from the in-memory state cache, resumed from the external
+ * state store and newly created ones, so that steady-state turns can be verified to do no setup work.
+ * </p>
+ */
+@Getter
+public class ConversationLookupStats implements Metric {
+
+    /** Conversations resumed from the in-memory state cache. */
+    private final LongAdder resumedFromCache = new LongAdder();
+
+    /** Conversations resumed from the external state store. */
+    private final LongAdder resumedFromStore = new LongAdder();
+
+    /** Conversations created from the environment template. */
+    private final LongAdder created = new LongAdder();
+
+    /** Latency of state cache lookups. */
+    private final LatencyStats cacheLookup = new LatencyStats();
+
+    /** Latency of external state store lookups. */
+    private final LatencyStats storeLookup = new LatencyStats();
+
+    /** Latency of conversation creation. */
+    private final LatencyStats create = new LatencyStats();
+
+    @Override
+    public Map<String, Number> snapshot() {
+        Map<String, Number> values = new LinkedHashMap<>();
+        long resumed = resumedFromCache.sum() + resumedFromStore.sum();
+        values.put("resumedFromCache", resumedFromCache.sum());
+        values.put("resumedFromStore", resumedFromStore.sum());
+        values.put("created", created.sum());
+        values.put("resumeRatio", resumed + created.sum() == 0 ? 0.0 : (double) resumed / (resumed + created.sum()));
+        values.put("cacheLookupP95Ms", cacheLookup.getPercentileNanos(95) / 1_000_000.0);
+        values.put("storeLookupP95Ms", storeLookup.getPercentileNanos(95) / 1_000_000.0);
+        values.put("createP95Ms", create.getPercentileNanos(95) / 1_000_000.0);
+        return values;
+    }
+}
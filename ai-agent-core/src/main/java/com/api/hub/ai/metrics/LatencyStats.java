@@ -0,0 +1,125 @@
+package com.api.hub.ai.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency recorder with approximate percentiles.
+ * <p>
+ * Samples are recorded in nanoseconds into power-of-two microsecond buckets, so percentiles are
+ * reported as the upper bound of the bucket holding the requested rank. Recording never allocates
+ * and may be called concurrently from any number of threads.
+ * </p>
+ *
+ * @see Metric
+ */
+public class LatencyStats implements Metric {
+
+    private static final int BUCKETS = 48;
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+    /**
+     * Records a single latency sample.
+     *
+     * @param nanos elapsed time in nanoseconds
+     */
+    public void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        count.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+        buckets.incrementAndGet(bucketOf(nanos));
+    }
+
+    /**
+     * Records the time elapsed since the given {@link System#nanoTime()} value.
+     *
+     * @param startNanos start time
+     * @return the recorded elapsed time in nanoseconds
+     */
+    public long recordSince(long startNanos) {
+        long elapsed = System.nanoTime() - startNanos;
+        record(elapsed);
+        return elapsed;
+    }
+
+    /**
+     * @return number of recorded samples
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * @return mean latency in nanoseconds, {@code 0} when empty
+     */
+    public long getMeanNanos() {
+        long n = count.sum();
+        return n == 0 ? 0 : totalNanos.sum() / n;
+    }
+
+    /**
+     * @return maximum recorded latency in nanoseconds
+     */
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    /**
+     * Returns the approximate latency at the given percentile.
+     *
+     * @param percentile value between 0 and 100
+     * @return latency in nanoseconds, {@code 0} when empty
+     */
+    public long getPercentileNanos(double percentile) {
+        long total = 0;
+        long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(total * (percentile / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(upperBoundNanos(i), maxNanos.get());
+            }
+        }
+        return maxNanos.get();
+    }
+
+    @Override
+    public Map<String, Number> snapshot() {
+        Map<String, Number> values = new LinkedHashMap<>();
+        values.put("count", getCount());
+        values.put("meanMs", getMeanNanos() / 1_000_000.0);
+        values.put("p50Ms", getPercentileNanos(50) / 1_000_000.0);
+        values.put("p95Ms", getPercentileNanos(95) / 1_000_000.0);
+        values.put("p99Ms", getPercentileNanos(99) / 1_000_000.0);
+        values.put("maxMs", getMaxNanos() / 1_000_000.0);
+        return values;
+    }
+
+    private static int bucketOf(long nanos) {
+        long micros = nanos / 1_000;
+        int bucket = 64 - Long.numberOfLeadingZeros(micros);
+        return Math.min(bucket, BUCKETS - 1);
+    }
+
+    private static long upperBoundNanos(int bucket) {
+        return (1L << bucket) * 1_000;
+    }
+}
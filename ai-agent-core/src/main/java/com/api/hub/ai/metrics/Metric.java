@@ -0,0 +1,23 @@
+package com.api.hub.ai.metrics;
+
+import java.util.Map;
+
+/**
+ * A named source of numeric measurements within the AI-Agent Framework.
+ * <p>
+ * Implementations are registered in {@link MetricsRegistry} and periodically reported by
+ * {@link MetricsReporter}. A snapshot must be cheap to take and safe to call from any thread.
+ * </p>
+ *
+ * @see MetricsRegistry
+ * @see MetricsReporter
+ */
+public interface Metric {
+
+    /**
+     * Returns a point-in-time view of the measurements held by this metric.
+     *
+     * @return measurement names mapped to their current values
+     */
+    Map<String, Number> snapshot();
+}
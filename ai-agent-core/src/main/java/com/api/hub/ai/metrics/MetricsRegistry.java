@@ -0,0 +1,71 @@
+package com.api.hub.ai.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import lombok.NonNull;
+
+/**
+ * Process-wide registry of {@link Metric} instances.
+ * <p>
+ * Components of the framework that are not Spring beans (agent definitions, environment states)
+ * register their metrics here so they can be reported and inspected from a single place.
+ * </p>
+ *
+ * @see Metric
+ * @see MetricsReporter
+ */
+public class MetricsRegistry {
+
+    private static final Map<String, Metric> metrics = new ConcurrentHashMap<>();
+
+    /**
+     * Registers a metric under the given name, replacing any previous registration.
+     *
+     * @param name   unique metric name, e.g. {@code environment.lookup}
+     * @param metric the metric to register
+     * @return the registered metric
+     */
+    public static <M extends Metric> M register(@NonNull String name, @NonNull M metric) {
+        metrics.put(name, metric);
+        return metric;
+    }
+
+    /**
+     * Returns the metric registered under the given name, creating and registering it when absent.
+     *
+     * @param name    unique metric name
+     * @param factory creates the metric when none is registered yet
+     * @return the registered metric
+     */
+    @SuppressWarnings("unchecked")
+    public static <M extends Metric> M getOrRegister(@NonNull String name, @NonNull Function<String, M> factory) {
+        return (M) metrics.computeIfAbsent(name, factory);
+    }
+
+    /**
+     * @param name metric name
+     * @return the registered metric or {@code null}
+     */
+    public static Metric get(String name) {
+        return metrics.get(name);
+    }
+
+    /**
+     * Removes the metric registered under the given name.
+     *
+     * @param name metric name
+     */
+    public static void remove(String name) {
+        metrics.remove(name);
+    }
+
+    /**
+     * @return read-only view of all registered metrics
+     */
+    public static Map<String, Metric> getAll() {
+        return Collections.unmodifiableMap(metrics);
+    }
+}
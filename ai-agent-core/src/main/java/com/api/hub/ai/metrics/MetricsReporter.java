@@ -0,0 +1,38 @@
+package com.api.hub.ai.metrics;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.api.hub.ai.constants.MarkerConstants;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Scheduled component that logs every metric held by {@link MetricsRegistry} under the
+ * {@code PERFORMANCE} marker.
+ * <p>
+ * Enabled with {@code metrics.report.enabled=true}; the interval is configured through
+ * {@code metrics.report.interval.sec} (default: 60 seconds).
+ * </p>
+ *
+ * @see MetricsRegistry
+ */
+@Component
+@ConditionalOnProperty(name = "metrics.report.enabled", havingValue = "true")
+@Slf4j
+public class MetricsReporter implements MarkerConstants {
+
+    /**
+     * Logs a snapshot of all registered metrics.
+     */
+    @Scheduled(fixedDelayString = "${metrics.report.interval.sec:60}", timeUnit = TimeUnit.SECONDS)
+    public void report() {
+        for (Map.Entry<String, Metric> entry : MetricsRegistry.getAll().entrySet()) {
+            log.info(PERFORMANCE, entry.getKey() + " " + entry.getValue().snapshot());
+        }
+    }
+}
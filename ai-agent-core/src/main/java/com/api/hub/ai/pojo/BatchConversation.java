@@ -0,0 +1,33 @@
+package com.api.hub.ai.pojo;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One conversation to replay through the batch API of the AI-Agent Framework.
+ * <p>
+ * The messages are processed strictly in order within the conversation, each one as a separate turn,
+ * exactly as if a user had sent them one after another.
+ * </p>
+ *
+ * <p><b>Fields:</b></p>
+ * <ul>
+ *   <li><b>id:</b> Conversation id; an existing conversation with this id is resumed, otherwise a new one is created with it.</li>
+ *   <li><b>messages:</b> Ordered user messages of the conversation.</li>
+ * </ul>
+ *
+ * @see BatchResult
+ * @see com.api.hub.ai.starter.impl.BatchProcessor
+ * @since 1.0
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchConversation {
+
+    private String id;
+    private List<String> messages;
+}
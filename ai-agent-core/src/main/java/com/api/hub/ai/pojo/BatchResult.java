@@ -0,0 +1,37 @@
+package com.api.hub.ai.pojo;
+
+import lombok.Data;
+
+/**
+ * Outcome of a single message processed through the batch API of the AI-Agent Framework.
+ * <p>
+ * Results are published as soon as each turn completes, in order within a conversation and
+ * interleaved across conversations.
+ * </p>
+ *
+ * <p><b>Fields:</b></p>
+ * <ul>
+ *   <li><b>conversationId:</b> Id of the conversation the message belongs to.</li>
+ *   <li><b>index:</b> Position of the message within its conversation.</li>
+ *   <li><b>input:</b> The message that was processed.</li>
+ *   <li><b>output:</b> Output produced by the agents, {@code null} on failure.</li>
+ *   <li><b>success:</b> Whether the turn completed successfully.</li>
+ *   <li><b>error:</b> Failure of the turn, if any.</li>
+ *   <li><b>latencyNanos:</b> Time taken by the turn.</li>
+ * </ul>
+ *
+ * @see BatchConversation
+ * @see com.api.hub.ai.starter.impl.BatchProcessor
+ * @since 1.0
+ */
+@Data
+public class BatchResult {
+
+    private String conversationId;
+    private int index;
+    private String input;
+    private String output;
+    private boolean success;
+    private Throwable error;
+    private long latencyNanos;
+}
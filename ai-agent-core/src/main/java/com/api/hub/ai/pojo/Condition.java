@@ -0,0 +1,46 @@
+package com.api.hub.ai.pojo;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Describes which tasks an agent accepts within the AI-Agent Framework.
+ * <p>
+ * A condition is built for every agent from its {@link com.api.hub.ai.starter.Agent @Agent} annotation and
+ * evaluated by agent pools such as {@link com.api.hub.ai.handler.impl.IndexedAgentPool}. A {@code null} or
+ * empty list places no constraint on the corresponding task field; {@code "*"} in an equality list matches
+ * any value. All non-empty criteria must hold for a task to match.
+ * </p>
+ *
+ * <p><b>Fields:</b></p>
+ * <ul>
+ *   <li><b>taskGoalName:</b> Accepted names of the task's current goal (equality).</li>
+ *   <li><b>taskName:</b> Accepted task names (equality).</li>
+ *   <li><b>taskDescription:</b> {@code {operator, value}} pairs tested against the task description, where the
+ *   operator is one of {@code equals}, {@code contains}, {@code startsWith}, {@code endsWith} or {@code matches}.</li>
+ *   <li><b>taskCreatedBy:</b> Accepted task creators (equality).</li>
+ *   <li><b>taskObjectType:</b> Accepted task payload types, simple or fully qualified class name (equality).</li>
+ *   <li><b>taskObjectMethodValue:</b> {@code {methodName, expectedValue}} pairs; the no-argument method is
+ *   called on the task payload and its result compared with the expected value as a string.</li>
+ * </ul>
+ *
+ * @see Task
+ * @see com.api.hub.ai.handler.impl.AgentDefination
+ * @since 1.0
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class Condition {
+
+	private List<String> taskGoalName;
+	private List<String> taskName;
+	private List<Object[]> taskDescription;
+	private List<String> taskCreatedBy;
+	private List<String> taskObjectType;
+	private List<Object[]> taskObjectMethodValue;
+	
+}
@@ -1,8 +1,10 @@
 package com.api.hub.ai.pojo;
 
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.Deque;
-import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
 
 import com.api.hub.ai.cache.Cache;
 import com.api.hub.ai.constants.StatusValues;
@@ -23,6 +25,7 @@ import lombok.Data;
  *   <li>Supports retrieval of the current active task via {@link #getTask()} (peek of the task queue).</li>
  *   <li>Allows adding tasks either at the front or end of the task queue via {@link #addTask(Task, boolean)}.</li>
  *   <li>Handles task removal with {@link #removeTask(Task)}, which also calls {@link Task#close()} on the task.</li>
+ *   <li>Exposes the concurrent tasks whose dependencies are met via {@link #getReadyConcurrentTasks()}.</li>
  *   <li>Manages the goal's status and can be marked completed via {@link #close()}.</li>
  *   <li>Maintains a {@link Cache} instance to store goal-specific variables, facilitating stateful processing.</li>
  * </ul>
@@ -31,7 +34,7 @@ import lombok.Data;
  * <ul>
  *   <li><b>goal:</b> A string identifier or description for the goal.</li>
  *   <li><b>defaultGoal:</b> Flag indicating if this is the default goal for the agent or environment.</li>
- *   <li><b>tasks:</b> A deque holding the tasks associated with this goal, ordered for processing.</li>
+ *   <li><b>tasks:</b> A thread-safe deque holding the tasks associated with this goal, ordered for processing.</li>
  *   <li><b>status:</b> Tracks the current lifecycle status of the goal.</li>
  *   <li><b>variables:</b> A cache for storing key-value pairs relevant to this goal's execution context.</li>
  * </ul>
@@ -47,7 +50,7 @@ public class Goal {
     
     private String goal;
     private boolean defaultGoal;
-    private Deque<Task> tasks = new LinkedList<Task>();
+    private Deque<Task> tasks = new ConcurrentLinkedDeque<Task>();
     private Status status = new Status();
     
     private Cache<String, Object> variables;
@@ -61,6 +64,22 @@ public class Goal {
         return tasks.peek();
     }
     
+    /**
+     * Collects, in queue order, the concurrent tasks whose dependencies are all completed.
+     * These tasks are independent of each other and can be executed at the same time.
+     * 
+     * @return the ready concurrent tasks, empty if there are none
+     */
+    public List<Task> getReadyConcurrentTasks() {
+        List<Task> ready = new ArrayList<>();
+        for (Task task : tasks) {
+            if (task.isConcurrent() && task.isReady()) {
+                ready.add(task);
+            }
+        }
+        return ready;
+    }
+    
     /**
      * Removes the specified task from this goal's task queue.
      * This also closes the task by updating its status.
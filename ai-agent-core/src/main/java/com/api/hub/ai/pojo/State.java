@@ -2,6 +2,7 @@ package com.api.hub.ai.pojo;
 
 import java.util.List;
 
+import com.api.hub.ai.handler.impl.AgentDefination;
 import com.api.hub.ai.handler.impl.EnvironmentState;
 import com.api.hub.ai.handler.InputOutputHandler;
 
@@ -28,6 +29,9 @@ import lombok.Data;
  *   <li><b>actionsPerformed:</b> List of actions taken by the agent during the current execution.</li>
  *   <li><b>env:</b> Snapshot of the environment state accessible to the agent.</li>
  *   <li><b>handler:</b> Input/output handler for communication and data exchange.</li>
+ *   <li><b>agentDefination:</b> The agent matched to perform the task.</li>
+ *   <li><b>turnContext:</b> Deadline and cancellation state of the current turn; agents may call
+ *   {@code turnContext.checkpoint()} between expensive steps.</li>
  * </ul>
  * 
  * <p><b>Example Usage by Environment:</b></p>
@@ -57,4 +61,6 @@ public class State {
     private List<Action> actionsPerformed;
     private EnvironmentState env;
     private InputOutputHandler handler;
+    private AgentDefination agentDefination;
+    private TurnContext turnContext;
 }
\ No newline at end of file
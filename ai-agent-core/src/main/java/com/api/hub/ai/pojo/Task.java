@@ -1,11 +1,15 @@
 package com.api.hub.ai.pojo;
 
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 
 import com.api.hub.ai.constants.StatusValues;
 
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NonNull;
+import lombok.ToString;
 
 /**
  * Represents a Task within the AI-Agent Framework.
@@ -30,7 +34,17 @@ import lombok.NonNull;
  *   <li><b>createdBy:</b> Name of the agent or environment that created the task.</li>
  *   <li><b>currentGoal:</b> The Goal instance that this task belongs to.</li>
  *   <li><b>taskStatus:</b> Status object tracking the task's lifecycle state.</li>
+ *   <li><b>concurrent:</b> Whether the task may run alongside other ready concurrent tasks of its goal.</li>
+ *   <li><b>dependsOn:</b> Tasks that must be completed before this task can start.</li>
  * </ul>
+ *
+ * <p><b>Task Dependencies:</b></p>
+ * <p>
+ * Agents queueing independent sub-tasks (for example, look up order and look up profile) mark them
+ * {@code concurrent}; the environment then runs every ready concurrent task of the goal at the same
+ * time and joins them before starting tasks that depend on them. Tasks that are not concurrent keep
+ * the sequential, queue-ordered behaviour.
+ * </p>
  * 
  * @see Goal
  * @see Status
@@ -46,6 +60,11 @@ public class Task {
     private String createdBy;
     private Goal currentGoal;
     private Status taskStatus = new Status();
+    private boolean concurrent;
+
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private List<Task> dependsOn = new ArrayList<>();
 
     /**
      * Constructs a new Task instance.
@@ -62,13 +81,45 @@ public class Task {
         this.currentGoal = currentGoal;
     }
 
+    /**
+     * Declares that this task can only start once the given tasks are completed, and allows it to run
+     * concurrently with other ready tasks of its goal.
+     *
+     * @param tasks the tasks this task depends on
+     * @return this task, for chaining
+     */
+    public Task dependsOn(Task... tasks) {
+        for (Task task : tasks) {
+            dependsOn.add(task);
+        }
+        concurrent = true;
+        return this;
+    }
+
+    /**
+     * Checks whether every dependency of this task is completed.
+     *
+     * @return true if the task can start now
+     */
+    public boolean isReady() {
+        for (Task task : dependsOn) {
+            if (task.getTaskStatus().getStatus() != StatusValues.COMPLETED) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Closes this task by marking its status as completed, setting the end time,
      * and removing it from the associated Goal.
      */
     public void close() {
-        currentGoal.removeTask(this);
+        if (taskStatus.getStatus() == StatusValues.COMPLETED) {
+            return;
+        }
         taskStatus.setEndTime(new Date());
         taskStatus.setStatus(StatusValues.COMPLETED);
+        currentGoal.removeTask(this);
     }
 }
\ No newline at end of file
@@ -0,0 +1,221 @@
+package com.api.hub.ai.pojo;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import com.api.hub.exception.NetworkException;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Deadline and cancellation state of a single turn (one user message) within the AI-Agent Framework.
+ * <p>
+ * A {@code TurnContext} is created by {@code EnvironmentState.process} for every message, using the
+ * environment's {@code ai.{env}.turn.timeout.ms}, and {@link #start() started} once the turn actually runs, so
+ * time spent behind earlier turns or in admission control does not count. It is carried on every {@link State} handed to agents
+ * during that turn. The framework enforces the deadline around each agent invocation; long-running agents
+ * should additionally call {@link #checkpoint()} (or test {@link #isCancelled()}) between expensive steps
+ * so that they stop cooperatively once the turn is no longer needed.
+ * </p>
+ *
+ * <p>
+ * Work started on other threads for the turn is {@link #register(Future) registered}, and so are
+ * {@link #register(Thread) threads} running an agent inline, so that {@link #cancel(String)} interrupts it.
+ * </p>
+ *
+ * <p><b>Example Usage by an Agent:</b></p>
+ * <pre>{@code
+ * for (Document doc : documents) {
+ *     state.getTurnContext().checkpoint();
+ *     score(doc);
+ * }
+ * }</pre>
+ *
+ * @see State
+ * @since 1.0
+ */
+@Getter
+public class TurnContext {
+
+    private static final ThreadLocal<TurnContext> current = new ThreadLocal<>();
+
+    /** Turn timeout in nanoseconds, {@code 0} when unbounded. */
+    private final long timeoutNanos;
+
+    /** {@link System#nanoTime()} value after which the turn expires, {@code Long.MAX_VALUE} when unbounded. */
+    private volatile long deadlineNanos;
+
+    /** Whether the turn was cancelled explicitly. */
+    private volatile boolean cancelled;
+
+    /** Reason given to {@link #cancel(String)}, {@code null} while the turn is active. */
+    private volatile String cancelReason;
+
+    /** Whether newer input of the same conversation replaced this turn. */
+    private volatile boolean superseded;
+
+    @Getter(AccessLevel.NONE)
+    private final Set<Future<?>> inFlight = ConcurrentHashMap.newKeySet();
+
+    /** Threads running an agent inline for this turn, guarded by itself. */
+    @Getter(AccessLevel.NONE)
+    private final Set<Thread> threads = new HashSet<>();
+
+    /**
+     * Creates a turn whose deadline counts from now.
+     *
+     * @param timeoutMs turn timeout in milliseconds, {@code 0} or less for no deadline
+     */
+    public TurnContext(long timeoutMs) {
+        this.timeoutNanos = timeoutMs > 0 ? TimeUnit.MILLISECONDS.toNanos(timeoutMs) : 0;
+        start();
+    }
+
+    /**
+     * Restarts the deadline from now, called when a turn created ahead of time begins to run.
+     */
+    public void start() {
+        deadlineNanos = timeoutNanos > 0 ? System.nanoTime() + timeoutNanos : Long.MAX_VALUE;
+    }
+
+    /**
+     * @return {@code true} if this turn has a deadline
+     */
+    public boolean hasDeadline() {
+        return timeoutNanos > 0;
+    }
+
+    /**
+     * @return nanoseconds left before the deadline, never negative
+     */
+    public long remainingNanos() {
+        return hasDeadline() ? Math.max(0, deadlineNanos - System.nanoTime()) : Long.MAX_VALUE;
+    }
+
+    /**
+     * @return {@code true} if the deadline has passed
+     */
+    public boolean isExpired() {
+        return hasDeadline() && System.nanoTime() - deadlineNanos >= 0;
+    }
+
+    /**
+     * @return {@code true} if the turn was cancelled or its deadline has passed
+     */
+    public boolean isCancelled() {
+        return cancelled || isExpired();
+    }
+
+    /**
+     * Cancels the turn and interrupts every registered in-flight invocation and thread.
+     *
+     * @param reason why the turn was cancelled, reported in the resulting error
+     */
+    public void cancel(String reason) {
+        if (!cancelled) {
+            cancelReason = reason;
+            cancelled = true;
+        }
+        for (Future<?> future : inFlight) {
+            future.cancel(true);
+        }
+        synchronized (threads) {
+            threads.forEach(Thread::interrupt);
+        }
+    }
+
+    /**
+     * Marks the turn as replaced by newer input. Unlike {@link #cancel(String)} the running agent is not
+     * interrupted; the turn stops at its next agent boundary.
+     */
+    public void supersede() {
+        superseded = true;
+        if (!cancelled) {
+            cancelReason = "superseded by newer input";
+            cancelled = true;
+        }
+    }
+
+    /**
+     * Throws if the turn must stop; agents call this between expensive steps.
+     *
+     * @throws NetworkException with code 7002 if the turn was cancelled or has expired
+     */
+    public void checkpoint() throws NetworkException {
+        if (cancelled) {
+            throw new NetworkException("7002-ai-hub", "Turn cancelled - " + cancelReason, "Request was cancelled.");
+        }
+        if (isExpired()) {
+            throw new NetworkException("7002-ai-hub", "Turn deadline exceeded", "Request timed out, please retry.");
+        }
+    }
+
+    /**
+     * Registers work running on behalf of this turn, cancelling it at once if the turn is already cancelled.
+     *
+     * @param future the running work
+     */
+    public void register(Future<?> future) {
+        inFlight.add(future);
+        if (cancelled) {
+            future.cancel(true);
+        }
+    }
+
+    /**
+     * @param future work that completed and no longer needs cancelling
+     */
+    public void unregister(Future<?> future) {
+        inFlight.remove(future);
+    }
+
+    /**
+     * Registers a thread running an agent inline for this turn, interrupting it at once if the turn is already
+     * cancelled.
+     *
+     * @param thread the thread running the agent
+     */
+    public void register(Thread thread) {
+        synchronized (threads) {
+            threads.add(thread);
+            if (cancelled) {
+                thread.interrupt();
+            }
+        }
+    }
+
+    /**
+     * Unregisters a thread whose agent returned; once this returns, {@link #cancel(String)} no longer interrupts it.
+     *
+     * @param thread the thread that ran the agent
+     */
+    public void unregister(Thread thread) {
+        synchronized (threads) {
+            threads.remove(thread);
+        }
+    }
+
+    /**
+     * @return the turn processed by the current thread, or {@code null}
+     */
+    public static TurnContext current() {
+        return current.get();
+    }
+
+    /**
+     * Binds a turn to the current thread for the duration of its processing.
+     *
+     * @param context the turn, {@code null} to clear
+     */
+    public static void setCurrent(TurnContext context) {
+        if (context == null) {
+            current.remove();
+        } else {
+            current.set(context);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.api.hub.ai.starter;
+
+import java.lang.annotation.*;
+
+import com.api.hub.ai.constants.ExecutionType;
+
+/**
+ * Annotation to mark and configure methods as AI agent tasks within the AI-Agent framework.
+ * <p>
+ * Methods annotated with {@code @Agent} are recognized by the framework and
+ * are used to define agent behavior through metadata encapsulated in
+ * {@link com.api.hub.ai.handler.impl.AgentDefination AgentDefination}.
+ * </p>
+ * <p>
+ * This annotation enables specification of:
+ * </p>
+ * <ul>
+ *   <li><b>variables</b>: Specifies the variable handler class or context used by the agent method, defaulting to {@code "SimpleCacheHandler"}.</li>
+ *   <li><b>description</b>: Provides a human-readable description of the agent method’s purpose or behavior.</li>
+ *   <li><b>goals</b>: Defines a list of goals or objectives the agent method aims to accomplish.</li>
+ *   <li><b>agentPools</b>: Specifies one or more pools or groups the agent belongs to for logical categorization or execution management.</li>
+ *   <li><b>taskNames</b>, <b>taskCreatedBy</b>, <b>taskObjectTypes</b>, <b>taskDescription</b> and
+ *   <b>taskObjectMethodValue</b>: Narrow the tasks the agent accepts, see {@link com.api.hub.ai.pojo.Condition Condition}.</li>
+ *   <li><b>executionType</b>: Whether the agent is CPU-bound or I/O-bound, which selects the threads it runs on.</li>
+ *   <li><b>maxConcurrent</b> and <b>maxQueued</b>: The bulkhead limiting concurrent calls of the agent.</li>
+ *   <li><b>idempotent</b>: Whether transient failures of the agent may be retried, and the agent may race others.</li>
+ *   <li><b>cacheable</b>, <b>cacheKey</b> and <b>cacheTtlMs</b>: Whether, by which task fields and for how long
+ *   the results of a deterministic agent are memoized.</li>
+ * </ul>
+ * <p>
+ * The annotated method is expected to accept a single parameter of type
+ * {@link com.api.hub.ai.pojo.State State}, which encapsulates the current task,
+ * environment state, input-output handler, and history relevant to the agent’s
+ * execution context.
+ * </p>
+ *
+ * @see com.api.hub.ai.pojo.State
+ * @see com.api.hub.ai.handler.impl.AgentDefination
+ * @see com.api.hub.ai.starter.AiAgent
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Agent {
+    
+	/**
+	 * Specifies the cache bean name specific to that particular agent.
+	 * This should correspond to a cache bean configured in the application context,
+	 * used to manage the agent’s variable state.
+	 *
+	 * @return the cache bean name
+	 */
+	String variables() default "SimpleCacheHandler";
+
+    /**
+     * A brief description of what the agent method does or its role.
+     *
+     * @return description of the agent method
+     */
+    String description() default "";
+
+    /**
+     * Goals or objectives this agent method is intended to achieve.
+     *
+     * @return array of goal strings
+     */
+    String[] goals() default {};
+
+    /**
+     * Pools or groups to which this agent belongs for categorization or scheduling.
+     *
+     * @return array of agent pool names
+     */
+    String[] agentPools() default {};
+
+    /**
+     * Task names this agent accepts; empty accepts any task name.
+     *
+     * @return array of task names
+     */
+    String[] taskNames() default {};
+
+    /**
+     * Task creators (user or agent names) this agent accepts; empty accepts any creator.
+     *
+     * @return array of creator names
+     */
+    String[] taskCreatedBy() default {};
+
+    /**
+     * Task payload types this agent accepts, as simple or fully qualified class names; empty accepts any type.
+     *
+     * @return array of class names
+     */
+    String[] taskObjectTypes() default {};
+
+    /**
+     * Tests on the task description in the form {@code operator:value}, for example {@code contains:refund}.
+     * Supported operators are {@code equals}, {@code contains}, {@code startsWith}, {@code endsWith} and {@code matches}.
+     *
+     * @return array of description tests
+     */
+    String[] taskDescription() default {};
+
+    /**
+     * Tests on the task payload in the form {@code method=value}, for example {@code getStatus=OPEN}. The
+     * no-argument method is called on the payload and its result compared with the value as a string.
+     *
+     * @return array of payload tests
+     */
+    String[] taskObjectMethodValue() default {};
+
+    /**
+     * The kind of work the agent does. {@link ExecutionType#CPU CPU} agents run on a work-stealing pool sized
+     * to the processors, {@link ExecutionType#IO IO} agents on virtual or I/O threads, so that blocking agents
+     * cannot starve compute-heavy ones.
+     *
+     * @return the execution type
+     */
+    ExecutionType executionType() default ExecutionType.DEFAULT;
+
+    /**
+     * Maximum number of calls of this agent running at the same time, across all environments; {@code 0}
+     * for no limit. Overridden by {@code ai.agent.{bean-method}.maxConcurrent}.
+     *
+     * @return the concurrency limit
+     */
+    int maxConcurrent() default 0;
+
+    /**
+     * Maximum number of calls waiting when {@link #maxConcurrent()} calls are running. Further calls fail at
+     * once with error code 7012. Overridden by {@code ai.agent.{bean-method}.maxQueued}.
+     *
+     * @return the queue bound
+     */
+    int maxQueued() default 0;
+
+    /**
+     * Whether calling the agent again after a failure is harmless. Transient failures of idempotent agents
+     * (service, database, model and network errors) are retried with jittered backoff within the shared retry
+     * budget. Only idempotent agents race other agents in scatter-gather and hedged invocation. Overridden by
+     * {@code ai.agent.{bean-method}.idempotent}.
+     *
+     * @return {@code true} if the agent may be retried
+     */
+    boolean idempotent() default false;
+
+    /**
+     * Whether the agent is a deterministic function of its task, such as an FAQ lookup or a classifier. The
+     * output, actions and task completion of a call are then recorded and replayed for later tasks with the
+     * same {@link #cacheKey() key}, without invoking the agent. Agents with other side effects must not be
+     * cacheable. Overridden by {@code ai.agent.{bean-method}.cacheable}.
+     *
+     * @return {@code true} if the results of the agent may be memoized
+     */
+    boolean cacheable() default false;
+
+    /**
+     * Task fields the memo key is built from: {@code goal}, {@code name}, {@code description},
+     * {@code createdBy}, {@code task} (the payload) or {@code task.<method>} (a no-argument method of the
+     * payload, e.g. {@code task.getQuestion}). Empty uses {@code goal}, {@code name} and {@code task}.
+     *
+     * @return array of key fields
+     */
+    String[] cacheKey() default {};
+
+    /**
+     * Time a memoized result is replayed for, in milliseconds. Overridden by
+     * {@code ai.agent.{bean-method}.cache.ttl.ms}.
+     *
+     * @return the time to live
+     */
+    long cacheTtlMs() default 60000;
+}
@@ -0,0 +1,238 @@
+package com.api.hub.ai.starter.impl;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.api.hub.ai.constants.MarkerConstants;
+import com.api.hub.ai.handler.impl.EnvironmentState;
+import com.api.hub.ai.metrics.BatchStats;
+import com.api.hub.ai.metrics.MetricsRegistry;
+import com.api.hub.ai.pojo.BatchConversation;
+import com.api.hub.ai.pojo.BatchResult;
+import com.api.hub.ai.starter.Environment;
+import com.api.hub.exception.InternalServerException;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Offline replay of many conversations through an {@link Environment}, for evaluation and backfills.
+ * <p>
+ * Up to {@code parallelism} conversations are processed at the same time; the messages of a single
+ * conversation are processed strictly in order, the next message being submitted only once the previous
+ * turn completed. No thread blocks on a turn: each completion schedules the next message, and a finished
+ * conversation starts the next pending one.
+ * </p>
+ *
+ * <p>
+ * Every processed message is published as a {@link BatchResult} to the given subscriber as soon as its
+ * turn completes. Publishing honours the subscriber's demand, so a slow consumer slows the batch down
+ * instead of buffering results without bound. Progress and throughput are available at any time from
+ * {@link BatchJob#getStats()} and are reported under the {@code batch.{jobId}} metric while the job runs.
+ * </p>
+ *
+ * <p><b>Example:</b></p>
+ * <pre>{@code
+ * BatchProcessor processor = new BatchProcessor(environment, 16);
+ * BatchJob job = processor.process("support", conversations, resultSubscriber);
+ * BatchStats stats = job.getCompletion().join();
+ * }</pre>
+ *
+ * @see BatchConversation
+ * @see BatchResult
+ * @see BatchStats
+ * @since 1.0
+ */
+@Slf4j
+public class BatchProcessor implements MarkerConstants {
+
+    private final Environment environment;
+
+    private final int parallelism;
+
+    /**
+     * @param environment environment used to create or resume the replayed conversations
+     * @param parallelism maximum number of conversations processed at the same time
+     */
+    public BatchProcessor(@NonNull Environment environment, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1");
+        }
+        this.environment = environment;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Starts replaying the given conversations.
+     *
+     * @param envName       environment the conversations belong to
+     * @param conversations conversations to replay, each with its ordered messages
+     * @param subscriber    receives one result per message as it is produced, may be {@code null}
+     * @return the running job
+     */
+    public BatchJob process(@NonNull String envName, @NonNull List<BatchConversation> conversations,
+            Flow.Subscriber<? super BatchResult> subscriber) {
+        BatchJob job = new BatchJob(envName, conversations);
+        if (subscriber != null) {
+            job.publisher.subscribe(subscriber);
+        }
+        MetricsRegistry.register("batch." + job.id, job.stats);
+        if (conversations.isEmpty()) {
+            job.finish();
+        }
+        for (int i = 0; i < Math.min(parallelism, conversations.size()); i++) {
+            startNext(job);
+        }
+        return job;
+    }
+
+    private void startNext(BatchJob job) {
+        BatchConversation conversation = job.pending.poll();
+        if (conversation == null) {
+            return;
+        }
+        EnvironmentState state = null;
+        try {
+            state = environment.getEnvironment(job.envName, conversation.getId());
+        } catch (RuntimeException e) {
+            log.error(SYSTEM_ERROR, "Unable to load conversation " + conversation.getId() + " for batch " + job.id + " " + e.getMessage());
+        }
+        if (state == null) {
+            InternalServerException error = new InternalServerException("8002-ai-hub", "Unable to create environment - "
+                    + job.envName + " for conversation - " + conversation.getId(), "");
+            for (int i = 0; i < conversation.getMessages().size(); i++) {
+                job.publish(failure(conversation, i, error, 0));
+            }
+            conversationDone(job);
+            return;
+        }
+        processMessage(job, state, conversation, 0);
+    }
+
+    private void processMessage(BatchJob job, EnvironmentState state, BatchConversation conversation, int index) {
+        if (index >= conversation.getMessages().size()) {
+            conversationDone(job);
+            return;
+        }
+        String message = conversation.getMessages().get(index);
+        long start = System.nanoTime();
+        try {
+            state.process(message).whenCompleteAsync((handler, error) -> {
+                try {
+                    long latency = System.nanoTime() - start;
+                    if (error != null) {
+                        job.publish(failure(conversation, index, error instanceof CompletionException && error.getCause() != null
+                                ? error.getCause() : error, latency));
+                    } else {
+                        BatchResult result = result(conversation, index, latency);
+                        result.setOutput(handler.getOut());
+                        result.setSuccess(handler.isSuccess());
+                        job.publish(result);
+                    }
+                } catch (RuntimeException e) {
+                    // only a failure of this callback stops the conversation, a failed turn is just a failed result
+                    log.error(SYSTEM_ERROR, "Batch " + job.id + " stopped conversation " + conversation.getId() + " " + e);
+                    conversationDone(job);
+                    return;
+                }
+                processMessage(job, state, conversation, index + 1);
+            }, job.dispatcher);
+        } catch (RuntimeException e) {
+            job.publish(failure(conversation, index, e, System.nanoTime() - start));
+            processMessage(job, state, conversation, index + 1);
+        }
+    }
+
+    private void conversationDone(BatchJob job) {
+        job.stats.getConversationsCompleted().increment();
+        if (job.remaining.decrementAndGet() == 0) {
+            job.finish();
+        } else {
+            startNext(job);
+        }
+    }
+
+    private static BatchResult result(BatchConversation conversation, int index, long latency) {
+        BatchResult result = new BatchResult();
+        result.setConversationId(conversation.getId());
+        result.setIndex(index);
+        result.setInput(conversation.getMessages().get(index));
+        result.setLatencyNanos(latency);
+        return result;
+    }
+
+    private static BatchResult failure(BatchConversation conversation, int index, Throwable error, long latency) {
+        BatchResult result = result(conversation, index, latency);
+        result.setError(error);
+        return result;
+    }
+
+    /**
+     * A running batch: its live statistics and completion.
+     */
+    @Getter
+    public static final class BatchJob {
+
+        /** Unique id of the job, used in metric names and logs. */
+        private final String id = UUID.randomUUID().toString();
+
+        /** Live progress and throughput. */
+        private final BatchStats stats;
+
+        /** Completes with the final statistics once every conversation was processed. */
+        private final CompletableFuture<BatchStats> completion = new CompletableFuture<>();
+
+        private final String envName;
+
+        @Getter(AccessLevel.NONE)
+        private final Queue<BatchConversation> pending;
+
+        @Getter(AccessLevel.NONE)
+        private final AtomicInteger remaining;
+
+        @Getter(AccessLevel.NONE)
+        private final SubmissionPublisher<BatchResult> publisher;
+
+        /** Single thread publishing results and submitting the next messages, so results keep their order. */
+        @Getter(AccessLevel.NONE)
+        private final ExecutorService dispatcher = Executors.newSingleThreadExecutor();
+
+        private BatchJob(String envName, List<BatchConversation> conversations) {
+            this.envName = envName;
+            this.pending = new ConcurrentLinkedQueue<>(conversations);
+            this.remaining = new AtomicInteger(conversations.size());
+            this.stats = new BatchStats(conversations.size());
+            this.publisher = new SubmissionPublisher<>();
+        }
+
+        private void publish(BatchResult result) {
+            stats.getTurnLatency().record(result.getLatencyNanos());
+            if (result.getError() == null && result.isSuccess()) {
+                stats.getMessagesSucceeded().increment();
+            } else {
+                stats.getMessagesFailed().increment();
+            }
+            publisher.submit(result);
+        }
+
+        private void finish() {
+            stats.finish();
+            publisher.close();
+            dispatcher.shutdown();
+            MetricsRegistry.remove("batch." + id);
+            log.info(PERFORMANCE, "Batch " + id + " finished " + stats.snapshot());
+            completion.complete(stats);
+        }
+    }
+}
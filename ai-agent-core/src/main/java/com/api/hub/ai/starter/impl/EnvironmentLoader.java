@@ -0,0 +1,448 @@
+package com.api.hub.ai.starter.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationContext;
+
+import com.api.hub.ai.cache.Cache;
+import com.api.hub.ai.cache.EnvironmentStateStore;
+import com.api.hub.ai.constants.InvocationMode;
+import com.api.hub.ai.constants.SupersedePolicy;
+import com.api.hub.ai.handler.MergeStrategy;
+import com.api.hub.ai.handler.InputOutputHandler;
+import com.api.hub.ai.handler.impl.AdmissionController;
+import com.api.hub.ai.handler.impl.AgentExecutors;
+import com.api.hub.ai.handler.impl.AgentPool;
+import com.api.hub.ai.handler.impl.EnvironmentState;
+import com.api.hub.ai.handler.impl.HedgedInvoker;
+import com.api.hub.ai.metrics.ConversationLookupStats;
+import com.api.hub.ai.metrics.MetricsRegistry;
+import com.api.hub.ai.pojo.AgentHistory;
+import com.api.hub.ai.starter.Environment;
+import com.api.hub.ai.starter.impl.EnvironmentTemplate.GoalTemplate;
+import com.api.hub.exception.ApiHubException;
+import com.api.hub.exception.ConfigurationException;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.NonNull;
+
+/**
+ * {@code EnvironmentLoader} is the primary abstract implementation of the {@link Environment} interface
+ * within the AI-agent framework. It is responsible for:
+ * <ul>
+ *     <li>Retrieving or creating new {@link EnvironmentState} instances based on environment name and ID</li>
+ *     <li>Loading and validating required configuration from Spring's {@link org.springframework.core.env.Environment}</li>
+ *     <li>Injecting and managing various {@link Cache} components for goals, history, variables, etc.</li>
+ *     <li>Constructing a fully-initialized {@link EnvironmentState} with all operational components</li>
+ * </ul>
+ *
+ * <p>Each environment is compiled once into an immutable {@link EnvironmentTemplate}. Environments must be
+ * listed in {@code ai.env.list}: they are compiled at startup so that configuration errors fail the boot,
+ * and messages for any other environment are rejected. New conversations are then cheap instances of the
+ * template.
+ *
+ * <p>This class enables agent-based applications to be configured dynamically based on property files
+ * (e.g., `application.properties` or YAML) for flexible and reusable environment definitions.
+ *
+ * <p><b>Note:</b> As an abstract class, this must be extended to implement the {@link #process(EnvironmentState, String, com.api.hub.ai.handler.InputOutputHandler)} method.
+ */
+public abstract class EnvironmentLoader implements Environment {
+
+    /**
+     * Spring application context used to dynamically retrieve beans and cache handlers by name.
+     */
+    @Autowired
+    protected ApplicationContext context;
+
+    /**
+     * Spring environment used to access external configuration properties.
+     */
+    @Autowired
+    protected org.springframework.core.env.Environment env;
+
+    /**
+     * Cache used to store and retrieve active {@link EnvironmentState} instances by unique identifier.
+     */
+    @Autowired
+    @Qualifier("EnvironmentStateCache")
+    protected Cache<String, EnvironmentState> envStateCache;
+
+    /**
+     * Compiled environment templates keyed by environment name.
+     */
+    private final Map<String, EnvironmentTemplate> templates = new ConcurrentHashMap<>();
+
+    /**
+     * Optional external store consulted when a conversation id misses the state cache.
+     */
+    @Autowired(required = false)
+    protected EnvironmentStateStore stateStore;
+
+    /**
+     * Create-vs-resume counters and latency breakdown of conversation lookups.
+     */
+    private final ConversationLookupStats lookupStats = MetricsRegistry.register(
+            "environment.lookup." + getClass().getSimpleName(), new ConversationLookupStats());
+
+    /**
+     * Locks serializing the resume-or-create of the same conversation id, striped by the hash of the id.
+     */
+    private final Object[] idLocks = newLocks(64);
+
+    /**
+     * Retrieves an existing {@link EnvironmentState} based on the given environment name and ID.
+     * <p>
+     * A known id is resumed through the fast path: the in-memory state cache first, then the optional
+     * {@link EnvironmentStateStore}. Only when both miss (or no id is given) is a new state created; a
+     * new state keeps the requested id so that following turns resume it.
+     * <p>
+     * A cache hit takes no lock. On a miss, the store lookup and creation run under a lock of the id and
+     * the cache is checked again first, so concurrent first messages of a conversation share one state
+     * instead of each creating and caching its own.
+     *
+     * @param envName the environment name (e.g., "chat", "healthcare")
+     * @param id an optional unique identifier for the environment state
+     * @return an initialized and cached {@link EnvironmentState}, or {@code null} if creation fails
+     */
+    @Override
+    public EnvironmentState getEnvironment(@NonNull String envName, String id) {
+        if (id == null || id.isBlank()) {
+            return create(envName, null);
+        }
+        long start = System.nanoTime();
+        EnvironmentState state = envStateCache.get(id);
+        lookupStats.getCacheLookup().recordSince(start);
+        if (state != null) {
+            lookupStats.getResumedFromCache().increment();
+            return state;
+        }
+
+        synchronized (idLocks[(id.hashCode() & 0x7fffffff) % idLocks.length]) {
+            state = envStateCache.get(id);
+            if (state != null) {
+                lookupStats.getResumedFromCache().increment();
+                return state;
+            }
+            if (stateStore != null) {
+                start = System.nanoTime();
+                state = stateStore.load(envName, id);
+                lookupStats.getStoreLookup().recordSince(start);
+                if (state != null) {
+                    envStateCache.save(id, state);
+                    lookupStats.getResumedFromStore().increment();
+                    return state;
+                }
+            }
+            return create(envName, id);
+        }
+    }
+
+    /**
+     * Creates a state and records the creation, counting only the states actually created.
+     */
+    private EnvironmentState create(String envName, String id) {
+        long start = System.nanoTime();
+        EnvironmentState state = createEnvironment(envName, id);
+        lookupStats.getCreate().recordSince(start);
+        if (state != null) {
+            lookupStats.getCreated().increment();
+        }
+        return state;
+    }
+
+    private static Object[] newLocks(int count) {
+        Object[] locks = new Object[count];
+        for (int i = 0; i < count; i++) {
+            locks[i] = new Object();
+        }
+        return locks;
+    }
+
+    /**
+     * @return create-vs-resume counters and latency breakdown of {@link #getEnvironment(String, String)}
+     */
+    public ConversationLookupStats getLookupStats() {
+        return lookupStats;
+    }
+
+    /**
+     * Creates a new {@link EnvironmentState} from the precompiled {@link EnvironmentTemplate} of the
+     * given environment and registers it in the state cache.
+     *
+     * @param envName the name of the environment
+     * @param id the id to assign to the new state, or {@code null} to generate one
+     * @return a fully initialized {@link EnvironmentState}, or {@code null} if creation fails
+     */
+    private EnvironmentState createEnvironment(@NonNull String envName, String id) {
+        try {
+            EnvironmentState state = getTemplate(envName).newInstance(this);
+            if (id != null) {
+                state.setId(id);
+            }
+            envStateCache.save(state.getId(), state);
+            return state;
+        } catch (ApiHubException e) {
+            log.error(ERROR, e.toString());
+        } catch (Exception e) {
+            log.error(ERROR, "Unable to create environment. Please check configurations for Environment - " + envName + ". " + e.getMessage());
+        }
+
+        return null;
+    }
+
+    /**
+     * Compiles the templates of every environment listed in {@code ai.env.list} so that
+     * configuration errors fail application startup instead of the first user message. Only these
+     * environments can serve conversations.
+     *
+     * @throws ApiHubException if any listed environment is misconfigured
+     */
+    @PostConstruct
+    public void compileTemplates() throws ApiHubException {
+        String envList = env.getProperty("ai.env.list");
+        if (envList == null || envList.isBlank()) {
+            return;
+        }
+        for (String envName : envList.split(",")) {
+            envName = envName.trim();
+            if (!envName.isEmpty()) {
+                publish(compileTemplate(envName));
+            }
+        }
+    }
+
+    /**
+     * Shuts down the executors owned by the compiled templates.
+     */
+    @PreDestroy
+    public void shutdownTemplates() {
+        templates.values().forEach(template -> template.getExecutor().shutdown());
+    }
+
+    /**
+     * Returns the template of the given environment compiled at startup.
+     *
+     * @param envName the name of the environment
+     * @return the compiled template
+     * @throws ApiHubException if the environment is not listed in {@code ai.env.list}
+     */
+    protected EnvironmentTemplate getTemplate(@NonNull String envName) throws ApiHubException {
+        EnvironmentTemplate template = templates.get(envName);
+        if (template == null)
+            throw new ConfigurationException("6003-ai-hub", "Environment " + envName + " is not listed in ai.env.list", "");
+        return template;
+    }
+
+    /**
+     * Publishes a compiled template unless one is already published for the same environment, as when the
+     * environment is listed twice or the templates are compiled again.
+     * <p>
+     * Only the published template registers its metrics; a losing template is discarded and its executor
+     * shut down, so no metric ever points at an invoker that no conversation uses.
+     *
+     * @param compiled the freshly compiled template
+     * @return the template serving the environment
+     */
+    private EnvironmentTemplate publish(EnvironmentTemplate compiled) {
+        EnvironmentTemplate template = templates.putIfAbsent(compiled.getName(), compiled);
+        if (template != null) {
+            compiled.getExecutor().shutdown();
+            return template;
+        }
+        if (compiled.getHedgedInvoker() != null) {
+            MetricsRegistry.register("hedge." + compiled.getName(), compiled.getHedgedInvoker());
+        }
+        return compiled;
+    }
+
+    /**
+     * Compiles an {@link EnvironmentTemplate} by:
+     * <ul>
+     *   <li>Loading and validating goals from configuration</li>
+     *   <li>Resolving cache handlers for agent history, environment history, and variables</li>
+     *   <li>Resolving the agent pool and input-output handler beans</li>
+     * </ul>
+     *
+     * @param envName the name of the environment
+     * @return the compiled template
+     * @throws ApiHubException if a required property is missing or refers to an unknown bean
+     */
+    private EnvironmentTemplate compileTemplate(@NonNull String envName) throws ApiHubException {
+        List<GoalTemplate> goals = new ArrayList<>();
+        String propToSearch = "ai." + envName + ".goal.list";
+        String goalsList = env.getProperty(propToSearch);
+        if (goalsList == null)
+            throw new ConfigurationException("6003-ai-hub", "Required goals for environment " + envName + ", missing value for " + propToSearch, "");
+
+        boolean hasDefaultGoal = false;
+        for (String goalName : goalsList.split(",")) {
+            goalName = goalName.trim();
+            propToSearch = "ai." + envName + "." + goalName + ".isDefault";
+            String defaultGoal = env.getProperty(propToSearch);
+            boolean isDefaultGoal = false;
+            if (defaultGoal != null) {
+                if (!defaultGoal.equalsIgnoreCase("true") && !defaultGoal.equalsIgnoreCase("false")) {
+                    throw new ConfigurationException("6002-ai-hub", "Expected boolean value for " + propToSearch + ", invalid value provided", "");
+                }
+                isDefaultGoal = Boolean.parseBoolean(defaultGoal);
+            }
+            hasDefaultGoal |= isDefaultGoal;
+            goals.add(new GoalTemplate(goalName, isDefaultGoal));
+        }
+        if (!hasDefaultGoal)
+            throw new ConfigurationException("6002-ai-hub", "There should be atleast one default goal in environment " + envName, "");
+
+        // Resolve agent-level history cache
+        Supplier<Cache<String, AgentHistory>> agentLevelHistory = resolveCache(envName, "agentHistory", "agent history");
+
+        // Resolve environment-level history cache
+        Supplier<Cache<String, String>> envLevelHistory = resolveCache(envName, "envLevelHistory", "environment history");
+
+        // Resolve environment variables cache
+        Supplier<Cache<String, Object>> variables = resolveCache(envName, "envVariables", "environment variables");
+
+        // Validate agent pool bean
+        propToSearch = "ai." + envName + ".agentPool";
+        String agentPoolName = env.getProperty(propToSearch);
+        if (agentPoolName == null)
+            throw new ConfigurationException("6003-ai-hub", "Missing agent pool name for " + envName + ", property: " + propToSearch, "");
+        requireBean(agentPoolName, AgentPool.class, propToSearch);
+        AgentPool agentPool = context.getBean(agentPoolName, AgentPool.class);
+
+        // Validate communication handler bean
+        propToSearch = "ai." + envName + ".inOutHandler";
+        String inOutHandlerName = env.getProperty(propToSearch);
+        if (inOutHandlerName == null)
+            throw new ConfigurationException("6003-ai-hub", "Missing input-output handler for " + envName + ", property: " + propToSearch, "");
+        requireBean(inOutHandlerName, InputOutputHandler.class, propToSearch);
+        Supplier<InputOutputHandler> inOutHandler = resolveScoped(inOutHandlerName, InputOutputHandler.class);
+
+        ExecutorService executor = Executors.newCachedThreadPool();
+        AdmissionController admissionController = context.getBeanProvider(AdmissionController.class).getIfAvailable();
+        EnvironmentTemplate template = new EnvironmentTemplate(envName, goals, agentLevelHistory, envLevelHistory, variables,
+                agentPoolName, agentPool, inOutHandlerName, inOutHandler, executor, context, admissionController);
+
+        template.setAgentExecutors(context.getBeanProvider(AgentExecutors.class).getIfAvailable(AgentExecutors::new));
+
+        // Turn deadline, 0 disables it
+        template.setTurnTimeoutMs(getLongProperty("ai." + envName + ".turn.timeout.ms", 30000, 0));
+
+        // Superseding input policy
+        propToSearch = "ai." + envName + ".turn.supersede";
+        String policyName = env.getProperty(propToSearch);
+        if (policyName != null && !policyName.isBlank()) {
+            try {
+                template.setSupersedePolicy(SupersedePolicy.fromConfig(policyName));
+            } catch (IllegalArgumentException e) {
+                throw new ConfigurationException("6002-ai-hub", "Invalid supersede policy " + policyName + " for property: " + propToSearch, "");
+            }
+        }
+
+        // Agent invocation mode
+        propToSearch = "ai." + envName + ".invocation.mode";
+        InvocationMode mode = InvocationMode.SINGLE;
+        String modeName = env.getProperty(propToSearch);
+        if (modeName != null && !modeName.isBlank()) {
+            try {
+                mode = InvocationMode.fromConfig(modeName);
+            } catch (IllegalArgumentException e) {
+                throw new ConfigurationException("6002-ai-hub", "Invalid invocation mode " + modeName + " for property: " + propToSearch, "");
+            }
+        }
+        if (mode == InvocationMode.SCATTER_GATHER) {
+            propToSearch = "ai." + envName + ".scatter.merge";
+            String mergeName = env.getProperty(propToSearch, "FirstSuccessMergeStrategy");
+            requireBean(mergeName, MergeStrategy.class, propToSearch);
+            template.enableScatterGather(getLongProperty("ai." + envName + ".scatter.timeout.ms", 5000),
+                    context.getBean(mergeName, MergeStrategy.class));
+        } else if (mode == InvocationMode.HEDGED) {
+            String prefix = "ai." + envName + ".hedge.";
+            long percentile = getLongProperty(prefix + "delay.percentile", 95);
+            if (percentile > 100) {
+                throw new ConfigurationException("6002-ai-hub", "Expected percentile up to 100 for " + prefix + "delay.percentile", "");
+            }
+            HedgedInvoker hedgedInvoker = new HedgedInvoker((int) getLongProperty(prefix + "candidates", 2),
+                    Boolean.parseBoolean(env.getProperty(prefix + "speculative", "false")), percentile,
+                    getLongProperty(prefix + "delay.ms", 100), getLongProperty(prefix + "minSamples", 20),
+                    getLongProperty(prefix + "timeout.ms", 5000));
+            template.enableHedging(hedgedInvoker);
+        }
+        template.freeze();
+        return template;
+    }
+
+    /**
+     * Resolves the cache bean configured under {@code ai.{env}.cache.{key}}. Singleton caches are
+     * resolved once; prototype caches are resolved per conversation to keep them isolated.
+     */
+    @SuppressWarnings("unchecked")
+    private <V> Supplier<Cache<String, V>> resolveCache(String envName, String key, String label) throws ApiHubException {
+        String propToSearch = "ai." + envName + ".cache." + key;
+        String cacheClassName = env.getProperty(propToSearch);
+        if (cacheClassName == null)
+            throw new ConfigurationException("6003-ai-hub", "Missing " + label + " cache for " + envName + ", property: " + propToSearch, "");
+        requireBean(cacheClassName, Cache.class, propToSearch);
+
+        if (context.isSingleton(cacheClassName)) {
+            Cache<String, V> cache = (Cache<String, V>) context.getBean(cacheClassName);
+            return () -> cache;
+        }
+        return () -> (Cache<String, V>) context.getBean(cacheClassName);
+    }
+
+    /**
+     * Resolves a bean once when it is a singleton, and on every call of the supplier otherwise.
+     */
+    private <T> Supplier<T> resolveScoped(String beanName, Class<T> type) {
+        if (context.isSingleton(beanName)) {
+            T bean = context.getBean(beanName, type);
+            return () -> bean;
+        }
+        return () -> context.getBean(beanName, type);
+    }
+
+    /**
+     * Reads a positive numeric property, failing with a configuration error on invalid values.
+     */
+    private long getLongProperty(String propToSearch, long defaultValue) throws ApiHubException {
+        return getLongProperty(propToSearch, defaultValue, 1);
+    }
+
+    /**
+     * Reads a numeric property of at least {@code min}, failing with a configuration error on invalid values.
+     */
+    private long getLongProperty(String propToSearch, long defaultValue, long min) throws ApiHubException {
+        String value = env.getProperty(propToSearch);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            long parsed = Long.parseLong(value.trim());
+            if (parsed < min) {
+                throw new NumberFormatException();
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw new ConfigurationException("6002-ai-hub", "Expected number of at least " + min + " for " + propToSearch + ", invalid value provided", "");
+        }
+    }
+
+    /**
+     * Validates that a bean with the given name exists and is of the expected type.
+     */
+    private void requireBean(String beanName, Class<?> type, String propToSearch) throws ApiHubException {
+        if (!context.containsBean(beanName))
+            throw new ConfigurationException("6001-ai-hub", "No bean named " + beanName + " found for property: " + propToSearch, "");
+        if (!context.isTypeMatch(beanName, type))
+            throw new ConfigurationException("6002-ai-hub", "Bean " + beanName + " configured in " + propToSearch + " is not a " + type.getSimpleName(), "");
+    }
+}
\ No newline at end of file
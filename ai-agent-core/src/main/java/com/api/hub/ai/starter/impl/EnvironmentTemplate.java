@@ -0,0 +1,247 @@
+package com.api.hub.ai.starter.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
+
+import org.springframework.context.ApplicationContext;
+
+import com.api.hub.ai.cache.Cache;
+import com.api.hub.ai.constants.InvocationMode;
+import com.api.hub.ai.constants.SupersedePolicy;
+import com.api.hub.ai.handler.InputOutputHandler;
+import com.api.hub.ai.handler.MergeStrategy;
+import com.api.hub.ai.handler.impl.AdmissionController;
+import com.api.hub.ai.handler.impl.AgentExecutors;
+import com.api.hub.ai.handler.impl.AgentPool;
+import com.api.hub.ai.handler.impl.EnvironmentState;
+import com.api.hub.ai.handler.impl.HedgedInvoker;
+import com.api.hub.ai.pojo.AgentHistory;
+import com.api.hub.ai.pojo.Goal;
+import com.api.hub.ai.starter.Environment;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * Immutable, pre-validated blueprint of a configured environment.
+ * <p>
+ * An {@code EnvironmentTemplate} is compiled once per environment name by {@link EnvironmentLoader}
+ * from the {@code ai.{env}.*} properties. It holds the goal definitions, the resolved cache, agent
+ * pool and handler beans and the shared executor, so that creating a new conversation only
+ * instantiates fresh per-conversation objects (goals, prototype caches) instead of re-reading and
+ * re-validating configuration.
+ * </p>
+ *
+ * <p>
+ * The settings beyond the constructor arguments (executors, turn deadline, supersede policy and invocation
+ * mode) are applied by {@link EnvironmentLoader} through package-private methods while it compiles the
+ * template; it then freezes the template before publishing it, and any later change fails.
+ * </p>
+ *
+ * <p>
+ * Cache and handler beans are resolved according to their scope: singletons are captured once, while
+ * prototype beans keep a supplier so that every conversation (or, for handlers, every message) still
+ * receives its own isolated instance.
+ * </p>
+ *
+ * @see EnvironmentLoader
+ * @see EnvironmentState
+ */
+@Getter
+public final class EnvironmentTemplate {
+
+    /** Name of the environment this template was compiled from. */
+    private final String name;
+
+    /** Goal definitions in configuration order. */
+    private final List<GoalTemplate> goals;
+
+    /** Supplier for the agent-level history cache. */
+    private final Supplier<Cache<String, AgentHistory>> agentLevelHistory;
+
+    /** Supplier for the environment-level history cache. */
+    private final Supplier<Cache<String, String>> envLevelHistory;
+
+    /** Supplier for the environment variables cache. */
+    private final Supplier<Cache<String, Object>> variables;
+
+    /** Bean name of the agent pool serving this environment. */
+    private final String agentPoolName;
+
+    /** Agent pool serving this environment, resolved when the template is compiled. */
+    private final AgentPool agentPool;
+
+    /** Bean name of the input-output handler used per message. */
+    private final String inOutHandlerName;
+
+    /** Supplier of the input-output handler, a new instance per message for prototype beans. */
+    private final Supplier<InputOutputHandler> inOutHandler;
+
+    /** Executor shared by all conversations of this environment. */
+    private final ExecutorService executor;
+
+    /** Application context handed to created {@link EnvironmentState} instances. */
+    private final ApplicationContext context;
+
+    /** Optional admission controller applied to every turn, {@code null} when disabled. */
+    private final AdmissionController admissionController;
+
+    /** Executors of CPU-bound and I/O-bound agents. */
+    private AgentExecutors agentExecutors = new AgentExecutors();
+
+    /** Deadline of each turn in milliseconds, {@code 0} for none. */
+    private long turnTimeoutMs;
+
+    /** What happens to an in-flight turn when new input arrives. */
+    private SupersedePolicy supersedePolicy = SupersedePolicy.QUEUE;
+
+    /** How agents are invoked for a task. */
+    private InvocationMode invocationMode = InvocationMode.SINGLE;
+
+    /** Per-agent timeout of scatter-gather invocations, in milliseconds. */
+    private long scatterTimeoutMs;
+
+    /** Strategy merging scatter-gather results, {@code null} unless in scatter-gather mode. */
+    private MergeStrategy mergeStrategy;
+
+    /** Invoker racing candidate agents, {@code null} unless in hedged mode. */
+    private HedgedInvoker hedgedInvoker;
+
+    /** Set once compiled, after which the settings can no longer change. */
+    @Getter(AccessLevel.NONE)
+    private boolean frozen;
+
+    public EnvironmentTemplate(@NonNull String name, @NonNull List<GoalTemplate> goals,
+            @NonNull Supplier<Cache<String, AgentHistory>> agentLevelHistory,
+            @NonNull Supplier<Cache<String, String>> envLevelHistory,
+            @NonNull Supplier<Cache<String, Object>> variables, @NonNull String agentPoolName,
+            @NonNull AgentPool agentPool, @NonNull String inOutHandlerName,
+            @NonNull Supplier<InputOutputHandler> inOutHandler, @NonNull ExecutorService executor,
+            ApplicationContext context, AdmissionController admissionController) {
+        this.name = name;
+        this.goals = Collections.unmodifiableList(new ArrayList<>(goals));
+        this.agentLevelHistory = agentLevelHistory;
+        this.envLevelHistory = envLevelHistory;
+        this.variables = variables;
+        this.agentPoolName = agentPoolName;
+        this.agentPool = agentPool;
+        this.inOutHandlerName = inOutHandlerName;
+        this.inOutHandler = inOutHandler;
+        this.executor = executor;
+        this.context = context;
+        this.admissionController = admissionController;
+    }
+
+    /**
+     * @param agentExecutors executors of CPU-bound and I/O-bound agents
+     */
+    void setAgentExecutors(@NonNull AgentExecutors agentExecutors) {
+        checkNotFrozen();
+        this.agentExecutors = agentExecutors;
+    }
+
+    /**
+     * @param turnTimeoutMs deadline of each turn in milliseconds, {@code 0} for none
+     */
+    void setTurnTimeoutMs(long turnTimeoutMs) {
+        checkNotFrozen();
+        this.turnTimeoutMs = turnTimeoutMs;
+    }
+
+    /**
+     * @param supersedePolicy what happens to an in-flight turn when new input arrives
+     */
+    void setSupersedePolicy(@NonNull SupersedePolicy supersedePolicy) {
+        checkNotFrozen();
+        this.supersedePolicy = supersedePolicy;
+    }
+
+    /**
+     * Enables scatter-gather invocation for this environment.
+     *
+     * @param timeoutMs     per-agent timeout in milliseconds
+     * @param mergeStrategy strategy combining the agent results
+     */
+    void enableScatterGather(long timeoutMs, @NonNull MergeStrategy mergeStrategy) {
+        checkNotFrozen();
+        this.invocationMode = InvocationMode.SCATTER_GATHER;
+        this.scatterTimeoutMs = timeoutMs;
+        this.mergeStrategy = mergeStrategy;
+    }
+
+    /**
+     * Enables hedged invocation for this environment.
+     *
+     * @param hedgedInvoker invoker racing the candidate agents
+     */
+    void enableHedging(@NonNull HedgedInvoker hedgedInvoker) {
+        checkNotFrozen();
+        this.invocationMode = InvocationMode.HEDGED;
+        this.hedgedInvoker = hedgedInvoker;
+    }
+
+    /**
+     * Ends compilation: the settings of the template can no longer change.
+     */
+    void freeze() {
+        frozen = true;
+    }
+
+    private void checkNotFrozen() {
+        if (frozen) {
+            throw new IllegalStateException("Environment template " + name + " is already compiled");
+        }
+    }
+
+    /**
+     * Creates a new conversation state from this template.
+     *
+     * @param environment the environment implementation processing messages for the new state
+     * @return a fresh {@link EnvironmentState} with its own goals and caches
+     */
+    public EnvironmentState newInstance(@NonNull Environment environment) {
+        List<Goal> goalList = new ArrayList<>(goals.size());
+        for (GoalTemplate goalTemplate : goals) {
+            goalList.add(goalTemplate.newGoal());
+        }
+        EnvironmentState state = new EnvironmentState(name, goalList, agentLevelHistory.get(), envLevelHistory.get(),
+                variables.get(), agentPoolName, environment, executor, inOutHandlerName, context);
+        state.setInOutHandlerSupplier(inOutHandler);
+        state.setAdmissionController(admissionController);
+        state.setTurnTimeoutMs(turnTimeoutMs);
+        state.setSupersedePolicy(supersedePolicy);
+        return state;
+    }
+
+    /**
+     * Immutable definition of a single goal inside an environment template.
+     */
+    @Getter
+    public static final class GoalTemplate {
+
+        /** Goal name as listed in {@code ai.{env}.goal.list}. */
+        private final String goal;
+
+        /** Whether this goal is used when no other goal is active. */
+        private final boolean defaultGoal;
+
+        public GoalTemplate(@NonNull String goal, boolean defaultGoal) {
+            this.goal = goal;
+            this.defaultGoal = defaultGoal;
+        }
+
+        /**
+         * @return a new mutable {@link Goal} initialised from this definition
+         */
+        public Goal newGoal() {
+            Goal goal = new Goal();
+            goal.setGoal(this.goal);
+            goal.setDefaultGoal(defaultGoal);
+            return goal;
+        }
+    }
+}
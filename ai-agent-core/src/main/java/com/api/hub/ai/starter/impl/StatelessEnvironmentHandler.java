@@ -0,0 +1,478 @@
+package com.api.hub.ai.starter.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.api.hub.ai.cache.Cache;
+import com.api.hub.ai.constants.InvocationMode;
+import com.api.hub.ai.constants.StatusValues;
+import com.api.hub.ai.constants.SupersedePolicy;
+import com.api.hub.ai.handler.InputOutputHandler;
+import com.api.hub.ai.handler.MergeStrategy;
+import com.api.hub.ai.handler.impl.AgentDefination;
+import com.api.hub.ai.handler.impl.AgentInvoker;
+import com.api.hub.ai.handler.impl.AgentPool;
+import com.api.hub.ai.handler.impl.AgentPoolSnapshot;
+import com.api.hub.ai.handler.impl.AgentResult;
+import com.api.hub.ai.handler.impl.BufferedInputOutputHandler;
+import com.api.hub.ai.handler.impl.Bulkhead;
+import com.api.hub.ai.handler.impl.EnvironmentState;
+import com.api.hub.ai.handler.impl.HedgedInvoker;
+import com.api.hub.ai.handler.impl.RoutingMemo;
+import com.api.hub.ai.handler.impl.ScatterGatherInvoker;
+import com.api.hub.ai.metrics.MetricsRegistry;
+import com.api.hub.ai.pojo.Action;
+import com.api.hub.ai.pojo.AgentHistory;
+import com.api.hub.ai.pojo.AgentHistory.History;
+import com.api.hub.ai.pojo.Goal;
+import com.api.hub.ai.pojo.State;
+import com.api.hub.ai.pojo.Task;
+import com.api.hub.ai.pojo.TurnContext;
+import com.api.hub.exception.ApiHubException;
+import com.api.hub.exception.InternalServerException;
+import com.api.hub.logging.LoggingData;
+import com.api.hub.logging.LoggingDataHolder;
+
+/**
+ * The {@code StatelessEnvironmentHandler} is the default implementation of the AI Agent Framework's
+ * {@link com.api.hub.ai.starter.Environment} interface.
+ * <p>
+ * This class processes incoming user inputs and delegates execution to appropriate agents using a stateless, pluggable architecture.
+ * The handler works in a goal-task-action loop and manages agent selection, invocation, and action history tracking.
+ * </p>
+ *
+ * <p>
+ * The framework architecture follows the pattern:
+ * <strong>StatelessEnvironmentHandler → EnvironmentLoader → Environment</strong>.
+ * This design allows developers to provide their own implementation of the `process` method by
+ * extending {@link com.api.hub.ai.starter.impl.EnvironmentLoader} and setting the property
+ * <code>env.handler.default=false</code> in the application configuration.
+ * </p>
+ *
+ * <p>
+ * This implementation is only loaded if a {@link Cache} bean is available in the context and the property
+ * <code>env.handler.default=true</code> is set.
+ * </p>
+ *
+ 
+ * @see com.api.hub.ai.starter.impl.EnvironmentLoader
+ * @see com.api.hub.ai.starter.Environment
+ */
+
+@Component
+@ConditionalOnBean(Cache.class)
+@ConditionalOnProperty(
+	    name = "env.handler.default",
+	    havingValue = "true"
+	)
+public class StatelessEnvironmentHandler extends EnvironmentLoader{
+
+	/** Maximum number of routing decisions memoized per pool, 0 to disable the memo. */
+	@Value("${ai.routing.memo.maxSize:1024}")
+	private int routingMemoSize = 1024;
+
+	/** Memoized routing decisions by agent pool bean name. */
+	private final Map<String, RoutingMemo> routingMemos = new ConcurrentHashMap<>();
+
+	/**
+     * Processes the user input within the AI agent environment. This method orchestrates task creation, agent selection,
+     * agent invocation, and action history tracking in a stateless manner.
+     *
+     * <p>
+     * The method performs the following:
+     * </p>
+     * <ul>
+     *     <li>Takes the {@link AgentPool} resolved when the environment template was compiled.</li>
+     *     <li>Resolves the current {@link Goal} from the environment.</li>
+     *     <li>Creates a new {@link Task} from user input.</li>
+     *     <li>Finds the best matching {@link AgentDefination} for the task.</li>
+     *     <li>Creates a {@link State} object, invokes the agent, and tracks all performed actions.</li>
+     *     <li>Repeats the loop if agent signals continuation.</li>
+     * </ul>
+     * <p>
+     * When the current task is {@link Task#isConcurrent() concurrent}, the concurrent tasks of the goal run as a
+     * task graph: each task starts as soon as its own dependencies completed, so the turn follows the critical
+     * path of the graph instead of waiting for the slowest task of every level, see {@link #invokeConcurrently}.
+     * </p>
+     * <p>
+     * With <code>ai.{env}.invocation.mode=scatter-gather</code> each task is fanned out to every matching agent
+     * of the pool and the results are merged; with <code>hedged</code> the top matching agents race and the
+     * first success wins, see {@link #invokeTask}.
+     * </p>
+     * <p>
+     * Every agent invocation is bounded by the {@link TurnContext} deadline of the turn
+     * (<code>ai.{env}.turn.timeout.ms</code>). Cancellation is checked before each agent; when the turn is
+     * cancelled or expires the remaining tasks of the current goal are released, except when it was superseded
+     * under {@link SupersedePolicy#MERGE}: the merged turn then continues its plan.
+     * </p>
+     * <p>
+     * The pool's {@link AgentPoolSnapshot} is captured once per turn, so agents added or removed while the
+     * turn runs only affect the following turns.
+     * </p>
+     *
+     * @param env The current {@link EnvironmentState}, containing goal queue, agent history, and configuration.
+     * @param userResponse The user's textual input, which is wrapped into a task.
+     * @param handler The {@link InputOutputHandler} for managing input/output during agent invocation.
+     *
+     * @return {@code true} if processing completed successfully; {@code false} otherwise.
+     */
+	@Override
+	public boolean process(EnvironmentState env, String userResponse, InputOutputHandler handler) {
+		TurnContext turn = TurnContext.current();
+		Goal currentGoal = null;
+		try {
+			AgentPool pool = getTemplate(env.getName()).getAgentPool();
+			currentGoal = env.getGoalQueue().peek();
+			if(currentGoal==null) {
+				currentGoal = env.getdeFaultGoal();
+			}
+			if(currentGoal==null) {
+				throw new InternalServerException("8002-ai-hub", "Unable to fetch goal from Environment, there should be atleast one default Goal In env - "
+						+ env.getName() + " and id - " + env.getId(), "");
+			}
+			Task prev_task = currentGoal.getTask();
+			Task user_task = new Task("user_created_task",userResponse,"user",currentGoal);
+			currentGoal.addTask(user_task, false);
+			Task currentTask = null;
+			if(prev_task != null) {
+				currentTask = prev_task;
+			}
+			else {
+				currentTask = user_task;
+			}
+			EnvironmentTemplate template = getTemplate(env.getName());
+			AgentPoolSnapshot routing = pool.getSnapshot();
+			boolean continueToNext =  false;
+			do {
+				if(turn != null) {
+					turn.checkpoint();
+				}
+				List<State> states = Collections.synchronizedList(new ArrayList<>());
+				if(currentTask.isConcurrent()) {
+					continueToNext = invokeConcurrently(pool, routing, env, template, currentGoal, handler, states);
+				}else {
+					continueToNext = invokeTask(pool, routing, env, template, currentTask, handler, states);
+				}
+				
+				currentTask = currentGoal.getTask();
+				if(currentTask == null) {
+					currentGoal = env.getGoalQueue().peek();
+					if(currentGoal == null) {
+						break;
+					}else {
+						currentTask = currentGoal.getTask();
+						if(currentTask == null) {
+							break;
+						}
+					}
+				}
+				
+				for(State state : states) {
+					List<Action> actionsPerformed = state.getActionsPerformed();
+					AgentHistory history = state.getAgentHistory();
+					if(history != null) {
+						History newAction = history.new History(currentGoal,currentTask,actionsPerformed);
+						history.getHistory().add(newAction);
+					}
+				}
+				
+			}while(continueToNext);
+			
+			
+			
+		}catch (ApiHubException e) {
+			log.error(SYSTEM_ERROR, e.toString());
+			if(turn != null && turn.isCancelled()) {
+				turn.cancel("turn aborted - " + e.getMessage());
+				// a turn merged into newer input hands its plan over to the next turn
+				if(!turn.isSuperseded() || env.getSupersedePolicy() != SupersedePolicy.MERGE) {
+					releaseTasks(currentGoal);
+				}
+			}
+			return false;
+		}catch (Exception e) {
+			log.error(SYSTEM_ERROR, "Unexpected error occured while processing uer request" + env.getName()+" "+e.getMessage());
+			return false;
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Invokes the agent(s) for a single task and collects the states whose actions are recorded in history.
+	 * <p>
+	 * In {@link InvocationMode#SCATTER_GATHER} mode every agent matched by the pool works on the task at the
+	 * same time, each with a {@link BufferedInputOutputHandler}; agents missing the configured timeout are
+	 * cancelled and the environment's {@link MergeStrategy} builds the final output from the partial results.
+	 * In {@link InvocationMode#HEDGED} mode the top candidates race through the environment's
+	 * {@link HedgedInvoker} and only the first successful agent's output is forwarded.
+	 * </p>
+	 * <p>
+	 * Only {@link AgentDefination#isIdempotent() idempotent} agents take part in either mode; when fewer than two
+	 * of them match, the task goes to the single agent chosen by the pool.
+	 * </p>
+	 *
+	 * <p>
+	 * When the pool has a {@link Bulkhead}, the task first waits for one of its permits, at most until the end of the turn.
+	 * </p>
+	 *
+	 * @return {@code true} if the environment should continue with the next task
+	 */
+	private boolean invokeTask(AgentPool pool, AgentPoolSnapshot routing, EnvironmentState env, EnvironmentTemplate template, Task task,
+			InputOutputHandler handler, List<State> states) throws ApiHubException {
+		Bulkhead bulkhead = pool.getBulkhead();
+		if(bulkhead == null) {
+			return routeTask(pool, routing, env, template, task, handler, states);
+		}
+		TurnContext turn = TurnContext.current();
+		bulkhead.acquire(turn == null ? Long.MAX_VALUE : turn.remainingNanos());
+		try {
+			return routeTask(pool, routing, env, template, task, handler, states);
+		} finally {
+			bulkhead.release();
+		}
+	}
+	
+	/**
+	 * Invokes the agent(s) matched for a single task according to the environment's invocation mode.
+	 */
+	private boolean routeTask(AgentPool pool, AgentPoolSnapshot routing, EnvironmentState env, EnvironmentTemplate template, Task task,
+			InputOutputHandler handler, List<State> states) throws ApiHubException {
+		if(template.getInvocationMode() == InvocationMode.SCATTER_GATHER) {
+			List<AgentDefination> agents = idempotentAgents(pool.getMatchingAgents(routing, task));
+			if(agents.size() > 1) {
+				List<State> candidates = new ArrayList<>(agents.size());
+				for(AgentDefination agentDef : agents) {
+					candidates.add(newState(env, agentDef, task, new BufferedInputOutputHandler(handler)));
+				}
+				List<AgentResult> results = ScatterGatherInvoker.invoke(candidates, template.getAgentExecutors(), template.getScatterTimeoutMs());
+				for(AgentResult result : results) {
+					if(result.isSuccess()) {
+						states.add(result.getState());
+					}else {
+						log.warn(PERFORMANCE, "Agent " + result.getAgent().getName() + (result.isTimedOut() ? " timed out" : " failed")
+								+ " in scatter-gather for Task - " + task.getName() + " in environment - " + env.getName());
+					}
+				}
+				return template.getMergeStrategy().merge(task, results, handler);
+			}
+		}else if(template.getInvocationMode() == InvocationMode.HEDGED) {
+			List<AgentDefination> agents = idempotentAgents(pool.getMatchingAgents(routing, task));
+			if(agents.size() > 1) {
+				List<State> candidates = new ArrayList<>(agents.size());
+				for(AgentDefination agentDef : agents) {
+					candidates.add(newState(env, agentDef, task, new BufferedInputOutputHandler(handler)));
+				}
+				AgentResult winner = template.getHedgedInvoker().invoke(candidates, template.getAgentExecutors());
+				states.add(winner.getState());
+				if(winner.getOutput() != null) {
+					handler.setOutPut(winner.getOutput());
+				}
+				return winner.getContinueToNext();
+			}
+		}
+		State state = newState(pool, routing, env, task, handler);
+		states.add(state);
+		return AgentInvoker.invoke(state, template.getAgentExecutors());
+	}
+	
+	/**
+	 * Keeps the {@link AgentDefination#isIdempotent() idempotent} agents, in order. Candidates of a scatter-gather
+	 * or hedged task share its {@link Task}, {@link Goal} and {@link EnvironmentState}, so whatever a losing or
+	 * cancelled agent wrote there stays; only agents for which running more than once is harmless may take part.
+	 */
+	private static List<AgentDefination> idempotentAgents(List<AgentDefination> agents) {
+		List<AgentDefination> idempotent = new ArrayList<>(agents.size());
+		for(AgentDefination agentDef : agents) {
+			if(agentDef.isIdempotent()) {
+				idempotent.add(agentDef);
+			}
+		}
+		return idempotent;
+	}
+	
+	/**
+	 * Matches an agent for the task within the turn's snapshot and prepares the {@link State} it will be invoked with.
+	 */
+	private State newState(AgentPool pool, AgentPoolSnapshot routing, EnvironmentState env, Task task, InputOutputHandler handler) throws ApiHubException {
+		AgentDefination agentDef = matchAgent(pool, routing, env.getAgentpool(), task);
+		
+		if(agentDef == null)
+			throw new InternalServerException("8002-ai-hub", "Expected AgentDefination instance, received null In environment - "
+					+ env.getName() + " and id - " + env.getId() + " for Task - " + task.getName(), "");
+		
+		return newState(env, agentDef, task, handler);
+	}
+	
+	/**
+	 * Matches an agent for the task, through the pool's {@link RoutingMemo} when its decisions only depend on
+	 * the goal, name, creator and payload type of tasks.
+	 * <p>
+	 * The memo is bounded by <code>ai.routing.memo.maxSize</code> (default 1024, 0 disables it) and reported
+	 * as the <code>routing.memo.{pool}</code> metric.
+	 * </p>
+	 */
+	private AgentDefination matchAgent(AgentPool pool, AgentPoolSnapshot routing, String poolName, Task task) {
+		if(routingMemoSize <= 0 || !pool.isRoutingMemoizable(routing)) {
+			return pool.getMatchingAgent(routing, task);
+		}
+		RoutingMemo memo = routingMemos.computeIfAbsent(poolName,
+				name -> MetricsRegistry.register("routing.memo." + name, new RoutingMemo(name, routingMemoSize)));
+		return memo.route(routing, task, t -> pool.getMatchingAgent(routing, t));
+	}
+	
+	/**
+	 * Prepares the {@link State} the given agent will be invoked with.
+	 */
+	private State newState(EnvironmentState env, AgentDefination agentDef, Task task, InputOutputHandler handler) {
+		State state = new State();
+		state.setTaskToPerform(task);
+		state.setEnv(env);
+		state.setAgentDefination(agentDef);
+		AgentHistory agentHis = env.getAgentLevelHistory().get(agentDef.getName());
+		if(agentHis == null) {
+			agentHis = new AgentHistory();
+		}
+		state.setAgentHistory(agentHis);
+		state.setHandler(handler);
+		state.setTurnContext(TurnContext.current());
+		return state;
+	}
+	
+	/**
+	 * Closes every task left in the goal of an expired or cancelled turn, so the next message
+	 * does not resume work nobody waits for anymore. Not used for turns superseded under
+	 * {@link SupersedePolicy#MERGE}, whose tasks the merged turn resumes.
+	 */
+	private void releaseTasks(Goal goal) {
+		if(goal == null) {
+			return;
+		}
+		for(Task task : new ArrayList<>(goal.getTasks())) {
+			task.close();
+		}
+	}
+	
+	/**
+	 * Runs the concurrent tasks of the goal on the environment executor, each one as soon as the tasks it
+	 * {@link Task#dependsOn(Task...) depends on} completed, and blocks until all of them are done. A dependent
+	 * task therefore waits for its own dependencies only, never for an unrelated slower task.
+	 * <p>
+	 * A task is skipped when one of its dependencies failed or did not complete its task, and left pending
+	 * when it depends on a task that cannot run here: one that is not concurrent or not part of the goal, or a
+	 * cycle. When no task can run at all the turn fails with 8003 instead of ignoring the dependencies. A failed
+	 * task fails the turn once the others have completed.
+	 * </p>
+	 * <p>
+	 * Each task runs with the caller's {@link TurnContext} and {@link LoggingData}, so bulkhead waits and
+	 * agents stay bounded by the turn deadline and their logs keep the conversation and transaction ids.
+	 * </p>
+	 *
+	 * @return {@code true} if any of the agents asked to continue with the next task
+	 */
+	private boolean invokeConcurrently(AgentPool pool, AgentPoolSnapshot routing, EnvironmentState env, EnvironmentTemplate template, Goal goal,
+			InputOutputHandler handler, List<State> states) throws ApiHubException {
+		TurnContext turn = TurnContext.current();
+		LoggingData data = LoggingDataHolder.get();
+		Function<Task, Boolean> run = task -> {
+			// the pool thread runs on behalf of the turn: same deadline, cancellation and log ids
+			TurnContext.setCurrent(turn);
+			LoggingDataHolder.set(data);
+			try {
+				return task.isReady() && invokeTask(pool, routing, env, template, task, handler, states);
+			} catch (ApiHubException e) {
+				throw new CompletionException(e);
+			} finally {
+				TurnContext.setCurrent(null);
+				LoggingDataHolder.clear();
+			}
+		};
+		
+		Set<Task> graph = Collections.newSetFromMap(new IdentityHashMap<>());
+		for(Task task : goal.getTasks()) {
+			if(task.isConcurrent()) {
+				graph.add(task);
+			}
+		}
+		Map<Task, CompletableFuture<Boolean>> scheduled = new IdentityHashMap<>();
+		Set<Task> visiting = Collections.newSetFromMap(new IdentityHashMap<>());
+		List<CompletableFuture<Boolean>> futures = new ArrayList<>(graph.size());
+		for(Task task : graph) {
+			CompletableFuture<Boolean> future = schedule(task, graph, scheduled, visiting, run, env.getExecuter());
+			if(future != null) {
+				futures.add(future);
+			}
+		}
+		if(futures.isEmpty()) {
+			throw new InternalServerException("8003-ai-hub", "No concurrent task of goal " + goal.getGoal() + " can run in environment - "
+					+ env.getName() + ", Task - " + goal.getTask().getName() + " depends on tasks that cannot complete", "");
+		}
+		
+		boolean continueToNext = false;
+		ApiHubException failure = null;
+		for(CompletableFuture<Boolean> future : futures) {
+			try {
+				continueToNext |= future.join();
+			} catch (CompletionException e) {
+				if(failure == null) {
+					failure = e.getCause() instanceof ApiHubException ? (ApiHubException) e.getCause()
+							: new InternalServerException("8001-ai-hub", "Concurrent task failed " + e.getCause(), "");
+				}
+			}
+		}
+		if(failure != null) {
+			throw failure;
+		}
+		return continueToNext;
+	}
+	
+	/**
+	 * Schedules a task of the graph to run once its own dependencies completed, scheduling those first.
+	 *
+	 * @return the future of the task, or {@code null} if it depends on a task that is neither completed nor
+	 *         part of the graph, or on itself
+	 */
+	private static CompletableFuture<Boolean> schedule(Task task, Set<Task> graph, Map<Task, CompletableFuture<Boolean>> scheduled,
+			Set<Task> visiting, Function<Task, Boolean> run, Executor executor) {
+		if(scheduled.containsKey(task)) {
+			return scheduled.get(task);
+		}
+		if(!visiting.add(task)) {
+			return null;
+		}
+		List<CompletableFuture<Boolean>> dependencies = new ArrayList<>();
+		boolean runnable = true;
+		for(Task dependency : task.getDependsOn()) {
+			if(dependency.getTaskStatus().getStatus() == StatusValues.COMPLETED) {
+				continue;
+			}
+			CompletableFuture<Boolean> dependencyFuture = graph.contains(dependency)
+					? schedule(dependency, graph, scheduled, visiting, run, executor) : null;
+			if(dependencyFuture == null) {
+				runnable = false;
+				break;
+			}
+			dependencies.add(dependencyFuture);
+		}
+		CompletableFuture<Boolean> future = runnable ? CompletableFuture.allOf(dependencies.toArray(new CompletableFuture[0]))
+				.thenApplyAsync(ignored -> run.apply(task), executor) : null;
+		visiting.remove(task);
+		scheduled.put(task, future);
+		return future;
+	}
+
+}
@@ -0,0 +1,126 @@
+package com.api.hub.ai.starter.processor;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+import com.api.hub.ai.starter.Agent;
+import com.api.hub.configuration.ai.AgentIndex;
+
+/**
+ * Annotation processor writing the {@link AgentIndex} of a module at build time.
+ * <p>
+ * Every method annotated with {@link Agent} is checked to be a non-static method taking a single
+ * {@code com.api.hub.ai.pojo.State} and returning {@code boolean}; anything else is a compilation error.
+ * The attributes of all agent methods are then written to {@value AgentIndex#LOCATION} in the class output,
+ * from which {@code AgentRegister} registers agents at startup instead of scanning beans reflectively.
+ * With the {@code -Aapi.hub.agentIndexDir=<dir>} option the index is written below that directory instead,
+ * and always written, so that a stale index of a module without agents left is replaced.
+ * </p>
+ *
+ * <p><b>Usage:</b> add the framework to the {@code annotationProcessorPaths} of the
+ * {@code maven-compiler-plugin} next to Lombok, or rely on discovery through
+ * {@code META-INF/services/javax.annotation.processing.Processor} when no processor path is configured.</p>
+ *
+ * @see AgentIndex
+ * @since 1.0
+ */
+@SupportedAnnotationTypes(AgentIndexProcessor.AGENT)
+@SupportedOptions(AgentIndexProcessor.INDEX_DIR)
+public class AgentIndexProcessor extends AbstractProcessor {
+
+    static final String AGENT = "com.api.hub.ai.starter.Agent";
+
+    /** Option naming the directory to write the index to instead of the class output */
+    static final String INDEX_DIR = "api.hub.agentIndexDir";
+
+    private static final String STATE = "com.api.hub.ai.pojo.State";
+
+    private final List<AgentIndex.Entry> entries = new ArrayList<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        TypeElement agent = processingEnv.getElementUtils().getTypeElement(AGENT);
+        if (agent != null) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(agent)) {
+                if (isAgentMethod(element)) {
+                    ExecutableElement method = (ExecutableElement) element;
+                    TypeElement type = (TypeElement) method.getEnclosingElement();
+                    String className = processingEnv.getElementUtils().getBinaryName(type).toString();
+                    entries.add(AgentIndex.Entry.of(className, method.getSimpleName().toString(), method.getAnnotation(Agent.class)));
+                }
+            }
+        }
+        if (roundEnv.processingOver() && (!entries.isEmpty() || processingEnv.getOptions().containsKey(INDEX_DIR))) {
+            writeIndex();
+        }
+        return false;
+    }
+
+    private boolean isAgentMethod(Element element) {
+        if (!(element instanceof ExecutableElement)) {
+            return false;
+        }
+        ExecutableElement method = (ExecutableElement) element;
+        List<? extends VariableElement> parameters = method.getParameters();
+        TypeMirror returnType = method.getReturnType();
+        boolean returnsBoolean = returnType.getKind() == TypeKind.BOOLEAN || returnType.toString().equals(Boolean.class.getName());
+        if (method.getModifiers().contains(Modifier.STATIC) || parameters.size() != 1
+                || !processingEnv.getTypeUtils().erasure(parameters.get(0).asType()).toString().equals(STATE) || !returnsBoolean) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "@Agent method must be an instance method with signature boolean (State)", method);
+            return false;
+        }
+        return true;
+    }
+
+    private void writeIndex() {
+        entries.sort(Comparator.comparing(AgentIndex.Entry::getClassName).thenComparing(AgentIndex.Entry::getMethodName));
+        try {
+            String indexDir = processingEnv.getOptions().get(INDEX_DIR);
+            if (indexDir != null) {
+                Path file = Paths.get(indexDir, AgentIndex.LOCATION);
+                Files.createDirectories(file.getParent());
+                try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                    AgentIndex.write(entries, writer);
+                }
+                return;
+            }
+            FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", AgentIndex.LOCATION);
+            try (Writer writer = new OutputStreamWriter(file.openOutputStream(), StandardCharsets.UTF_8)) {
+                AgentIndex.write(entries, writer);
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Unable to write " + AgentIndex.LOCATION + " " + e.getMessage());
+        }
+    }
+}
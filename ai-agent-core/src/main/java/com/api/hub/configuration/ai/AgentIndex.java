@@ -0,0 +1,263 @@
+package com.api.hub.configuration.ai;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import com.api.hub.ai.constants.ExecutionType;
+import com.api.hub.ai.starter.Agent;
+
+import lombok.Data;
+
+/**
+ * Build-time registry of {@link Agent} methods.
+ * <p>
+ * {@link com.api.hub.ai.starter.processor.AgentIndexProcessor} writes one {@value #LOCATION} resource per
+ * compiled module, listing every {@code @Agent} method with its declaring class and annotation attributes.
+ * At startup {@link AgentRegister} loads all of them once and registers the agents of a bean from the index,
+ * without listing the bean's methods or reading annotations. Beans of classes compiled without the processor
+ * are still scanned.
+ * </p>
+ *
+ * <p><b>Format:</b> a properties file with the attributes of the n-th agent under {@code agent.<n>.<attribute>},
+ * array attributes under {@code agent.<n>.<attribute>.<i>}.</p>
+ *
+ * @see AgentRegister
+ * @since 1.0
+ */
+public final class AgentIndex {
+
+    /** Location of the index in every jar or class output. */
+    public static final String LOCATION = "META-INF/api-hub/agents.properties";
+
+    private static final String PREFIX = "agent.";
+
+    private final Map<String, List<Entry>> byClass;
+
+    private AgentIndex(Map<String, List<Entry>> byClass) {
+        this.byClass = byClass;
+    }
+
+    /**
+     * Loads every index visible to the class loader.
+     *
+     * @param classLoader loader to search
+     * @return the merged index, empty if there is none
+     * @throws IOException if an index cannot be read
+     */
+    public static AgentIndex load(ClassLoader classLoader) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        Enumeration<URL> resources = classLoader.getResources(LOCATION);
+        while (resources.hasMoreElements()) {
+            try (InputStream in = resources.nextElement().openStream()) {
+                entries.addAll(read(new InputStreamReader(in, StandardCharsets.UTF_8)));
+            }
+        }
+        return of(entries);
+    }
+
+    /**
+     * @param entries indexed agent methods
+     * @return an index of the entries by declaring class
+     */
+    static AgentIndex of(List<Entry> entries) {
+        Map<String, List<Entry>> byClass = new HashMap<>();
+        for (Entry entry : entries) {
+            byClass.computeIfAbsent(entry.getClassName(), c -> new ArrayList<>()).add(entry);
+        }
+        return new AgentIndex(byClass);
+    }
+
+    /**
+     * @param className binary name of a bean class
+     * @return the agents declared by the class, or {@code null} if the class is not indexed
+     */
+    public List<Entry> getAgents(String className) {
+        return byClass.get(className);
+    }
+
+    /**
+     * @return every indexed agent method
+     */
+    public List<Entry> getEntries() {
+        List<Entry> entries = new ArrayList<>();
+        byClass.values().forEach(entries::addAll);
+        return entries;
+    }
+
+    /**
+     * @return {@code true} if no index was found
+     */
+    public boolean isEmpty() {
+        return byClass.isEmpty();
+    }
+
+    /**
+     * Reads the entries of one index.
+     */
+    static List<Entry> read(Reader reader) throws IOException {
+        Properties properties = new Properties();
+        properties.load(reader);
+        List<Entry> entries = new ArrayList<>();
+        for (int n = 0; properties.containsKey(PREFIX + n + ".class"); n++) {
+            String key = PREFIX + n + ".";
+            Entry entry = new Entry();
+            entry.setClassName(properties.getProperty(key + "class"));
+            entry.setMethodName(properties.getProperty(key + "method"));
+            entry.setVariables(properties.getProperty(key + "variables", "SimpleCacheHandler"));
+            entry.setDescription(properties.getProperty(key + "description", ""));
+            entry.setGoals(array(properties, key + "goals"));
+            entry.setAgentPools(array(properties, key + "agentPools"));
+            entry.setTaskNames(array(properties, key + "taskNames"));
+            entry.setTaskCreatedBy(array(properties, key + "taskCreatedBy"));
+            entry.setTaskObjectTypes(array(properties, key + "taskObjectTypes"));
+            entry.setTaskDescription(array(properties, key + "taskDescription"));
+            entry.setTaskObjectMethodValue(array(properties, key + "taskObjectMethodValue"));
+            entry.setExecutionType(ExecutionType.valueOf(properties.getProperty(key + "executionType", ExecutionType.DEFAULT.name())));
+            entry.setMaxConcurrent(Integer.parseInt(properties.getProperty(key + "maxConcurrent", "0")));
+            entry.setMaxQueued(Integer.parseInt(properties.getProperty(key + "maxQueued", "0")));
+            entry.setIdempotent(Boolean.parseBoolean(properties.getProperty(key + "idempotent", "false")));
+            entry.setCacheable(Boolean.parseBoolean(properties.getProperty(key + "cacheable", "false")));
+            entry.setCacheKey(array(properties, key + "cacheKey"));
+            entry.setCacheTtlMs(Long.parseLong(properties.getProperty(key + "cacheTtlMs", "60000")));
+            entries.add(entry);
+        }
+        return entries;
+    }
+
+    /**
+     * Writes the entries as an index, with sorted keys and no timestamp so that builds are reproducible.
+     */
+    public static void write(List<Entry> entries, Writer writer) throws IOException {
+        Properties properties = new Properties();
+        for (int n = 0; n < entries.size(); n++) {
+            Entry entry = entries.get(n);
+            String key = PREFIX + n + ".";
+            properties.setProperty(key + "class", entry.getClassName());
+            properties.setProperty(key + "method", entry.getMethodName());
+            properties.setProperty(key + "variables", entry.getVariables());
+            properties.setProperty(key + "description", entry.getDescription());
+            putArray(properties, key + "goals", entry.getGoals());
+            putArray(properties, key + "agentPools", entry.getAgentPools());
+            putArray(properties, key + "taskNames", entry.getTaskNames());
+            putArray(properties, key + "taskCreatedBy", entry.getTaskCreatedBy());
+            putArray(properties, key + "taskObjectTypes", entry.getTaskObjectTypes());
+            putArray(properties, key + "taskDescription", entry.getTaskDescription());
+            putArray(properties, key + "taskObjectMethodValue", entry.getTaskObjectMethodValue());
+            properties.setProperty(key + "executionType", entry.getExecutionType().name());
+            properties.setProperty(key + "maxConcurrent", Integer.toString(entry.getMaxConcurrent()));
+            properties.setProperty(key + "maxQueued", Integer.toString(entry.getMaxQueued()));
+            properties.setProperty(key + "idempotent", Boolean.toString(entry.isIdempotent()));
+            properties.setProperty(key + "cacheable", Boolean.toString(entry.isCacheable()));
+            putArray(properties, key + "cacheKey", entry.getCacheKey());
+            properties.setProperty(key + "cacheTtlMs", Long.toString(entry.getCacheTtlMs()));
+        }
+        StringWriter out = new StringWriter();
+        properties.store(out, null);
+        List<String> lines = new ArrayList<>();
+        for (String line : out.toString().split("\\R")) {
+            if (!line.isEmpty() && !line.startsWith("#")) {
+                lines.add(line);
+            }
+        }
+        Collections.sort(lines);
+        writer.write("# Generated by AgentIndexProcessor, do not edit\n");
+        for (String line : lines) {
+            writer.write(line);
+            writer.write('\n');
+        }
+    }
+
+    private static String[] array(Properties properties, String key) {
+        List<String> values = new ArrayList<>();
+        for (int i = 0; properties.containsKey(key + "." + i); i++) {
+            values.add(properties.getProperty(key + "." + i));
+        }
+        return values.toArray(new String[0]);
+    }
+
+    private static void putArray(Properties properties, String key, String[] values) {
+        for (int i = 0; i < values.length; i++) {
+            properties.setProperty(key + "." + i, values[i]);
+        }
+    }
+
+    /**
+     * The attributes of one {@code @Agent} method.
+     */
+    @Data
+    public static class Entry {
+
+        /** Binary name of the declaring class */
+        private String className;
+
+        /** Name of the agent method, which takes a single {@code State} */
+        private String methodName;
+
+        private String variables = "SimpleCacheHandler";
+        private String description = "";
+        private String[] goals = new String[0];
+        private String[] agentPools = new String[0];
+        private String[] taskNames = new String[0];
+        private String[] taskCreatedBy = new String[0];
+        private String[] taskObjectTypes = new String[0];
+        private String[] taskDescription = new String[0];
+        private String[] taskObjectMethodValue = new String[0];
+        private ExecutionType executionType = ExecutionType.DEFAULT;
+        private int maxConcurrent;
+        private int maxQueued;
+        private boolean idempotent;
+        private boolean cacheable;
+        private String[] cacheKey = new String[0];
+        private long cacheTtlMs = 60000;
+
+        /**
+         * Copies the attributes of an annotation, used when a class is scanned at runtime.
+         *
+         * @param className  binary name of the declaring class
+         * @param methodName name of the agent method
+         * @param annotation the annotation of the method
+         * @return the entry
+         */
+        public static Entry of(String className, String methodName, Agent annotation) {
+            Entry entry = new Entry();
+            entry.setClassName(className);
+            entry.setMethodName(methodName);
+            entry.setVariables(annotation.variables());
+            entry.setDescription(annotation.description());
+            entry.setGoals(annotation.goals());
+            entry.setAgentPools(annotation.agentPools());
+            entry.setTaskNames(annotation.taskNames());
+            entry.setTaskCreatedBy(annotation.taskCreatedBy());
+            entry.setTaskObjectTypes(annotation.taskObjectTypes());
+            entry.setTaskDescription(annotation.taskDescription());
+            entry.setTaskObjectMethodValue(annotation.taskObjectMethodValue());
+            entry.setExecutionType(annotation.executionType());
+            entry.setMaxConcurrent(annotation.maxConcurrent());
+            entry.setMaxQueued(annotation.maxQueued());
+            entry.setIdempotent(annotation.idempotent());
+            entry.setCacheable(annotation.cacheable());
+            entry.setCacheKey(annotation.cacheKey());
+            entry.setCacheTtlMs(annotation.cacheTtlMs());
+            return entry;
+        }
+
+        @Override
+        public String toString() {
+            return className + "#" + methodName + " goals=" + Arrays.toString(goals) + " pools=" + Arrays.toString(agentPools);
+        }
+    }
+}
@@ -0,0 +1,399 @@
+package com.api.hub.configuration.ai;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanInitializationException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import com.api.hub.ai.constants.MarkerConstants;
+import com.api.hub.ai.constants.RoutingPolicy;
+import com.api.hub.ai.handler.impl.AgentDefination;
+import com.api.hub.ai.handler.impl.AgentMethodInvokers;
+import com.api.hub.ai.handler.impl.AgentPool;
+import com.api.hub.ai.handler.impl.Bulkhead;
+import com.api.hub.ai.handler.impl.CircuitBreaker;
+import com.api.hub.ai.handler.impl.ResultCache;
+import com.api.hub.ai.handler.impl.RetryBudget;
+import com.api.hub.ai.handler.impl.RetryPolicy;
+import com.api.hub.ai.metrics.MetricsRegistry;
+import com.api.hub.ai.pojo.Condition;
+import com.api.hub.ai.pojo.State;
+import com.api.hub.ai.starter.Agent;
+import com.api.hub.ai.starter.AiAgent;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Spring {@link BeanPostProcessor} implementation responsible for registering AI agents
+ * within the AI-Agent framework.
+ * <p>
+ * When a Spring bean implementing the {@link AiAgent} marker interface is initialized,
+ * this class looks up the bean's {@link Agent} methods in the {@link AgentIndex} generated at build time,
+ * falling back to scanning the bean's methods for the annotation.
+ * For each annotated method, it creates and configures an {@link AgentDefination} instance,
+ * which encapsulates metadata and behavior information about the agent method.
+ * These agent definitions are then organized into named pools for logical grouping and later retrieval.
+ * </p>
+ * <p>
+ * This enables dynamic registration and configuration of AI agents based on annotated methods,
+ * facilitating modular agent development and management within the framework.
+ * </p>
+ *
+ * <h2>Key Responsibilities:</h2>
+ * <ul>
+ *   <li>Detect Spring beans implementing the {@link AiAgent} interface.</li>
+ *   <li>Read the agent methods of such beans from the build-time {@link AgentIndex}, scanning beans
+ *   for methods annotated with {@link Agent} when their class is not indexed.</li>
+ *   <li>For each annotated method, create an {@link AgentDefination} containing:</li>
+ *   
+ *       <li>Agent name (combining bean name and method name)</li>
+ *       <li>Description, goals, and method reference from the annotation</li>
+ *       <li>The {@link Condition} describing the tasks the agent accepts</li>
+ *       <li>The execution type selecting the threads the agent runs on</li>
+ *       <li>The {@link Bulkhead} limiting its concurrent invocations, if any</li>
+ *       <li>Its {@link CircuitBreaker} and, for idempotent agents, its {@link RetryPolicy}</li>
+ *       <li>For cacheable agents, the {@link ResultCache} memoizing their results</li>
+ *       <li>Reference to the bean instance as the agent handler</li>
+ *       <li>A direct invoker of the method, after validating its {@code boolean (State)} signature</li>
+ *   
+ *   <li>Group agent definitions into pools as defined by the {@code agentPools} attribute of the annotation.</li>
+ *   <li>Attach the {@link Bulkhead} and {@link RoutingPolicy} ({@code ai.agentpool.{pool}.routing}) configured for
+ *   each {@link AgentPool} bean.</li>
+ *   <li>Provide a static method to retrieve agents by pool name.</li>
+ * </ul>
+ *
+ * <h2>Bulkheads:</h2>
+ * <p>
+ * The concurrency limit of an agent is declared with {@link Agent#maxConcurrent()} and {@link Agent#maxQueued()},
+ * and can be set or overridden in configuration under the agent name ({@code bean-method}). Agent pools are
+ * limited in configuration only:
+ * </p>
+ * <ul>
+ *   <li><code>ai.agent.{agent}.maxConcurrent</code> - concurrent calls of the agent, 0 for no limit</li>
+ *   <li><code>ai.agent.{agent}.maxQueued</code> - calls waiting for a free slot (default: 0, reject at once)</li>
+ *   <li><code>ai.agent.{agent}.queueTimeout.ms</code> - maximum wait of a queued call (default: <code>ai.agent.bulkhead.queueTimeout.ms</code>, 1000)</li>
+ *   <li><code>ai.agentpool.{pool}.maxConcurrent</code>, <code>ai.agentpool.{pool}.maxQueued</code> and
+ *   <code>ai.agentpool.{pool}.queueTimeout.ms</code> - the same for all tasks routed through a pool bean</li>
+ * </ul>
+ *
+ * <h2>Circuit breakers and retries:</h2>
+ * <ul>
+ *   <li><code>ai.agent.circuit.enabled</code> - give every agent a {@link CircuitBreaker} (default: false),
+ *   <code>ai.agent.{agent}.circuit.enabled</code> per agent</li>
+ *   <li><code>ai.agent.circuit.window</code> (20), <code>.minCalls</code> (10), <code>.failureRate</code> (50 percent),
+ *   <code>.open.ms</code> (30000) and <code>.halfOpen.calls</code> (1) - breaker settings</li>
+ *   <li><code>ai.agent.{agent}.idempotent</code> - overrides {@link Agent#idempotent()}; idempotent agents get a {@link RetryPolicy}</li>
+ *   <li><code>ai.agent.retry.maxAttempts</code> (3), <code>.backoff.ms</code> (50) and <code>.backoff.max.ms</code> (1000) - retry settings</li>
+ *   <li><code>ai.agent.retry.budget.ratio</code> (0.1), <code>.minPerSec</code> (10) and <code>.max</code> (100) - the
+ *   {@link RetryBudget} shared by all agents</li>
+ * </ul>
+ *
+ * <h2>Result caches:</h2>
+ * <ul>
+ *   <li><code>ai.agent.{agent}.cacheable</code> - overrides {@link Agent#cacheable()}; cacheable agents get a {@link ResultCache}</li>
+ *   <li><code>ai.agent.{agent}.cache.ttl.ms</code> - overrides {@link Agent#cacheTtlMs()}</li>
+ *   <li><code>ai.agent.{agent}.cache.maxSize</code> - results kept per agent (default: <code>ai.agent.cache.maxSize</code>, 1000)</li>
+ * </ul>
+ *
+ * @see AiAgent
+ * @see Agent
+ * @see AgentDefination
+ * @see BeanPostProcessor
+ */
+@Slf4j
+@Component
+public class AgentRegister implements BeanPostProcessor, EnvironmentAware, MarkerConstants {
+
+    private static final Map<String, List<AgentDefination>> agentMap = new HashMap<>();
+
+    /** Agent methods found at build time by the annotation processor */
+    private final AgentIndex index;
+
+    /** Configuration overriding annotation attributes, {@code null} outside a container */
+    private Environment environment;
+
+    /** Retry budget shared by all idempotent agents, created with the first one */
+    private RetryBudget retryBudget;
+
+    /** Agents registered by this instance, removed from the shared pools when its context closes */
+    private final List<AgentDefination> registered = new ArrayList<>();
+
+    /**
+     * Loads the build-time agent index, see {@link AgentIndex}.
+     *
+     * @throws IOException if an index cannot be read
+     */
+    public AgentRegister() throws IOException {
+        this(AgentIndex.load(AgentRegister.class.getClassLoader()));
+    }
+
+    AgentRegister(AgentIndex index) {
+        this.index = index;
+    }
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.environment = environment;
+    }
+
+    /**
+     * Post-processes beans after initialization to detect AI agents and register their agent methods.
+     * <p>
+     * If the given bean implements {@link AiAgent}, its agent methods are read from the build-time
+     * {@link AgentIndex}; classes missing from the index are scanned for the {@link Agent} annotation.
+     * For each annotated method, it creates an {@link AgentDefination} instance and configures it based on
+     * annotation attributes and method references.
+     * The agent definitions are then added to one or more pools as specified.
+     * </p>
+     *
+     * @param bean the bean instance created by Spring container
+     * @param beanName the name of the bean in the Spring context
+     * @return the original bean instance (unmodified)
+     * @throws BeansException in case of any processing errors
+     */
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        
+        if(bean instanceof AiAgent) {
+            agentMethods(ClassUtils.getUserClass(bean), beanName).forEach((method, entry) -> register(bean, beanName, method, entry));
+        }
+        if(bean instanceof AgentPool) {
+            AgentPool pool = (AgentPool) bean;
+            Bulkhead bulkhead = buildBulkhead("ai.agentpool." + beanName + ".", beanName, 0, 0);
+            if(bulkhead != null) {
+                pool.setBulkhead(MetricsRegistry.register("bulkhead.pool." + beanName, bulkhead));
+            }
+            String routing = getProperty("ai.agentpool." + beanName + ".routing", String.class, null);
+            if(routing != null && !routing.isBlank()) {
+                try {
+                    pool.setRoutingPolicy(RoutingPolicy.fromConfig(routing));
+                } catch (IllegalArgumentException e) {
+                    throw new BeanInitializationException("Invalid routing policy " + routing + " for property: ai.agentpool." + beanName + ".routing", e);
+                }
+            }
+            if(pool.getRoutingPolicy() != RoutingPolicy.FIRST && !pool.appliesRoutingPolicy()) {
+                log.warn(PERFORMANCE, "Routing policy " + routing + " of pool " + beanName + " is ignored, "
+                        + ClassUtils.getUserClass(pool).getSimpleName() + " provides no equivalent agents to choose from");
+            }
+        }
+
+        return bean;
+    }
+
+    /**
+     * Finds the agent methods of a bean class, from the index when the class is indexed.
+     *
+     * @return the agent methods with their annotation attributes, in declaration order
+     * @throws BeanInitializationException if an indexed method no longer exists
+     */
+    Map<Method, AgentIndex.Entry> agentMethods(Class<?> clazz, String beanName) {
+        Map<Method, AgentIndex.Entry> methods = new LinkedHashMap<>();
+        List<AgentIndex.Entry> indexed = index.getAgents(clazz.getName());
+        if (indexed != null) {
+            for (AgentIndex.Entry entry : indexed) {
+                try {
+                    methods.put(clazz.getDeclaredMethod(entry.getMethodName(), State.class), entry);
+                } catch (NoSuchMethodException e) {
+                    throw new BeanInitializationException("Indexed @Agent method " + entry + " not found on bean " + beanName
+                            + ", the agent index is out of date", e);
+                }
+            }
+            return methods;
+        }
+        if (!index.isEmpty()) {
+            log.debug(PERFORMANCE, "Scanning agent bean " + beanName + ", its class is not in the agent index");
+        }
+        for (Method method : clazz.getDeclaredMethods()) {
+            if (method.isAnnotationPresent(Agent.class)) {
+                methods.put(method, AgentIndex.Entry.of(clazz.getName(), method.getName(), method.getAnnotation(Agent.class)));
+            }
+        }
+        return methods;
+    }
+
+    /**
+     * Creates the {@link AgentDefination} of an agent method and adds it to its pools.
+     */
+    private void register(Object bean, String beanName, Method method, AgentIndex.Entry entry) {
+        AgentDefination def = new AgentDefination();
+        def.setName(beanName + "-" + method.getName());
+        def.setDescription(entry.getDescription());
+        def.setGoalNames(Arrays.asList(entry.getGoals()));
+        def.setAgentHandler(bean);
+        def.setMethodToInvoke(method);
+        try {
+            def.setInvoker(AgentMethodInvokers.of(method));
+        } catch (IllegalArgumentException e) {
+            throw new BeanInitializationException("Invalid @Agent method on bean " + beanName + ": " + e.getMessage(), e);
+        }
+        def.setCondition(buildCondition(entry));
+        def.setExecutionType(entry.getExecutionType());
+        Bulkhead bulkhead = buildBulkhead("ai.agent." + def.getName() + ".", def.getName(), entry.getMaxConcurrent(), entry.getMaxQueued());
+        if(bulkhead != null) {
+            def.setBulkhead(MetricsRegistry.register("bulkhead.agent." + def.getName(), bulkhead));
+        }
+        String prefix = "ai.agent." + def.getName() + ".";
+        if(getProperty(prefix + "circuit.enabled", Boolean.class, getProperty("ai.agent.circuit.enabled", Boolean.class, false))) {
+            def.setCircuitBreaker(MetricsRegistry.register("circuit.agent." + def.getName(), buildCircuitBreaker(def.getName())));
+        }
+        if(getProperty(prefix + "idempotent", Boolean.class, entry.isIdempotent())) {
+            def.setIdempotent(true);
+            def.setRetryPolicy(buildRetryPolicy());
+        }
+        if(getProperty(prefix + "cacheable", Boolean.class, entry.isCacheable())) {
+            def.setResultCache(MetricsRegistry.register("cache.agent." + def.getName(), buildResultCache(def.getName(), entry)));
+        }
+
+        synchronized (agentMap) {
+            for(String agentPool : entry.getAgentPools()) {
+                List<AgentDefination> defList = agentMap.getOrDefault(agentPool, new ArrayList<>());
+                defList.add(def);
+                agentMap.put(agentPool, defList);
+            }
+            registered.add(def);
+        }
+    }
+
+    /**
+     * Removes the agents of this context from the pools, so that a closed {@code SpringAgentRuntime} does not leave
+     * its agents behind for the next runtime created in the same JVM.
+     */
+    @PreDestroy
+    public void unregisterAgents() {
+        synchronized (agentMap) {
+            for(List<AgentDefination> defList : agentMap.values()) {
+                defList.removeIf(def -> registered.stream().anyMatch(own -> own == def));
+            }
+            agentMap.values().removeIf(List::isEmpty);
+            registered.clear();
+        }
+    }
+
+    /**
+     * Builds a bulkhead from the configuration under the given prefix, falling back to the declared limits.
+     *
+     * @return the bulkhead, or {@code null} if the concurrency is not limited
+     * @throws BeanInitializationException if the limits are invalid
+     */
+    private Bulkhead buildBulkhead(String prefix, String name, int maxConcurrent, int maxQueued) {
+        maxConcurrent = getInt(prefix + "maxConcurrent", maxConcurrent);
+        if(maxConcurrent <= 0) {
+            return null;
+        }
+        maxQueued = getInt(prefix + "maxQueued", maxQueued);
+        long queueTimeoutMs = getInt(prefix + "queueTimeout.ms", getInt("ai.agent.bulkhead.queueTimeout.ms", 1000));
+        try {
+            return new Bulkhead(name, maxConcurrent, maxQueued, queueTimeoutMs);
+        } catch (IllegalArgumentException e) {
+            throw new BeanInitializationException(e.getMessage(), e);
+        }
+    }
+
+    private CircuitBreaker buildCircuitBreaker(String name) {
+        try {
+            return new CircuitBreaker(name, getInt("ai.agent.circuit.window", 20), getInt("ai.agent.circuit.minCalls", 10),
+                    getInt("ai.agent.circuit.failureRate", 50), getProperty("ai.agent.circuit.open.ms", Long.class, 30000L),
+                    getInt("ai.agent.circuit.halfOpen.calls", 1));
+        } catch (IllegalArgumentException e) {
+            throw new BeanInitializationException(e.getMessage(), e);
+        }
+    }
+
+    private RetryPolicy buildRetryPolicy() {
+        try {
+            if(retryBudget == null) {
+                retryBudget = MetricsRegistry.register("retry.budget", new RetryBudget(getProperty("ai.agent.retry.budget.ratio", Double.class, 0.1),
+                        getProperty("ai.agent.retry.budget.minPerSec", Double.class, 10.0), getProperty("ai.agent.retry.budget.max", Double.class, 100.0)));
+            }
+            return new RetryPolicy(getInt("ai.agent.retry.maxAttempts", 3), getProperty("ai.agent.retry.backoff.ms", Long.class, 50L),
+                    getProperty("ai.agent.retry.backoff.max.ms", Long.class, 1000L), retryBudget);
+        } catch (IllegalArgumentException e) {
+            throw new BeanInitializationException(e.getMessage(), e);
+        }
+    }
+
+    private ResultCache buildResultCache(String name, AgentIndex.Entry entry) {
+        String prefix = "ai.agent." + name + ".";
+        try {
+            return new ResultCache(name, entry.getCacheKey(), getProperty(prefix + "cache.ttl.ms", Long.class, entry.getCacheTtlMs()),
+                    getInt(prefix + "cache.maxSize", getInt("ai.agent.cache.maxSize", 1000)));
+        } catch (IllegalArgumentException e) {
+            throw new BeanInitializationException(e.getMessage(), e);
+        }
+    }
+
+    private int getInt(String key, int defaultValue) {
+        return getProperty(key, Integer.class, defaultValue);
+    }
+
+    private <T> T getProperty(String key, Class<T> type, T defaultValue) {
+        if(environment == null) {
+            return defaultValue;
+        }
+        try {
+            return environment.getProperty(key, type, defaultValue);
+        } catch (RuntimeException e) {
+            throw new BeanInitializationException("Expected a " + type.getSimpleName() + " for property: " + key, e);
+        }
+    }
+
+    /**
+     * Builds the {@link Condition} describing the tasks accepted by an agent method.
+     *
+     * @param annotation the attributes of the agent annotation
+     * @return the condition, with {@code null} for every criterion the annotation leaves empty
+     */
+    static Condition buildCondition(AgentIndex.Entry annotation) {
+        Condition condition = new Condition();
+        condition.setTaskGoalName(listOrNull(annotation.getGoals()));
+        condition.setTaskName(listOrNull(annotation.getTaskNames()));
+        condition.setTaskCreatedBy(listOrNull(annotation.getTaskCreatedBy()));
+        condition.setTaskObjectType(listOrNull(annotation.getTaskObjectTypes()));
+        condition.setTaskDescription(pairsOrNull(annotation.getTaskDescription(), ':'));
+        condition.setTaskObjectMethodValue(pairsOrNull(annotation.getTaskObjectMethodValue(), '='));
+        return condition;
+    }
+
+    private static List<String> listOrNull(String[] values) {
+        return values.length == 0 ? null : Arrays.asList(values);
+    }
+
+    private static List<Object[]> pairsOrNull(String[] values, char separator) {
+        if (values.length == 0) {
+            return null;
+        }
+        List<Object[]> pairs = new ArrayList<>(values.length);
+        for (String value : values) {
+            int index = value.indexOf(separator);
+            if (index <= 0) {
+                throw new IllegalArgumentException("Expected '" + separator + "' separated pair in @Agent condition, found " + value);
+            }
+            pairs.add(new Object[] { value.substring(0, index).trim(), value.substring(index + 1) });
+        }
+        return pairs;
+    }
+
+    /**
+     * Retrieves the list of {@link AgentDefination} instances registered under a given pool name.
+     *
+     * @param poolName the name of the agent pool
+     * @return a list of agent definitions associated with the pool, or {@code null} if no agents are registered
+     *         under that pool
+     */
+    public static List<AgentDefination> getAgents(String poolName) {
+        return agentMap.get(poolName);
+    }
+}
@@ -0,0 +1,64 @@
+package com.api.hub.configuration.ai;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+import org.springframework.aot.hint.ExecutableMode;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+import com.api.hub.ai.pojo.State;
+import com.api.hub.logging.LoggingEncoder;
+import com.api.hub.logging.RingBufferAsyncAppender;
+
+/**
+ * Registers the reflection and resource hints the agent runtime needs in a GraalVM native image.
+ * <p>
+ * Spring AOT calls this registrar at build time (it is listed in {@code META-INF/spring/aot.factories}).
+ * The hints are derived from the {@link AgentIndex} written by the annotation processor, so no classpath
+ * scanning happens at build time either:
+ * </p>
+ * <ul>
+ *   <li>every {@code @Agent} method is registered for invocation, together with its declaring class, since
+ *   agents are called reflectively in a native image (see
+ *   {@link com.api.hub.ai.handler.impl.AgentMethodInvokers});</li>
+ *   <li>the payload types named in {@code taskObjectTypes} get their public methods registered, as
+ *   {@code taskObjectMethodValue} conditions are evaluated reflectively;</li>
+ *   <li>the agent index itself and the {@code agent_files} directory are included as resources;</li>
+ *   <li>the {@link LoggingEncoder} and {@link RingBufferAsyncAppender} named in {@code logback.xml} are registered
+ *   for construction and configuration, which Logback does reflectively.</li>
+ * </ul>
+ *
+ * @see AgentIndex
+ * @since 1.0
+ */
+public class AgentRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        hints.resources().registerPattern(AgentIndex.LOCATION);
+        hints.resources().registerPattern("agent_files/*");
+        for (Class<?> type : List.of(LoggingEncoder.class, RingBufferAsyncAppender.class)) {
+            hints.reflection().registerType(type, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+
+        List<AgentIndex.Entry> entries;
+        try {
+            entries = AgentIndex.load(classLoader == null ? AgentRuntimeHints.class.getClassLoader() : classLoader).getEntries();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read " + AgentIndex.LOCATION, e);
+        }
+        for (AgentIndex.Entry entry : entries) {
+            hints.reflection().registerType(TypeReference.of(entry.getClassName()),
+                    type -> type.withMethod(entry.getMethodName(), List.of(TypeReference.of(State.class)), ExecutableMode.INVOKE));
+            for (String payloadType : entry.getTaskObjectTypes()) {
+                if (payloadType.contains(".")) {
+                    hints.reflection().registerType(TypeReference.of(payloadType), MemberCategory.INVOKE_PUBLIC_METHODS);
+                }
+            }
+        }
+    }
+}
@@ -75,6 +75,35 @@ public abstract class ApiHubException extends Exception {
         this.msgToUser = msgToUser;
     }
 
+    /**
+     * @return the error code, e.g. {@code 7002-ai-hub}
+     */
+    public String getErrorCode() {
+        return errorCode;
+    }
+
+    /**
+     * Returns the numeric part of the error code, used to classify failures by their range
+     * (see {@code ErrorCodeSeries.md}).
+     *
+     * @return the leading number of the error code, e.g. {@code 7002} for {@code 7002-ai-hub}, or {@code 0} if
+     *         the code does not start with a number
+     */
+    public int getErrorNumber() {
+        if (errorCode == null) {
+            return 0;
+        }
+        int number = 0;
+        for (int i = 0; i < errorCode.length() && i < 9; i++) {
+            char c = errorCode.charAt(i);
+            if (c < '0' || c > '9') {
+                break;
+            }
+            number = number * 10 + (c - '0');
+        }
+        return number;
+    }
+
     /**
      * Returns the captured stack trace of the exception as a string.
      *
@@ -0,0 +1,61 @@
+package com.api.hub.exception;
+
+/**
+ * Represents network, timeout and capacity related exceptions within the AI-Agent Framework.
+ * <p>
+ * These errors are mapped to the error code range <b>7000–7999</b>. They are usually transient:
+ * the same request may succeed when retried later or once the downstream dependency recovers.
+ * </p>
+ *
+ * <p><b>Error Codes Managed:</b></p>
+ * <ul>
+ *   <li><b>7001</b> - NETWORK_UNREACHABLE: Network or DNS failure.</li>
+ *   <li><b>7002</b> - REQUEST_TIMEOUT: Request timed out.</li>
+ *   <li><b>7003</b> - HOST_UNAVAILABLE: Host is down.</li>
+ *   <li><b>7004</b> - SSL_HANDSHAKE_FAILED: TLS handshake failed.</li>
+ *   <li><b>7005</b> - DNS_RESOLUTION_FAILED: Domain resolution failed.</li>
+ *   <li><b>7006</b> - PROXY_ERROR: Proxy failure.</li>
+ *   <li><b>7007</b> - CONNECTION_RESET: Connection dropped.</li>
+ *   <li><b>7008</b> - TOO_MANY_REDIRECTS: Redirect loop.</li>
+ *   <li><b>7009</b> - FIREWALL_BLOCKED: Request blocked by firewall.</li>
+ *   <li><b>7010</b> - BANDWIDTH_LIMIT_EXCEEDED: Data transfer limit exceeded.</li>
+ *   <li><b>7011</b> - SERVER_OVERLOADED: Request rejected by admission control.</li>
+ *   <li><b>7012</b> - BULKHEAD_REJECTED: Agent or agent pool concurrency limit reached.</li>
+ * </ul>
+ *
+ * <p><b>Example usage:</b></p>
+ * <pre>{@code
+ * if (!admitted) {
+ *     throw new NetworkException("7011", "Admission queue full", "Too many requests, please retry shortly.");
+ * }
+ * }</pre>
+ *
+ * @since 1.0
+ * @see ApiHubException
+ */
+public class NetworkException extends ApiHubException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructs a new NetworkException with the specified structured error code,
+     * detailed developer-facing exception message, and user-facing safe message.
+     *
+     * @param errorCode     one of the 7000-series error codes indicating the specific failure
+     * @param exceptionMsg  technical message for logs and internal diagnostics
+     * @param msgToUser     safe message to display to the user or API clients
+     */
+    public NetworkException(String errorCode, String exceptionMsg, String msgToUser) {
+        super(errorCode, exceptionMsg, msgToUser);
+    }
+
+    /**
+     * Provides a formatted string representation of this network exception.
+     *
+     * @return a string containing the error code and technical exception message
+     */
+    @Override
+    public String toString() {
+        return "NetworkException [errorCode=" + errorCode + ", exceptionMsg=" + exceptionMsg + "]";
+    }
+}
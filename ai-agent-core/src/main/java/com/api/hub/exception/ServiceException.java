@@ -0,0 +1,67 @@
+package com.api.hub.exception;
+
+/**
+ * Exception thrown when an API or a service the AI agent depends on fails or is unavailable.
+ * <p>
+ * This class is part of the AI-Agent Framework and represents failures while calling external or internal
+ * services. These exceptions are categorized within the error code range <b>3000–3999</b>. Most of them are
+ * transient, so the framework may retry idempotent agents failing with them and counts them against the
+ * agent's circuit breaker.
+ * </p>
+ *
+ * <p><b>Error Codes Handled:</b></p>
+ * <ul>
+ *   <li><b>3001</b> - API_NOT_FOUND: API endpoint does not exist.</li>
+ *   <li><b>3002</b> - EXTERNAL_SERVICE_FAILURE: Third-party API failure.</li>
+ *   <li><b>3003</b> - SERVICE_UNAVAILABLE: Service is down, or the agent's circuit breaker is open.</li>
+ *   <li><b>3004</b> - API_TIMEOUT: API did not respond in time.</li>
+ *   <li><b>3005</b> - KAFKA_PUBLISH_FAILED: Kafka publish failed.</li>
+ *   <li><b>3006</b> - EMAIL_DELIVERY_FAILED: Email sending failed.</li>
+ *   <li><b>3007</b> - WEBHOOK_FAILURE: Outgoing webhook failed.</li>
+ *   <li><b>3008</b> - RATE_LIMIT_EXCEEDED: API rate limit exceeded.</li>
+ *   <li><b>3009</b> - UNSUPPORTED_HTTP_METHOD: HTTP method not supported.</li>
+ *   <li><b>3010</b> - BAD_GATEWAY: Gateway/proxy error.</li>
+ * </ul>
+ *
+ * <p><b>Typical Usage:</b></p>
+ * <ul>
+ *   <li>When an LLM, search or payment API returns a server error.</li>
+ *   <li>When a downstream service cannot be reached or rejects the call.</li>
+ * </ul>
+ *
+ * <p><b>Example:</b></p>
+ * <pre>{@code
+ * if (response.statusCode() >= 500) {
+ *     throw new ServiceException("3002", "Order API returned " + response.statusCode(), "Unable to fetch your order right now.");
+ * }
+ * }</pre>
+ *
+ * @see ApiHubException
+ * @since 1.0
+ */
+public class ServiceException extends ApiHubException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructs a new {@code ServiceException} with the specified error code, internal message,
+     * and user-facing message.
+     *
+     * @param errorCode     one of the 3000-series error codes indicating the specific failure
+     * @param exceptionMsg  technical message for logs and internal diagnostics
+     * @param msgToUser     message safe to show to users or API clients
+     */
+    public ServiceException(String errorCode, String exceptionMsg, String msgToUser) {
+        super(errorCode, exceptionMsg, msgToUser);
+    }
+
+    /**
+     * Provides a formatted string representation of this service exception.
+     *
+     * @return a string containing the error code and technical exception message
+     */
+    @Override
+    public String toString() {
+        return "ServiceException [errorCode=" + errorCode + ", exceptionMsg=" + exceptionMsg + "]";
+    }
+}
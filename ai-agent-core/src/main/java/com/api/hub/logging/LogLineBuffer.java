@@ -0,0 +1,262 @@
+package com.api.hub.logging;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Reusable byte buffer a structured log line is written into as UTF-8.
+ * <p>
+ * Strings are escaped for JSON and encoded in a single pass straight into the buffer, and timestamps are
+ * written as ISO-8601 UTC with the date and time up to the second cached, so writing a line allocates nothing
+ * once the buffer has grown to the usual line size. A buffer is not thread-safe: {@link LoggingEncoder} keeps
+ * one per thread.
+ * </p>
+ *
+ * @see LoggingEncoder
+ * @since 1.0
+ */
+public final class LogLineBuffer {
+
+    /** Initial capacity, enough for most lines. */
+    static final int INITIAL_CAPACITY = 512;
+
+    /** Buffers grown beyond this size by a very long line are reallocated on {@link #reset()}. */
+    static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NULL = "null".getBytes(StandardCharsets.US_ASCII);
+
+    private byte[] bytes = new byte[INITIAL_CAPACITY];
+    private int length;
+
+    /** Epoch second of {@link #secondPrefix}, {@code Long.MIN_VALUE} before the first timestamp. */
+    private long cachedSecond = Long.MIN_VALUE;
+    /** {@code yyyy-MM-ddTHH:mm:ss.} of {@link #cachedSecond}. */
+    private final byte[] secondPrefix = new byte[20];
+
+    /**
+     * Empties the buffer, releasing the memory of an oversized line.
+     */
+    public void reset() {
+        if (bytes.length > MAX_RETAINED_CAPACITY) {
+            bytes = new byte[INITIAL_CAPACITY];
+        }
+        length = 0;
+    }
+
+    /**
+     * @return number of bytes written
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * @return the backing array, valid up to {@link #length()} until the next write
+     */
+    public byte[] array() {
+        return bytes;
+    }
+
+    /**
+     * @return a copy of the written bytes
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(bytes, length);
+    }
+
+    /**
+     * Writes the buffer to a stream without copying it.
+     *
+     * @param out the target stream
+     * @throws IOException if the stream fails
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(bytes, 0, length);
+    }
+
+    /**
+     * Appends raw bytes, e.g. a pre-encoded constant.
+     *
+     * @param raw the bytes to append
+     * @return this buffer
+     */
+    public LogLineBuffer append(byte[] raw) {
+        ensure(raw.length);
+        System.arraycopy(raw, 0, bytes, length, raw.length);
+        length += raw.length;
+        return this;
+    }
+
+    /**
+     * Appends a single ASCII character.
+     *
+     * @param c the character
+     * @return this buffer
+     */
+    public LogLineBuffer append(char c) {
+        ensure(1);
+        bytes[length++] = (byte) c;
+        return this;
+    }
+
+    /**
+     * Appends a JSON string literal: the value quoted, escaped and UTF-8 encoded, or {@code null}.
+     * Unpaired surrogates are written as {@code ?}.
+     *
+     * @param value the value to write
+     * @return this buffer
+     */
+    public LogLineBuffer appendJsonString(CharSequence value) {
+        if (value == null) {
+            return append(NULL);
+        }
+        int n = value.length();
+        // worst case: 6 bytes per char (\\u00XX), plus quotes
+        ensure(n * 6 + 2);
+        byte[] b = bytes;
+        int pos = length;
+        b[pos++] = '"';
+        for (int i = 0; i < n; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x20 && c < 0x80) {
+                if (c == '"' || c == '\\') {
+                    b[pos++] = '\\';
+                }
+                b[pos++] = (byte) c;
+            } else if (c < 0x20) {
+                b[pos++] = '\\';
+                switch (c) {
+                case '\n':
+                    b[pos++] = 'n';
+                    break;
+                case '\r':
+                    b[pos++] = 'r';
+                    break;
+                case '\t':
+                    b[pos++] = 't';
+                    break;
+                case '\b':
+                    b[pos++] = 'b';
+                    break;
+                case '\f':
+                    b[pos++] = 'f';
+                    break;
+                default:
+                    b[pos++] = 'u';
+                    b[pos++] = '0';
+                    b[pos++] = '0';
+                    b[pos++] = HEX[c >> 4];
+                    b[pos++] = HEX[c & 0xF];
+                }
+            } else if (c < 0x800) {
+                b[pos++] = (byte) (0xC0 | (c >> 6));
+                b[pos++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                char low;
+                if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(low = value.charAt(i + 1))) {
+                    int cp = Character.toCodePoint(c, low);
+                    b[pos++] = (byte) (0xF0 | (cp >> 18));
+                    b[pos++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                    b[pos++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                    b[pos++] = (byte) (0x80 | (cp & 0x3F));
+                    i++;
+                } else {
+                    b[pos++] = '?';
+                }
+            } else {
+                b[pos++] = (byte) (0xE0 | (c >> 12));
+                b[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                b[pos++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        b[pos++] = '"';
+        length = pos;
+        return this;
+    }
+
+    /**
+     * Appends a timestamp as a quoted ISO-8601 UTC instant with milliseconds, e.g.
+     * {@code "2025-01-31T09:15:02.071Z"}. The part up to the second is formatted once per second.
+     *
+     * @param epochMillis the instant in milliseconds since the epoch
+     * @return this buffer
+     */
+    public LogLineBuffer appendTimestamp(long epochMillis) {
+        long second = Math.floorDiv(epochMillis, 1000);
+        if (second != cachedSecond) {
+            formatSecond(second);
+            cachedSecond = second;
+        }
+        int millis = (int) Math.floorMod(epochMillis, 1000);
+        ensure(secondPrefix.length + 6);
+        byte[] b = bytes;
+        int pos = length;
+        b[pos++] = '"';
+        System.arraycopy(secondPrefix, 0, b, pos, secondPrefix.length);
+        pos += secondPrefix.length;
+        b[pos++] = (byte) ('0' + millis / 100);
+        b[pos++] = (byte) ('0' + millis / 10 % 10);
+        b[pos++] = (byte) ('0' + millis % 10);
+        b[pos++] = 'Z';
+        b[pos++] = '"';
+        length = pos;
+        return this;
+    }
+
+    /**
+     * Decodes the written bytes, used where a {@code String} is required anyway.
+     */
+    @Override
+    public String toString() {
+        return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Formats {@code yyyy-MM-ddTHH:mm:ss.} of an epoch second into {@link #secondPrefix}.
+     */
+    private void formatSecond(long epochSecond) {
+        long days = Math.floorDiv(epochSecond, 86400);
+        int secondOfDay = (int) Math.floorMod(epochSecond, 86400);
+        // civil date from days since 1970-01-01, see Howard Hinnant's days_from_civil inverse
+        long z = days + 719468;
+        long era = Math.floorDiv(z, 146097);
+        long doe = z - era * 146097;
+        long yoe = (doe - doe / 1460 + doe / 36524 - doe / 146096) / 365;
+        long doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+        long mp = (5 * doy + 2) / 153;
+        int day = (int) (doy - (153 * mp + 2) / 5 + 1);
+        int month = (int) (mp < 10 ? mp + 3 : mp - 9);
+        int year = (int) (yoe + era * 400 + (month <= 2 ? 1 : 0));
+        byte[] p = secondPrefix;
+        p[0] = (byte) ('0' + year / 1000 % 10);
+        p[1] = (byte) ('0' + year / 100 % 10);
+        p[2] = (byte) ('0' + year / 10 % 10);
+        p[3] = (byte) ('0' + year % 10);
+        p[4] = '-';
+        twoDigits(p, 5, month);
+        p[7] = '-';
+        twoDigits(p, 8, day);
+        p[10] = 'T';
+        twoDigits(p, 11, secondOfDay / 3600);
+        p[13] = ':';
+        twoDigits(p, 14, secondOfDay / 60 % 60);
+        p[16] = ':';
+        twoDigits(p, 17, secondOfDay % 60);
+        p[19] = '.';
+    }
+
+    private static void twoDigits(byte[] target, int offset, int value) {
+        target[offset] = (byte) ('0' + value / 10);
+        target[offset + 1] = (byte) ('0' + value % 10);
+    }
+
+    private void ensure(int extra) {
+        int required = length + extra;
+        if (required > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(required, bytes.length * 2));
+        }
+    }
+}
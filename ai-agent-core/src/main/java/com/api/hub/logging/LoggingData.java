@@ -1,6 +1,6 @@
 package com.api.hub.logging;
 
-import java.util.Date;
+import java.nio.charset.StandardCharsets;
 
 import com.api.hub.ai.cache.Cache;
 
@@ -26,8 +26,8 @@ import lombok.Data;
  * </ul>
  * 
  * <p><b>Serialization:</b></p>
- * <p>The {@link #toString()} method serializes this object into a JSON-like string format,
- * including a timestamp field with the current date/time. All string fields are properly
+ * <p>The {@link #toString()} method serializes this object into a single-line JSON object,
+ * including an ISO-8601 timestamp of the current time. All string fields are properly
  * escaped to maintain JSON integrity.</p>
  * 
  * <p><b>Usage:</b></p>
@@ -65,52 +65,20 @@ public class LoggingData {
     private String logMessage;
 
     /**
-     * Serializes this logging data into a JSON-like string representation.
+     * Serializes this logging data into a single-line JSON representation.
      * <p>
-     * Includes a timestamp of when this method is called, along with all fields,
-     * properly escaped for JSON safety.
+     * Includes an ISO-8601 timestamp of when this method is called, along with all fields,
+     * escaped for JSON safety; {@code null} fields are written as JSON {@code null}. The format is
+     * the line written by {@link LoggingEncoder}, without its line break.
      * </p>
      * 
-     * @return JSON-like string representing this log entry
+     * @return JSON string representing this log entry
      */
     @Override
     public String toString() {
-        return String.format(
-            "{\n" +
-            "  \"time\": \"%s\"," +
-            "  \"applicationName\": \"%s\"," +
-            "  \"marker\": \"%s\"," +
-            "  \"logLevel\": \"%s\"," +
-            "  \"conversationId\": \"%s\"," +
-            "  \"transactionId\": \"%s\"," +
-            "  \"className\": \"%s\"," +
-            "  \"logMessage\": \"%s\"" +
-            "}", 
-            new Date().toString(),
-            escapeJson(applicationName),
-            escapeJson(marker),
-            escapeJson(logLevel),
-            escapeJson(conversationId),
-            escapeJson(transactionId),
-            escapeJson(className),
-            escapeJson(logMessage)
-        );
-    }
-
-    /**
-     * Escapes special characters in a string for safe inclusion in JSON.
-     *
-     * @param value the raw string value
-     * @return the escaped string, or {@code null} if input is null
-     */
-    private String escapeJson(String value) {
-        if (value == null) return null;
-        return value
-            .replace("\\", "\\\\")
-            .replace("\"", "\\\"")
-            .replace("\n", "\\n")
-            .replace("\r", "\\r")
-            .replace("\t", "\\t");
+        LogLineBuffer buffer = new LogLineBuffer();
+        LoggingEncoder.encode(this, System.currentTimeMillis(), buffer);
+        return new String(buffer.array(), 0, buffer.length() - 1, StandardCharsets.UTF_8);
     }
 
     /**
@@ -0,0 +1,165 @@
+package com.api.hub.logging;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.slf4j.Marker;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.encoder.EncoderBase;
+
+/**
+ * Custom Logback encoder for transforming {@link ILoggingEvent} instances into
+ * enriched structured log messages within the AI-Agent Framework.
+ *
+ * <p>This encoder extracts relevant contextual information from log events and
+ * integrates it with metadata stored in {@link LoggingDataHolder}. It ensures that
+ * each log message includes agent-specific details such as class name, log level,
+ * log marker, and formatted message, which is crucial for centralized logging, monitoring,
+ * and troubleshooting in agent-based distributed systems.</p>
+ *
+ * <p><b>Key Responsibilities:</b></p>
+ * <ul>
+ *   <li>Fetch agent logging metadata via {@link LoggingDataHolder}.</li>
+ *   <li>Extract and include structured information such as log level, class name, and markers.</li>
+ *   <li>Produce log entries in a consistent, byte-encoded format.</li>
+ * </ul>
+ *
+ * <p><b>Typical Usage:</b></p>
+ * <ul>
+ *   <li>Configured as the encoder in a Logback appender (e.g., FileAppender, ConsoleAppender).</li>
+ *   <li>Used to enhance observability of individual agents in multi-agent workflows.</li>
+ * </ul>
+ *
+ * <p><b>Allocation:</b></p>
+ * <p>
+ * Every event of the audit log goes through this encoder on the request thread, so it avoids building
+ * intermediate strings: each line is written, escaped and UTF-8 encoded in a single pass into a
+ * {@link LogLineBuffer} reused per thread, with an ISO-8601 timestamp whose date and time up to the second is
+ * cached. {@link #encode(ILoggingEvent)} then only allocates the returned array; appenders that can write
+ * the buffer directly use {@link #encode(ILoggingEvent, String, String, String, LogLineBuffer)} and allocate
+ * nothing.
+ * </p>
+ *
+ * <p><b>Example Log Output (one JSON object per line):</b></p>
+ * <pre>
+ * {"time":"2025-01-31T09:15:02.071Z","applicationName":"chatbot","marker":"WORKFLOW","logLevel":"INFO","conversationId":"c-42","transactionId":"t-7","className":"com.agent.ChatBotAgent","logMessage":"Agent initialized successfully"}
+ * </pre>
+ *
+ * @see LoggingDataHolder
+ * @see LoggingData
+ * @see LogLineBuffer
+ * @see ch.qos.logback.core.encoder.EncoderBase
+
+ * @since 1.0
+ */
+public class LoggingEncoder extends EncoderBase<ILoggingEvent> {
+
+    /** Marker written for events logged without one. */
+    static final String DEFAULT_MARKER = "WORKFLOW";
+
+    private static final byte[] TIME = ascii("{\"time\":");
+    private static final byte[] APPLICATION_NAME = ascii(",\"applicationName\":");
+    private static final byte[] MARKER = ascii(",\"marker\":");
+    private static final byte[] LOG_LEVEL = ascii(",\"logLevel\":");
+    private static final byte[] CONVERSATION_ID = ascii(",\"conversationId\":");
+    private static final byte[] TRANSACTION_ID = ascii(",\"transactionId\":");
+    private static final byte[] CLASS_NAME = ascii(",\"className\":");
+    private static final byte[] LOG_MESSAGE = ascii(",\"logMessage\":");
+    private static final byte[] END = ascii("}\n");
+
+    /** Line buffer of each thread encoding events. */
+    private static final ThreadLocal<LogLineBuffer> BUFFER = ThreadLocal.withInitial(LogLineBuffer::new);
+
+    /**
+     * Returns the byte representation of the log header.
+     * <p>
+     * This implementation currently returns {@code null} as no header is required.
+     *
+     * @return header bytes or {@code null}
+     */
+    @Override
+    public byte[] headerBytes() {
+        return null;
+    }
+
+    /**
+     * Encodes the given {@link ILoggingEvent} into a structured log line, enriched with the
+     * {@link LoggingData} of the current thread.
+     *
+     * @param event the logging event to encode
+     * @return the UTF-8 encoded line
+     */
+    @Override
+    public byte[] encode(ILoggingEvent event) {
+        LoggingData data = LoggingDataHolder.get();
+        LogLineBuffer buffer = BUFFER.get();
+        encode(event, data.getApplicationName(), data.getConversationId(), data.getTransactionId(), buffer);
+        return buffer.toByteArray();
+    }
+
+    /**
+     * Encodes an event into a line buffer, replacing its content. Used by appenders that encode events away
+     * from the thread that logged them and therefore pass the context captured with the event.
+     *
+     * @param event           the logging event to encode
+     * @param applicationName application name of the event's context
+     * @param conversationId  conversation of the event's context
+     * @param transactionId   transaction of the event's context
+     * @param out             buffer receiving the UTF-8 encoded line
+     */
+    public void encode(ILoggingEvent event, String applicationName, String conversationId, String transactionId,
+            LogLineBuffer out) {
+        out.reset();
+        out.append(TIME).appendTimestamp(event.getTimeStamp());
+        out.append(APPLICATION_NAME).appendJsonString(applicationName);
+        out.append(MARKER).appendJsonString(markerOf(event));
+        out.append(LOG_LEVEL).appendJsonString(event.getLevel().levelStr);
+        out.append(CONVERSATION_ID).appendJsonString(conversationId);
+        out.append(TRANSACTION_ID).appendJsonString(transactionId);
+        out.append(CLASS_NAME).appendJsonString(event.getLoggerName());
+        out.append(LOG_MESSAGE).appendJsonString(event.getFormattedMessage());
+        out.append(END);
+    }
+
+    /**
+     * Writes the fields of a {@link LoggingData} as a line ending in {@code \n}, which
+     * {@link LoggingData#toString()} leaves out.
+     */
+    static void encode(LoggingData data, long epochMillis, LogLineBuffer out) {
+        out.reset();
+        out.append(TIME).appendTimestamp(epochMillis);
+        out.append(APPLICATION_NAME).appendJsonString(data.getApplicationName());
+        out.append(MARKER).appendJsonString(data.getMarker());
+        out.append(LOG_LEVEL).appendJsonString(data.getLogLevel());
+        out.append(CONVERSATION_ID).appendJsonString(data.getConversationId());
+        out.append(TRANSACTION_ID).appendJsonString(data.getTransactionId());
+        out.append(CLASS_NAME).appendJsonString(data.getClassName());
+        out.append(LOG_MESSAGE).appendJsonString(data.getLogMessage());
+        out.append(END);
+    }
+
+    /**
+     * @return the name of the first marker of the event, or {@value #DEFAULT_MARKER}
+     */
+    static String markerOf(ILoggingEvent event) {
+        List<Marker> markerList = event.getMarkerList();
+        return markerList == null || markerList.isEmpty() ? DEFAULT_MARKER : markerList.get(0).getName();
+    }
+
+    /**
+     * Returns the byte representation of the log footer.
+     * <p>
+     * This implementation currently returns {@code null} as no footer is needed.
+     *
+     * @return footer bytes or {@code null}
+     */
+    @Override
+    public byte[] footerBytes() {
+        return null;
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
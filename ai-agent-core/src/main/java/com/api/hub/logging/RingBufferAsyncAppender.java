@@ -0,0 +1,458 @@
+package com.api.hub.logging;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Marker;
+
+import com.api.hub.ai.metrics.Metric;
+import com.api.hub.ai.metrics.MetricsRegistry;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.spi.AppenderAttachable;
+import ch.qos.logback.core.spi.AppenderAttachableImpl;
+
+/**
+ * Asynchronous Logback appender handing events to its attached appenders through a pre-allocated ring buffer.
+ *
+ * <p>Request threads only claim a slot of the buffer with a compare-and-set and copy the event into it, with the
+ * {@link LoggingData} of the thread, so they never wait for the console or the disk. A single worker thread
+ * drains the buffer in batches of up to {@code batchSize} events, passes them to the attached appenders with the
+ * captured {@link LoggingData} in place (so {@link LoggingEncoder} writes the context of the request, not of the
+ * worker), and flushes every attached {@link OutputStreamAppender} with {@code immediateFlush=false} once per
+ * batch: a burst of events costs one write instead of one per event.</p>
+ *
+ * <p>When the buffer is full, the {@code policy} decides:</p>
+ * <ul>
+ *   <li>{@code BLOCK} - the logging thread waits for a free slot; nothing is lost.</li>
+ *   <li>{@code DROP} (default) - low-priority events are dropped, protected ones wait.</li>
+ *   <li>{@code SAMPLE} - once the buffer is {@code sampleThreshold} percent full, only one in
+ *   {@code sampleRate} low-priority events is kept; when full they are dropped, protected ones wait.</li>
+ * </ul>
+ * <p>Events with a marker listed in {@code protectedMarkers} (default {@code AUDIT}, security, error and alert
+ * markers, see {@link com.api.hub.ai.constants.MarkerConstants MarkerConstants}) or a level of {@code WARN} or
+ * higher are protected: they are never dropped or sampled out.</p>
+ *
+ * <p>{@link #stop()} waits up to {@code shutdownTimeoutMs} for the worker to write what is left in the buffer; the
+ * worker stops the attached appenders once it has.</p>
+ *
+ * <p>The appender is a {@link Metric} named {@code logging.async.{name}}, reporting the occupancy of the buffer and
+ * the number of enqueued, dropped, sampled-out and blocked events and of batches.</p>
+ *
+ * <p><b>Configuration:</b></p>
+ * <pre>{@code
+ * <appender name="ASYNC_CHAT" class="com.api.hub.logging.RingBufferAsyncAppender">
+ *     <bufferSize>8192</bufferSize>
+ *     <policy>DROP</policy>
+ *     <appender-ref ref="DAILY_FILE_APPENDER" />
+ * </appender>
+ * }</pre>
+ *
+ * @see LoggingEncoder
+ * @since 1.0
+ */
+public class RingBufferAsyncAppender extends UnsynchronizedAppenderBase<ILoggingEvent>
+        implements AppenderAttachable<ILoggingEvent>, Metric {
+
+    /**
+     * What logging threads do when the buffer is full.
+     */
+    public enum FullPolicy {
+        /** Wait for a free slot. */
+        BLOCK,
+        /** Drop low-priority events, wait for protected ones. */
+        DROP,
+        /** Sample low-priority events above the threshold, drop them when full, wait for protected ones. */
+        SAMPLE
+    }
+
+    private static final long WAIT_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final long IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    /** Waits of {@link #WAIT_NANOS} for a claimed slot to be published once stopped, about 100 ms in all. */
+    private static final int SHUTDOWN_WAITS = 1000;
+
+    private final AppenderAttachableImpl<ILoggingEvent> appenders = new AppenderAttachableImpl<>();
+
+    private int bufferSize = 8192;
+    private int batchSize = 256;
+    private FullPolicy policy = FullPolicy.DROP;
+    private int sampleRate = 10;
+    private int sampleThreshold = 75;
+    private long shutdownTimeoutMs = 1000;
+    private Set<String> protectedMarkers = Set.of("AUDIT", "SECURITY", "AUTH", "AUTH_FAILURE", "ACCESS_DENIED", "ERROR",
+            "SYSTEM_ERROR", "ALERT");
+
+    private Slot[] slots;
+    private int mask;
+    private long sampleWatermark;
+    /** Next sequence claimed by a logging thread. */
+    private final AtomicLong tail = new AtomicLong();
+    /** Next sequence read by the worker; written by the worker only. */
+    private volatile long head;
+    private volatile boolean workerIdle;
+    private Thread worker;
+    private String metricName;
+
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder sampledOut = new LongAdder();
+    private final LongAdder blocked = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final AtomicLong sampleCounter = new AtomicLong();
+    private final Map<Appender<ILoggingEvent>, Boolean> flushFailed = new ConcurrentHashMap<>();
+
+    @Override
+    public void start() {
+        if (isStarted()) {
+            return;
+        }
+        if (!appenders.iteratorForAppenders().hasNext()) {
+            addError("No appender attached to " + getName());
+            return;
+        }
+        if (bufferSize <= 0 || batchSize <= 0 || sampleRate <= 0 || sampleThreshold <= 0 || sampleThreshold > 100) {
+            addError("Invalid settings of " + getName() + ", bufferSize - " + bufferSize + ", batchSize - " + batchSize
+                    + ", sampleRate - " + sampleRate + ", sampleThreshold - " + sampleThreshold);
+            return;
+        }
+        int capacity = Integer.highestOneBit(Math.max(2, bufferSize - 1)) << 1;
+        slots = new Slot[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new Slot(i);
+        }
+        mask = capacity - 1;
+        sampleWatermark = (long) capacity * sampleThreshold / 100;
+        tail.set(0);
+        head = 0;
+        worker = new Thread(this::drain, "log-ring-" + getName());
+        worker.setDaemon(true);
+        super.start();
+        worker.start();
+        metricName = "logging.async." + getName();
+        MetricsRegistry.register(metricName, this);
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+        super.stop();
+        LockSupport.unpark(worker);
+        try {
+            worker.join(shutdownTimeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (worker.isAlive()) {
+            addWarn(getName() + " stopped with " + getOccupancy()
+                    + " events not written, its appenders are stopped once they are");
+        }
+        MetricsRegistry.remove(metricName);
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        boolean important = isProtected(event);
+        if (!important && policy == FullPolicy.SAMPLE && getOccupancy() >= sampleWatermark
+                && sampleCounter.incrementAndGet() % sampleRate != 0) {
+            sampledOut.increment();
+            return;
+        }
+        event.prepareForDeferredProcessing();
+        LoggingData context = LoggingDataHolder.get();
+        if (!offer(event, context)) {
+            if (!important && policy != FullPolicy.BLOCK) {
+                dropped.increment();
+                return;
+            }
+            blocked.increment();
+            do {
+                if (!isStarted()) {
+                    dropped.increment();
+                    return;
+                }
+                LockSupport.parkNanos(this, WAIT_NANOS);
+            } while (!offer(event, context));
+        }
+        enqueued.increment();
+        if (workerIdle) {
+            LockSupport.unpark(worker);
+        }
+    }
+
+    /**
+     * Claims the next slot and publishes the event into it.
+     *
+     * @return {@code false} if the buffer is full
+     */
+    private boolean offer(ILoggingEvent event, LoggingData context) {
+        for (;;) {
+            long sequence = tail.get();
+            Slot slot = slots[(int) sequence & mask];
+            long available = slot.sequence - sequence;
+            if (available < 0) {
+                return false;
+            }
+            if (available == 0 && tail.compareAndSet(sequence, sequence + 1)) {
+                slot.event = event;
+                slot.context.setApplicationName(context.getApplicationName());
+                slot.context.setConversationId(context.getConversationId());
+                slot.context.setTransactionId(context.getTransactionId());
+                slot.sequence = sequence + 1;
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Worker loop: writes batches of events until the appender is stopped and the buffer is empty, then stops the
+     * attached appenders.
+     * <p>
+     * Once stopped, the buffer is empty when {@code head} reaches {@code tail}: a slot claimed by a logging thread
+     * but not yet published is waited for, up to {@link #SHUTDOWN_WAITS} times, rather than lost. The attached
+     * appenders are stopped here, not by {@link #stop()}, so they are never stopped while the worker still writes
+     * to them, even when {@code stop()} gives up waiting.
+     * </p>
+     */
+    private void drain() {
+        int waits = 0;
+        for (;;) {
+            int written = writeBatch();
+            if (written > 0) {
+                waits = 0;
+            } else {
+                if (!isStarted()) {
+                    if (head == tail.get() || ++waits > SHUTDOWN_WAITS) {
+                        if (head != tail.get()) {
+                            addWarn(getName() + " lost " + getOccupancy() + " events never published");
+                        }
+                        appenders.detachAndStopAllAppenders();
+                        return;
+                    }
+                    LockSupport.parkNanos(this, WAIT_NANOS);
+                    continue;
+                }
+                workerIdle = true;
+                if (getOccupancy() == 0) {
+                    LockSupport.parkNanos(this, IDLE_NANOS);
+                }
+                workerIdle = false;
+            }
+        }
+    }
+
+    /**
+     * Passes up to {@code batchSize} events to the attached appenders, then flushes them.
+     *
+     * @return number of events written
+     */
+    private int writeBatch() {
+        int written = 0;
+        long sequence = head;
+        while (written < batchSize) {
+            Slot slot = slots[(int) sequence & mask];
+            if (slot.sequence != sequence + 1) {
+                break;
+            }
+            LoggingDataHolder.set(slot.context);
+            try {
+                appenders.appendLoopOnAppenders(slot.event);
+            } catch (RuntimeException e) {
+                addError("Failed to write event of " + getName(), e);
+            }
+            slot.event = null;
+            slot.sequence = sequence + slots.length;
+            head = ++sequence;
+            written++;
+        }
+        if (written > 0) {
+            LoggingDataHolder.clear();
+            batches.increment();
+            flush();
+        }
+        return written;
+    }
+
+    /**
+     * Flushes the attached stream appenders that leave flushing to the caller.
+     */
+    private void flush() {
+        Iterator<Appender<ILoggingEvent>> it = appenders.iteratorForAppenders();
+        while (it.hasNext()) {
+            Appender<ILoggingEvent> appender = it.next();
+            if (appender instanceof OutputStreamAppender && !((OutputStreamAppender<ILoggingEvent>) appender).isImmediateFlush()) {
+                OutputStream out = ((OutputStreamAppender<ILoggingEvent>) appender).getOutputStream();
+                try {
+                    if (out != null) {
+                        out.flush();
+                    }
+                } catch (IOException e) {
+                    if (flushFailed.putIfAbsent(appender, Boolean.TRUE) == null) {
+                        addError("Failed to flush appender " + appender.getName(), e);
+                    }
+                }
+            }
+        }
+    }
+
+    private boolean isProtected(ILoggingEvent event) {
+        if (event.getLevel().isGreaterOrEqual(Level.WARN)) {
+            return true;
+        }
+        List<Marker> markers = event.getMarkerList();
+        if (markers != null) {
+            for (int i = 0; i < markers.size(); i++) {
+                if (protectedMarkers.contains(markers.get(i).getName())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return number of events waiting in the buffer
+     */
+    public long getOccupancy() {
+        return Math.max(0, tail.get() - head);
+    }
+
+    @Override
+    public Map<String, Number> snapshot() {
+        Map<String, Number> values = new LinkedHashMap<>();
+        long occupancy = getOccupancy();
+        int capacity = slots == null ? 0 : slots.length;
+        values.put("capacity", capacity);
+        values.put("occupancy", occupancy);
+        values.put("occupancyRatio", capacity == 0 ? 0.0 : (double) occupancy / capacity);
+        values.put("enqueued", enqueued.sum());
+        values.put("dropped", dropped.sum());
+        values.put("sampledOut", sampledOut.sum());
+        values.put("blocked", blocked.sum());
+        values.put("batches", batches.sum());
+        return values;
+    }
+
+    /**
+     * @param bufferSize number of slots, rounded up to a power of two (default 8192)
+     */
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * @param batchSize maximum number of events written between two flushes (default 256)
+     */
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * @param policy {@code BLOCK}, {@code DROP} or {@code SAMPLE}, case-insensitive
+     */
+    public void setPolicy(String policy) {
+        try {
+            this.policy = FullPolicy.valueOf(policy.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            addError("Unknown policy " + policy + " of " + getName() + ", expected BLOCK, DROP or SAMPLE");
+        }
+    }
+
+    /**
+     * @param sampleRate one in how many low-priority events is kept while sampling (default 10)
+     */
+    public void setSampleRate(int sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * @param sampleThreshold occupancy, in percent, above which low-priority events are sampled (default 75)
+     */
+    public void setSampleThreshold(int sampleThreshold) {
+        this.sampleThreshold = sampleThreshold;
+    }
+
+    /**
+     * @param shutdownTimeoutMs maximum time {@link #stop()} waits for the buffer to drain (default 1000); the
+     *                          worker keeps draining afterwards and stops the attached appenders when done
+     */
+    public void setShutdownTimeoutMs(long shutdownTimeoutMs) {
+        this.shutdownTimeoutMs = shutdownTimeoutMs;
+    }
+
+    /**
+     * @param protectedMarkers comma-separated names of markers whose events are never dropped
+     */
+    public void setProtectedMarkers(String protectedMarkers) {
+        this.protectedMarkers = Set.copyOf(Arrays.asList(protectedMarkers.trim().split("\\s*,\\s*")));
+    }
+
+    @Override
+    public void addAppender(Appender<ILoggingEvent> newAppender) {
+        appenders.addAppender(newAppender);
+    }
+
+    @Override
+    public Iterator<Appender<ILoggingEvent>> iteratorForAppenders() {
+        return appenders.iteratorForAppenders();
+    }
+
+    @Override
+    public Appender<ILoggingEvent> getAppender(String name) {
+        return appenders.getAppender(name);
+    }
+
+    @Override
+    public boolean isAttached(Appender<ILoggingEvent> appender) {
+        return appenders.isAttached(appender);
+    }
+
+    @Override
+    public void detachAndStopAllAppenders() {
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    public boolean detachAppender(Appender<ILoggingEvent> appender) {
+        return appenders.detachAppender(appender);
+    }
+
+    @Override
+    public boolean detachAppender(String name) {
+        return appenders.detachAppender(name);
+    }
+
+    /**
+     * One pre-allocated entry of the ring.
+     * <p>
+     * {@code sequence} equals the claiming sequence while the slot is free and the claiming sequence plus one
+     * once the event is published; the worker then moves it one lap ahead.
+     * </p>
+     */
+    private static final class Slot {
+
+        private volatile long sequence;
+        private ILoggingEvent event;
+        private final LoggingData context = new LoggingData();
+
+        private Slot(long sequence) {
+            this.sequence = sequence;
+        }
+    }
+}
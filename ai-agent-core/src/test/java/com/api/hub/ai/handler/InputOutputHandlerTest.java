@@ -0,0 +1,57 @@
+package com.api.hub.ai.handler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+import com.api.hub.ai.handler.impl.EnvironmentState;
+
+class InputOutputHandlerTest {
+
+    @Test
+    void defaultEmitAppendsToTheOutput() {
+        InputOutputHandler handler = new PlainHandler();
+
+        handler.emit("Your order ");
+        handler.emit("ships Monday.");
+
+        assertEquals("Your order ships Monday.", handler.getOut());
+    }
+
+    /**
+     * Handler relying on the default {@link InputOutputHandler#emit(String)}.
+     */
+    private static final class PlainHandler implements InputOutputHandler {
+
+        private String out;
+        private boolean success;
+
+        @Override
+        public void setInput(String input) {
+        }
+
+        @Override
+        public void setOutPut(String output) {
+            out = output;
+        }
+
+        @Override
+        public void setState(EnvironmentState state) {
+        }
+
+        @Override
+        public String getOut() {
+            return out;
+        }
+
+        @Override
+        public void status(boolean isSuccess) {
+            success = isSuccess;
+        }
+
+        @Override
+        public boolean isSuccess() {
+            return success;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.api.hub.ai.handler.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.api.hub.exception.NetworkException;
+
+class AdmissionControllerTest {
+
+    @Test
+    void queuedTurnExpiresWithoutOtherActivity() {
+        AdmissionController controller = controller(1, 50);
+        CompletableFuture<String> running = new CompletableFuture<>();
+        controller.submit(() -> running);
+
+        CompletableFuture<String> queued = controller.submit(() -> CompletableFuture.completedFuture("late"));
+
+        ExecutionException error = assertThrows(ExecutionException.class, () -> queued.get(2, TimeUnit.SECONDS));
+        NetworkException cause = assertInstanceOf(NetworkException.class, error.getCause());
+        assertEquals("7011-ai-hub", cause.getErrorCode());
+        assertEquals(1L, controller.snapshot().get("expired"));
+        running.complete("done");
+    }
+
+    @Test
+    void queuedTurnRunsWhenASlotFreesInTime() throws Exception {
+        AdmissionController controller = controller(1, 1000);
+        CompletableFuture<String> running = new CompletableFuture<>();
+        controller.submit(() -> running);
+        CompletableFuture<String> queued = controller.submit(() -> CompletableFuture.completedFuture("next"));
+
+        running.complete("done");
+
+        assertEquals("next", queued.get(2, TimeUnit.SECONDS));
+        assertEquals(0, controller.getInFlight());
+    }
+
+    @Test
+    void unsuccessfulResultCutsTheLimit() throws Exception {
+        AdmissionController controller = controller(20, 1000);
+
+        controller.submit(() -> CompletableFuture.completedFuture("ok"), value -> value.equals("ok")).get();
+        assertEquals(20, controller.getLimit());
+        String value = controller.submit(() -> CompletableFuture.completedFuture("failed"), result -> result.equals("ok")).get();
+
+        assertEquals("failed", value);
+        assertTrue(controller.getLimit() < 20, "limit - " + controller.getLimit());
+    }
+
+    private static AdmissionController controller(int limit, long queueTimeoutMs) {
+        AdmissionController controller = new AdmissionController();
+        ReflectionTestUtils.setField(controller, "initialLimit", limit);
+        ReflectionTestUtils.setField(controller, "minLimit", 1);
+        ReflectionTestUtils.setField(controller, "queueTimeoutMs", queueTimeoutMs);
+        controller.init();
+        return controller;
+    }
+}
@@ -0,0 +1,53 @@
+package com.api.hub.ai.handler.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import com.api.hub.ai.pojo.State;
+import com.api.hub.exception.NetworkException;
+
+class AgentDefinationTest {
+
+    @Test
+    void interruptedCallIsNeitherAFailureNorALoadSample() throws Exception {
+        CircuitBreaker breaker = new CircuitBreaker("agent", 4, 1, 50, 0, 1);
+        breaker.onError(new NetworkException("7001-ai-hub", "connection reset", ""));
+        AgentDefination agent = agent((handler, state) -> {
+            throw new InterruptedException();
+        });
+        agent.setCircuitBreaker(breaker);
+
+        try {
+            NetworkException error = assertThrows(NetworkException.class, () -> agent.invokeAgent(new State()));
+            assertEquals("7002-ai-hub", error.getErrorCode());
+            assertTrue(Thread.currentThread().isInterrupted());
+        } finally {
+            Thread.interrupted();
+        }
+
+        assertEquals(CircuitBreaker.Status.HALF_OPEN, breaker.getStatus());
+        assertTrue(breaker.allowsCalls(), "the cancelled trial call is released");
+        assertEquals(0, agent.getLoad().getInFlight());
+        assertEquals(0.0, agent.getLoad().getErrorEwma());
+    }
+
+    @Test
+    void errorsOfTheAgentAreRethrown() {
+        AgentDefination agent = agent((handler, state) -> {
+            throw new StackOverflowError();
+        });
+
+        assertThrows(StackOverflowError.class, () -> agent.invokeAgent(new State()));
+        assertEquals(0, agent.getLoad().getInFlight());
+    }
+
+    private static AgentDefination agent(AgentMethodInvoker invoker) {
+        AgentDefination agent = new AgentDefination();
+        agent.setName("agent");
+        agent.setInvoker(invoker);
+        return agent;
+    }
+}
@@ -0,0 +1,94 @@
+package com.api.hub.ai.handler.impl;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the ways of calling an {@code @Agent} method.
+ * <p>
+ * {@code direct} is a plain call and the lower bound; {@code reflective} repeats what
+ * {@link AgentDefination#invokeAgent} used to do ({@code setAccessible}, argument array, {@code Method.invoke}
+ * and unboxing); {@code generated} calls the {@link AgentMethodInvoker} built by {@link AgentMethodInvokers}
+ * and {@code methodHandle} its fallback.
+ * </p>
+ * <p>
+ * Run after {@code mvn test-compile} with
+ * {@code java -cp target/test-classes:target/classes:<test classpath> org.openjdk.jmh.Main AgentInvocationBenchmark},
+ * the classpath being printed by {@code mvn dependency:build-classpath}.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AgentInvocationBenchmark {
+
+    private SampleAgent agent;
+    private com.api.hub.ai.pojo.State state;
+    private Method method;
+    private AgentMethodInvoker generated;
+    private AgentMethodInvoker methodHandle;
+
+    @Setup
+    public void setup() throws Exception {
+        agent = new SampleAgent();
+        state = new com.api.hub.ai.pojo.State();
+        method = SampleAgent.class.getDeclaredMethod("handle", com.api.hub.ai.pojo.State.class);
+        generated = AgentMethodInvokers.of(method);
+        java.lang.invoke.MethodHandle exact = java.lang.invoke.MethodHandles.lookup().unreflect(method)
+                .asType(java.lang.invoke.MethodType.methodType(boolean.class, Object.class, com.api.hub.ai.pojo.State.class));
+        methodHandle = (handler, s) -> (boolean) exact.invokeExact(handler, s);
+    }
+
+    @Benchmark
+    public boolean direct() {
+        return agent.handle(state);
+    }
+
+    @Benchmark
+    public boolean reflective() throws Exception {
+        method.setAccessible(true);
+        return (boolean) method.invoke(agent, new Object[] { state });
+    }
+
+    @Benchmark
+    public boolean generated() throws Throwable {
+        return generated.invoke(agent, state);
+    }
+
+    @Benchmark
+    public boolean methodHandle() throws Throwable {
+        return methodHandle.invoke(agent, state);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(AgentInvocationBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    /**
+     * Agent with a trivial body, so that the measurement is dominated by the call itself.
+     */
+    public static class SampleAgent {
+
+        private int calls;
+
+        public boolean handle(com.api.hub.ai.pojo.State state) {
+            return (++calls & 1) == 0 && state != null;
+        }
+    }
+}
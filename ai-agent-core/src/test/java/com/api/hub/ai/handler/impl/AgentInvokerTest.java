@@ -0,0 +1,87 @@
+package com.api.hub.ai.handler.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import com.api.hub.ai.pojo.Goal;
+import com.api.hub.ai.pojo.State;
+import com.api.hub.ai.pojo.Task;
+import com.api.hub.ai.pojo.TurnContext;
+import com.api.hub.exception.NetworkException;
+
+class AgentInvokerTest {
+
+    @Test
+    void defaultAgentRunsOnTheCallingThreadWithinTheDeadline() throws Exception {
+        AtomicReference<Thread> ran = new AtomicReference<>();
+        State state = state((handler, s) -> {
+            ran.set(Thread.currentThread());
+            return true;
+        }, new TurnContext(30_000));
+
+        assertTrue(AgentInvoker.invoke(state, new AgentExecutors()));
+        assertSame(Thread.currentThread(), ran.get());
+    }
+
+    @Test
+    void inlineAgentIsInterruptedAtTheDeadline() {
+        TurnContext turn = new TurnContext(100);
+        State state = state((handler, s) -> {
+            Thread.sleep(10_000);
+            return true;
+        }, turn);
+
+        long start = System.nanoTime();
+        NetworkException error = assertThrows(NetworkException.class, () -> AgentInvoker.invoke(state, new AgentExecutors()));
+
+        assertEquals("7002-ai-hub", error.getErrorCode());
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+        assertTrue(turn.isCancelled());
+        assertFalse(Thread.currentThread().isInterrupted(), "the interrupt was meant for the agent only");
+    }
+
+    @Test
+    void cancelledTurnInterruptsTheInlineAgent() throws Exception {
+        TurnContext turn = new TurnContext(0);
+        State state = state((handler, s) -> {
+            Thread.sleep(10_000);
+            return true;
+        }, turn);
+        Thread canceller = new Thread(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                return;
+            }
+            turn.cancel("user left");
+        });
+        canceller.start();
+
+        NetworkException error = assertThrows(NetworkException.class, () -> AgentInvoker.invoke(state, new AgentExecutors()));
+
+        assertEquals("7002-ai-hub", error.getErrorCode());
+        assertFalse(Thread.currentThread().isInterrupted());
+        canceller.join();
+    }
+
+    private static State state(AgentMethodInvoker invoker, TurnContext turn) {
+        AgentDefination agent = new AgentDefination();
+        agent.setName("agent");
+        agent.setInvoker(invoker);
+        Goal goal = new Goal();
+        goal.setGoal("greet");
+        State state = new State();
+        state.setAgentDefination(agent);
+        state.setTaskToPerform(new Task("ask", "payload", "user", goal));
+        state.setTurnContext(turn);
+        return state;
+    }
+}
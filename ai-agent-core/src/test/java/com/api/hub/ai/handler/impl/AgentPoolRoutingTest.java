@@ -0,0 +1,168 @@
+package com.api.hub.ai.handler.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.api.hub.ai.constants.RoutingPolicy;
+import com.api.hub.ai.pojo.Goal;
+import com.api.hub.ai.pojo.Task;
+import com.api.hub.exception.NetworkException;
+
+class AgentPoolRoutingTest {
+
+    @Test
+    void leastLoadedPrefersTheFasterAgent() {
+        AgentDefination fast = agent("fast", 1_000_000);
+        AgentDefination slow = agent("slow", 50_000_000);
+
+        assertSame(fast, pool(RoutingPolicy.LEAST_LOADED).selectAgent(List.of(slow, fast)));
+    }
+
+    @Test
+    void agentWithOpenBreakerCompetesAgainOnceTheOpenPeriodIsOver() throws Exception {
+        AgentDefination recovering = agent("recovering", 0);
+        CircuitBreaker breaker = new CircuitBreaker("recovering", 4, 1, 50, 100, 1);
+        recovering.setCircuitBreaker(breaker);
+        AgentDefination other = agent("other", 5_000_000);
+        AgentPool pool = pool(RoutingPolicy.LEAST_LOADED);
+
+        breaker.onError(new NetworkException("7002-ai-hub", "timed out", ""));
+        assertFalse(breaker.allowsCalls());
+        assertSame(other, pool.selectAgent(List.of(recovering, other)));
+
+        Thread.sleep(150);
+        assertTrue(breaker.allowsCalls());
+        assertSame(recovering, pool.selectAgent(List.of(recovering, other)));
+        assertTrue(breaker.tryAcquire());
+        assertFalse(breaker.allowsCalls(), "the only trial call is taken");
+    }
+
+    @Test
+    void defaultSnapshotRoutingOnlyReturnsAgentsOfTheSnapshot() throws Exception {
+        AgentPool pool = new LatestAgentPool();
+        AgentDefination first = agent("first", 0);
+        first.setGoalNames(List.of("greet"));
+        pool.addAgent(first);
+        AgentPoolSnapshot snapshot = pool.getSnapshot();
+        AgentDefination added = agent("added", 0);
+        added.setGoalNames(List.of("greet"));
+        pool.addAgent(added);
+
+        assertSame(added, pool.getMatchingAgent(pool.getSnapshot(), task("greet")));
+        assertSame(first, pool.getMatchingAgent(snapshot, task("greet")));
+    }
+
+    @Test
+    void anyGoalAgentsAreMappedToTheDeclaredGoals() throws Exception {
+        AgentPool pool = new LatestAgentPool();
+        AgentDefination any = agent("any", 0);
+        any.setGoalNames(List.of(AgentPoolSnapshot.ANY_GOAL));
+        AgentDefination billing = agent("billing", 0);
+        billing.setGoalNames(List.of("billing"));
+        pool.addAgents(List.of(any, billing));
+        assertEquals(List.of(any, billing), pool.getSnapshot().getAgentsForGoal("billing"));
+
+        pool.goals = new ArrayList<>(List.of("greet"));
+        pool.refresh();
+
+        assertEquals(List.of(any), pool.getSnapshot().getAgentsForGoal("greet"));
+        assertEquals(List.of(billing), pool.getSnapshot().getAgentsForGoal("billing"));
+        assertEquals(List.of(any), pool.getSnapshot().getAgentsForGoal("other"));
+    }
+
+    @Test
+    void taskWithoutAGoalOnlyGetsThePreferredAgent() throws Exception {
+        AgentPool pool = new LatestAgentPool();
+        AgentDefination first = agent("first", 0);
+        first.setGoalNames(List.of("greet"));
+        pool.addAgent(first);
+
+        Task task = task("greet");
+        task.setCurrentGoal(null);
+
+        assertEquals(List.of(first), pool.getMatchingAgents(task));
+    }
+
+    @Test
+    void customPoolProvidingEquivalentAgentsGetsTheRoutingPolicy() throws Exception {
+        AgentPool pool = new GoalAgentPool();
+        AgentDefination slow = agent("slow", 50_000_000);
+        slow.setGoalNames(List.of("greet"));
+        AgentDefination fast = agent("fast", 1_000_000);
+        fast.setGoalNames(List.of("greet"));
+        pool.addAgents(List.of(slow, fast));
+
+        assertSame(slow, pool.getMatchingAgent(pool.getSnapshot(), task("greet")));
+
+        pool.setRoutingPolicy(RoutingPolicy.LEAST_LOADED);
+
+        assertSame(fast, pool.getMatchingAgent(pool.getSnapshot(), task("greet")));
+        assertTrue(pool.appliesRoutingPolicy());
+    }
+
+    @Test
+    void onlyPoolsChoosingAmongEquivalentAgentsApplyTheRoutingPolicy() {
+        assertFalse(new LatestAgentPool().appliesRoutingPolicy());
+        assertTrue(new IndexedAgentPool("test_pool").appliesRoutingPolicy());
+    }
+
+    private static Task task(String goalName) {
+        Goal goal = new Goal();
+        goal.setGoal(goalName);
+        return new Task("ask", "payload", "user", goal);
+    }
+
+    /**
+     * Pool matching on the live agents only, always choosing the latest one added.
+     */
+    private static final class LatestAgentPool extends AgentPool {
+
+        @Override
+        public AgentDefination getMatchingAgent(Task task) {
+            AgentDefination latest = null;
+            for (AgentDefination def : agentsMap.values()) {
+                latest = def;
+            }
+            return latest;
+        }
+    }
+
+    /**
+     * Pool matching by goal alone, leaving the choice among the agents of the goal to the routing policy.
+     */
+    private static final class GoalAgentPool extends AgentPool {
+
+        @Override
+        public AgentDefination getMatchingAgent(Task task) {
+            return getMatchingAgent(getSnapshot(), task);
+        }
+
+        @Override
+        protected List<AgentDefination> getEquivalentAgents(AgentPoolSnapshot snapshot, Task task) {
+            return snapshot.getAgentsForGoal(task.getCurrentGoal().getGoal());
+        }
+    }
+
+    private static AgentPool pool(RoutingPolicy policy) {
+        AgentPool pool = new IndexedAgentPool("test_pool");
+        pool.setRoutingPolicy(policy);
+        return pool;
+    }
+
+    private static AgentDefination agent(String name, long latencyNanos) {
+        AgentDefination def = new AgentDefination();
+        def.setName(name);
+        if (latencyNanos > 0) {
+            def.getLoad().start();
+            def.getLoad().complete(latencyNanos, false);
+        }
+        return def;
+    }
+}
@@ -0,0 +1,103 @@
+package com.api.hub.ai.handler.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.api.hub.exception.ApiHubException;
+import com.api.hub.exception.InternalServerException;
+import com.api.hub.exception.NetworkException;
+
+class BulkheadTest {
+
+    private static final long NO_DEADLINE = Long.MAX_VALUE;
+
+    @Test
+    void callsBeyondTheQueueAreRejectedAtOnce() throws Exception {
+        Bulkhead bulkhead = new Bulkhead("agent", 1, 0, 1000);
+        bulkhead.acquire(NO_DEADLINE);
+
+        long start = System.nanoTime();
+        NetworkException error = assertThrows(NetworkException.class, () -> bulkhead.acquire(NO_DEADLINE));
+
+        assertEquals("7012-ai-hub", error.getErrorCode());
+        assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(500));
+        assertEquals(1L, bulkhead.snapshot().get("rejected"));
+        assertEquals(1, bulkhead.getActive());
+    }
+
+    @Test
+    void queuedCallRunsWhenAPermitIsReleased() throws Exception {
+        Bulkhead bulkhead = new Bulkhead("agent", 1, 1, 2000);
+        bulkhead.acquire(NO_DEADLINE);
+        CompletableFuture<Void> queued = CompletableFuture.runAsync(() -> {
+            try {
+                bulkhead.acquire(NO_DEADLINE);
+            } catch (ApiHubException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        awaitQueued(bulkhead, 1);
+
+        bulkhead.release();
+
+        queued.get(2, TimeUnit.SECONDS);
+        assertEquals(1, bulkhead.getActive());
+        assertEquals(2L, bulkhead.snapshot().get("admitted"));
+        assertEquals(0, bulkhead.snapshot().get("queued"));
+        bulkhead.release();
+        assertEquals(0, bulkhead.getActive());
+    }
+
+    @Test
+    void queuedCallTimesOutWithinTheShorterOfQueueTimeoutAndDeadline() throws Exception {
+        Bulkhead bulkhead = new Bulkhead("agent", 1, 1, 5000);
+        bulkhead.acquire(NO_DEADLINE);
+
+        long start = System.nanoTime();
+        NetworkException error = assertThrows(NetworkException.class,
+                () -> bulkhead.acquire(TimeUnit.MILLISECONDS.toNanos(50)));
+
+        long waited = System.nanoTime() - start;
+        assertEquals("7012-ai-hub", error.getErrorCode());
+        assertTrue(waited >= TimeUnit.MILLISECONDS.toNanos(50) && waited < TimeUnit.SECONDS.toNanos(2), "waited - " + waited);
+        assertEquals(1L, bulkhead.snapshot().get("timedOut"));
+        assertEquals(0, bulkhead.snapshot().get("queued"));
+    }
+
+    @Test
+    void interruptedWaitFailsAndKeepsTheInterrupt() throws Exception {
+        Bulkhead bulkhead = new Bulkhead("agent", 1, 1, 5000);
+        bulkhead.acquire(NO_DEADLINE);
+
+        Thread.currentThread().interrupt();
+        try {
+            InternalServerException error = assertThrows(InternalServerException.class, () -> bulkhead.acquire(NO_DEADLINE));
+            assertEquals("8005-ai-hub", error.getErrorCode());
+            assertTrue(Thread.currentThread().isInterrupted());
+        } finally {
+            Thread.interrupted();
+        }
+        assertEquals(0, bulkhead.snapshot().get("queued"));
+    }
+
+    @Test
+    void invalidLimitsAreRefused() {
+        assertThrows(IllegalArgumentException.class, () -> new Bulkhead("agent", 0, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> new Bulkhead("agent", 1, -1, 0));
+        assertThrows(IllegalArgumentException.class, () -> new Bulkhead("agent", 1, 0, -1));
+    }
+
+    private static void awaitQueued(Bulkhead bulkhead, int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (bulkhead.snapshot().get("queued").intValue() < count && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(count, bulkhead.snapshot().get("queued"));
+    }
+}
@@ -0,0 +1,140 @@
+package com.api.hub.ai.handler.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import com.api.hub.ai.pojo.TurnContext;
+import com.api.hub.exception.ConfigurationException;
+import com.api.hub.exception.InputException;
+import com.api.hub.exception.NetworkException;
+import com.api.hub.exception.ServiceException;
+
+class CircuitBreakerTest {
+
+    private static final ServiceException FAILURE = new ServiceException("3002-ai-hub", "service failed", "");
+
+    @Test
+    void opensOnceMinCallsReachTheFailureRate() {
+        CircuitBreaker breaker = new CircuitBreaker("agent", 10, 4, 50, 60_000, 1);
+
+        breaker.onError(FAILURE);
+        breaker.onError(FAILURE);
+        breaker.onError(FAILURE);
+        assertEquals(CircuitBreaker.Status.CLOSED, breaker.getStatus(), "fewer than minCalls recorded");
+
+        breaker.onSuccess();
+        assertEquals(75.0, breaker.getFailureRate());
+        breaker.onError(FAILURE);
+
+        assertEquals(CircuitBreaker.Status.OPEN, breaker.getStatus());
+        assertFalse(breaker.tryAcquire());
+        assertFalse(breaker.allowsCalls());
+        assertEquals(1L, breaker.snapshot().get("refused"));
+        assertEquals(1L, breaker.snapshot().get("opened"));
+    }
+
+    @Test
+    void failureRateIsComputedOverTheLastWindowOnly() {
+        CircuitBreaker breaker = new CircuitBreaker("agent", 4, 4, 50, 60_000, 1);
+        breaker.onError(FAILURE);
+        for (int i = 0; i < 6; i++) {
+            breaker.onSuccess();
+        }
+
+        assertEquals(0.0, breaker.getFailureRate());
+        assertEquals(CircuitBreaker.Status.CLOSED, breaker.getStatus());
+    }
+
+    @Test
+    void halfOpenTrialSuccessClosesTheBreaker() throws Exception {
+        CircuitBreaker breaker = openBreaker(2);
+
+        Thread.sleep(80);
+
+        assertTrue(breaker.allowsCalls());
+        assertTrue(breaker.tryAcquire());
+        assertEquals(CircuitBreaker.Status.HALF_OPEN, breaker.getStatus());
+        assertTrue(breaker.tryAcquire());
+        assertFalse(breaker.tryAcquire(), "both trial calls are in flight");
+
+        breaker.onSuccess();
+
+        assertEquals(CircuitBreaker.Status.CLOSED, breaker.getStatus());
+        assertEquals(0.0, breaker.getFailureRate());
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    void halfOpenTrialFailureReopensTheBreaker() throws Exception {
+        CircuitBreaker breaker = openBreaker(1);
+
+        Thread.sleep(80);
+        assertTrue(breaker.tryAcquire());
+        breaker.onError(FAILURE);
+
+        assertEquals(CircuitBreaker.Status.OPEN, breaker.getStatus());
+        assertFalse(breaker.tryAcquire());
+        assertEquals(2L, breaker.snapshot().get("opened"));
+    }
+
+    @Test
+    void nonDependencyErrorsAreIgnored() throws Exception {
+        assertFalse(CircuitBreaker.isFailure(new InputException("1002-ai-hub", "bad input", "")));
+        assertFalse(CircuitBreaker.isFailure(new ConfigurationException("6002-ai-hub", "bad config", "")));
+        assertFalse(CircuitBreaker.isFailure(new NetworkException("7011-ai-hub", "overloaded", "")));
+        assertFalse(CircuitBreaker.isFailure(new NetworkException("7012-ai-hub", "bulkhead full", "")));
+        assertTrue(CircuitBreaker.isFailure(new InputException("1001-ai-hub", "agent failed", "")));
+        assertTrue(CircuitBreaker.isFailure(new NetworkException("7002-ai-hub", "timed out", "")));
+        assertTrue(CircuitBreaker.isFailure(FAILURE));
+
+        CircuitBreaker breaker = openBreaker(1);
+        Thread.sleep(80);
+        assertTrue(breaker.tryAcquire());
+        breaker.onError(new InputException("1002-ai-hub", "bad input", ""));
+
+        assertEquals(CircuitBreaker.Status.HALF_OPEN, breaker.getStatus());
+        assertTrue(breaker.tryAcquire(), "an ignored error releases its trial call");
+    }
+
+    @Test
+    void turnCancellationAndDeadlineAreNotCounted() throws Exception {
+        CircuitBreaker breaker = new CircuitBreaker("agent", 4, 1, 50, 60_000, 1);
+        NetworkException timedOut = new NetworkException("7002-ai-hub", "turn deadline exceeded", "");
+        TurnContext expired = new TurnContext(1);
+        Thread.sleep(5);
+        TurnContext superseded = new TurnContext(60_000);
+        superseded.supersede();
+
+        breaker.onError(timedOut, expired);
+        breaker.onError(timedOut, superseded);
+
+        assertEquals(CircuitBreaker.Status.CLOSED, breaker.getStatus());
+        assertEquals(0.0, breaker.getFailureRate());
+        assertFalse(CircuitBreaker.isFailure(timedOut, expired));
+        assertFalse(CircuitBreaker.isFailure(timedOut, superseded));
+
+        breaker.onError(timedOut, new TurnContext(60_000));
+
+        assertEquals(CircuitBreaker.Status.OPEN, breaker.getStatus(), "a dependency timeout within the turn still counts");
+    }
+
+    @Test
+    void invalidSettingsAreRefused() {
+        assertThrows(IllegalArgumentException.class, () -> new CircuitBreaker("agent", 0, 0, 50, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new CircuitBreaker("agent", 4, 5, 50, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new CircuitBreaker("agent", 4, 1, 101, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new CircuitBreaker("agent", 4, 1, 50, -1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new CircuitBreaker("agent", 4, 1, 50, 0, 0));
+    }
+
+    private static CircuitBreaker openBreaker(int halfOpenCalls) {
+        CircuitBreaker breaker = new CircuitBreaker("agent", 4, 1, 50, 50, halfOpenCalls);
+        breaker.onError(FAILURE);
+        assertEquals(CircuitBreaker.Status.OPEN, breaker.getStatus());
+        return breaker;
+    }
+}
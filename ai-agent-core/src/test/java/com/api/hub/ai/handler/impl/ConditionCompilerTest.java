@@ -0,0 +1,132 @@
+package com.api.hub.ai.handler.impl;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.regex.PatternSyntaxException;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.api.hub.ai.pojo.Condition;
+import com.api.hub.ai.pojo.Goal;
+import com.api.hub.ai.pojo.Task;
+
+class ConditionCompilerTest {
+
+    @Test
+    void simplePayloadTypeIsCompiledAgainstThePayloadClass() {
+        Predicate<Task> predicate = ConditionCompiler.compile(condition("Order", "OPEN"), getClass().getClassLoader());
+
+        assertTrue(predicate.test(task(new Order("OPEN"))));
+        assertFalse(predicate.test(task(new Order("CLOSED"))));
+
+        Object compiled = ReflectionTestUtils.getField(predicate, "compiled");
+        assertNotNull(compiled);
+        assertNotSame(ReflectionTestUtils.getField(predicate, "reflective"), compiled);
+    }
+
+    @Test
+    void otherClassesWithTheSameSimpleNameAreMatchedReflectively() {
+        Predicate<Task> predicate = ConditionCompiler.compile(condition("Order", "OPEN"), getClass().getClassLoader());
+        assertTrue(predicate.test(task(new Order("OPEN"))));
+
+        assertTrue(predicate.test(task(new Legacy.Order("OPEN"))));
+        assertFalse(predicate.test(task(new Legacy.Order("CLOSED"))));
+        assertFalse(predicate.test(task("OPEN")));
+    }
+
+    @Test
+    void qualifiedPayloadTypeIsCompiledUpFront() throws Exception {
+        Predicate<Task> predicate = ConditionCompiler.compileOrFail(condition(Order.class.getName(), "OPEN"),
+                getClass().getClassLoader());
+
+        assertTrue(predicate.test(task(new Order("OPEN"))));
+        assertFalse(predicate.test(task(new Order("CLOSED"))));
+    }
+
+    @Test
+    void throwingPayloadMethodFailsTheConditionOnBothPaths() throws Exception {
+        Condition condition = condition(Faulty.class.getName(), "OPEN");
+        Predicate<Task> compiled = ConditionCompiler.compileOrFail(condition, getClass().getClassLoader());
+        Predicate<Task> reflective = ConditionCompiler.reflective(condition);
+
+        assertFalse(compiled.test(task(new Faulty())));
+        assertFalse(reflective.test(task(new Faulty())));
+    }
+
+    @Test
+    void reflectiveMatchesUseTheExpression() {
+        Condition condition = new Condition();
+        condition.setTaskDescription(List.<Object[]>of(new Object[] { "matches", "refund .* \\d+" }));
+        Predicate<Task> predicate = ConditionCompiler.reflective(condition);
+
+        Task task = task("payload");
+        task.setDescription("refund of order 42");
+        assertTrue(predicate.test(task));
+        task.setDescription("refund of order x");
+        assertFalse(predicate.test(task));
+    }
+
+    @Test
+    void invalidExpressionFailsValidation() {
+        Condition condition = new Condition();
+        condition.setTaskDescription(List.<Object[]>of(new Object[] { "matches", "refund (" }));
+
+        assertThrows(PatternSyntaxException.class, () -> ConditionEvaluator.validate(condition));
+    }
+
+    private static Condition condition(String type, String status) {
+        Condition condition = new Condition();
+        condition.setTaskObjectType(List.of(type));
+        condition.setTaskObjectMethodValue(List.<Object[]>of(new Object[] { "getStatus", status }));
+        return condition;
+    }
+
+    private static Task task(Object payload) {
+        Goal goal = new Goal();
+        goal.setGoal("support");
+        return new Task("classify", payload, "user", goal);
+    }
+
+    public static class Order {
+
+        private final String status;
+
+        public Order(String status) {
+            this.status = status;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+    }
+
+    public static class Faulty {
+
+        public String getStatus() {
+            throw new IllegalStateException("status not loaded");
+        }
+    }
+
+    public static class Legacy {
+
+        public static class Order {
+
+            private final String status;
+
+            public Order(String status) {
+                this.status = status;
+            }
+
+            public String getStatus() {
+                return status;
+            }
+        }
+    }
+}
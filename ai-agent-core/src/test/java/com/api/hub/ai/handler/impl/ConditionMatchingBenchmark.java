@@ -0,0 +1,142 @@
+package com.api.hub.ai.handler.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.api.hub.ai.pojo.Condition;
+import com.api.hub.ai.pojo.Goal;
+import com.api.hub.ai.pojo.Task;
+
+/**
+ * Compares condition matching with Janino-compiled predicates against the reflective evaluator.
+ * <p>
+ * {@code predicate*} measure a single condition with description and payload-method tests;
+ * {@code pool*} measure {@link IndexedAgentPool#getMatchingAgent(Task)} on a pool of 200 agents.
+ * </p>
+ * <p>
+ * Run after {@code mvn test-compile} with
+ * {@code java -cp target/test-classes:target/classes:<test classpath> org.openjdk.jmh.Main ConditionMatchingBenchmark},
+ * the classpath being printed by {@code mvn dependency:build-classpath}.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConditionMatchingBenchmark {
+
+    private static final int AGENTS = 200;
+
+    private Predicate<Task> compiled;
+    private Predicate<Task> reflective;
+    private IndexedAgentPool compiledPool;
+    private IndexedAgentPool reflectivePool;
+    private Task task;
+
+    @Setup
+    public void setup() throws Exception {
+        Condition condition = condition("refund", "OPEN");
+        compiled = ConditionCompiler.compileOrFail(condition, getClass().getClassLoader());
+        reflective = ConditionCompiler.reflective(condition);
+
+        compiledPool = pool(true);
+        reflectivePool = pool(false);
+
+        Goal goal = new Goal();
+        goal.setGoal("support");
+        task = new Task("classify", new Order("OPEN", "EU"), "user", goal);
+        task.setDescription("customer asks for a refund of order 42");
+    }
+
+    private static IndexedAgentPool pool(boolean compile) throws Exception {
+        IndexedAgentPool pool = new IndexedAgentPool("benchmark", compile);
+        List<AgentDefination> agents = new ArrayList<>();
+        for (int i = 0; i < AGENTS; i++) {
+            AgentDefination def = new AgentDefination();
+            def.setName("agent-" + i);
+            def.setCondition(condition(i == AGENTS - 1 ? "refund" : "topic" + i, i % 2 == 0 ? "OPEN" : "CLOSED"));
+            agents.add(def);
+        }
+        pool.addAgents(agents);
+        return pool;
+    }
+
+    private static Condition condition(String keyword, String status) {
+        Condition condition = new Condition();
+        condition.setTaskGoalName(List.of("support"));
+        condition.setTaskName(List.of("classify"));
+        condition.setTaskObjectType(List.of(Order.class.getName()));
+        List<Object[]> description = new ArrayList<>();
+        description.add(new Object[] { "contains", keyword });
+        description.add(new Object[] { "matches", ".*order \\d+" });
+        condition.setTaskDescription(description);
+        List<Object[]> methods = new ArrayList<>();
+        methods.add(new Object[] { "getStatus", status });
+        methods.add(new Object[] { "getRegion", "EU" });
+        condition.setTaskObjectMethodValue(methods);
+        return condition;
+    }
+
+    @Benchmark
+    public boolean predicateCompiled() {
+        return compiled.test(task);
+    }
+
+    @Benchmark
+    public boolean predicateReflective() {
+        return reflective.test(task);
+    }
+
+    @Benchmark
+    public AgentDefination poolCompiled() {
+        return compiledPool.getMatchingAgent(task);
+    }
+
+    @Benchmark
+    public AgentDefination poolReflective() {
+        return reflectivePool.getMatchingAgent(task);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(ConditionMatchingBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    /**
+     * Task payload used by the benchmark.
+     */
+    public static class Order {
+
+        private final String status;
+        private final String region;
+
+        public Order(String status, String region) {
+            this.status = status;
+            this.region = region;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+
+        public String getRegion() {
+            return region;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.api.hub.ai.handler.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.api.hub.ai.embed.SpringAgentRuntime;
+import com.api.hub.ai.handler.InputOutputHandler;
+import com.api.hub.ai.pojo.State;
+import com.api.hub.ai.starter.Agent;
+import com.api.hub.ai.starter.AiAgent;
+import com.api.hub.exception.ApiHubException;
+import com.api.hub.exception.InternalServerException;
+
+class EnvironmentStateTest {
+
+    @Test
+    void queuedTurnGetsItsFullDeadline() throws Exception {
+        Properties properties = properties();
+        properties.setProperty("ai.demo.turn.timeout.ms", "600");
+        properties.setProperty("ai.demo.turn.supersede", "queue");
+        try (SpringAgentRuntime runtime = SpringAgentRuntime.builder().properties(properties).agent("slow", new Slow())
+                .agentPool("demo_pool", new IndexedAgentPool("demo_pool")).build()) {
+            EnvironmentState conversation = runtime.getEnvironment().getEnvironment("demo", UUID.randomUUID().toString());
+
+            CompletableFuture<InputOutputHandler> first = conversation.process("one");
+            CompletableFuture<InputOutputHandler> second = conversation.process("two");
+
+            // the second turn waits about 400 ms for the first one, then needs 400 ms of its own
+            assertTrue(first.get(5, TimeUnit.SECONDS).isSuccess());
+            InputOutputHandler handler = second.get(5, TimeUnit.SECONDS);
+            assertTrue(handler.isSuccess());
+            assertEquals("done two", handler.getOut());
+        }
+    }
+
+    @Test
+    void unsuccessfulTurnFailsTheStream() throws Exception {
+        try (SpringAgentRuntime runtime = SpringAgentRuntime.builder().properties(properties()).agent("failing", new Failing())
+                .agentPool("demo_pool", new IndexedAgentPool("demo_pool")).build()) {
+            List<String> chunks = new CopyOnWriteArrayList<>();
+            CompletableFuture<Void> stream = new CompletableFuture<>();
+
+            InputOutputHandler handler = runtime.getEnvironment().getEnvironment("demo", UUID.randomUUID().toString())
+                    .process("one", collect(chunks, stream)).get(5, TimeUnit.SECONDS);
+
+            assertFalse(handler.isSuccess());
+            ExecutionException error = assertThrows(ExecutionException.class, () -> stream.get(5, TimeUnit.SECONDS));
+            ApiHubException cause = assertInstanceOf(ApiHubException.class, error.getCause());
+            assertEquals("8001-ai-hub", cause.getErrorCode());
+        }
+    }
+
+    private static Flow.Subscriber<String> collect(List<String> chunks, CompletableFuture<Void> stream) {
+        return new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(String item) {
+                chunks.add(item);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                stream.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                stream.complete(null);
+            }
+        };
+    }
+
+    private static Properties properties() {
+        Properties properties = new Properties();
+        properties.setProperty("ai.env.list", "demo");
+        properties.setProperty("ai.demo.goal.list", "greet");
+        properties.setProperty("ai.demo.greet.isDefault", "true");
+        properties.setProperty("ai.demo.cache.envLevelHistory", "SimpleCacheHandler");
+        properties.setProperty("ai.demo.cache.agentHistory", "SimpleCacheHandler");
+        properties.setProperty("ai.demo.cache.envVariables", "SimpleCacheHandler");
+        properties.setProperty("ai.demo.agentPool", "demo_pool");
+        properties.setProperty("ai.demo.inOutHandler", "SimpleAgentInputOutputHandler");
+        return properties;
+    }
+
+    public static class Slow implements AiAgent {
+
+        @Agent(goals = { "greet" }, agentPools = { "demo_pool" })
+        public boolean answer(State state) throws Exception {
+            Thread.sleep(400);
+            state.getHandler().setOutPut("done " + state.getTaskToPerform().getTask());
+            state.getTaskToPerform().close();
+            return false;
+        }
+    }
+
+    public static class Failing implements AiAgent {
+
+        @Agent(goals = { "greet" }, agentPools = { "demo_pool" })
+        public boolean answer(State state) throws Exception {
+            state.getHandler().emit("partial");
+            throw new InternalServerException("8009-ai-hub", "model unavailable", "");
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.api.hub.ai.handler.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.api.hub.ai.pojo.State;
+import com.api.hub.ai.pojo.TurnContext;
+import com.api.hub.exception.ConfigurationException;
+import com.api.hub.exception.InputException;
+import com.api.hub.exception.InternalServerException;
+import com.api.hub.exception.NetworkException;
+import com.api.hub.exception.ServiceException;
+
+class RetryPolicyTest {
+
+    private static final ServiceException TRANSIENT = new ServiceException("3002-ai-hub", "service failed", "");
+
+    @Test
+    void transientFailuresAreRetriedUpToMaxAttempts() {
+        RetryPolicy policy = new RetryPolicy(3, 0, 0, filledBudget());
+
+        assertTrue(policy.retry(TRANSIENT, 1, new State()));
+        assertTrue(policy.retry(TRANSIENT, 2, new State()));
+        assertFalse(policy.retry(TRANSIENT, 3, new State()));
+        assertEquals(2L, policy.getBudget().snapshot().get("retries"));
+    }
+
+    @Test
+    void onlyTransientCodesAreRetryable() {
+        assertTrue(RetryPolicy.isRetryable(TRANSIENT));
+        assertTrue(RetryPolicy.isRetryable(new NetworkException("7001-ai-hub", "connection reset", "")));
+        assertFalse(RetryPolicy.isRetryable(new ServiceException("3001-ai-hub", "not found", "")));
+        assertFalse(RetryPolicy.isRetryable(new ServiceException("3003-ai-hub", "circuit open", "")));
+        assertFalse(RetryPolicy.isRetryable(new NetworkException("7002-ai-hub", "deadline", "")));
+        assertFalse(RetryPolicy.isRetryable(new NetworkException("7011-ai-hub", "overloaded", "")));
+        assertFalse(RetryPolicy.isRetryable(new NetworkException("7012-ai-hub", "bulkhead full", "")));
+        assertFalse(RetryPolicy.isRetryable(new InputException("1002-ai-hub", "bad input", "")));
+        assertFalse(RetryPolicy.isRetryable(new ConfigurationException("6002-ai-hub", "bad config", "")));
+        assertFalse(RetryPolicy.isRetryable(new InternalServerException("8001-ai-hub", "bug", "")));
+    }
+
+    @Test
+    void retriesStopWhenTheBudgetIsExhausted() {
+        RetryBudget budget = new RetryBudget(0.5, 0, 10);
+        RetryPolicy policy = new RetryPolicy(5, 0, 0, budget);
+        budget.deposit();
+        budget.deposit();
+
+        assertTrue(policy.retry(TRANSIENT, 1, new State()));
+        assertFalse(policy.retry(TRANSIENT, 1, new State()));
+        assertEquals(1L, budget.snapshot().get("exhausted"));
+    }
+
+    @Test
+    void budgetRefillsOverTimeUpToItsMaximum() throws Exception {
+        RetryBudget budget = new RetryBudget(0, 100, 2);
+        assertTrue(budget.tryWithdraw());
+        assertTrue(budget.tryWithdraw());
+
+        Thread.sleep(100);
+
+        assertTrue(budget.tryWithdraw());
+        assertTrue(budget.tryWithdraw());
+        assertFalse(budget.tryWithdraw(), "balance is capped at 2");
+    }
+
+    @Test
+    void noRetryWhenTheBackoffExceedsTheTurnDeadlineOrTheTurnIsCancelled() throws Exception {
+        RetryPolicy policy = new RetryPolicy(3, 1000, 1000, filledBudget());
+        State state = new State();
+        state.setTurnContext(new TurnContext(1));
+        Thread.sleep(5);
+        assertFalse(policy.retry(TRANSIENT, 1, state));
+
+        RetryPolicy immediate = new RetryPolicy(3, 0, 0, policy.getBudget());
+        TurnContext cancelled = new TurnContext(60_000);
+        cancelled.cancel("superseded");
+        state.setTurnContext(cancelled);
+        assertFalse(immediate.retry(TRANSIENT, 1, state));
+        assertEquals(0L, policy.getBudget().snapshot().get("retries"));
+    }
+
+    @Test
+    void backoffIsJitteredUpToTheExponentialBound() {
+        RetryPolicy policy = new RetryPolicy(10, 10, 40, new RetryBudget(0, 0, 10));
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(policy.backoffNanos(1) <= TimeUnit.MILLISECONDS.toNanos(10));
+            assertTrue(policy.backoffNanos(2) <= TimeUnit.MILLISECONDS.toNanos(20));
+            assertTrue(policy.backoffNanos(8) <= TimeUnit.MILLISECONDS.toNanos(40));
+        }
+    }
+
+    @Test
+    void invalidSettingsAreRefused() {
+        RetryBudget budget = new RetryBudget(0.1, 10, 100);
+        assertThrows(IllegalArgumentException.class, () -> new RetryPolicy(0, 0, 0, budget));
+        assertThrows(IllegalArgumentException.class, () -> new RetryPolicy(3, 100, 10, budget));
+        assertThrows(IllegalArgumentException.class, () -> new RetryPolicy(3, 0, 0, null));
+        assertThrows(IllegalArgumentException.class, () -> new RetryBudget(0.1, 10, 0.5));
+    }
+
+    /**
+     * @return a budget holding ten tokens and refilled by first attempts only
+     */
+    private static RetryBudget filledBudget() {
+        RetryBudget budget = new RetryBudget(1, 0, 10);
+        for (int i = 0; i < 10; i++) {
+            budget.deposit();
+        }
+        return budget;
+    }
+}
@@ -0,0 +1,102 @@
+package com.api.hub.ai.starter.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.api.hub.ai.handler.InputOutputHandler;
+import com.api.hub.ai.handler.impl.EnvironmentState;
+import com.api.hub.ai.metrics.BatchStats;
+import com.api.hub.ai.pojo.BatchConversation;
+import com.api.hub.ai.pojo.BatchResult;
+import com.api.hub.ai.starter.Environment;
+import com.api.hub.exception.InternalServerException;
+
+class BatchProcessorTest {
+
+    @Test
+    void failedTurnIsCountedOnceAndTheConversationContinues() throws Exception {
+        Environment environment = mock(Environment.class);
+        EnvironmentState state = mock(EnvironmentState.class);
+        when(environment.getEnvironment(anyString(), anyString())).thenReturn(state);
+        when(state.process(anyString())).thenAnswer(call -> {
+            String message = call.getArgument(0);
+            if (message.equals("fail")) {
+                return CompletableFuture.failedFuture(new InternalServerException("8009-ai-hub", "agent failed", ""));
+            }
+            InputOutputHandler handler = mock(InputOutputHandler.class);
+            when(handler.getOut()).thenReturn("re: " + message);
+            when(handler.isSuccess()).thenReturn(true);
+            return CompletableFuture.completedFuture(handler);
+        });
+        List<BatchConversation> conversations = List.of(
+                new BatchConversation("c1", List.of("hi", "fail", "bye")),
+                new BatchConversation("c2", List.of("hi")),
+                new BatchConversation("c3", List.of("hi", "bye")));
+        List<BatchResult> results = new CopyOnWriteArrayList<>();
+        CompletableFuture<Void> delivered = new CompletableFuture<>();
+
+        BatchStats stats = new BatchProcessor(environment, 1)
+                .process("demo", conversations, collect(results, delivered))
+                .getCompletion().get(10, TimeUnit.SECONDS);
+        delivered.get(10, TimeUnit.SECONDS);
+
+        assertEquals(3, stats.getConversationsCompleted().sum());
+        assertEquals(5, stats.getMessagesSucceeded().sum());
+        assertEquals(1, stats.getMessagesFailed().sum());
+        assertEquals(6, results.size());
+        BatchResult failed = results.get(1);
+        assertEquals("fail", failed.getInput());
+        assertNotNull(failed.getError());
+        assertEquals("re: bye", results.get(2).getOutput());
+        assertNull(results.get(2).getError());
+    }
+
+    @Test
+    void unavailableConversationFailsEveryMessage() throws Exception {
+        Environment environment = mock(Environment.class);
+        when(environment.getEnvironment(anyString(), anyString())).thenReturn(null);
+
+        BatchStats stats = new BatchProcessor(environment, 2)
+                .process("demo", List.of(new BatchConversation("c1", List.of("hi", "bye"))), null)
+                .getCompletion().get(10, TimeUnit.SECONDS);
+
+        assertEquals(1, stats.getConversationsCompleted().sum());
+        assertEquals(2, stats.getMessagesFailed().sum());
+    }
+
+    private static Flow.Subscriber<BatchResult> collect(List<BatchResult> results, CompletableFuture<Void> delivered) {
+        return new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(BatchResult item) {
+                results.add(item);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                delivered.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                delivered.complete(null);
+            }
+        };
+    }
+}
@@ -0,0 +1,143 @@
+package com.api.hub.ai.starter.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.api.hub.ai.embed.SpringAgentRuntime;
+import com.api.hub.ai.handler.impl.EnvironmentState;
+import com.api.hub.ai.handler.impl.IndexedAgentPool;
+import com.api.hub.ai.metrics.MetricsRegistry;
+import com.api.hub.ai.pojo.State;
+import com.api.hub.ai.starter.Agent;
+import com.api.hub.ai.starter.AiAgent;
+import com.api.hub.exception.ConfigurationException;
+
+class EnvironmentLoaderTest {
+
+    @Test
+    void concurrentFirstMessagesShareOneConversation() throws Exception {
+        ExecutorService callers = Executors.newFixedThreadPool(16);
+        try (SpringAgentRuntime runtime = runtime()) {
+            EnvironmentLoader loader = (EnvironmentLoader) runtime.getEnvironment();
+            String id = UUID.randomUUID().toString();
+            long created = loader.getLookupStats().getCreated().sum();
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<EnvironmentState>> states = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                states.add(callers.submit(() -> {
+                    start.await();
+                    return loader.getEnvironment("demo", id);
+                }));
+            }
+
+            start.countDown();
+
+            EnvironmentState first = states.get(0).get(10, TimeUnit.SECONDS);
+            for (Future<EnvironmentState> state : states) {
+                assertSame(first, state.get(10, TimeUnit.SECONDS));
+            }
+            assertEquals(id, first.getId());
+            assertEquals(created + 1, loader.getLookupStats().getCreated().sum());
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void failedCreationIsNotCounted() throws Exception {
+        try (SpringAgentRuntime runtime = runtime()) {
+            EnvironmentLoader loader = (EnvironmentLoader) runtime.getEnvironment();
+            long created = loader.getLookupStats().getCreated().sum();
+
+            assertNull(loader.getEnvironment("missing", UUID.randomUUID().toString()));
+            assertNull(loader.getEnvironment("missing", null));
+
+            assertEquals(created, loader.getLookupStats().getCreated().sum());
+        }
+    }
+
+    @Test
+    void compiledTemplateCannotBeChanged() throws Exception {
+        try (SpringAgentRuntime runtime = runtime()) {
+            EnvironmentTemplate template = ((EnvironmentLoader) runtime.getEnvironment()).getTemplate("demo");
+
+            assertThrows(IllegalStateException.class, () -> template.setTurnTimeoutMs(1));
+            assertEquals(30000, template.getTurnTimeoutMs());
+        }
+    }
+
+    @Test
+    void publishedTemplateOwnsTheHedgeMetric() throws Exception {
+        Properties properties = properties();
+        properties.setProperty("ai.demo.invocation.mode", "hedged");
+        try (SpringAgentRuntime runtime = runtime(properties)) {
+            EnvironmentTemplate template = ((EnvironmentLoader) runtime.getEnvironment()).getTemplate("demo");
+
+            assertSame(template.getHedgedInvoker(), MetricsRegistry.get("hedge.demo"));
+        }
+    }
+
+    @Test
+    void onlyListedEnvironmentsServeConversations() throws Exception {
+        Properties properties = properties();
+        for (String name : properties.stringPropertyNames()) {
+            if (name.startsWith("ai.demo.")) {
+                properties.setProperty("ai.other." + name.substring("ai.demo.".length()), properties.getProperty(name));
+            }
+        }
+        IndexedAgentPool pool = new IndexedAgentPool("demo_pool");
+        try (SpringAgentRuntime runtime = SpringAgentRuntime.builder().properties(properties).agent("greeter", new Greeter())
+                .agentPool("demo_pool", pool).build()) {
+            EnvironmentLoader loader = (EnvironmentLoader) runtime.getEnvironment();
+
+            assertSame(pool, loader.getTemplate("demo").getAgentPool());
+            assertNull(loader.getEnvironment("other", null));
+            assertThrows(ConfigurationException.class, () -> loader.getTemplate("other"));
+        }
+    }
+
+    private static SpringAgentRuntime runtime() throws Exception {
+        return runtime(properties());
+    }
+
+    private static SpringAgentRuntime runtime(Properties properties) throws Exception {
+        return SpringAgentRuntime.builder().properties(properties).agent("greeter", new Greeter())
+                .agentPool("demo_pool", new IndexedAgentPool("demo_pool")).build();
+    }
+
+    private static Properties properties() {
+        Properties properties = new Properties();
+        properties.setProperty("ai.env.list", "demo");
+        properties.setProperty("ai.demo.goal.list", "greet");
+        properties.setProperty("ai.demo.greet.isDefault", "true");
+        properties.setProperty("ai.demo.cache.envLevelHistory", "SimpleCacheHandler");
+        properties.setProperty("ai.demo.cache.agentHistory", "SimpleCacheHandler");
+        properties.setProperty("ai.demo.cache.envVariables", "SimpleCacheHandler");
+        properties.setProperty("ai.demo.agentPool", "demo_pool");
+        properties.setProperty("ai.demo.inOutHandler", "SimpleAgentInputOutputHandler");
+        return properties;
+    }
+
+    public static class Greeter implements AiAgent {
+
+        @Agent(goals = { "greet" }, agentPools = { "demo_pool" })
+        public boolean hello(State state) {
+            state.getHandler().setOutPut("hello");
+            return false;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.api.hub.ai.starter.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.api.hub.ai.embed.SpringAgentRuntime;
+import com.api.hub.ai.handler.InputOutputHandler;
+import com.api.hub.ai.handler.impl.IndexedAgentPool;
+import com.api.hub.ai.pojo.State;
+import com.api.hub.ai.starter.Agent;
+import com.api.hub.ai.starter.AiAgent;
+import com.api.hub.exception.InternalServerException;
+
+class InvocationModeTest {
+
+    @Test
+    void scatterGatherMergesTheIdempotentAgentsOnly() throws Exception {
+        Candidates agents = new Candidates();
+        Properties properties = properties("scatter-gather");
+        properties.setProperty("ai.demo.scatter.merge", "ConcatenateMergeStrategy");
+
+        String out = process(properties, agents).getOut();
+
+        assertTrue(out.contains("fast"), out);
+        assertTrue(out.contains("slow"), out);
+        assertEquals(1, agents.calls("fast"));
+        assertEquals(1, agents.calls("slow"));
+        assertEquals(0, agents.calls("unsafe"));
+    }
+
+    @Test
+    void scatterGatherKeepsTheSuccessfulResultWhenAnAgentFails() throws Exception {
+        Candidates agents = new Candidates();
+        agents.failing = "fast";
+
+        InputOutputHandler handler = process(properties("scatter-gather"), agents);
+
+        assertTrue(handler.isSuccess());
+        assertEquals("slow", handler.getOut());
+    }
+
+    @Test
+    void singleIdempotentMatchIsRoutedToOneAgent() throws Exception {
+        Candidates agents = new Candidates();
+        Properties properties = properties("scatter-gather");
+        properties.setProperty("ai.agent.modes-slow.idempotent", "false");
+
+        process(properties, agents);
+
+        assertEquals(1, agents.calls("fast") + agents.calls("slow") + agents.calls("unsafe"));
+    }
+
+    @Test
+    void hedgedForwardsTheFirstSuccess() throws Exception {
+        Candidates agents = new Candidates();
+        Properties properties = properties("hedged");
+        properties.setProperty("ai.demo.hedge.speculative", "true");
+
+        assertEquals("fast", process(properties, agents).getOut());
+        assertEquals(0, agents.calls("unsafe"));
+    }
+
+    @Test
+    void hedgedFallsBackToTheBackupWhenThePreferredAgentFails() throws Exception {
+        Candidates agents = new Candidates();
+        agents.failing = "fast";
+        Properties properties = properties("hedged");
+        properties.setProperty("ai.demo.hedge.speculative", "true");
+
+        assertEquals("slow", process(properties, agents).getOut());
+    }
+
+    private static InputOutputHandler process(Properties properties, Candidates agents) throws Exception {
+        try (SpringAgentRuntime runtime = SpringAgentRuntime.builder().properties(properties).agent("modes", agents)
+                .agentPool("demo_pool", new IndexedAgentPool("demo_pool")).build()) {
+            return runtime.getEnvironment().getEnvironment("demo", "c1").process("hello").get(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private static Properties properties(String mode) {
+        Properties properties = new Properties();
+        properties.setProperty("ai.env.list", "demo");
+        properties.setProperty("ai.demo.goal.list", "greet");
+        properties.setProperty("ai.demo.greet.isDefault", "true");
+        properties.setProperty("ai.demo.cache.envLevelHistory", "SimpleCacheHandler");
+        properties.setProperty("ai.demo.cache.agentHistory", "SimpleCacheHandler");
+        properties.setProperty("ai.demo.cache.envVariables", "SimpleCacheHandler");
+        properties.setProperty("ai.demo.agentPool", "demo_pool");
+        properties.setProperty("ai.demo.inOutHandler", "SimpleAgentInputOutputHandler");
+        properties.setProperty("ai.demo.invocation.mode", mode);
+        return properties;
+    }
+
+    /**
+     * Three agents for the same task: two idempotent ones of different speed and one that is not idempotent.
+     */
+    public static class Candidates implements AiAgent {
+
+        private final Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+        volatile String failing;
+
+        int calls(String agent) {
+            return calls.computeIfAbsent(agent, name -> new AtomicInteger()).get();
+        }
+
+        @Agent(goals = { "greet" }, agentPools = { "demo_pool" }, idempotent = true)
+        public boolean fast(State state) throws Exception {
+            return answer(state, "fast", 0);
+        }
+
+        @Agent(goals = { "greet" }, agentPools = { "demo_pool" }, idempotent = true)
+        public boolean slow(State state) throws Exception {
+            return answer(state, "slow", 200);
+        }
+
+        @Agent(goals = { "greet" }, agentPools = { "demo_pool" })
+        public boolean unsafe(State state) throws Exception {
+            return answer(state, "unsafe", 0);
+        }
+
+        private boolean answer(State state, String agent, long delayMs) throws Exception {
+            calls.computeIfAbsent(agent, name -> new AtomicInteger()).incrementAndGet();
+            Thread.sleep(delayMs);
+            if (agent.equals(failing)) {
+                throw new InternalServerException("8009-ai-hub", agent + " failed", "");
+            }
+            state.getHandler().setOutPut(agent);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package com.api.hub.ai.starter.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import com.api.hub.ai.embed.SpringAgentRuntime;
+import com.api.hub.ai.handler.InputOutputHandler;
+import com.api.hub.ai.handler.impl.AgentDefination;
+import com.api.hub.ai.handler.impl.AgentPool;
+import com.api.hub.ai.handler.impl.EnvironmentState;
+import com.api.hub.ai.handler.impl.IndexedAgentPool;
+import com.api.hub.ai.pojo.Goal;
+import com.api.hub.ai.pojo.State;
+import com.api.hub.ai.pojo.Task;
+import com.api.hub.ai.pojo.TurnContext;
+import com.api.hub.ai.starter.Agent;
+import com.api.hub.ai.starter.AiAgent;
+import com.api.hub.ai.starter.Environment;
+import com.api.hub.exception.InternalServerException;
+import com.api.hub.logging.LoggingData;
+import com.api.hub.logging.LoggingDataHolder;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+
+class StatelessEnvironmentHandlerTest {
+
+    @AfterEach
+    void clearLoggingData() {
+        LoggingDataHolder.clear();
+    }
+
+    @Test
+    void concurrentTasksRunWithTheTurnContextAndLogIds() throws Exception {
+        FanOut agents = new FanOut();
+        // without a deadline agents run on the thread of their task, which is where the bindings are checked
+        Properties properties = properties();
+        properties.setProperty("ai.demo.turn.timeout.ms", "0");
+        try (SpringAgentRuntime runtime = SpringAgentRuntime.builder().properties(properties).agent("fan", agents)
+                .agentPool("demo_pool", new IndexedAgentPool("demo_pool")).build()) {
+            LoggingDataHolder.set(new LoggingData("test", "c1", "t1"));
+            InputOutputHandler handler = runtime.getEnvironment().getEnvironment("demo", "c1").process("go")
+                    .get(10, TimeUnit.SECONDS);
+
+            assertTrue(handler.isSuccess());
+            assertEquals("merged a,b", handler.getOut());
+            assertEquals(2, agents.turns.size());
+            assertEquals("c1", agents.conversations.get("a"));
+            assertEquals("c1", agents.conversations.get("b"));
+            TurnContext turn = agents.turns.get("a");
+            assertNotNull(turn);
+            assertSame(turn, agents.turns.get("b"));
+            assertSame(turn, agents.stateTurns.get("a"));
+        }
+    }
+
+    @Test
+    void failedConcurrentTaskFailsTheTurn() throws Exception {
+        FanOut agents = new FanOut();
+        agents.failing = "b";
+        try (SpringAgentRuntime runtime = SpringAgentRuntime.builder().properties(properties()).agent("fan", agents)
+                .agentPool("demo_pool", new IndexedAgentPool("demo_pool")).build()) {
+            InputOutputHandler handler = runtime.getEnvironment().getEnvironment("demo", "c2").process("go")
+                    .get(10, TimeUnit.SECONDS);
+
+            assertFalse(handler.isSuccess());
+            assertTrue(agents.stateTurns.containsKey("a"));
+            assertFalse(agents.merged);
+        }
+    }
+
+    @Test
+    void taskMatchedByNoAgentOfACustomPoolFailsTheTurn() throws Exception {
+        FanOut agents = new FanOut();
+        Logger logger = (Logger) LoggerFactory.getLogger(Environment.class);
+        ListAppender<ILoggingEvent> errors = new ListAppender<>();
+        errors.start();
+        logger.addAppender(errors);
+        try (SpringAgentRuntime runtime = SpringAgentRuntime.builder().properties(properties()).agent("fan", agents)
+                .agentPool("demo_pool", new NoMatchPool()).build()) {
+            InputOutputHandler handler = runtime.getEnvironment().getEnvironment("demo", "c3").process("go")
+                    .get(10, TimeUnit.SECONDS);
+
+            assertFalse(handler.isSuccess());
+            assertTrue(agents.stateTurns.isEmpty());
+            List<ILoggingEvent> events = List.copyOf(errors.list);
+            assertTrue(events.stream().anyMatch(e -> e.getFormattedMessage().contains("8002-ai-hub")), events.toString());
+        } finally {
+            logger.detachAppender(errors);
+        }
+    }
+
+    @Test
+    void dependentTaskStartsOnceItsOwnDependenciesComplete() throws Exception {
+        Graph agents = new Graph();
+        try (SpringAgentRuntime runtime = SpringAgentRuntime.builder().properties(properties()).agent("graph", agents)
+                .agentPool("demo_pool", new IndexedAgentPool("demo_pool")).build()) {
+            InputOutputHandler handler = runtime.getEnvironment().getEnvironment("demo", "c5").process("critical-path")
+                    .get(10, TimeUnit.SECONDS);
+
+            assertTrue(handler.isSuccess());
+            assertTrue(agents.started.get("after-fast") < agents.finished.get("slow"),
+                    "the task depending on the fast one does not wait for the slow one");
+        }
+    }
+
+    @Test
+    void concurrentTaskWaitingForATaskThatCannotRunFailsTheTurn() throws Exception {
+        Graph agents = new Graph();
+        try (SpringAgentRuntime runtime = SpringAgentRuntime.builder().properties(properties()).agent("graph", agents)
+                .agentPool("demo_pool", new IndexedAgentPool("demo_pool")).build()) {
+            InputOutputHandler handler = runtime.getEnvironment().getEnvironment("demo", "c6").process("blocked")
+                    .get(10, TimeUnit.SECONDS);
+
+            assertFalse(handler.isSuccess());
+            assertFalse(agents.started.containsKey("blocked"), "its dependency never completed");
+        }
+    }
+
+    @Test
+    void turnMergedIntoNewerInputKeepsItsPendingTasks() throws Exception {
+        Planner agents = new Planner();
+        Properties properties = properties();
+        properties.setProperty("ai.demo.turn.supersede", "merge");
+        try (SpringAgentRuntime runtime = SpringAgentRuntime.builder().properties(properties).agent("planner", agents)
+                .agentPool("demo_pool", new IndexedAgentPool("demo_pool")).build()) {
+            EnvironmentState conversation = runtime.getEnvironment().getEnvironment("demo", "c4");
+            CompletableFuture<InputOutputHandler> first = conversation.process("one");
+            assertTrue(agents.planning.await(5, TimeUnit.SECONDS));
+
+            CompletableFuture<InputOutputHandler> second = conversation.process("two");
+
+            assertThrows(ExecutionException.class, () -> first.get(10, TimeUnit.SECONDS));
+            InputOutputHandler handler = second.get(10, TimeUnit.SECONDS);
+            assertTrue(handler.isSuccess());
+            assertEquals("continued step", handler.getOut());
+        }
+    }
+
+    private static Properties properties() {
+        Properties properties = new Properties();
+        properties.setProperty("ai.env.list", "demo");
+        properties.setProperty("ai.demo.goal.list", "greet");
+        properties.setProperty("ai.demo.greet.isDefault", "true");
+        properties.setProperty("ai.demo.cache.envLevelHistory", "SimpleCacheHandler");
+        properties.setProperty("ai.demo.cache.agentHistory", "SimpleCacheHandler");
+        properties.setProperty("ai.demo.cache.envVariables", "SimpleCacheHandler");
+        properties.setProperty("ai.demo.agentPool", "demo_pool");
+        properties.setProperty("ai.demo.inOutHandler", "SimpleAgentInputOutputHandler");
+        return properties;
+    }
+
+    /**
+     * Plans a task graph named by the input and records when each step starts and finishes.
+     */
+    public static class Graph implements AiAgent {
+
+        final Map<String, Long> started = new ConcurrentHashMap<>();
+        final Map<String, Long> finished = new ConcurrentHashMap<>();
+
+        @Agent(goals = { "greet" }, agentPools = { "demo_pool" }, taskNames = { "user_created_task" })
+        public boolean plan(State state) {
+            Task task = state.getTaskToPerform();
+            Goal goal = task.getCurrentGoal();
+            if ("blocked".equals(task.getTask())) {
+                Task manual = new Task("manual", "manual", "plan", goal);
+                goal.addTask(new Task("step", "blocked", "plan", goal).dependsOn(manual), false);
+                goal.addTask(manual, false);
+            } else {
+                Task fast = new Task("step", "fast", "plan", goal).dependsOn();
+                goal.addTask(fast, false);
+                goal.addTask(new Task("step", "slow", "plan", goal).dependsOn(), false);
+                goal.addTask(new Task("step", "after-fast", "plan", goal).dependsOn(fast), false);
+            }
+            task.close();
+            return true;
+        }
+
+        @Agent(goals = { "greet" }, agentPools = { "demo_pool" }, taskNames = { "step" })
+        public boolean step(State state) throws Exception {
+            String name = (String) state.getTaskToPerform().getTask();
+            started.put(name, System.nanoTime());
+            Thread.sleep("slow".equals(name) ? 500 : 50);
+            finished.put(name, System.nanoTime());
+            state.getTaskToPerform().close();
+            return true;
+        }
+
+        @Agent(goals = { "greet" }, agentPools = { "demo_pool" }, taskNames = { "manual" })
+        public boolean manual(State state) {
+            state.getTaskToPerform().close();
+            return false;
+        }
+    }
+
+    /**
+     * Plans a follow-up step on the first message, slowly enough for newer input to supersede the turn.
+     */
+    public static class Planner implements AiAgent {
+
+        final CountDownLatch planning = new CountDownLatch(1);
+
+        @Agent(goals = { "greet" }, agentPools = { "demo_pool" }, taskNames = { "user_created_task" })
+        public boolean plan(State state) throws Exception {
+            Task task = state.getTaskToPerform();
+            if (!"one".equals(task.getTask())) {
+                state.getHandler().setOutPut("planned again");
+                task.close();
+                return false;
+            }
+            task.getCurrentGoal().addTask(new Task("step", "step", "plan", task.getCurrentGoal()), false);
+            task.close();
+            planning.countDown();
+            Thread.sleep(300);
+            return true;
+        }
+
+        @Agent(goals = { "greet" }, agentPools = { "demo_pool" }, taskNames = { "step" })
+        public boolean step(State state) {
+            state.getHandler().setOutPut("continued " + state.getTaskToPerform().getTask());
+            state.getTaskToPerform().close();
+            return false;
+        }
+    }
+
+    /**
+     * Custom pool deciding that no agent handles any task.
+     */
+    public static class NoMatchPool extends AgentPool {
+
+        public NoMatchPool() {
+            name = "demo_pool";
+        }
+
+        @Override
+        public AgentDefination getMatchingAgent(Task task) {
+            return null;
+        }
+    }
+
+    /**
+     * Plans two independent tasks and one depending on both.
+     */
+    public static class FanOut implements AiAgent {
+
+        final Map<String, TurnContext> turns = new ConcurrentHashMap<>();
+        final Map<String, TurnContext> stateTurns = new ConcurrentHashMap<>();
+        final Map<String, String> conversations = new ConcurrentHashMap<>();
+        volatile String failing;
+        volatile boolean merged;
+
+        @Agent(goals = { "greet" }, agentPools = { "demo_pool" }, taskNames = { "user_created_task" })
+        public boolean plan(State state) {
+            Task task = state.getTaskToPerform();
+            Goal goal = task.getCurrentGoal();
+            Task a = new Task("fetch", "a", "plan", goal).dependsOn();
+            Task b = new Task("fetch", "b", "plan", goal).dependsOn();
+            goal.addTask(a, false);
+            goal.addTask(b, false);
+            goal.addTask(new Task("merge", "a,b", "plan", goal).dependsOn(a, b), false);
+            task.close();
+            return true;
+        }
+
+        @Agent(goals = { "greet" }, agentPools = { "demo_pool" }, taskNames = { "fetch" })
+        public boolean fetch(State state) throws Exception {
+            Task task = state.getTaskToPerform();
+            String part = (String) task.getTask();
+            if (TurnContext.current() != null) {
+                turns.put(part, TurnContext.current());
+            }
+            if (state.getTurnContext() != null) {
+                stateTurns.put(part, state.getTurnContext());
+            }
+            if (LoggingDataHolder.get().getConversationId() != null) {
+                conversations.put(part, LoggingDataHolder.get().getConversationId());
+            }
+            if (part.equals(failing)) {
+                throw new InternalServerException("8009-ai-hub", "fetch failed", "");
+            }
+            task.close();
+            return true;
+        }
+
+        @Agent(goals = { "greet" }, agentPools = { "demo_pool" }, taskNames = { "merge" })
+        public boolean merge(State state) {
+            merged = true;
+            state.getHandler().setOutPut("merged " + state.getTaskToPerform().getTask());
+            state.getTaskToPerform().close();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.api.hub.configuration.ai;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.api.hub.ai.starter.Agent;
+import com.api.hub.ai.starter.AiAgent;
+
+/**
+ * Measures how {@link AgentRegister} finds the agent methods of a bean, from the build-time {@link AgentIndex}
+ * ({@code indexed}) or by listing the bean's methods and reading their annotations ({@code scanned}).
+ * <p>
+ * Each fork measures a single, cold call, which is what happens once per agent bean at startup.
+ * </p>
+ * <p>
+ * Run after {@code mvn test-compile} with
+ * {@code java -cp target/test-classes:target/classes:<test classpath> org.openjdk.jmh.Main AgentDiscoveryBenchmark},
+ * the classpath being printed by {@code mvn dependency:build-classpath}.
+ * </p>
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+@State(Scope.Benchmark)
+public class AgentDiscoveryBenchmark {
+
+    private AgentRegister indexed;
+    private AgentRegister scanned;
+
+    @Setup
+    public void setup() {
+        List<AgentIndex.Entry> entries = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            AgentIndex.Entry entry = new AgentIndex.Entry();
+            entry.setClassName(SampleAgents.class.getName());
+            entry.setMethodName("agent" + i);
+            entry.setGoals(new String[] { "support" });
+            entry.setAgentPools(new String[] { "benchmark" });
+            entry.setTaskNames(new String[] { "task" + i });
+            entry.setTaskDescription(new String[] { "contains:order" });
+            entries.add(entry);
+        }
+        indexed = new AgentRegister(AgentIndex.of(entries));
+        scanned = new AgentRegister(AgentIndex.of(new ArrayList<>()));
+    }
+
+    @Benchmark
+    public Map<Method, AgentIndex.Entry> indexed() {
+        return indexed.agentMethods(SampleAgents.class, "sampleAgents");
+    }
+
+    @Benchmark
+    public Map<Method, AgentIndex.Entry> scanned() {
+        return scanned.agentMethods(SampleAgents.class, "sampleAgents");
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(AgentDiscoveryBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    /**
+     * Agent bean with a few agent methods among ordinary ones.
+     */
+    public static class SampleAgents implements AiAgent {
+
+        @Agent(goals = { "support" }, agentPools = { "benchmark" }, taskNames = { "task0" }, taskDescription = { "contains:order" })
+        public boolean agent0(com.api.hub.ai.pojo.State state) {
+            return true;
+        }
+
+        @Agent(goals = { "support" }, agentPools = { "benchmark" }, taskNames = { "task1" }, taskDescription = { "contains:order" })
+        public boolean agent1(com.api.hub.ai.pojo.State state) {
+            return true;
+        }
+
+        @Agent(goals = { "support" }, agentPools = { "benchmark" }, taskNames = { "task2" }, taskDescription = { "contains:order" })
+        public boolean agent2(com.api.hub.ai.pojo.State state) {
+            return true;
+        }
+
+        @Agent(goals = { "support" }, agentPools = { "benchmark" }, taskNames = { "task3" }, taskDescription = { "contains:order" })
+        public boolean agent3(com.api.hub.ai.pojo.State state) {
+            return true;
+        }
+
+        public String property0() {
+            return "value0";
+        }
+
+        public String property1() {
+            return "value1";
+        }
+
+        public String property2() {
+            return "value2";
+        }
+
+        public String property3() {
+            return "value3";
+        }
+
+        public String property4() {
+            return "value4";
+        }
+
+        public String property5() {
+            return "value5";
+        }
+
+        public String property6() {
+            return "value6";
+        }
+
+        public String property7() {
+            return "value7";
+        }
+
+        public String property8() {
+            return "value8";
+        }
+
+        public String property9() {
+            return "value9";
+        }
+
+        public String property10() {
+            return "value10";
+        }
+
+        public String property11() {
+            return "value11";
+        }
+
+        public String property12() {
+            return "value12";
+        }
+
+        public String property13() {
+            return "value13";
+        }
+
+        public String property14() {
+            return "value14";
+        }
+
+        public String property15() {
+            return "value15";
+        }
+
+        public String property16() {
+            return "value16";
+        }
+
+        public String property17() {
+            return "value17";
+        }
+
+        public String property18() {
+            return "value18";
+        }
+
+        public String property19() {
+            return "value19";
+        }
+
+        public String property20() {
+            return "value20";
+        }
+
+        public String property21() {
+            return "value21";
+        }
+
+        public String property22() {
+            return "value22";
+        }
+
+        public String property23() {
+            return "value23";
+        }
+    }
+}
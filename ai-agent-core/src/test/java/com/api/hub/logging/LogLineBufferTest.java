@@ -0,0 +1,122 @@
+package com.api.hub.logging;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+class LogLineBufferTest {
+
+    /** ISO-8601 with milliseconds always written, unlike {@link Instant#toString()}. */
+    private static final DateTimeFormatter MILLIS = DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm:ss.SSSX")
+            .withZone(ZoneOffset.UTC);
+
+    @Test
+    void timestampsMatchIsoInstantAcrossLeapYearsAndYearBoundaries() {
+        String[] instants = { "1970-01-01T00:00:00Z", "1969-12-31T23:59:59.999Z", "1900-02-28T23:59:59.500Z",
+                "1900-03-01T00:00:00Z", "2000-02-29T12:00:00.001Z", "2000-03-01T00:00:00Z", "2023-02-28T23:59:59.999Z",
+                "2023-03-01T00:00:00Z", "2024-02-29T23:59:59.999Z", "2024-03-01T00:00:00.000Z",
+                "2024-12-31T23:59:59.999Z", "2025-01-01T00:00:00Z", "2100-02-28T23:59:59Z", "2100-03-01T00:00:00Z",
+                "9999-12-31T23:59:59.999Z" };
+        LogLineBuffer buffer = new LogLineBuffer();
+        for (String instant : instants) {
+            long millis = Instant.parse(instant).toEpochMilli();
+            assertEquals(quoted(MILLIS.format(Instant.ofEpochMilli(millis))), timestamp(buffer, millis), instant);
+        }
+    }
+
+    @Test
+    void cachedSecondIsReusedAndReplaced() {
+        LogLineBuffer buffer = new LogLineBuffer();
+        long second = Instant.parse("2024-12-31T23:59:59Z").toEpochMilli();
+
+        assertEquals("\"2024-12-31T23:59:59.007Z\"", timestamp(buffer, second + 7));
+        assertEquals("\"2024-12-31T23:59:59.980Z\"", timestamp(buffer, second + 980));
+        assertEquals("\"2025-01-01T00:00:00.000Z\"", timestamp(buffer, second + 1000));
+        assertEquals("\"2024-12-31T23:59:59.001Z\"", timestamp(buffer, second + 1));
+    }
+
+    @Test
+    void randomTimestampsMatchIsoInstant() {
+        LogLineBuffer buffer = new LogLineBuffer();
+        SplittableRandom random = new SplittableRandom(42);
+        long max = Instant.parse("9999-12-31T23:59:59.999Z").toEpochMilli();
+        for (int i = 0; i < 10_000; i++) {
+            long millis = random.nextLong(max);
+            assertEquals(quoted(MILLIS.format(Instant.ofEpochMilli(millis))), timestamp(buffer, millis));
+        }
+    }
+
+    @Test
+    void stringsAreEncodedAsUtf8() {
+        String[] values = { "", "plain ascii", "café üß", "€ 100 中文 ￮",
+                "smile 😀 and 𝄞", "\u007f\u0080߿ࠀ￿" };
+        for (String value : values) {
+            assertArrayEquals(quoted(value).getBytes(StandardCharsets.UTF_8), json(value), value);
+        }
+    }
+
+    @Test
+    void unpairedSurrogatesAreWrittenAsQuestionMarks() {
+        assertEquals("\"a?b\"", new String(json("a\ud800b"), StandardCharsets.UTF_8));
+        assertEquals("\"?x\"", new String(json("\udc00x"), StandardCharsets.UTF_8));
+        assertEquals("\"end?\"", new String(json("end\ud83d"), StandardCharsets.UTF_8));
+        assertEquals("\"??\"", new String(json("\ude00\ud83d"), StandardCharsets.UTF_8));
+        assertArrayEquals("\"a?b\"".getBytes(StandardCharsets.UTF_8), "\"a\ud800b\"".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void controlCharactersQuotesAndBackslashesAreEscaped() {
+        assertEquals("\"line\\nnext\\r\\ttab\\b\\f\"", new String(json("line\nnext\r\ttab\b\f"), StandardCharsets.UTF_8));
+        assertEquals("\"\\u0000\\u0001\\u001f\"", new String(json("\u0000\u0001\u001f"), StandardCharsets.UTF_8));
+        assertEquals("\"say \\\"hi\\\" \\\\ bye\"", new String(json("say \"hi\" \\ bye"), StandardCharsets.UTF_8));
+        assertEquals("null", new String(json(null), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void bufferGrowsForLongLinesAndReleasesThemOnReset() {
+        LogLineBuffer buffer = new LogLineBuffer();
+        String value = "€".repeat(LogLineBuffer.MAX_RETAINED_CAPACITY);
+
+        buffer.appendJsonString(value);
+
+        assertEquals(value.length() * 3 + 2, buffer.length());
+        assertTrue(buffer.array().length > LogLineBuffer.MAX_RETAINED_CAPACITY);
+        buffer.reset();
+        assertEquals(0, buffer.length());
+        assertEquals(LogLineBuffer.INITIAL_CAPACITY, buffer.array().length);
+    }
+
+    @Test
+    void loggingDataIsOneLineWithoutLineBreak() {
+        LoggingData data = new LoggingData("chatbot", "c-42", "t-7");
+        data.setLogMessage("two\nlines");
+
+        String line = data.toString();
+
+        assertFalse(line.contains("\n"), line);
+        assertTrue(line.startsWith("{\"time\":\""), line);
+        assertTrue(line.endsWith(",\"logMessage\":\"two\\nlines\"}"), line);
+    }
+
+    private static String timestamp(LogLineBuffer buffer, long epochMillis) {
+        buffer.reset();
+        return buffer.appendTimestamp(epochMillis).toString();
+    }
+
+    private static byte[] json(String value) {
+        return new LogLineBuffer().appendJsonString(value).toByteArray();
+    }
+
+    private static String quoted(String value) {
+        return "\"" + value + "\"";
+    }
+}
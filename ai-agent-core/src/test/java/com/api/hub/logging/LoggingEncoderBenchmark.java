@@ -0,0 +1,130 @@
+package com.api.hub.logging;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+
+/**
+ * Compares the time and allocations of encoding an audit log event.
+ * <p>
+ * {@code legacy} repeats what {@link LoggingEncoder} used to do ({@code String.format} over six
+ * {@code String.replace} calls per field, {@code new Date().toString()} and {@code getBytes()} with the
+ * platform charset); {@code encode} is the current {@link LoggingEncoder#encode(ch.qos.logback.classic.spi.ILoggingEvent)},
+ * which only allocates the returned array; {@code encodeToBuffer} writes into the reused {@link LogLineBuffer}
+ * as the asynchronous appender does. The event is built once, so its formatted message is not part of the
+ * measurement.
+ * </p>
+ * <p>
+ * Run after {@code mvn test-compile} with
+ * {@code java -cp target/test-classes:target/classes:<test classpath> org.openjdk.jmh.Main LoggingEncoderBenchmark -prof gc},
+ * the classpath being printed by {@code mvn dependency:build-classpath}; {@code gc.alloc.rate.norm} is the
+ * number of bytes allocated per event.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LoggingEncoderBenchmark {
+
+    private static final Marker AUDIT = MarkerFactory.getMarker("AUDIT");
+
+    private LoggingEncoder encoder;
+    private LoggingEvent event;
+    private LogLineBuffer buffer;
+
+    @Setup
+    public void setup() {
+        LoggerContext context = new LoggerContext();
+        encoder = new LoggingEncoder();
+        encoder.setContext(context);
+        encoder.start();
+        event = new LoggingEvent(LoggingEncoderBenchmark.class.getName(),
+                context.getLogger("com.api.hub.ai.handler.impl.SimpleAgentInputOutputHandler"), Level.INFO,
+                "output - {}", null, new Object[] { "Your order \"A-1042\" ships on Monday.\nAnything else?" });
+        event.addMarker(AUDIT);
+        event.getFormattedMessage();
+        buffer = new LogLineBuffer();
+        LoggingDataHolder.set(new LoggingData("chatbot", "c-42", "t-7"));
+    }
+
+    @Benchmark
+    public byte[] legacy() {
+        LoggingData data = LoggingDataHolder.get();
+        data.setClassName(event.getLoggerName());
+        data.setLogLevel(event.getLevel().toString());
+        List<Marker> markerList = event.getMarkerList();
+        String marker = "WORKFLOW";
+        if (!markerList.isEmpty()) {
+            marker = markerList.get(0).getName();
+        }
+        data.setMarker(marker);
+        data.setLogMessage(event.getFormattedMessage());
+        return String.format(
+                "{\n" +
+                "  \"time\": \"%s\"," +
+                "  \"applicationName\": \"%s\"," +
+                "  \"marker\": \"%s\"," +
+                "  \"logLevel\": \"%s\"," +
+                "  \"conversationId\": \"%s\"," +
+                "  \"transactionId\": \"%s\"," +
+                "  \"className\": \"%s\"," +
+                "  \"logMessage\": \"%s\"" +
+                "}",
+                new Date().toString(),
+                escapeJson(data.getApplicationName()),
+                escapeJson(data.getMarker()),
+                escapeJson(data.getLogLevel()),
+                escapeJson(data.getConversationId()),
+                escapeJson(data.getTransactionId()),
+                escapeJson(data.getClassName()),
+                escapeJson(data.getLogMessage())).getBytes();
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return encoder.encode(event);
+    }
+
+    @Benchmark
+    public int encodeToBuffer() {
+        encoder.encode(event, "chatbot", "c-42", "t-7", buffer);
+        return buffer.length();
+    }
+
+    private static String escapeJson(String value) {
+        if (value == null) return null;
+        return value
+            .replace("\\", "\\\\")
+            .replace("\"", "\\\"")
+            .replace("\n", "\\n")
+            .replace("\r", "\\r")
+            .replace("\t", "\\t");
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(LoggingEncoderBenchmark.class.getSimpleName()).addProfiler(GCProfiler.class).build()).run();
+    }
+}
@@ -0,0 +1,231 @@
+package com.api.hub.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MarkerFactory;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.AppenderBase;
+
+class RingBufferAsyncAppenderTest {
+
+    private final LoggerContext context = new LoggerContext();
+    private final Recorder recorder = new Recorder();
+    private RingBufferAsyncAppender appender;
+
+    RingBufferAsyncAppenderTest() {
+        context.setMDCAdapter(new LogbackMDCAdapter());
+    }
+
+    @AfterEach
+    void tearDown() {
+        recorder.release.countDown();
+        if (appender != null) {
+            appender.stop();
+        }
+        LoggingDataHolder.clear();
+    }
+
+    @Test
+    void workerWritesWithTheContextOfTheLoggingThread() throws Exception {
+        appender = appender(16, "DROP");
+        LoggingDataHolder.set(new LoggingData("chatbot", "c-42", "t-7"));
+        recorder.release.countDown();
+
+        appender.doAppend(event(Level.INFO, "hello"));
+        appender.stop();
+
+        assertEquals(List.of("hello"), recorder.messages);
+        assertEquals(List.of("chatbot/c-42/t-7"), recorder.contexts);
+        assertTrue(recorder.threads.get(0).startsWith("log-ring-"), recorder.threads.get(0));
+    }
+
+    @Test
+    void stopDrainsTheBufferBeforeStoppingAttachedAppenders() throws Exception {
+        appender = appender(16, "BLOCK");
+        appender.doAppend(event(Level.INFO, "first"));
+        assertTrue(recorder.entered.await(2, TimeUnit.SECONDS));
+        for (int i = 0; i < 10; i++) {
+            appender.doAppend(event(Level.INFO, "next-" + i));
+        }
+
+        recorder.release.countDown();
+        appender.stop();
+
+        assertEquals(11, recorder.messages.size());
+        assertFalse(recorder.isStarted());
+    }
+
+    @Test
+    void stopTimingOutLeavesAttachedAppendersToTheWorker() throws Exception {
+        appender = appender(16, "BLOCK");
+        appender.setShutdownTimeoutMs(50);
+        appender.doAppend(event(Level.INFO, "first"));
+        assertTrue(recorder.entered.await(2, TimeUnit.SECONDS));
+        appender.doAppend(event(Level.INFO, "second"));
+
+        appender.stop();
+        assertTrue(recorder.isStarted());
+        recorder.release.countDown();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (recorder.isStarted() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertFalse(recorder.isStarted());
+        assertEquals(List.of("first", "second"), recorder.messages);
+    }
+
+    @Test
+    void blockPolicyWaitsForAFreeSlot() throws Exception {
+        appender = appender(4, "BLOCK");
+        fill(4);
+
+        Thread logger = new Thread(() -> appender.doAppend(event(Level.DEBUG, "waiting")));
+        logger.start();
+        awaitBlocked(1);
+        recorder.release.countDown();
+        logger.join(2000);
+        appender.stop();
+
+        assertEquals(5, recorder.messages.size());
+        assertTrue(recorder.messages.contains("waiting"));
+        assertEquals(0L, appender.snapshot().get("dropped"));
+    }
+
+    @Test
+    void dropPolicyDropsLowPriorityEventsOnly() throws Exception {
+        appender = appender(4, "DROP");
+        fill(4);
+        for (int i = 0; i < 5; i++) {
+            appender.doAppend(event(Level.INFO, "dropped-" + i));
+        }
+
+        Thread warn = new Thread(() -> appender.doAppend(event(Level.WARN, "warn")));
+        warn.start();
+        awaitBlocked(1);
+        Thread audit = new Thread(() -> appender.doAppend(marked(event(Level.INFO, "audit"), "AUDIT")));
+        audit.start();
+        awaitBlocked(2);
+        recorder.release.countDown();
+        warn.join(2000);
+        audit.join(2000);
+        appender.stop();
+
+        assertEquals(5L, appender.snapshot().get("dropped"));
+        assertTrue(recorder.messages.contains("warn"));
+        assertTrue(recorder.messages.contains("audit"));
+        assertEquals(6, recorder.messages.size());
+    }
+
+    @Test
+    void samplePolicyKeepsOneInSampleRateAboveTheThreshold() throws Exception {
+        appender = new RingBufferAsyncAppender();
+        appender.setSampleRate(4);
+        appender.setSampleThreshold(50);
+        appender = start(appender, 16, "SAMPLE");
+        fill(8);
+        for (int i = 0; i < 20; i++) {
+            appender.doAppend(event(Level.INFO, "sampled-" + i));
+        }
+        appender.doAppend(marked(event(Level.INFO, "audit"), "AUDIT"));
+        appender.doAppend(event(Level.ERROR, "error"));
+
+        recorder.release.countDown();
+        appender.stop();
+
+        assertEquals(15L, appender.snapshot().get("sampledOut"));
+        assertEquals(0L, appender.snapshot().get("dropped"));
+        assertEquals(8 + 5 + 2, recorder.messages.size());
+        assertTrue(recorder.messages.contains("audit"));
+        assertTrue(recorder.messages.contains("error"));
+    }
+
+    /**
+     * Fills the buffer: the first event is held by the recorder, so it keeps its slot.
+     */
+    private void fill(int events) throws InterruptedException {
+        appender.doAppend(event(Level.INFO, "held"));
+        assertTrue(recorder.entered.await(2, TimeUnit.SECONDS));
+        for (int i = 1; i < events; i++) {
+            appender.doAppend(event(Level.INFO, "fill-" + i));
+        }
+        assertEquals((long) events, appender.getOccupancy());
+    }
+
+    private void awaitBlocked(long count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (appender.snapshot().get("blocked").longValue() < count && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(count, appender.snapshot().get("blocked"));
+    }
+
+    private RingBufferAsyncAppender appender(int bufferSize, String policy) {
+        return start(new RingBufferAsyncAppender(), bufferSize, policy);
+    }
+
+    private RingBufferAsyncAppender start(RingBufferAsyncAppender ring, int bufferSize, String policy) {
+        recorder.setContext(context);
+        recorder.setName("recorder");
+        recorder.start();
+        ring.setContext(context);
+        ring.setName("test-" + UUID.randomUUID());
+        ring.setBufferSize(bufferSize);
+        ring.setPolicy(policy);
+        ring.addAppender(recorder);
+        ring.start();
+        assertTrue(ring.isStarted());
+        return ring;
+    }
+
+    private LoggingEvent event(Level level, String message) {
+        return new LoggingEvent(RingBufferAsyncAppenderTest.class.getName(), context.getLogger("test"), level, message,
+                null, null);
+    }
+
+    private static LoggingEvent marked(LoggingEvent event, String marker) {
+        event.addMarker(MarkerFactory.getMarker(marker));
+        return event;
+    }
+
+    /**
+     * Records the events it receives and holds the worker on the first one until released.
+     */
+    private static final class Recorder extends AppenderBase<ILoggingEvent> {
+
+        private final List<String> messages = new CopyOnWriteArrayList<>();
+        private final List<String> contexts = new CopyOnWriteArrayList<>();
+        private final List<String> threads = new CopyOnWriteArrayList<>();
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            LoggingData data = LoggingDataHolder.get();
+            messages.add(event.getMessage());
+            contexts.add(data.getApplicationName() + "/" + data.getConversationId() + "/" + data.getTransactionId());
+            threads.add(Thread.currentThread().getName());
+        }
+    }
+}